@@ -0,0 +1,79 @@
+package games.strategy.engine.data;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import games.strategy.triplea.delegate.Matches;
+import games.strategy.triplea.xml.LoadGameUtil;
+
+/**
+ * Finds the distance and route between the same random pairs of territories of a map, with and without a condition.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class GameMapBenchmark {
+  private static final int PAIRS = 100;
+  @Param({"revised_test.xml", "big_world_1942_test.xml"})
+  private String map;
+  private GameMap gameMap;
+  private final List<Territory> starts = new ArrayList<>();
+  private final List<Territory> ends = new ArrayList<>();
+
+  @Setup
+  public void setUp() {
+    gameMap = LoadGameUtil.loadTestGame(map).getMap();
+    final List<Territory> territories = gameMap.getTerritories();
+    // the same pairs every run
+    final Random random = new Random(42);
+    for (int i = 0; i < PAIRS; i++) {
+      starts.add(territories.get(random.nextInt(territories.size())));
+      ends.add(territories.get(random.nextInt(territories.size())));
+    }
+  }
+
+  @Benchmark
+  public int getDistance() {
+    int total = 0;
+    for (int i = 0; i < PAIRS; i++) {
+      total += gameMap.getDistance(starts.get(i), ends.get(i));
+    }
+    return total;
+  }
+
+  @Benchmark
+  public int getDistanceOverLand() {
+    int total = 0;
+    for (int i = 0; i < PAIRS; i++) {
+      total += gameMap.getDistance(starts.get(i), ends.get(i), Matches.TerritoryIsLand);
+    }
+    return total;
+  }
+
+  @Benchmark
+  public int getRoute() {
+    int total = 0;
+    for (int i = 0; i < PAIRS; i++) {
+      final Route route = gameMap.getRoute(starts.get(i), ends.get(i));
+      total += route == null ? 0 : route.numberOfSteps();
+    }
+    return total;
+  }
+}
@@ -0,0 +1,73 @@
+package games.strategy.engine.framework;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import games.strategy.engine.data.GameData;
+import games.strategy.engine.data.GameParser;
+
+/**
+ * Parses, clones, saves and loads the game data of the test maps.
+ * Run from the project folder, the game xmls are read from test_data.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class GameDataBenchmark {
+  @Param({"revised_test.xml", "big_world_1942_test.xml", "Total_World_War_Dec1941_test.xml"})
+  private String map;
+  private byte[] xml;
+  private GameData data;
+  private byte[] saveGame;
+
+  @Setup
+  public void setUp() throws Exception {
+    xml = Files.readAllBytes(new File("test_data", map).toPath());
+    data = parse();
+    final ByteArrayOutputStream sink = new ByteArrayOutputStream();
+    new GameDataManager().saveGame(sink, data);
+    saveGame = sink.toByteArray();
+  }
+
+  @Benchmark
+  public GameData parse() throws Exception {
+    return new GameParser().parse(new ByteArrayInputStream(xml), new AtomicReference<>(), false);
+  }
+
+  @Benchmark
+  public GameData cloneGameData() {
+    return GameDataUtils.cloneGameData(data, false);
+  }
+
+  @Benchmark
+  public int saveGame() throws IOException {
+    final ByteArrayOutputStream sink = new ByteArrayOutputStream(saveGame.length);
+    new GameDataManager().saveGame(sink, data);
+    return sink.size();
+  }
+
+  @Benchmark
+  public GameData loadGame() throws IOException {
+    return new GameDataManager().loadGame(new ByteArrayInputStream(saveGame), map);
+  }
+}
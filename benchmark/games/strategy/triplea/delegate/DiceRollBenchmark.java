@@ -0,0 +1,75 @@
+package games.strategy.triplea.delegate;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import games.strategy.engine.data.GameData;
+import games.strategy.engine.data.ITestDelegateBridge;
+import games.strategy.engine.data.PlayerID;
+import games.strategy.engine.data.Territory;
+import games.strategy.engine.data.TerritoryEffect;
+import games.strategy.engine.data.Unit;
+import games.strategy.engine.random.PlainRandomSource;
+import games.strategy.triplea.xml.LoadGameUtil;
+
+/**
+ * Rolls the dice of a mixed Russian army attacking and defending on lhtr, with dice and with low luck.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class DiceRollBenchmark {
+  @Param({"false", "true"})
+  private boolean lowLuck;
+  private PlayerID russians;
+  private ITestDelegateBridge bridge;
+  private MockBattle battle;
+  private List<Unit> units;
+  private Collection<TerritoryEffect> territoryEffects;
+
+  @Setup
+  public void setUp() {
+    final GameData data = LoadGameUtil.loadTestGame("lhtr_test.xml");
+    if (lowLuck) {
+      GameDataTestUtil.makeGameLowLuck(data);
+    }
+    final Territory westRussia = data.getMap().getTerritory("West Russia");
+    russians = GameDataTestUtil.russians(data);
+    bridge = GameDataTestUtil.getDelegateBridge(russians, data);
+    bridge.setRandomSource(new PlainRandomSource());
+    battle = new MockBattle(westRussia);
+    units = new ArrayList<>();
+    units.addAll(GameDataTestUtil.infantry(data).create(10, russians));
+    units.addAll(GameDataTestUtil.armour(data).create(5, russians));
+    units.addAll(GameDataTestUtil.fighter(data).create(3, russians));
+    units.addAll(GameDataTestUtil.bomber(data).create(2, russians));
+    territoryEffects = TerritoryEffectHelper.getEffects(westRussia);
+  }
+
+  @Benchmark
+  public DiceRoll rollAttack() {
+    return DiceRoll.rollDice(units, false, russians, bridge, battle, "", territoryEffects, null);
+  }
+
+  @Benchmark
+  public DiceRoll rollDefence() {
+    return DiceRoll.rollDice(units, true, russians, bridge, battle, "", territoryEffects, null);
+  }
+}
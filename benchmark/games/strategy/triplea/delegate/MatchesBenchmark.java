@@ -0,0 +1,107 @@
+package games.strategy.triplea.delegate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import games.strategy.engine.data.GameData;
+import games.strategy.engine.data.PlayerID;
+import games.strategy.engine.data.Territory;
+import games.strategy.engine.data.Unit;
+import games.strategy.triplea.xml.LoadGameUtil;
+import games.strategy.util.CompiledMatch;
+import games.strategy.util.CompositeMatchAnd;
+import games.strategy.util.Match;
+
+/**
+ * Compares evaluating the common {@link Matches} predicates as nested composites, as compiled matches and as adaptive
+ * compiled matches, over every unit placed on a large map.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class MatchesBenchmark {
+  private GameData data;
+  private PlayerID player;
+  private List<Unit> units;
+  private Match<Unit> composite;
+  private Match<Unit> compiled;
+  private Match<Unit> adaptive;
+
+  @Setup
+  public void setUp() {
+    data = LoadGameUtil.loadTestGame("big_world_1942_test.xml");
+    player = data.getPlayerList().getPlayers().iterator().next();
+    units = new ArrayList<>();
+    for (final Territory territory : data.getMap().getTerritories()) {
+      units.addAll(territory.getUnits().getUnits());
+    }
+    // built the way the delegates build their filters, with the most selective clause last
+    composite = new CompositeMatchAnd<Unit>(Matches.UnitIsNotInfrastructure, Matches.UnitIsNotAA,
+        new CompositeMatchAnd<Unit>(Matches.UnitIsLand, Matches.enemyUnit(player, data)));
+    compiled = CompiledMatch.compile(composite);
+    adaptive = CompiledMatch.adaptive(composite);
+  }
+
+  @Benchmark
+  public int countUnitIsLand() {
+    return Match.countMatches(units, Matches.UnitIsLand);
+  }
+
+  @Benchmark
+  public int countComposite() {
+    return Match.countMatches(units, composite);
+  }
+
+  @Benchmark
+  public int countCompiled() {
+    return Match.countMatches(units, compiled);
+  }
+
+  @Benchmark
+  public int countAdaptive() {
+    return Match.countMatches(units, adaptive);
+  }
+
+  @Benchmark
+  public int countPerTerritoryThroughCopies() {
+    int count = 0;
+    for (final Territory territory : data.getMap().getTerritories()) {
+      count += Match.countMatches(territory.getUnits().getUnits(), adaptive);
+    }
+    return count;
+  }
+
+  @Benchmark
+  public int countPerTerritoryInPlace() {
+    int count = 0;
+    for (final Territory territory : data.getMap().getTerritories()) {
+      count += territory.getUnits().countMatches(adaptive);
+    }
+    return count;
+  }
+
+  @Benchmark
+  public int filterWithParameterizedMatches() {
+    int count = 0;
+    for (final PlayerID current : data.getPlayerList().getPlayers()) {
+      count += Match.getMatches(units, Matches.unitIsOwnedBy(current)).size();
+      count += Match.getMatches(units, Matches.alliedUnit(current, data)).size();
+    }
+    return count;
+  }
+}
@@ -0,0 +1,67 @@
+package games.strategy.triplea.delegate;
+
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import games.strategy.engine.data.GameData;
+import games.strategy.engine.data.PlayerID;
+import games.strategy.engine.data.Route;
+import games.strategy.engine.data.Territory;
+import games.strategy.engine.data.Unit;
+import games.strategy.triplea.delegate.dataObjects.MoveValidationResult;
+import games.strategy.triplea.xml.LoadGameUtil;
+
+/**
+ * Validates a German blitz into Russia and a German non combat move, on revised.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class MoveValidatorBenchmark {
+  private GameData data;
+  private PlayerID germans;
+  private Collection<Unit> armour;
+  private Route blitz;
+  private Collection<Unit> infantry;
+  private Route nonCombat;
+
+  @Setup
+  public void setUp() {
+    data = LoadGameUtil.loadTestGame("revised_test.xml");
+    germans = GameDataTestUtil.germans(data);
+    final Territory germany = data.getMap().getTerritory("Germany");
+    final Territory easternEurope = data.getMap().getTerritory("Eastern Europe");
+    armour = germany.getUnits().getMatches(Matches.UnitCanBlitz);
+    blitz = new Route(germany, easternEurope, data.getMap().getTerritory("Karelia S.S.R."));
+    infantry = germany.getUnits().getMatches(Matches.UnitIsInfantry);
+    nonCombat = new Route(germany, easternEurope);
+  }
+
+  @Benchmark
+  public MoveValidationResult validateCombatMove() {
+    return MoveValidator.validateMove(armour, blitz, germans, Collections.<Unit>emptyList(), new HashMap<>(), false,
+        null, data);
+  }
+
+  @Benchmark
+  public MoveValidationResult validateNonCombatMove() {
+    return MoveValidator.validateMove(infantry, nonCombat, germans, Collections.<Unit>emptyList(), new HashMap<>(),
+        true, null, data);
+  }
+}
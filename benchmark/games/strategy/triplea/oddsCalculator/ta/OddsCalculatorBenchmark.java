@@ -0,0 +1,92 @@
+package games.strategy.triplea.oddsCalculator.ta;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import games.strategy.engine.data.GameData;
+import games.strategy.engine.data.PlayerID;
+import games.strategy.engine.data.Territory;
+import games.strategy.engine.data.TerritoryEffect;
+import games.strategy.engine.data.Unit;
+import games.strategy.triplea.delegate.Matches;
+import games.strategy.triplea.delegate.TerritoryEffectHelper;
+import games.strategy.triplea.xml.LoadGameUtil;
+
+/**
+ * Runs the odds calculator on the land battle with the most defenders of each map, attacked by an enemy with twice
+ * as many of the same units.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class OddsCalculatorBenchmark {
+  @Param({"revised_test.xml", "lhtr_test.xml", "big_world_1942_test.xml"})
+  private String map;
+  @Param({"200"})
+  private int runCount;
+  private OddsCalculator calculator;
+  private PlayerID attacker;
+  private PlayerID defender;
+  private Territory location;
+  private List<Unit> attacking;
+  private List<Unit> defending;
+  private Collection<TerritoryEffect> territoryEffects;
+
+  @Setup
+  public void setUp() {
+    final GameData data = LoadGameUtil.loadTestGame(map);
+    for (final Territory territory : data.getMap().getTerritories()) {
+      if (territory.isWater() || territory.getOwner().isNull()) {
+        continue;
+      }
+      final int count = territory.getUnits().countMatches(Matches.UnitIsNotInfrastructure);
+      if (location == null || count > defending.size()) {
+        location = territory;
+        defending = territory.getUnits().getMatches(Matches.UnitIsNotInfrastructure);
+      }
+    }
+    defender = location.getOwner();
+    for (final PlayerID player : data.getPlayerList().getPlayers()) {
+      if (data.getRelationshipTracker().isAtWar(player, defender)) {
+        attacker = player;
+        break;
+      }
+    }
+    attacking = new ArrayList<>();
+    for (final Unit unit : defending) {
+      attacking.addAll(unit.getType().create(2, attacker));
+    }
+    territoryEffects = TerritoryEffectHelper.getEffects(location);
+    calculator = new OddsCalculator(data);
+  }
+
+  @TearDown
+  public void tearDown() {
+    calculator.shutdown();
+  }
+
+  @Benchmark
+  public AggregateResults calculate() {
+    return calculator.setCalculateDataAndCalculate(attacker, defender, location, attacking, defending,
+        Collections.<Unit>emptyList(), territoryEffects, runCount);
+  }
+}
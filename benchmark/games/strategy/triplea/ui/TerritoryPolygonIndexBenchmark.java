@@ -0,0 +1,214 @@
+package games.strategy.triplea.ui;
+
+import java.awt.Polygon;
+import java.awt.Rectangle;
+import java.awt.geom.Rectangle2D;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import games.strategy.ui.Util;
+import games.strategy.util.PointFileReaderWriter;
+
+/**
+ * Compares {@link TerritoryPolygonIndex} with testing every polygon, for the point queries of mouse moves and the
+ * rectangle queries of map tiles.
+ * <p>
+ * Map polygons are not part of this repository, so by default this uses a generated map about the size of the
+ * largest maps (2000 territories, with islands inside sea zones and territories made of several polygons). Pass
+ * -Dbenchmark.polygons=path/to/polygons.txt to use the polygons of an installed map instead.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class TerritoryPolygonIndexBenchmark {
+  private static final int TILE_SIZE = 256;
+  private Map<String, List<Polygon>> polygons;
+  private TerritoryPolygonIndex index;
+  private double[] pointsX;
+  private double[] pointsY;
+  private List<Rectangle> tiles;
+
+  @Setup
+  public void setUp() throws IOException {
+    final String polygonFile = System.getProperty("benchmark.polygons");
+    if (polygonFile == null) {
+      polygons = generateMap(50, 40, 100, new Random(42));
+    } else {
+      polygons = PointFileReaderWriter.readOneToManyPolygons(new FileInputStream(polygonFile));
+    }
+    index = new TerritoryPolygonIndex(polygons);
+    Rectangle extent = null;
+    for (final List<Polygon> territory : polygons.values()) {
+      for (final Polygon polygon : territory) {
+        if (extent == null) {
+          extent = polygon.getBounds();
+        } else {
+          extent.add(polygon.getBounds());
+        }
+      }
+    }
+    final Random random = new Random(7);
+    pointsX = new double[256];
+    pointsY = new double[256];
+    for (int i = 0; i < pointsX.length; i++) {
+      pointsX[i] = extent.x + random.nextDouble() * extent.width;
+      pointsY[i] = extent.y + random.nextDouble() * extent.height;
+    }
+    tiles = new ArrayList<>();
+    for (int x = extent.x; x < extent.getMaxX(); x += TILE_SIZE) {
+      for (int y = extent.y; y < extent.getMaxY(); y += TILE_SIZE) {
+        tiles.add(new Rectangle(x, y, TILE_SIZE, TILE_SIZE));
+      }
+    }
+  }
+
+  @Benchmark
+  public int territoryAtIndexed() {
+    int found = 0;
+    for (int i = 0; i < pointsX.length; i++) {
+      if (index.getTerritoryAt(pointsX[i], pointsY[i]) != null) {
+        found++;
+      }
+    }
+    return found;
+  }
+
+  @Benchmark
+  public int territoryAtLinear() {
+    int found = 0;
+    for (int i = 0; i < pointsX.length; i++) {
+      if (getTerritoryAtLinear(polygons, pointsX[i], pointsY[i]) != null) {
+        found++;
+      }
+    }
+    return found;
+  }
+
+  @Benchmark
+  public int overlapAllTilesIndexed() {
+    int found = 0;
+    for (final Rectangle tile : tiles) {
+      found += index.territoriesThatOverlap(tile).size();
+    }
+    return found;
+  }
+
+  @Benchmark
+  public int overlapAllTilesLinear() {
+    int found = 0;
+    for (final Rectangle tile : tiles) {
+      found += territoriesThatOverlapLinear(polygons, tile).size();
+    }
+    return found;
+  }
+
+  /**
+   * A map of jittered grid cells, every third one a sea zone. One land cell in seven is an island: a small land
+   * polygon inside a sea zone polygon. One land cell in five has a second, detached polygon.
+   */
+  static Map<String, List<Polygon>> generateMap(final int columns, final int rows, final int cellSize,
+      final Random random) {
+    final Map<String, List<Polygon>> map = new LinkedHashMap<>();
+    int islands = 0;
+    for (int column = 0; column < columns; column++) {
+      for (int row = 0; row < rows; row++) {
+        final int x = column * cellSize;
+        final int y = row * cellSize;
+        final int cell = column * rows + row;
+        final List<Polygon> polygons = new ArrayList<>();
+        polygons.add(jitteredCell(x, y, cellSize, random));
+        if (cell % 3 == 0) {
+          map.put("Sea Zone " + cell, polygons);
+          if (cell % 7 == 0) {
+            map.put("Island " + islands++,
+                new ArrayList<>(Collections.singletonList(jitteredCell(x + cellSize / 3, y + cellSize / 3,
+                    cellSize / 3, random))));
+          }
+        } else {
+          if (cell % 5 == 0) {
+            polygons.add(jitteredCell(x + cellSize / 4, y + cellSize / 4, cellSize / 5, random));
+          }
+          map.put("Territory " + cell, polygons);
+        }
+      }
+    }
+    return map;
+  }
+
+  private static Polygon jitteredCell(final int x, final int y, final int size, final Random random) {
+    final Polygon polygon = new Polygon();
+    final int steps = 6;
+    final int jitter = Math.max(1, size / 20);
+    // walk around the square edge, moving the inner points a little, so neighbours do not share edges exactly
+    for (int i = 0; i < steps; i++) {
+      polygon.addPoint(x + size * i / steps, y + (i == 0 ? 0 : random.nextInt(jitter)));
+    }
+    for (int i = 0; i < steps; i++) {
+      polygon.addPoint(x + size - (i == 0 ? 0 : random.nextInt(jitter)), y + size * i / steps);
+    }
+    for (int i = 0; i < steps; i++) {
+      polygon.addPoint(x + size - size * i / steps, y + size - (i == 0 ? 0 : random.nextInt(jitter)));
+    }
+    for (int i = 0; i < steps; i++) {
+      polygon.addPoint(x + (i == 0 ? 0 : random.nextInt(jitter)), y + size - size * i / steps);
+    }
+    return polygon;
+  }
+
+  /**
+   * What {@link MapData#getTerritoryAt(double, double)} did before the index.
+   */
+  static String getTerritoryAtLinear(final Map<String, List<Polygon>> polygons, final double x, final double y) {
+    String seaName = null;
+    for (final Map.Entry<String, List<Polygon>> territory : polygons.entrySet()) {
+      for (final Polygon poly : territory.getValue()) {
+        if (poly.contains(x, y)) {
+          if (Util.isTerritoryNameIndicatingWater(territory.getKey())) {
+            seaName = territory.getKey();
+          } else {
+            return territory.getKey();
+          }
+        }
+      }
+    }
+    return seaName;
+  }
+
+  /**
+   * What {@link MapData#territoriesThatOverlap(Rectangle2D)} did before the index.
+   */
+  static List<String> territoriesThatOverlapLinear(final Map<String, List<Polygon>> polygons,
+      final Rectangle2D bounds) {
+    final List<String> rVal = new ArrayList<>();
+    for (final Map.Entry<String, List<Polygon>> territory : polygons.entrySet()) {
+      for (final Polygon item : territory.getValue()) {
+        if (item.intersects(bounds) || item.contains(bounds) || bounds.contains(item.getBounds2D())) {
+          rVal.add(territory.getKey());
+          break;
+        }
+      }
+    }
+    return rVal;
+  }
+}
@@ -0,0 +1,151 @@
+package games.strategy.util;
+
+import java.util.HashMap;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Compares {@link IntegerMap} with the boxed {@link HashMap} implementation it used to have, on the access patterns
+ * of unit and resource counting: repeated adds, lookups, copies and summing.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class IntegerMapBenchmark {
+  @Param({"8", "64", "512"})
+  private int keyCount;
+  private Object[] keys;
+  private IntegerMap<Object> integerMap;
+  private HashMapIntegerMap<Object> hashMapIntegerMap;
+
+  @Setup
+  public void setUp() {
+    keys = new Object[keyCount];
+    integerMap = new IntegerMap<>();
+    hashMapIntegerMap = new HashMapIntegerMap<>();
+    for (int i = 0; i < keyCount; i++) {
+      keys[i] = "key" + i;
+      integerMap.put(keys[i], i);
+      hashMapIntegerMap.put(keys[i], i);
+    }
+  }
+
+  @Benchmark
+  public IntegerMap<Object> addIntegerMap() {
+    final IntegerMap<Object> map = new IntegerMap<>();
+    for (int round = 0; round < 8; round++) {
+      for (final Object key : keys) {
+        map.add(key, round);
+      }
+    }
+    return map;
+  }
+
+  @Benchmark
+  public HashMapIntegerMap<Object> addHashMap() {
+    final HashMapIntegerMap<Object> map = new HashMapIntegerMap<>();
+    for (int round = 0; round < 8; round++) {
+      for (final Object key : keys) {
+        map.add(key, round);
+      }
+    }
+    return map;
+  }
+
+  @Benchmark
+  public int getIntIntegerMap() {
+    int sum = 0;
+    for (final Object key : keys) {
+      sum += integerMap.getInt(key);
+    }
+    return sum;
+  }
+
+  @Benchmark
+  public int getIntHashMap() {
+    int sum = 0;
+    for (final Object key : keys) {
+      sum += hashMapIntegerMap.getInt(key);
+    }
+    return sum;
+  }
+
+  @Benchmark
+  public IntegerMap<Object> copyIntegerMap() {
+    return integerMap.copy();
+  }
+
+  @Benchmark
+  public HashMapIntegerMap<Object> copyHashMap() {
+    return hashMapIntegerMap.copy();
+  }
+
+  @Benchmark
+  public int totalValuesIntegerMap() {
+    return integerMap.totalValues();
+  }
+
+  @Benchmark
+  public int totalValuesHashMap() {
+    return hashMapIntegerMap.totalValues();
+  }
+
+  /**
+   * The hot methods of the previous, HashMap backed, {@link IntegerMap}.
+   */
+  static final class HashMapIntegerMap<T> {
+    private final HashMap<T, Integer> mapValues = new HashMap<>();
+
+    void put(final T key, final int value) {
+      mapValues.put(key, Integer.valueOf(value));
+    }
+
+    int getInt(final T key) {
+      final Integer val = mapValues.get(key);
+      if (val == null) {
+        return 0;
+      }
+      return val;
+    }
+
+    void add(final T key, final int value) {
+      if (mapValues.get(key) == null) {
+        put(key, value);
+      } else {
+        final Integer oldVal = mapValues.get(key);
+        final int newVal = oldVal + value;
+        put(key, newVal);
+      }
+    }
+
+    int totalValues() {
+      int sum = 0;
+      for (final Integer value : mapValues.values()) {
+        sum += value;
+      }
+      return sum;
+    }
+
+    HashMapIntegerMap<T> copy() {
+      final HashMapIntegerMap<T> copy = new HashMapIntegerMap<>();
+      for (final T key : mapValues.keySet()) {
+        copy.add(key, getInt(key));
+      }
+      return copy;
+    }
+  }
+}
@@ -22,4 +22,12 @@ public abstract class Change implements Serializable {
   public boolean isEmpty() {
     return false;
   }
+
+  /**
+   * @return true if this change only adds or removes resources of players, so a listener showing the map or units
+   *         can ignore it.
+   */
+  public boolean isResourceChangeOnly() {
+    return false;
+  }
 }
@@ -1,7 +1,9 @@
 package games.strategy.engine.data;
 
 import java.io.IOException;
+import java.io.ObjectInput;
 import java.io.ObjectInputStream;
+import java.io.ObjectOutput;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.HashMap;
@@ -230,6 +232,53 @@ public class ChangeFactory {
   public static Change markNoMovementChange(final Unit unit) {
     return unitPropertyChange(unit, TripleAUnit.get(unit).getMaxMovementAllowed(), TripleAUnit.ALREADY_MOVED);
   }
+
+  /**
+   * Writes the type tag and fields of the changes declared in this file that {@link CompactChangeEncoding} encodes.
+   *
+   * @return false, without writing anything, for any other change
+   */
+  static boolean writeCompact(final Change change, final ObjectOutput out) throws IOException {
+    if (change instanceof AddUnits) {
+      out.writeByte(CompactChangeEncoding.ADD_UNITS);
+      ((AddUnits) change).writeCompact(out);
+    } else if (change instanceof RemoveUnits) {
+      out.writeByte(CompactChangeEncoding.REMOVE_UNITS);
+      ((RemoveUnits) change).writeCompact(out);
+    } else if (change instanceof ObjectPropertyChange && ((ObjectPropertyChange) change).canWriteCompact()) {
+      out.writeByte(CompactChangeEncoding.UNIT_PROPERTY);
+      ((ObjectPropertyChange) change).writeCompact(out);
+    } else if (change instanceof ChangeResourceChange) {
+      out.writeByte(CompactChangeEncoding.RESOURCE);
+      ((ChangeResourceChange) change).writeCompact(out);
+    } else if (change instanceof OwnerChange) {
+      out.writeByte(CompactChangeEncoding.TERRITORY_OWNER);
+      ((OwnerChange) change).writeCompact(out);
+    } else {
+      return false;
+    }
+    return true;
+  }
+
+  /**
+   * Reads a change written by {@link #writeCompact(Change, ObjectOutput)}, after its type tag.
+   */
+  static Change readCompact(final byte type, final ObjectInput in) throws IOException, ClassNotFoundException {
+    switch (type) {
+      case CompactChangeEncoding.ADD_UNITS:
+        return AddUnits.readCompact(in);
+      case CompactChangeEncoding.REMOVE_UNITS:
+        return RemoveUnits.readCompact(in);
+      case CompactChangeEncoding.UNIT_PROPERTY:
+        return ObjectPropertyChange.readCompact(in);
+      case CompactChangeEncoding.RESOURCE:
+        return ChangeResourceChange.readCompact(in);
+      case CompactChangeEncoding.TERRITORY_OWNER:
+        return OwnerChange.readCompact(in);
+      default:
+        throw new IOException("Unknown change type:" + type);
+    }
+  }
 }
 
 
@@ -416,6 +465,16 @@ class AddUnits extends Change {
     holder.getUnits().addAllUnits(m_units);
   }
 
+  void writeCompact(final ObjectOutput out) throws IOException {
+    out.writeUTF(m_name);
+    out.writeUTF(m_type);
+    CompactChangeEncoding.writeUnits(m_units, out);
+  }
+
+  static AddUnits readCompact(final ObjectInput in) throws IOException, ClassNotFoundException {
+    return new AddUnits(in.readUTF(), in.readUTF(), CompactChangeEncoding.readUnits(in));
+  }
+
   @Override
   public String toString() {
     return "Add unit change.  Add to:" + m_name + " units:" + m_units;
@@ -454,6 +513,16 @@ class RemoveUnits extends Change {
     holder.getUnits().removeAllUnits(m_units);
   }
 
+  void writeCompact(final ObjectOutput out) throws IOException {
+    out.writeUTF(m_name);
+    out.writeUTF(m_type);
+    CompactChangeEncoding.writeUnits(m_units, out);
+  }
+
+  static RemoveUnits readCompact(final ObjectInput in) throws IOException, ClassNotFoundException {
+    return new RemoveUnits(in.readUTF(), in.readUTF(), CompactChangeEncoding.readUnits(in));
+  }
+
   @Override
   public String toString() {
     return "Remove unit change. Remove from:" + m_name + " units:" + m_units;
@@ -513,6 +582,17 @@ class OwnerChange extends Change {
     data.getMap().getTerritory(m_territory).setOwner(getPlayerID(m_new, data));
   }
 
+  void writeCompact(final ObjectOutput out) throws IOException {
+    out.writeUTF(m_territory);
+    CompactChangeEncoding.writeNullableString(m_new, out);
+    CompactChangeEncoding.writeNullableString(m_old, out);
+  }
+
+  static OwnerChange readCompact(final ObjectInput in) throws IOException {
+    return new OwnerChange(in.readUTF(), CompactChangeEncoding.readNullableString(in),
+        CompactChangeEncoding.readNullableString(in));
+  }
+
   @Override
   public String toString() {
     return m_new + " takes " + m_territory + " from " + m_old;
@@ -599,6 +679,11 @@ class ChangeResourceChange extends Change {
     return new ChangeResourceChange(m_player, m_resource, -m_quantity);
   }
 
+  @Override
+  public boolean isResourceChangeOnly() {
+    return true;
+  }
+
   @Override
   protected void perform(final GameData data) {
     final Resource resource = data.getResourceList().getResource(m_resource);
@@ -610,6 +695,16 @@ class ChangeResourceChange extends Change {
     }
   }
 
+  void writeCompact(final ObjectOutput out) throws IOException {
+    out.writeUTF(m_player);
+    out.writeUTF(m_resource);
+    out.writeInt(m_quantity);
+  }
+
+  static ChangeResourceChange readCompact(final ObjectInput in) throws IOException {
+    return new ChangeResourceChange(in.readUTF(), in.readUTF(), in.readInt());
+  }
+
   @Override
   public String toString() {
     return "Change resource.  Resource:" + m_resource + " quantity:" + m_quantity + " Player:" + m_player;
@@ -1048,6 +1143,21 @@ class ObjectPropertyChange extends Change {
     PropertyUtil.set(m_property, m_newValue, m_object);
   }
 
+  boolean canWriteCompact() {
+    return m_object instanceof Unit;
+  }
+
+  void writeCompact(final ObjectOutput out) throws IOException {
+    out.writeObject(m_object);
+    out.writeUTF(m_property);
+    out.writeObject(m_newValue);
+    out.writeObject(m_oldValue);
+  }
+
+  static ObjectPropertyChange readCompact(final ObjectInput in) throws IOException, ClassNotFoundException {
+    return new ObjectPropertyChange(in.readObject(), in.readUTF(), in.readObject(), in.readObject());
+  }
+
   @Override
   public String toString() {
     return "Property change, unit:" + m_object + " property:" + m_property + " newValue:" + m_newValue + " oldValue:"
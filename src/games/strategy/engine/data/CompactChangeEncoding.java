@@ -0,0 +1,95 @@
+package games.strategy.engine.data;
+
+import java.io.IOException;
+import java.io.ObjectInput;
+import java.io.ObjectOutput;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * A compact encoding for the change types that delegates produce most often.
+ * <p>
+ * Composite changes, unit additions and removals, unit hits, unit property changes, resource changes and territory
+ * owner changes are written as a type tag followed by their fields, instead of as serialized objects with class
+ * descriptors. Any other change is written with {@link ObjectOutput#writeObject(Object)}.
+ * <p>
+ * Units, players and other game objects are still written as objects, so that a {@link GameObjectOutputStream}
+ * replaces them with references and a {@link GameObjectInputStream} resolves them into the receiving game data.
+ */
+public final class CompactChangeEncoding {
+  private static final byte SERIALIZED = 0;
+  private static final byte COMPOSITE = 1;
+  static final byte ADD_UNITS = 2;
+  static final byte REMOVE_UNITS = 3;
+  private static final byte UNIT_HITS = 4;
+  static final byte UNIT_PROPERTY = 5;
+  static final byte RESOURCE = 6;
+  static final byte TERRITORY_OWNER = 7;
+
+  private CompactChangeEncoding() {}
+
+  public static void write(final Change change, final ObjectOutput out) throws IOException {
+    if (change instanceof CompositeChange) {
+      final List<Change> changes = ((CompositeChange) change).getChanges();
+      out.writeByte(COMPOSITE);
+      out.writeInt(changes.size());
+      for (final Change child : changes) {
+        write(child, out);
+      }
+    } else if (change instanceof UnitHitsChange) {
+      out.writeByte(UNIT_HITS);
+      ((UnitHitsChange) change).writeCompact(out);
+    } else if (!ChangeFactory.writeCompact(change, out)) {
+      out.writeByte(SERIALIZED);
+      out.writeObject(change);
+    }
+  }
+
+  public static Change read(final ObjectInput in) throws IOException, ClassNotFoundException {
+    final byte type = in.readByte();
+    switch (type) {
+      case SERIALIZED:
+        return (Change) in.readObject();
+      case COMPOSITE:
+        final int count = in.readInt();
+        final List<Change> changes = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+          changes.add(read(in));
+        }
+        return new CompositeChange(changes);
+      case UNIT_HITS:
+        return UnitHitsChange.readCompact(in);
+      default:
+        // the changes declared in ChangeFactory.java
+        return ChangeFactory.readCompact(type, in);
+    }
+  }
+
+  static void writeUnits(final Collection<Unit> units, final ObjectOutput out) throws IOException {
+    out.writeInt(units.size());
+    for (final Unit unit : units) {
+      out.writeObject(unit);
+    }
+  }
+
+  static List<Unit> readUnits(final ObjectInput in) throws IOException, ClassNotFoundException {
+    final int count = in.readInt();
+    final List<Unit> units = new ArrayList<>(count);
+    for (int i = 0; i < count; i++) {
+      units.add((Unit) in.readObject());
+    }
+    return units;
+  }
+
+  static void writeNullableString(final String value, final ObjectOutput out) throws IOException {
+    out.writeBoolean(value != null);
+    if (value != null) {
+      out.writeUTF(value);
+    }
+  }
+
+  static String readNullableString(final ObjectInput in) throws IOException {
+    return in.readBoolean() ? in.readUTF() : null;
+  }
+}
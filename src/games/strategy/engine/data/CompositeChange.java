@@ -64,6 +64,16 @@ public class CompositeChange extends Change {
     return true;
   }
 
+  @Override
+  public boolean isResourceChangeOnly() {
+    for (final Change c : m_changes) {
+      if (!c.isResourceChangeOnly()) {
+        return false;
+      }
+    }
+    return !m_changes.isEmpty();
+  }
+
   public List<Change> getChanges() {
     return new ArrayList<>(m_changes);
   }
@@ -10,8 +10,11 @@ import java.util.List;
 import java.util.Map;
 import java.util.Set;
 import java.util.UUID;
+import java.util.concurrent.atomic.AtomicLong;
 import java.util.concurrent.locks.ReadWriteLock;
 import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.concurrent.locks.StampedLock;
+import java.util.function.Supplier;
 
 import javax.swing.SwingUtilities;
 
@@ -56,12 +59,20 @@ import games.strategy.util.Version;
  * DelegateBridge or through a
  * History object.
  * <p>
+ * Short reads that only copy values out, such as a table model's row count, can use readOptimistically instead of
+ * the read lock.
+ * <p>
  */
 public class GameData implements java.io.Serializable {
   private static final long serialVersionUID = -2612710634080125728L;
   public static final String GAME_UUID = "GAME_UUID";
   private final ReadWriteLock readWriteLock = new ReentrantReadWriteLock();
   private transient LockUtil lockUtil = new LockUtil();
+  // lets readOptimistically tell whether a change was made while it read, taken only inside the write lock so it is
+  // never contended
+  private transient StampedLock optimisticLock = new StampedLock();
+  // the stamp of optimisticLock while the write lock is held, only touched by the thread holding it
+  private transient long optimisticWriteStamp;
   private volatile transient boolean forceInSwingEventThread = false;
   private String gameName;
   private Version gameVersion;
@@ -93,6 +104,10 @@ public class GameData implements java.io.Serializable {
   private IGameLoader loader;
   private final History gameHistory = new History(this);
   private volatile transient boolean testLockIsHeld = false;
+  // bumped whenever anything in the game data changes, so that cached derived values know they must be rebuilt
+  private transient AtomicLong changeVersion = new AtomicLong();
+  // bumped whenever a production frontier, production rule or unit type is added or modified
+  private transient AtomicLong productionVersion = new AtomicLong();
   private final List<Tuple<IAttachment, ArrayList<Tuple<String, String>>>> attachmentOrderAndValues =
       new ArrayList<>();
   private final Hashtable<String, TerritoryEffect> territoryEffectList = new Hashtable<>();
@@ -108,6 +123,9 @@ public class GameData implements java.io.Serializable {
   private void readObject(final ObjectInputStream in) throws IOException, ClassNotFoundException {
     in.defaultReadObject();
     lockUtil = new LockUtil();
+    optimisticLock = new StampedLock();
+    changeVersion = new AtomicLong();
+    productionVersion = new AtomicLong();
   }
 
   /**
@@ -131,11 +149,48 @@ public class GameData implements java.io.Serializable {
     if (readWriteLockMissing()) {
       return;
     }
-    if (!lockUtil.isLockHeld(readWriteLock.readLock()) && !lockUtil.isLockHeld(readWriteLock.writeLock())) {
+    if (!isLockHeld()) {
       new Exception("Lock not held").printStackTrace(System.out);
     }
   }
 
+  private boolean isLockHeld() {
+    if (lockUtil.isCheckingOrder()) {
+      return lockUtil.isLockHeld(readWriteLock.readLock()) || lockUtil.isLockHeld(readWriteLock.writeLock());
+    }
+    final ReentrantReadWriteLock lock = (ReentrantReadWriteLock) readWriteLock;
+    return lock.getReadHoldCount() > 0 || lock.isWriteLockedByCurrentThread();
+  }
+
+  /**
+   * A unit changed owner or hits, which changes the game data as a performed change does.
+   */
+  void unitStateChanged() {
+    changeVersion.incrementAndGet();
+  }
+
+  /**
+   * @return a number that increases whenever a change is performed on this game data, or a territory's owner, units or
+   *         attachments are modified directly. Values derived from the game data stay valid while it is unchanged.
+   */
+  public long getChangeVersion() {
+    return changeVersion.get();
+  }
+
+  /**
+   * @return a number that increases whenever a production frontier or rule is added, removed or modified, a player's
+   *         production frontier is replaced, or a unit type is added. Values derived only from the production rules,
+   *         such as unit costs, stay valid while it is unchanged.
+   */
+  public long getProductionVersion() {
+    return productionVersion.get();
+  }
+
+  void productionChanged() {
+    productionVersion.incrementAndGet();
+    changeVersion.incrementAndGet();
+  }
+
   /**
    * @return a collection of all units in the game
    */
@@ -278,14 +333,17 @@ public class GameData implements java.io.Serializable {
   }
 
   void notifyTerritoryUnitsChanged(final Territory t) {
+    changeVersion.incrementAndGet();
     territoryListeners.forEach(territoryListener -> territoryListener.unitsChanged(t));
   }
 
   void notifyTerritoryAttachmentChanged(final Territory t) {
+    changeVersion.incrementAndGet();
     territoryListeners.forEach(territoryListener -> territoryListener.attachmentChanged(t));
   }
 
   void notifyTerritoryOwnerChanged(final Territory t) {
+    changeVersion.incrementAndGet();
     territoryListeners.forEach(territoryListener -> territoryListener.ownerChanged(t));
   }
 
@@ -378,15 +436,52 @@ public class GameData implements java.io.Serializable {
       return;
     }
     lockUtil.acquireLock(readWriteLock.writeLock());
+    if (((ReentrantReadWriteLock) readWriteLock).getWriteHoldCount() == 1) {
+      optimisticWriteStamp = optimisticLock.writeLock();
+    }
   }
 
   public void releaseWriteLock() {
     if (readWriteLockMissing()) {
       return;
     }
+    if (((ReentrantReadWriteLock) readWriteLock).getWriteHoldCount() == 1) {
+      optimisticLock.unlockWrite(optimisticWriteStamp);
+    }
     lockUtil.releaseLock(readWriteLock.writeLock());
   }
 
+  /**
+   * Reads without taking the read lock, reading again with it if the game data was changed while reading.
+   * <p>
+   * The read may see a change half made, so it must be short, change nothing and return values rather than live
+   * views of the data. An exception from a read that saw a change is dropped and the read is made again.
+   */
+  public <T> T readOptimistically(final Supplier<T> read) {
+    // the lock test wants every read under the lock
+    if (!readWriteLockMissing() && !testLockIsHeld) {
+      final long stamp = optimisticLock.tryOptimisticRead();
+      if (stamp != 0) {
+        try {
+          final T result = read.get();
+          if (optimisticLock.validate(stamp)) {
+            return result;
+          }
+        } catch (final RuntimeException e) {
+          if (optimisticLock.validate(stamp)) {
+            throw e;
+          }
+        }
+      }
+    }
+    acquireReadLock();
+    try {
+      return read.get();
+    } finally {
+      releaseReadLock();
+    }
+  }
+
   /**
    * @return boolean, whether readWriteLock is missing
    *         This can happen in very odd circumstances while deserializing.
@@ -492,6 +587,7 @@ public class GameData implements java.io.Serializable {
     try {
       acquireWriteLock();
       change.perform(this);
+      changeVersion.incrementAndGet();
     } finally {
       releaseWriteLock();
     }
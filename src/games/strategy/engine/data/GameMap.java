@@ -1,6 +1,7 @@
 package games.strategy.engine.data;
 
 import java.util.ArrayList;
+import java.util.BitSet;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.Comparator;
@@ -11,12 +12,15 @@ import java.util.List;
 import java.util.Map;
 import java.util.Map.Entry;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
 
 import games.strategy.triplea.delegate.Matches;
 import games.strategy.util.CompositeMatch;
 import games.strategy.util.CompositeMatchOr;
 import games.strategy.util.IntegerMap;
 import games.strategy.util.Match;
+import games.strategy.util.Tuple;
 
 /**
  * Holds a collection of territories, and the links between them.
@@ -33,6 +37,12 @@ public class GameMap extends GameDataComponent implements Iterable<Territory> {
   // otherwise, m_gridDimensions.length is the number of dimensions,
   // and each element is the size of a dimension
   private int[] m_gridDimensions = null;
+  // territories by owner as bits over their position in m_territories, built on first use and kept up to date by
+  // territoryOwnerChanged
+  private transient Map<PlayerID, BitSet> m_ownershipIndex;
+  private transient Map<Territory, Integer> m_territoryPositions;
+  // values derived from the territories of a player, valid until the game data next changes
+  private transient Map<String, Map<PlayerID, Tuple<Long, Object>>> m_playerAggregates;
 
   GameMap(final GameData data) {
     super(data);
@@ -93,6 +103,7 @@ public class GameMap extends GameDataComponent implements Iterable<Territory> {
 
   protected void reorderTerritoryList() {
     Collections.sort(m_territories, TERRITORY_GRID_ORDERING);
+    clearOwnershipIndex();
   }
 
   private static Comparator<Territory> TERRITORY_GRID_ORDERING = new Comparator<Territory>() {
@@ -171,6 +182,7 @@ public class GameMap extends GameDataComponent implements Iterable<Territory> {
     m_territories.add(t1);
     m_connections.put(t1, Collections.emptySet());
     m_territoryLookup.put(t1.getName(), t1);
+    clearOwnershipIndex();
   }
 
   protected void removeTerritory(final Territory t1) {
@@ -180,6 +192,7 @@ public class GameMap extends GameDataComponent implements Iterable<Territory> {
     m_territories.remove(t1);
     m_connections.remove(t1);
     m_territoryLookup.remove(t1.getName());
+    clearOwnershipIndex();
     // remove territory from other connections
     final Map<Territory, Set<Territory>> tempConnections = new HashMap<>();
     for (final Entry<Territory, Set<Territory>> entry : m_connections.entrySet()) {
@@ -612,16 +625,109 @@ public class GameMap extends GameDataComponent implements Iterable<Territory> {
     return m_territories.iterator();
   }
 
-  public List<Territory> getTerritoriesOwnedBy(final PlayerID player) {
-    final Iterator<Territory> iter = m_territories.iterator();
-    final List<Territory> owner = new ArrayList<>();
-    while (iter.hasNext()) {
-      final Territory territory = iter.next();
-      if (territory.getOwner().equals(player)) {
-        owner.add(territory);
+  /**
+   * @return the territories owned by the given player, in map order. The list is a copy that may be modified.
+   */
+  public synchronized List<Territory> getTerritoriesOwnedBy(final PlayerID player) {
+    final BitSet owned = getOwnershipIndex().get(player);
+    if (owned == null) {
+      return new ArrayList<>();
+    }
+    final List<Territory> territories = new ArrayList<>(owned.cardinality());
+    for (int i = owned.nextSetBit(0); i >= 0; i = owned.nextSetBit(i + 1)) {
+      territories.add(m_territories.get(i));
+    }
+    return territories;
+  }
+
+  /**
+   * @return the number of territories owned by the given player.
+   */
+  public synchronized int getTerritoryCountOwnedBy(final PlayerID player) {
+    final BitSet owned = getOwnershipIndex().get(player);
+    return owned == null ? 0 : owned.cardinality();
+  }
+
+  private Map<PlayerID, BitSet> getOwnershipIndex() {
+    if (m_ownershipIndex == null) {
+      final Map<PlayerID, BitSet> index = new HashMap<>();
+      final Map<Territory, Integer> positions = new HashMap<>();
+      for (int i = 0; i < m_territories.size(); i++) {
+        final Territory territory = m_territories.get(i);
+        positions.put(territory, i);
+        ownedBy(index, territory.getOwner()).set(i);
       }
+      m_territoryPositions = positions;
+      m_ownershipIndex = index;
+    }
+    return m_ownershipIndex;
+  }
+
+  private static BitSet ownedBy(final Map<PlayerID, BitSet> index, final PlayerID player) {
+    BitSet owned = index.get(player);
+    if (owned == null) {
+      owned = new BitSet();
+      index.put(player, owned);
+    }
+    return owned;
+  }
+
+  private synchronized void clearOwnershipIndex() {
+    m_ownershipIndex = null;
+    m_territoryPositions = null;
+  }
+
+  /**
+   * Called by Territory.setOwner to move the territory between the owners in the ownership index.
+   */
+  synchronized void territoryOwnerChanged(final Territory territory, final PlayerID oldOwner) {
+    if (m_ownershipIndex == null) {
+      return;
+    }
+    final Integer position = m_territoryPositions.get(territory);
+    if (position == null) {
+      return;
+    }
+    if (oldOwner != null) {
+      final BitSet previouslyOwned = m_ownershipIndex.get(oldOwner);
+      if (previouslyOwned != null) {
+        previouslyOwned.clear(position);
+      }
+    }
+    ownedBy(m_ownershipIndex, territory.getOwner()).set(position);
+  }
+
+  /**
+   * Returns a value derived from the state of the given player's territories, such as their production or capitals.
+   * The value is computed at most once between changes to the game data, so callers must not modify it.
+   *
+   * @param player
+   *        the player the value is derived for
+   * @param name
+   *        identifies the kind of value, distinct computations must use distinct names
+   * @param compute
+   *        computes the value when there is no cached value from the current game data state
+   */
+  @SuppressWarnings("unchecked")
+  public <T> T getPlayerAggregate(final PlayerID player, final String name, final Function<PlayerID, T> compute) {
+    if (player == null) {
+      return compute.apply(null);
+    }
+    final long version = getData().getChangeVersion();
+    final Map<PlayerID, Tuple<Long, Object>> values;
+    synchronized (this) {
+      if (m_playerAggregates == null) {
+        m_playerAggregates = new ConcurrentHashMap<>();
+      }
+      values = m_playerAggregates.computeIfAbsent(name, key -> new ConcurrentHashMap<>());
+    }
+    final Tuple<Long, Object> cached = values.get(player);
+    if (cached != null && cached.getFirst() == version) {
+      return (T) cached.getSecond();
     }
-    return owner;
+    final T value = compute.apply(player);
+    values.put(player, Tuple.of(version, value));
+    return value;
   }
 
   /**
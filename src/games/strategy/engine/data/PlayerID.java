@@ -54,6 +54,9 @@ public class PlayerID extends NamedAttachable implements NamedUnitHolder {
 
   public void setProductionFrontier(final ProductionFrontier frontier) {
     m_productionFrontier = frontier;
+    if (getData() != null) {
+      getData().productionChanged();
+    }
   }
 
   public ProductionFrontier getProductionFrontier() {
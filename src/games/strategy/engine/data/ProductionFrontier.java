@@ -28,6 +28,9 @@ public class ProductionFrontier extends DefaultNamed implements Iterable<Product
     }
     m_rules.add(rule);
     m_cachedRules = null;
+    if (getData() != null) {
+      getData().productionChanged();
+    }
   }
 
   public void removeRule(final ProductionRule rule) {
@@ -36,6 +39,9 @@ public class ProductionFrontier extends DefaultNamed implements Iterable<Product
     }
     m_rules.remove(rule);
     m_cachedRules = null;
+    if (getData() != null) {
+      getData().productionChanged();
+    }
   }
 
   public List<ProductionRule> getRules() {
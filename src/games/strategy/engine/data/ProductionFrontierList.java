@@ -14,6 +14,9 @@ public class ProductionFrontierList extends GameDataComponent {
 
   protected void addProductionFrontier(final ProductionFrontier pf) {
     m_productionFrontiers.put(pf.getName(), pf);
+    if (getData() != null) {
+      getData().productionChanged();
+    }
   }
 
   public int size() {
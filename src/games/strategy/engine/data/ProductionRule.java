@@ -25,6 +25,9 @@ public class ProductionRule extends DefaultNamed {
 
   protected void addCost(final Resource resource, final int quantity) {
     m_cost.put(resource, quantity);
+    if (getData() != null) {
+      getData().productionChanged();
+    }
   }
 
   /**
@@ -35,6 +38,9 @@ public class ProductionRule extends DefaultNamed {
       throw new IllegalArgumentException("results must be units or resources, not:" + obj.getClass().getName());
     }
     m_results.put(obj, quantity);
+    if (getData() != null) {
+      getData().productionChanged();
+    }
   }
 
   public IntegerMap<Resource> getCosts() {
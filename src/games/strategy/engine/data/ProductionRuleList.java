@@ -14,6 +14,9 @@ public class ProductionRuleList extends GameDataComponent {
 
   protected void addProductionRule(final ProductionRule pf) {
     m_productionRules.put(pf.getName(), pf);
+    if (getData() != null) {
+      getData().productionChanged();
+    }
   }
 
   public int size() {
@@ -43,7 +43,11 @@ public class Territory extends NamedAttachable implements NamedUnitHolder, Compa
     if (newOwner == null) {
       newOwner = PlayerID.NULL_PLAYERID;
     }
+    final PlayerID oldOwner = m_owner;
     m_owner = newOwner;
+    if (getData().getMap() != null) {
+      getData().getMap().territoryOwnerChanged(this, oldOwner);
+    }
     getData().notifyTerritoryOwnerChanged(this);
   }
 
@@ -1,5 +1,8 @@
 package games.strategy.engine.data;
 
+import java.util.ArrayList;
+import java.util.List;
+
 import com.google.common.base.Preconditions;
 
 import games.strategy.engine.data.annotations.GameProperty;
@@ -11,6 +14,8 @@ public class Unit extends GameDataComponent {
   private final GUID m_uid;
   private int m_hits = 0;
   private final UnitType m_type;
+  // the collections counting this unit, told when it changes owner or hits, usually just the one holding it
+  private transient List<UnitCollection> m_holders;
 
   /**
    * Creates new Unit. Should use a call to UnitType.create(). Owner can be null
@@ -70,7 +75,11 @@ public class Unit extends GameDataComponent {
    */
   @GameProperty(xmlProperty = false, gameProperty = true, adds = false)
   public void setHits(final int hits) {
-    m_hits = hits;
+    if (hits != m_hits) {
+      final UnitCollection[] holders = unitChanging();
+      m_hits = hits;
+      unitChanged(holders);
+    }
   }
 
   /**
@@ -81,7 +90,48 @@ public class Unit extends GameDataComponent {
     if (player == null) {
       player = PlayerID.NULL_PLAYERID;
     }
-    m_owner = player;
+    if (m_owner != null && !m_owner.equals(player)) {
+      final UnitCollection[] holders = unitChanging();
+      m_owner = player;
+      unitChanged(holders);
+    } else {
+      m_owner = player;
+    }
+  }
+
+  synchronized void addHolder(final UnitCollection holder) {
+    if (m_holders == null) {
+      m_holders = new ArrayList<>(1);
+    }
+    if (!m_holders.contains(holder)) {
+      m_holders.add(holder);
+    }
+  }
+
+  synchronized void removeHolder(final UnitCollection holder) {
+    if (m_holders != null) {
+      m_holders.remove(holder);
+    }
+  }
+
+  private UnitCollection[] unitChanging() {
+    final UnitCollection[] holders;
+    synchronized (this) {
+      holders = m_holders == null ? new UnitCollection[0] : m_holders.toArray(new UnitCollection[m_holders.size()]);
+    }
+    for (final UnitCollection holder : holders) {
+      holder.unitChanging(this);
+    }
+    return holders;
+  }
+
+  private void unitChanged(final UnitCollection[] holders) {
+    for (final UnitCollection holder : holders) {
+      holder.unitChanged(this);
+    }
+    if (getData() != null) {
+      getData().unitStateChanged();
+    }
   }
 
   @Override
@@ -3,9 +3,11 @@ package games.strategy.engine.data;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
+import java.util.HashMap;
 import java.util.HashSet;
 import java.util.Iterator;
 import java.util.List;
+import java.util.Map;
 import java.util.Set;
 
 import games.strategy.util.IntegerMap;
@@ -18,6 +20,10 @@ public class UnitCollection extends GameDataComponent implements Iterable<Unit>
   private static final long serialVersionUID = -3534037864426122864L;
   private final List<Unit> m_units = new ArrayList<>();
   private final NamedUnitHolder m_holder;
+  private static volatile boolean s_checkCounts = Boolean.getBoolean("triplea.unitCounts.check");
+  // counts by owner and type, taken on first use, then kept up to date by adds, removes, and the units themselves as
+  // they change owner or hits, see Unit.addHolder
+  private transient volatile UnitCounts m_counts;
 
   /**
    * Creates new UnitCollection
@@ -34,60 +40,143 @@ public class UnitCollection extends GameDataComponent implements Iterable<Unit>
 
   void addUnit(final Unit unit) {
     m_units.add(unit);
+    countAdded(unit);
     m_holder.notifyChanged();
   }
 
   void addAllUnits(final UnitCollection collection) {
-    m_units.addAll(collection.m_units);
-    m_holder.notifyChanged();
+    addAllUnits(collection.m_units);
   }
 
   void addAllUnits(final Collection<Unit> units) {
     m_units.addAll(units);
+    for (final Unit unit : units) {
+      countAdded(unit);
+    }
     m_holder.notifyChanged();
   }
 
   void removeAllUnits(final Collection<Unit> units) {
-    m_units.removeAll(units);
+    final Set<Unit> toRemove = units instanceof Set ? (Set<Unit>) units : new HashSet<>(units);
+    m_units.removeIf(unit -> {
+      if (!toRemove.contains(unit)) {
+        return false;
+      }
+      final UnitCounts counts = m_counts;
+      if (counts != null) {
+        counts.add(unit, -1);
+        unit.removeHolder(this);
+      }
+      return true;
+    });
     m_holder.notifyChanged();
   }
 
+  private void countAdded(final Unit unit) {
+    final UnitCounts counts = m_counts;
+    if (counts != null) {
+      counts.add(unit, 1);
+      unit.addHolder(this);
+    }
+  }
+
+  /**
+   * Takes a unit held by this collection out of the counts, before it changes owner or hits.
+   */
+  void unitChanging(final Unit unit) {
+    final UnitCounts counts = m_counts;
+    if (counts != null) {
+      counts.add(unit, -1);
+    }
+  }
+
+  /**
+   * Puts a unit held by this collection back into the counts, once it changed owner or hits.
+   */
+  void unitChanged(final Unit unit) {
+    final UnitCounts counts = m_counts;
+    if (counts != null) {
+      counts.add(unit, 1);
+    }
+  }
+
+  /**
+   * Returns the counts of the units in this collection, taking them on first use.
+   */
+  private UnitCounts getCounts() {
+    UnitCounts counts = m_counts;
+    if (counts == null) {
+      if (getData() == null) {
+        // a collection outside any game data, such as that of the null player, is counted on each use
+        return new UnitCounts(m_units);
+      }
+      synchronized (this) {
+        counts = m_counts;
+        if (counts == null) {
+          counts = new UnitCounts(m_units);
+          // from now on the units tell this collection when they change
+          for (int i = 0; i < m_units.size(); i++) {
+            m_units.get(i).addHolder(this);
+          }
+          m_counts = counts;
+        }
+      }
+    } else if (s_checkCounts) {
+      checkCounts(counts);
+    }
+    return counts;
+  }
+
+  private void checkCounts(final UnitCounts counts) {
+    final UnitCounts expected = new UnitCounts(m_units);
+    if (!expected.equals(counts)) {
+      throw new IllegalStateException("Unit counts of " + m_holder.getName() + " are out of date, counted: " + counts
+          + ", expected: " + expected);
+    }
+  }
+
+  /**
+   * When enabled, every use of the incrementally maintained unit counts verifies them against a full recount and
+   * throws an IllegalStateException if they differ. Meant for tests only, as it makes every count query a scan.
+   */
+  public static void setCountConsistencyChecking(final boolean enabled) {
+    s_checkCounts = enabled;
+  }
+
+  public static boolean isCountConsistencyChecking() {
+    return s_checkCounts;
+  }
+
   public int getUnitCount() {
     return m_units.size();
   }
 
   public int getUnitCount(final UnitType type) {
-    int count = 0;
-    final Iterator<Unit> iterator = m_units.iterator();
-    while (iterator.hasNext()) {
-      if (iterator.next().getType().equals(type)) {
-        count++;
-      }
-    }
-    return count;
+    return getCounts().m_byType.getInt(type);
   }
 
   public int getUnitCount(final UnitType type, final PlayerID owner) {
-    int count = 0;
-    final Iterator<Unit> iterator = m_units.iterator();
-    while (iterator.hasNext()) {
-      final Unit current = iterator.next();
-      if (current.getType().equals(type) && current.getOwner().equals(owner)) {
-        count++;
-      }
-    }
-    return count;
+    final IntegerMap<UnitType> ownerCounts = getCounts().m_byOwnerAndType.get(owner);
+    return ownerCounts == null ? 0 : ownerCounts.getInt(type);
   }
 
   public int getUnitCount(final PlayerID owner) {
-    int count = 0;
-    final Iterator<Unit> iterator = m_units.iterator();
-    while (iterator.hasNext()) {
-      if (iterator.next().getOwner().equals(owner)) {
-        count++;
-      }
-    }
-    return count;
+    return getCounts().m_byOwner.getInt(owner);
+  }
+
+  /**
+   * @return the number of units of the given type and owner that have taken at least one hit.
+   */
+  public int getDamagedUnitCount(final UnitType type, final PlayerID owner) {
+    final IntegerMap<UnitType> ownerCounts = getCounts().m_damagedByOwnerAndType.get(owner);
+    return ownerCounts == null ? 0 : ownerCounts.getInt(type);
+  }
+
+  /**
+   * @return the number of units of the given type and owner that have not taken any hits.
+   */
+  public int getUndamagedUnitCount(final UnitType type, final PlayerID owner) {
+    return getUnitCount(type, owner) - getDamagedUnitCount(type, owner);
   }
 
   public boolean containsAll(final Collection<Unit> units) {
@@ -128,14 +217,7 @@ public class UnitCollection extends GameDataComponent implements Iterable<Unit>
    * @return integer map of UnitType
    */
   public IntegerMap<UnitType> getUnitsByType() {
-    final IntegerMap<UnitType> units = new IntegerMap<>();
-    for (final UnitType type : getData().getUnitTypeList()) {
-      final int count = getUnitCount(type);
-      if (count > 0) {
-        units.put(type, count);
-      }
-    }
-    return units;
+    return getCounts().m_byType.copy();
   }
 
   /**
@@ -144,13 +226,8 @@ public class UnitCollection extends GameDataComponent implements Iterable<Unit>
    * @return map of UnitType (only of units for the specified player)
    */
   public IntegerMap<UnitType> getUnitsByType(final PlayerID id) {
-    final IntegerMap<UnitType> count = new IntegerMap<>();
-    for (final Unit unit : m_units) {
-      if (unit.getOwner().equals(id)) {
-        count.add(unit.getType(), 1);
-      }
-    }
-    return count;
+    final IntegerMap<UnitType> ownerCounts = getCounts().m_byOwnerAndType.get(id);
+    return ownerCounts == null ? new IntegerMap<>() : ownerCounts.copy();
   }
 
   /**
@@ -183,35 +260,31 @@ public class UnitCollection extends GameDataComponent implements Iterable<Unit>
    */
   public Set<PlayerID> getPlayersWithUnits() {
     // note nulls are handled by PlayerID.NULL_PLAYERID
-    final Set<PlayerID> ids = new HashSet<>();
-    for (final Unit unit : m_units) {
-      ids.add(unit.getOwner());
-    }
-    return ids;
+    return new HashSet<>(getCounts().m_byOwner.keySet());
   }
 
   /**
    * @return the count of units each player has in this collection.
    */
   public IntegerMap<PlayerID> getPlayerUnitCounts() {
-    final IntegerMap<PlayerID> count = new IntegerMap<>();
-    for (final Unit unit : m_units) {
-      count.add(unit.getOwner(), 1);
-    }
-    return count;
+    return getCounts().m_byOwner.copy();
   }
 
   public boolean hasUnitsFromMultiplePlayers() {
-    return getPlayersWithUnits().size() > 1;
+    return getCounts().m_byOwner.size() > 1;
   }
 
   public NamedUnitHolder getHolder() {
     return m_holder;
   }
 
+  /*
+   * The match helpers below walk the backing list by index, so counting or testing units allocates nothing.
+   */
+
   public boolean allMatch(final Match<Unit> matcher) {
-    for (final Unit unit : m_units) {
-      if (!matcher.match(unit)) {
+    for (int i = 0; i < m_units.size(); i++) {
+      if (!matcher.match(m_units.get(i))) {
         return false;
       }
     }
@@ -219,21 +292,32 @@ public class UnitCollection extends GameDataComponent implements Iterable<Unit>
   }
 
   public boolean someMatch(final Match<Unit> matcher) {
-    for (final Unit unit : m_units) {
-      if (matcher.match(unit)) {
+    for (int i = 0; i < m_units.size(); i++) {
+      if (matcher.match(m_units.get(i))) {
         return true;
       }
     }
     return false;
   }
 
+  public boolean noneMatch(final Match<Unit> matcher) {
+    return !someMatch(matcher);
+  }
+
   public int countMatches(final Match<Unit> predicate) {
-    return Match.countMatches(m_units, predicate);
+    int count = 0;
+    for (int i = 0; i < m_units.size(); i++) {
+      if (predicate.match(m_units.get(i))) {
+        count++;
+      }
+    }
+    return count;
   }
 
   public List<Unit> getMatches(final Match<Unit> predicate) {
     final List<Unit> values = new ArrayList<>();
-    for (final Unit unit : m_units) {
+    for (int i = 0; i < m_units.size(); i++) {
+      final Unit unit = m_units.get(i);
       if (predicate.match(unit)) {
         values.add(unit);
       }
@@ -257,4 +341,69 @@ public class UnitCollection extends GameDataComponent implements Iterable<Unit>
   public Iterator<Unit> iterator() {
     return Collections.unmodifiableList(m_units).iterator();
   }
+
+  private static final class UnitCounts {
+    private final IntegerMap<UnitType> m_byType = new IntegerMap<>();
+    private final IntegerMap<PlayerID> m_byOwner = new IntegerMap<>();
+    private final Map<PlayerID, IntegerMap<UnitType>> m_byOwnerAndType = new HashMap<>();
+    private final Map<PlayerID, IntegerMap<UnitType>> m_damagedByOwnerAndType = new HashMap<>();
+
+    private UnitCounts(final List<Unit> units) {
+      for (int i = 0; i < units.size(); i++) {
+        add(units.get(i), 1);
+      }
+    }
+
+    private void add(final Unit unit, final int delta) {
+      final UnitType type = unit.getType();
+      final PlayerID owner = unit.getOwner();
+      addTo(m_byType, type, delta);
+      addTo(m_byOwner, owner, delta);
+      addTo(m_byOwnerAndType, owner, type, delta);
+      if (unit.getHits() > 0) {
+        addTo(m_damagedByOwnerAndType, owner, type, delta);
+      }
+    }
+
+    private static <T> void addTo(final IntegerMap<T> counts, final T key, final int delta) {
+      counts.add(key, delta);
+      if (counts.getInt(key) == 0) {
+        counts.removeKey(key);
+      }
+    }
+
+    private static void addTo(final Map<PlayerID, IntegerMap<UnitType>> counts, final PlayerID owner,
+        final UnitType type, final int delta) {
+      IntegerMap<UnitType> ownerCounts = counts.get(owner);
+      if (ownerCounts == null) {
+        ownerCounts = new IntegerMap<>();
+        counts.put(owner, ownerCounts);
+      }
+      addTo(ownerCounts, type, delta);
+      if (ownerCounts.isEmpty()) {
+        counts.remove(owner);
+      }
+    }
+
+    @Override
+    public boolean equals(final Object o) {
+      if (!(o instanceof UnitCounts)) {
+        return false;
+      }
+      final UnitCounts other = (UnitCounts) o;
+      return m_byType.equals(other.m_byType) && m_byOwner.equals(other.m_byOwner)
+          && m_byOwnerAndType.equals(other.m_byOwnerAndType)
+          && m_damagedByOwnerAndType.equals(other.m_damagedByOwnerAndType);
+    }
+
+    @Override
+    public int hashCode() {
+      return m_byOwnerAndType.hashCode();
+    }
+
+    @Override
+    public String toString() {
+      return "byOwnerAndType: " + m_byOwnerAndType + ", damaged: " + m_damagedByOwnerAndType;
+    }
+  }
 }
@@ -1,6 +1,11 @@
 package games.strategy.engine.data;
 
+import java.io.IOException;
+import java.io.ObjectInput;
+import java.io.ObjectOutput;
+import java.util.ArrayList;
 import java.util.Collection;
+import java.util.List;
 import java.util.Set;
 
 import games.strategy.util.IntegerMap;
@@ -45,4 +50,24 @@ public class UnitHitsChange extends Change {
   public Change invert() {
     return new UnitHitsChange(m_undoHits, m_hits);
   }
+
+  void writeCompact(final ObjectOutput out) throws IOException {
+    final List<Unit> units = new ArrayList<>(m_hits.keySet());
+    CompactChangeEncoding.writeUnits(units, out);
+    for (final Unit unit : units) {
+      out.writeInt(m_hits.getInt(unit));
+      out.writeInt(m_undoHits.getInt(unit));
+    }
+  }
+
+  static UnitHitsChange readCompact(final ObjectInput in) throws IOException, ClassNotFoundException {
+    final List<Unit> units = CompactChangeEncoding.readUnits(in);
+    final IntegerMap<Unit> hits = new IntegerMap<>(units.size());
+    final IntegerMap<Unit> undoHits = new IntegerMap<>(units.size());
+    for (final Unit unit : units) {
+      hits.put(unit, in.readInt());
+      undoHits.put(unit, in.readInt());
+    }
+    return new UnitHitsChange(hits, undoHits);
+  }
 }
@@ -26,6 +26,9 @@ public class UnitTypeList extends GameDataComponent implements Iterable<UnitType
 
   protected void addUnitType(final UnitType type) {
     m_unitTypes.put(type.getName(), type);
+    if (getData() != null) {
+      getData().productionChanged();
+    }
   }
 
   public UnitType getUnitType(final String name) {
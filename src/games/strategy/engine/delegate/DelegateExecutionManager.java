@@ -36,6 +36,7 @@ public class DelegateExecutionManager {
   private final ReentrantReadWriteLock m_readWriteLock = new ReentrantReadWriteLock();
   private final ThreadLocal<Boolean> m_currentThreadHasReadLock = new ThreadLocal<>();
   private volatile boolean m_isGameOver = false;
+  private volatile Runnable m_leavingDelegateExecutionListener;
 
   public void setGameOver() {
     m_isGameOver = true;
@@ -92,6 +93,22 @@ public class DelegateExecutionManager {
     return m_currentThreadHasReadLock.get() == Boolean.TRUE;
   }
 
+  /**
+   * @return true if the current thread is executing in a delegate.
+   */
+  public boolean isCurrentThreadExecutingDelegate() {
+    return currentThreadHasReadLock();
+  }
+
+  /**
+   * Sets a listener that is run every time a thread leaves delegate execution, while that thread still counts as
+   * executing. Since it runs before delegate execution can be blocked, anything it does is finished before a game is
+   * saved.
+   */
+  public void setLeavingDelegateExecutionListener(final Runnable listener) {
+    m_leavingDelegateExecutionListener = listener;
+  }
+
   /**
    * Used to create an object the exits delegate execution.
    * <p>
@@ -167,6 +184,14 @@ public class DelegateExecutionManager {
     if (sm_logger.isLoggable(Level.FINE)) {
       sm_logger.fine(Thread.currentThread().getName() + " leaves delegate execution.");
     }
+    final Runnable listener = m_leavingDelegateExecutionListener;
+    if (listener != null) {
+      try {
+        listener.run();
+      } catch (final RuntimeException e) {
+        sm_logger.log(Level.WARNING, "Error while leaving delegate execution", e);
+      }
+    }
     m_readWriteLock.readLock().unlock();
     m_currentThreadHasReadLock.set(null);
   }
@@ -36,6 +36,17 @@ public class ClientGame extends AbstractGame {
         m_data.getHistory().getHistoryWriter().addChange(aChange);
       }
 
+      @Override
+      public void gameModificationBatch(final GameModificationBatch batch) {
+        // one write lock for the whole batch, rather than one per change
+        m_data.acquireWriteLock();
+        try {
+          batch.replay(this);
+        } finally {
+          m_data.releaseWriteLock();
+        }
+      }
+
       @Override
       public void startHistoryEvent(final String event, final Object renderingData) {
         startHistoryEvent(event);
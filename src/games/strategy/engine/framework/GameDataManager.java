@@ -3,6 +3,8 @@ package games.strategy.engine.framework;
 import java.io.BufferedInputStream;
 import java.io.BufferedOutputStream;
 import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
 import java.io.File;
 import java.io.FileInputStream;
 import java.io.FileOutputStream;
@@ -12,9 +14,13 @@ import java.io.ObjectInputStream;
 import java.io.ObjectOutputStream;
 import java.io.OutputStream;
 import java.io.Serializable;
+import java.util.ArrayList;
 import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.zip.Deflater;
 import java.util.zip.GZIPInputStream;
-import java.util.zip.GZIPOutputStream;
 
 import javax.swing.JDialog;
 import javax.swing.JOptionPane;
@@ -23,8 +29,14 @@ import games.strategy.debug.ClientLogger;
 import games.strategy.engine.ClientContext;
 import games.strategy.engine.ClientFileSystemHelper;
 import games.strategy.engine.data.GameData;
+import games.strategy.engine.data.properties.IEditableProperty;
 import games.strategy.engine.delegate.IDelegate;
 import games.strategy.engine.framework.headlessGameServer.HeadlessGameServer;
+import games.strategy.engine.history.History;
+import games.strategy.engine.history.HistoryChunk;
+import games.strategy.performance.Perf;
+import games.strategy.performance.PerfTimer;
+import games.strategy.util.ParallelDeflaterOutputStream;
 import games.strategy.util.ThreadUtil;
 import games.strategy.util.Version;
 
@@ -40,6 +52,13 @@ public class GameDataManager {
   private final static String DELEGATE_START = "<DelegateStart>";
   private final static String DELEGATE_DATA_NEXT = "<DelegateData>";
   private final static String DELEGATE_LIST_END = "<EndDelegateList>";
+  // the types of the values in the properties section
+  private static final byte PROPERTY_BOOLEAN = 0;
+  private static final byte PROPERTY_INTEGER = 1;
+  private static final byte PROPERTY_STRING = 2;
+  // the Deflater level saves are compressed with, from fastest 1 to smallest 9
+  private static final int COMPRESSION_LEVEL =
+      Integer.getInteger("triplea.save.compressionLevel", Deflater.DEFAULT_COMPRESSION);
 
   public GameDataManager() {}
 
@@ -57,12 +76,96 @@ public class GameDataManager {
     }
   }
 
+  /**
+   * Loads a savegame in either the sectioned format or the legacy single gzip stream.
+   */
   public GameData loadGame(final InputStream input, final String path) throws IOException {
-    return loadGame(new ObjectInputStream(new GZIPInputStream(input)), path);
+    final InputStream buffered = input.markSupported() ? input : new BufferedInputStream(input);
+    if (SaveGameSections.isSectioned(buffered)) {
+      return loadGame(SaveGameSections.read(buffered), path);
+    }
+    return loadGame(new ObjectInputStream(new GZIPInputStream(buffered)), path);
+  }
+
+  private GameData loadGame(final SaveGameSections sections, final String path) throws IOException {
+    final GameData data;
+    try (ObjectInputStream state = new ObjectInputStream(sections.get(SaveGameSections.STATE))) {
+      data = loadGame(state, path);
+    }
+    if (data != null) {
+      loadHistory(sections, data);
+    }
+    return data;
+  }
+
+  @SuppressWarnings("try")
+  private void loadHistory(final SaveGameSections sections, final GameData data) throws IOException {
+    try (PerfTimer timer = Perf.startTimer("save", "Load history");
+        DataInputStream in = new DataInputStream(sections.get(SaveGameSections.HISTORY))) {
+      final int count = in.readInt();
+      final List<HistoryChunk> chunks = new ArrayList<>(count);
+      for (int i = 0; i < count; i++) {
+        final int round = in.readInt();
+        final int changeCount = in.readInt();
+        final byte[] chunk = sections.getCompressed(SaveGameSections.historyChunk(i));
+        chunks.add(new HistoryChunk(round, changeCount, chunk, true));
+      }
+      data.getHistory().readChunks(chunks);
+    }
   }
 
+  /**
+   * Reads what a savegame says about its game without loading the game.
+   *
+   * @return null for a legacy savegame, which has to be loaded to know.
+   */
+  public SaveGameMetadata loadMetadata(final File savedGameFile) throws IOException {
+    final SaveGameSections sections = SaveGameSections.read(savedGameFile, SaveGameSections.METADATA);
+    if (sections == null || !sections.has(SaveGameSections.METADATA)) {
+      return null;
+    }
+    try (DataInputStream in = new DataInputStream(sections.get(SaveGameSections.METADATA))) {
+      return SaveGameMetadata.read(in);
+    }
+  }
+
+  /**
+   * Reads the editable game properties of a savegame without loading the game.
+   *
+   * @return the values by property name, Boolean, Integer or String, or null for a legacy savegame.
+   */
+  public Map<String, Object> loadProperties(final File savedGameFile) throws IOException {
+    final SaveGameSections sections = SaveGameSections.read(savedGameFile, SaveGameSections.PROPERTIES);
+    if (sections == null || !sections.has(SaveGameSections.PROPERTIES)) {
+      return null;
+    }
+    try (DataInputStream in = new DataInputStream(sections.get(SaveGameSections.PROPERTIES))) {
+      final int count = in.readInt();
+      final Map<String, Object> properties = new LinkedHashMap<>();
+      for (int i = 0; i < count; i++) {
+        final String name = in.readUTF();
+        final byte type = in.readByte();
+        switch (type) {
+          case PROPERTY_BOOLEAN:
+            properties.put(name, in.readBoolean());
+            break;
+          case PROPERTY_INTEGER:
+            properties.put(name, in.readInt());
+            break;
+          case PROPERTY_STRING:
+            properties.put(name, in.readUTF());
+            break;
+          default:
+            throw new IOException("Unknown property type:" + type + " of:" + name);
+        }
+      }
+      return properties;
+    }
+  }
+
+  @SuppressWarnings("try")
   public GameData loadGame(final ObjectInputStream input, final String savegamePath) throws IOException {
-    try {
+    try (PerfTimer timer = Perf.startTimer("save", "Load game")) {
       final Version readVersion = (Version) input.readObject();
       final boolean headless = HeadlessGameServer.headless();
       if (!readVersion.equals(ClientContext.engineVersion().getVersion(), true)) {
@@ -209,30 +312,127 @@ public class GameDataManager {
     }
   }
 
+  /**
+   * Saves in the sectioned format, see SaveGameSections.
+   */
+  @SuppressWarnings("try")
   public void saveGame(final OutputStream sink, final GameData data) throws IOException {
-    saveGame(sink, data, true);
+    try (PerfTimer timer = Perf.startTimer("save", "Save game")) {
+      final byte[] metadata;
+      final byte[] properties;
+      final byte[] state;
+      final List<HistoryChunk> history;
+      data.acquireReadLock();
+      try {
+        metadata = writeMetadata(data);
+        properties = writeProperties(data);
+        state = writeState(data);
+        history = data.getHistory().writeChunks();
+      } finally {
+        data.releaseReadLock();
+      }
+      // compress once the game can go on, the sections at once on all cores
+      final SaveGameSections sections = new SaveGameSections(COMPRESSION_LEVEL);
+      sections.add(SaveGameSections.METADATA, metadata);
+      sections.add(SaveGameSections.PROPERTIES, properties);
+      sections.add(SaveGameSections.STATE, state);
+      sections.add(SaveGameSections.HISTORY, writeHistoryIndex(history));
+      for (int i = 0; i < history.size(); i++) {
+        // the rounds not read since the game was loaded are still compressed
+        if (history.get(i).isCompressed()) {
+          sections.addCompressed(SaveGameSections.historyChunk(i), history.get(i).getBytes());
+        } else {
+          sections.add(SaveGameSections.historyChunk(i), history.get(i).getBytes());
+        }
+      }
+      sections.write(sink);
+    }
   }
 
-  public void saveGame(final OutputStream sink, final GameData data, final boolean saveDelegateInfo)
-      throws IOException {
-    // write internally first in case of error
+  private static byte[] writeMetadata(final GameData data) throws IOException {
+    final ByteArrayOutputStream bytes = new ByteArrayOutputStream(200);
+    try (DataOutputStream out = new DataOutputStream(bytes)) {
+      SaveGameMetadata.of(data).write(out);
+    }
+    return bytes.toByteArray();
+  }
+
+  private static byte[] writeProperties(final GameData data) throws IOException {
+    final ByteArrayOutputStream bytes = new ByteArrayOutputStream(1000);
+    try (DataOutputStream out = new DataOutputStream(bytes)) {
+      final List<IEditableProperty> editableProperties = data.getProperties().getEditableProperties();
+      out.writeInt(editableProperties.size());
+      for (final IEditableProperty property : editableProperties) {
+        out.writeUTF(property.getName());
+        final Object value = property.getValue();
+        if (value instanceof Boolean) {
+          out.writeByte(PROPERTY_BOOLEAN);
+          out.writeBoolean((Boolean) value);
+        } else if (value instanceof Integer) {
+          out.writeByte(PROPERTY_INTEGER);
+          out.writeInt((Integer) value);
+        } else {
+          out.writeByte(PROPERTY_STRING);
+          out.writeUTF(String.valueOf(value));
+        }
+      }
+    }
+    return bytes.toByteArray();
+  }
+
+  /**
+   * The engine version, game data and delegates as the legacy format writes them, but without the history.
+   */
+  private byte[] writeState(final GameData data) throws IOException {
     final ByteArrayOutputStream bytes = new ByteArrayOutputStream(25000);
-    final ObjectOutputStream outStream = new ObjectOutputStream(bytes);
-    outStream.writeObject(games.strategy.engine.ClientContext.engineVersion().getVersion());
-    data.acquireReadLock();
-    try {
-      outStream.writeObject(data);
-      if (saveDelegateInfo) {
-        writeDelegates(data, outStream);
-      } else {
-        outStream.writeObject(DELEGATE_LIST_END);
+    try (ObjectOutputStream outStream = new ObjectOutputStream(bytes)) {
+      outStream.writeObject(games.strategy.engine.ClientContext.engineVersion().getVersion());
+      History.setWriteEmpty(true);
+      try {
+        outStream.writeObject(data);
+      } finally {
+        History.setWriteEmpty(false);
       }
-    } finally {
-      data.releaseReadLock();
+      writeDelegates(data, outStream);
     }
-    try (final GZIPOutputStream zippedOut = new GZIPOutputStream(sink)) {
-      // now write to file
-      zippedOut.write(bytes.toByteArray());
+    return bytes.toByteArray();
+  }
+
+  private static byte[] writeHistoryIndex(final List<HistoryChunk> history) throws IOException {
+    final ByteArrayOutputStream bytes = new ByteArrayOutputStream(4 + history.size() * 8);
+    try (DataOutputStream out = new DataOutputStream(bytes)) {
+      out.writeInt(history.size());
+      for (final HistoryChunk chunk : history) {
+        out.writeInt(chunk.getRound());
+        out.writeInt(chunk.getChangeCount());
+      }
+    }
+    return bytes.toByteArray();
+  }
+
+  /**
+   * Saves in the legacy format, a single gzip stream, which copies of the game data in memory still use.
+   */
+  @SuppressWarnings("try")
+  public void saveGame(final OutputStream sink, final GameData data, final boolean saveDelegateInfo)
+      throws IOException {
+    try (PerfTimer timer = Perf.startTimer("save", "Save game")) {
+      // compressed on all cores as it is written, the callers write to memory so an error leaves no partial file
+      try (ObjectOutputStream outStream =
+          new ObjectOutputStream(new ParallelDeflaterOutputStream(sink, COMPRESSION_LEVEL, true))) {
+        outStream.writeObject(games.strategy.engine.ClientContext.engineVersion().getVersion());
+        data.acquireReadLock();
+        try {
+          outStream.writeObject(data);
+          if (saveDelegateInfo) {
+            writeDelegates(data, outStream);
+          } else {
+            outStream.writeObject(DELEGATE_LIST_END);
+          }
+        } finally {
+          data.releaseReadLock();
+        }
+      }
     }
   }
 
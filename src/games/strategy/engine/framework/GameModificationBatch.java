@@ -0,0 +1,128 @@
+package games.strategy.engine.framework;
+
+import java.io.Externalizable;
+import java.io.IOException;
+import java.io.ObjectInput;
+import java.io.ObjectOutput;
+import java.util.ArrayList;
+import java.util.List;
+
+import games.strategy.engine.data.Change;
+import games.strategy.engine.data.CompactChangeEncoding;
+
+/**
+ * An ordered list of changes and history events, sent to the clients as a single {@link IGameModifiedChannel}
+ * message instead of one message per change or event.
+ * <p>
+ * When compact encoding is enabled, changes are written with {@link CompactChangeEncoding}. Either way the encoding is
+ * recorded in the stream, so the receiver does not need to know how the batch was written.
+ */
+public class GameModificationBatch implements Externalizable {
+  private static final long serialVersionUID = -2409851357290418753L;
+  private static final byte CHANGE = 0;
+  private static final byte START_EVENT = 1;
+  private static final byte ADD_CHILD = 2;
+
+  private boolean m_compact;
+  private List<Entry> m_entries = new ArrayList<>();
+
+  /** Needed for Externalizable. */
+  public GameModificationBatch() {}
+
+  public GameModificationBatch(final boolean compact) {
+    m_compact = compact;
+  }
+
+  public void addChange(final Change change) {
+    m_entries.add(new Entry(CHANGE, null, change));
+  }
+
+  public void addStartHistoryEvent(final String event, final Object renderingData) {
+    m_entries.add(new Entry(START_EVENT, event, renderingData));
+  }
+
+  public void addChildToEvent(final String text, final Object renderingData) {
+    m_entries.add(new Entry(ADD_CHILD, text, renderingData));
+  }
+
+  public boolean isEmpty() {
+    return m_entries.isEmpty();
+  }
+
+  public int size() {
+    return m_entries.size();
+  }
+
+  /**
+   * Calls the channel once for every change and history event in this batch, in the order they were added.
+   */
+  public void replay(final IGameModifiedChannel channel) {
+    for (final Entry entry : m_entries) {
+      switch (entry.type) {
+        case CHANGE:
+          channel.gameDataChanged((Change) entry.value);
+          break;
+        case START_EVENT:
+          channel.startHistoryEvent(entry.text, entry.value);
+          break;
+        case ADD_CHILD:
+          channel.addChildToEvent(entry.text, entry.value);
+          break;
+        default:
+          throw new IllegalStateException("Unknown entry type:" + entry.type);
+      }
+    }
+  }
+
+  @Override
+  public void writeExternal(final ObjectOutput out) throws IOException {
+    out.writeBoolean(m_compact);
+    out.writeInt(m_entries.size());
+    for (final Entry entry : m_entries) {
+      out.writeByte(entry.type);
+      if (entry.type == CHANGE) {
+        if (m_compact) {
+          CompactChangeEncoding.write((Change) entry.value, out);
+        } else {
+          out.writeObject(entry.value);
+        }
+      } else {
+        out.writeObject(entry.text);
+        out.writeObject(entry.value);
+      }
+    }
+  }
+
+  @Override
+  public void readExternal(final ObjectInput in) throws IOException, ClassNotFoundException {
+    m_compact = in.readBoolean();
+    final int size = in.readInt();
+    m_entries = new ArrayList<>(size);
+    for (int i = 0; i < size; i++) {
+      final byte type = in.readByte();
+      if (type == CHANGE) {
+        final Change change = m_compact ? CompactChangeEncoding.read(in) : (Change) in.readObject();
+        m_entries.add(new Entry(CHANGE, null, change));
+      } else {
+        m_entries.add(new Entry(type, (String) in.readObject(), in.readObject()));
+      }
+    }
+  }
+
+  @Override
+  public String toString() {
+    return "GameModificationBatch with " + m_entries.size() + " entries";
+  }
+
+  private static final class Entry {
+    private final byte type;
+    private final String text;
+    private final Object value;
+
+    private Entry(final byte type, final String text, final Object value) {
+      this.type = type;
+      this.text = text;
+      this.value = value;
+    }
+  }
+}
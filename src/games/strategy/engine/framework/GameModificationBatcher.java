@@ -0,0 +1,282 @@
+package games.strategy.engine.framework;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.function.Consumer;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+import games.strategy.engine.data.Change;
+import games.strategy.engine.data.PlayerID;
+import games.strategy.engine.delegate.DelegateExecutionManager;
+
+/**
+ * Collects the changes and history events a delegate makes, and sends them to the clients as one
+ * {@link GameModificationBatch} when the delegate stops executing.
+ * <p>
+ * Delegates expect their changes to be made right away, so the server applies every change and history event to its
+ * own game data when it is made. Only the delivery to the clients is deferred. The pending batch is sent whenever a
+ * thread leaves delegate execution (when the delegate finishes, or calls out to a player, the display or the random
+ * source), and before any message that is not batched, so the clients see everything in the order the server did.
+ * <p>
+ * A delegate waits until its change is applied. A call that only sends returns at once when another thread is busy
+ * with what was submitted before it, and is sent after that, so the order on the channel is kept.
+ * <p>
+ * Setting the system property {@value #COMPACT_ENCODING_PROPERTY} to false sends the changes of a batch as plain
+ * serialized objects instead of with the compact encoding.
+ */
+class GameModificationBatcher implements IGameModifiedChannel {
+  static final String COMPACT_ENCODING_PROPERTY = "triplea.changeBatch.compact";
+  private static final Logger s_logger = Logger.getLogger(GameModificationBatcher.class.getName());
+  private final IGameModifiedChannel m_broadcaster;
+  private final IGameModifiedChannel m_localChannel;
+  private final DelegateExecutionManager m_delegateExecutionManager;
+  private final boolean m_compact;
+  // operations waiting to be run by the draining thread, in the order they were submitted
+  private final Deque<Operation> m_queue = new ArrayDeque<>();
+  private Thread m_drainer;
+  // only touched by the draining thread, under the lock so the next drainer sees it
+  private GameModificationBatch m_pending;
+
+  /**
+   * @param broadcaster
+   *        sends to every subscriber of the game modification channel, local and remote
+   * @param localChannel
+   *        applies a change or history event to the server's own game data
+   * @param delegateExecutionManager
+   *        tells us whether a delegate is executing, and when it stops
+   */
+  GameModificationBatcher(final IGameModifiedChannel broadcaster, final IGameModifiedChannel localChannel,
+      final DelegateExecutionManager delegateExecutionManager) {
+    this(broadcaster, localChannel, delegateExecutionManager,
+        Boolean.parseBoolean(System.getProperty(COMPACT_ENCODING_PROPERTY, "true")));
+  }
+
+  GameModificationBatcher(final IGameModifiedChannel broadcaster, final IGameModifiedChannel localChannel,
+      final DelegateExecutionManager delegateExecutionManager, final boolean compact) {
+    m_broadcaster = broadcaster;
+    m_localChannel = localChannel;
+    m_delegateExecutionManager = delegateExecutionManager;
+    m_compact = compact;
+    m_delegateExecutionManager.setLeavingDelegateExecutionListener(this::flush);
+  }
+
+  @Override
+  public void gameDataChanged(final Change aChange) {
+    if (m_delegateExecutionManager.isCurrentThreadExecutingDelegate()) {
+      submitAndWait(() -> {
+        applyLocally(() -> m_localChannel.gameDataChanged(aChange));
+        addToPending(pending -> pending.addChange(aChange));
+      });
+    } else {
+      submit(() -> {
+        sendPending();
+        m_broadcaster.gameDataChanged(aChange);
+      });
+    }
+  }
+
+  @Override
+  public void startHistoryEvent(final String event, final Object renderingData) {
+    if (m_delegateExecutionManager.isCurrentThreadExecutingDelegate()) {
+      submitAndWait(() -> {
+        applyLocally(() -> m_localChannel.startHistoryEvent(event, renderingData));
+        addToPending(pending -> pending.addStartHistoryEvent(event, renderingData));
+      });
+    } else {
+      submit(() -> {
+        sendPending();
+        m_broadcaster.startHistoryEvent(event, renderingData);
+      });
+    }
+  }
+
+  @Override
+  public void startHistoryEvent(final String event) {
+    startHistoryEvent(event, null);
+  }
+
+  @Override
+  public void addChildToEvent(final String text, final Object renderingData) {
+    if (m_delegateExecutionManager.isCurrentThreadExecutingDelegate()) {
+      submitAndWait(() -> {
+        applyLocally(() -> m_localChannel.addChildToEvent(text, renderingData));
+        addToPending(pending -> pending.addChildToEvent(text, renderingData));
+      });
+    } else {
+      submit(() -> {
+        sendPending();
+        m_broadcaster.addChildToEvent(text, renderingData);
+      });
+    }
+  }
+
+  @Override
+  public void gameModificationBatch(final GameModificationBatch batch) {
+    batch.replay(this);
+  }
+
+  @Override
+  public void stepChanged(final String stepName, final String delegateName, final PlayerID player,
+      final int round, final String displayName, final boolean loadedFromSavedGame) {
+    submit(() -> {
+      sendPending();
+      m_broadcaster.stepChanged(stepName, delegateName, player, round, displayName, loadedFromSavedGame);
+    });
+  }
+
+  @Override
+  public void shutDown() {
+    submit(() -> {
+      sendPending();
+      m_broadcaster.shutDown();
+    });
+  }
+
+  /**
+   * Sends the pending batch, if there is one.
+   */
+  void flush() {
+    submit(this::sendPending);
+  }
+
+  private void sendPending() {
+    final GameModificationBatch batch;
+    synchronized (this) {
+      batch = m_pending;
+      m_pending = null;
+    }
+    if (batch != null) {
+      m_broadcaster.gameModificationBatch(batch);
+    }
+  }
+
+  private synchronized void addToPending(final Consumer<GameModificationBatch> addition) {
+    if (m_pending == null) {
+      m_pending = new GameModificationBatch(m_compact);
+    }
+    addition.accept(m_pending);
+  }
+
+  /**
+   * Runs an operation that applies locally, after those submitted before it, and returns once it ran on this thread.
+   * Only a thread that does not hold the read lock of the game data may wait for a local application, the same as
+   * when it applied the change itself.
+   */
+  private void submitAndWait(final Runnable operation) {
+    submit(operation, true);
+  }
+
+  /**
+   * Runs an operation that only sends, after those submitted before it. If another thread is draining, or the next
+   * operation applies locally for a thread waiting on it, the operation is left queued for that thread and this call
+   * returns at once, so a caller holding the read lock of the game data never waits on a local application.
+   */
+  private void submit(final Runnable operation) {
+    submit(operation, false);
+  }
+
+  /**
+   * Applying locally takes the write lock of the game data, and broadcasting calls the local subscribers, so no
+   * operation runs while holding the lock of this batcher. Instead, one thread at a time drains the queue in order. A
+   * drainer runs its own operation and any operation that only sends, but never the local application of another
+   * thread, which runs on the thread waiting for it. An operation that calls back into the batcher runs what it adds
+   * at once, as a synchronous broadcast would have.
+   * <p>
+   * A failure is thrown on the thread that submitted the operation, or logged if that thread already returned.
+   */
+  private void submit(final Runnable operation, final boolean wait) {
+    final Thread current = Thread.currentThread();
+    final Operation submitted = new Operation(operation, wait);
+    synchronized (this) {
+      if (m_drainer == current) {
+        submitted.m_nested = true;
+      } else {
+        m_queue.add(submitted);
+      }
+    }
+    if (submitted.m_nested) {
+      operation.run();
+      return;
+    }
+    boolean interrupted = false;
+    while (true) {
+      final Operation next;
+      synchronized (this) {
+        final Operation head = m_queue.peek();
+        final boolean canRun = head != null && (head == submitted || !head.m_wait)
+            && (m_drainer == null || m_drainer == current);
+        if (!canRun) {
+          if (m_drainer == current) {
+            // the next operation is the local application of a thread waiting for it
+            m_drainer = null;
+            notifyAll();
+          }
+          if (submitted.m_done || !wait) {
+            break;
+          }
+          try {
+            wait();
+          } catch (final InterruptedException e) {
+            interrupted = true;
+          }
+          continue;
+        }
+        m_drainer = current;
+        next = m_queue.poll();
+      }
+      Throwable failure = null;
+      try {
+        next.m_operation.run();
+      } catch (final Throwable e) {
+        failure = e;
+      }
+      if (failure != null && next != submitted && !next.m_wait) {
+        // its thread did not wait for it
+        s_logger.log(Level.WARNING, failure.getMessage(), failure);
+      }
+      synchronized (this) {
+        next.m_failure = failure;
+        next.m_done = true;
+        notifyAll();
+      }
+    }
+    if (interrupted) {
+      current.interrupt();
+    }
+    final Throwable failure = submitted.m_done ? submitted.m_failure : null;
+    if (failure instanceof RuntimeException) {
+      throw (RuntimeException) failure;
+    } else if (failure instanceof Error) {
+      throw (Error) failure;
+    } else if (failure != null) {
+      throw new IllegalStateException(failure);
+    }
+  }
+
+  /**
+   * A broadcast only logs the errors of its local subscribers, do the same here so a batched change fails the same
+   * way an unbatched one does.
+   */
+  private static void applyLocally(final Runnable application) {
+    try {
+      application.run();
+    } catch (final RuntimeException e) {
+      s_logger.log(Level.WARNING, e.getMessage(), e);
+    }
+  }
+
+  private static final class Operation {
+    private final Runnable m_operation;
+    // true if the submitting thread waits until the operation ran
+    private final boolean m_wait;
+    private boolean m_nested = false;
+    private boolean m_done = false;
+    private Throwable m_failure;
+
+    private Operation(final Runnable operation, final boolean wait) {
+      m_operation = operation;
+      m_wait = wait;
+    }
+  }
+}
@@ -54,6 +54,11 @@ public class HistorySynchronizer {
       });
     }
 
+    @Override
+    public void gameModificationBatch(final GameModificationBatch batch) {
+      batch.replay(this);
+    }
+
     @Override
     public void startHistoryEvent(final String event, final Object renderingData) {
       startHistoryEvent(event);
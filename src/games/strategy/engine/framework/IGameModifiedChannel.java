@@ -17,6 +17,12 @@ public interface IGameModifiedChannel extends IChannelSubscribor {
   // public void setRenderingData(final Object renderingData);
   void addChildToEvent(final String text, final Object renderingData);
 
+  /**
+   * Applies the changes and history events of a batch, in order.
+   * Equivalent to calling gameDataChanged, startHistoryEvent and addChildToEvent for each entry.
+   */
+  void gameModificationBatch(final GameModificationBatch batch);
+
   /**
    * @param stepName
    * @param delegateName
@@ -0,0 +1,166 @@
+package games.strategy.engine.framework;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import games.strategy.engine.ClientContext;
+import games.strategy.engine.data.GameData;
+import games.strategy.engine.data.GameStep;
+import games.strategy.engine.data.PlayerID;
+
+/**
+ * What a sectioned savegame says about its game in its metadata section, read by GameDataManager.loadMetadata without
+ * loading the game.
+ * <p>
+ * The fields are written in a fixed order after a schema version. New fields are only added at the end with a new
+ * schema version, so older engines read the fields they know and ignore the rest.
+ */
+public class SaveGameMetadata {
+  private static final int SCHEMA_VERSION = 1;
+  private final String m_engineVersion;
+  private final String m_gameName;
+  private final String m_gameVersion;
+  private final String m_gameUUID;
+  private final long m_saveTime;
+  private final int m_round;
+  private final String m_stepName;
+  private final String m_stepDisplayName;
+  // the player of the current step, empty if none
+  private final String m_stepPlayer;
+  private final List<String> m_players;
+
+  private SaveGameMetadata(final String engineVersion, final String gameName, final String gameVersion,
+      final String gameUUID, final long saveTime, final int round, final String stepName,
+      final String stepDisplayName, final String stepPlayer, final List<String> players) {
+    m_engineVersion = engineVersion;
+    m_gameName = gameName;
+    m_gameVersion = gameVersion;
+    m_gameUUID = gameUUID;
+    m_saveTime = saveTime;
+    m_round = round;
+    m_stepName = stepName;
+    m_stepDisplayName = stepDisplayName;
+    m_stepPlayer = stepPlayer;
+    m_players = Collections.unmodifiableList(players);
+  }
+
+  /**
+   * The read lock of the data must be held.
+   */
+  static SaveGameMetadata of(final GameData data) {
+    // a game without steps has no current step
+    final GameStep step = data.getSequence().size() == 0 ? null : data.getSequence().getStep();
+    final PlayerID stepPlayer = step == null ? null : step.getPlayerID();
+    final List<String> players = new ArrayList<>();
+    for (final PlayerID player : data.getPlayerList().getPlayers()) {
+      players.add(player.getName());
+    }
+    return new SaveGameMetadata(ClientContext.engineVersion().getVersion().toString(),
+        nullToEmpty(data.getGameName()),
+        data.getGameVersion() == null ? "" : data.getGameVersion().toString(),
+        data.getProperties().get(GameData.GAME_UUID, ""), System.currentTimeMillis(), data.getSequence().getRound(),
+        step == null ? "" : nullToEmpty(step.getName()),
+        step == null ? "" : nullToEmpty(step.getDisplayName()),
+        stepPlayer == null ? "" : stepPlayer.getName(), players);
+  }
+
+  private static String nullToEmpty(final String value) {
+    return value == null ? "" : value;
+  }
+
+  void write(final DataOutput out) throws IOException {
+    out.writeInt(SCHEMA_VERSION);
+    out.writeUTF(m_engineVersion);
+    out.writeUTF(m_gameName);
+    out.writeUTF(m_gameVersion);
+    out.writeUTF(m_gameUUID);
+    out.writeLong(m_saveTime);
+    out.writeInt(m_round);
+    out.writeUTF(m_stepName);
+    out.writeUTF(m_stepDisplayName);
+    out.writeUTF(m_stepPlayer);
+    out.writeInt(m_players.size());
+    for (final String player : m_players) {
+      out.writeUTF(player);
+    }
+  }
+
+  static SaveGameMetadata read(final DataInput in) throws IOException {
+    final int version = in.readInt();
+    if (version < 1) {
+      throw new IOException("Unknown savegame metadata version:" + version);
+    }
+    final String engineVersion = in.readUTF();
+    final String gameName = in.readUTF();
+    final String gameVersion = in.readUTF();
+    final String gameUUID = in.readUTF();
+    final long saveTime = in.readLong();
+    final int round = in.readInt();
+    final String stepName = in.readUTF();
+    final String stepDisplayName = in.readUTF();
+    final String stepPlayer = in.readUTF();
+    final int playerCount = in.readInt();
+    final List<String> players = new ArrayList<>(playerCount);
+    for (int i = 0; i < playerCount; i++) {
+      players.add(in.readUTF());
+    }
+    return new SaveGameMetadata(engineVersion, gameName, gameVersion, gameUUID, saveTime, round, stepName,
+        stepDisplayName, stepPlayer, players);
+  }
+
+  public String getEngineVersion() {
+    return m_engineVersion;
+  }
+
+  public String getGameName() {
+    return m_gameName;
+  }
+
+  public String getGameVersion() {
+    return m_gameVersion;
+  }
+
+  public String getGameUUID() {
+    return m_gameUUID;
+  }
+
+  /**
+   * @return when the game was saved, in milliseconds since the epoch.
+   */
+  public long getSaveTime() {
+    return m_saveTime;
+  }
+
+  public int getRound() {
+    return m_round;
+  }
+
+  public String getStepName() {
+    return m_stepName;
+  }
+
+  public String getStepDisplayName() {
+    return m_stepDisplayName;
+  }
+
+  /**
+   * @return the player of the current step, empty if the step has none.
+   */
+  public String getStepPlayer() {
+    return m_stepPlayer;
+  }
+
+  public List<String> getPlayers() {
+    return m_players;
+  }
+
+  @Override
+  public String toString() {
+    return "SaveGameMetadata game:" + m_gameName + " round:" + m_round + " step:" + m_stepName + " engine:"
+        + m_engineVersion;
+  }
+}
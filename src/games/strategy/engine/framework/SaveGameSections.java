@@ -0,0 +1,237 @@
+package games.strategy.engine.framework;
+
+import java.io.ByteArrayInputStream;
+import java.io.DataInput;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InterruptedIOException;
+import java.io.OutputStream;
+import java.io.RandomAccessFile;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.zip.Deflater;
+import java.util.zip.InflaterInputStream;
+
+import games.strategy.util.ParallelDeflaterOutputStream;
+
+/**
+ * The container of a sectioned savegame, a header indexing named sections followed by the sections, each compressed
+ * on its own so that one can be read without reading or inflating the others.
+ * <p>
+ * The header is the magic bytes, the format version, the number of sections, then the name, offset and compressed
+ * length of each section, the offsets counting from the end of the header. Savegames from before this format are a
+ * single gzip stream, which never starts with the magic bytes.
+ */
+final class SaveGameSections {
+  // what a metadata section holds is described by SaveGameMetadata
+  static final String METADATA = "metadata";
+  // the editable game properties by name, so tools can show the game options without loading the game
+  static final String PROPERTIES = "properties";
+  // the engine version, the game data without its history, and the delegates, as the legacy format wrote them
+  static final String STATE = "state";
+  // the round and number of changes of each history chunk, the chunks being the sections named by historyChunk
+  static final String HISTORY = "history";
+  private static final byte[] MAGIC = {'T', 'S', 'A', 'V'};
+  private static final int FORMAT_VERSION = 1;
+  // compressed section bytes by name, in the order they are written, still being compressed for added sections
+  private final Map<String, Future<byte[]>> m_sections = new LinkedHashMap<>();
+  private final int m_level;
+
+  SaveGameSections() {
+    this(Deflater.DEFAULT_COMPRESSION);
+  }
+
+  /**
+   * @param level the Deflater compression level of added sections.
+   */
+  SaveGameSections(final int level) {
+    m_level = level;
+  }
+
+  /**
+   * Adds a section, compressed in the background with the others on all cores.
+   */
+  void add(final String name, final byte[] bytes) {
+    m_sections.put(name, ParallelDeflaterOutputStream.deflateInBackground(bytes, m_level, false));
+  }
+
+  /**
+   * Adds a section that is already deflated.
+   */
+  void addCompressed(final String name, final byte[] compressed) {
+    m_sections.put(name, CompletableFuture.completedFuture(compressed));
+  }
+
+  /**
+   * @return the name of the section of the history chunk at the index, a round of the history.
+   */
+  static String historyChunk(final int index) {
+    return HISTORY + "." + index;
+  }
+
+  boolean has(final String name) {
+    return m_sections.containsKey(name);
+  }
+
+  /**
+   * @return the section, inflated as it is read.
+   */
+  InputStream get(final String name) throws IOException {
+    return new InflaterInputStream(new ByteArrayInputStream(getCompressed(name)));
+  }
+
+  /**
+   * @return the section as it is stored, deflated.
+   */
+  byte[] getCompressed(final String name) throws IOException {
+    final Future<byte[]> compressed = m_sections.get(name);
+    if (compressed == null) {
+      throw new IOException("Savegame has no section:" + name);
+    }
+    return getDone(compressed);
+  }
+
+  private static byte[] getDone(final Future<byte[]> compressed) throws IOException {
+    try {
+      return compressed.get();
+    } catch (final InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw new InterruptedIOException("Interrupted compressing savegame");
+    } catch (final ExecutionException e) {
+      throw new IOException("Could not compress savegame section", e.getCause());
+    }
+  }
+
+  /**
+   * Writes the savegame once all its sections are compressed.
+   */
+  void write(final OutputStream sink) throws IOException {
+    final List<byte[]> sections = new ArrayList<>(m_sections.size());
+    for (final Future<byte[]> section : m_sections.values()) {
+      sections.add(getDone(section));
+    }
+    final DataOutputStream out = new DataOutputStream(sink);
+    out.write(MAGIC);
+    out.writeInt(FORMAT_VERSION);
+    out.writeInt(m_sections.size());
+    long offset = 0;
+    int index = 0;
+    for (final String name : m_sections.keySet()) {
+      out.writeUTF(name);
+      out.writeLong(offset);
+      out.writeInt(sections.get(index).length);
+      offset += sections.get(index).length;
+      index++;
+    }
+    for (final byte[] section : sections) {
+      out.write(section);
+    }
+    out.flush();
+  }
+
+  /**
+   * @param input must support mark, it is left at the start of the savegame.
+   * @return true if the savegame is in this format rather than the legacy one.
+   */
+  static boolean isSectioned(final InputStream input) throws IOException {
+    input.mark(MAGIC.length);
+    try {
+      final byte[] magic = new byte[MAGIC.length];
+      int read = 0;
+      while (read < magic.length) {
+        final int count = input.read(magic, read, magic.length - read);
+        if (count < 0) {
+          return false;
+        }
+        read += count;
+      }
+      return Arrays.equals(magic, MAGIC);
+    } finally {
+      input.reset();
+    }
+  }
+
+  /**
+   * Reads all the sections of a savegame, without inflating them.
+   */
+  static SaveGameSections read(final InputStream input) throws IOException {
+    final DataInputStream in = new DataInputStream(input);
+    final Map<String, long[]> index = readIndex(in);
+    final SaveGameSections sections = new SaveGameSections();
+    long offset = 0;
+    for (final Map.Entry<String, long[]> entry : index.entrySet()) {
+      if (entry.getValue()[0] != offset) {
+        throw new IOException("Savegame section out of order:" + entry.getKey());
+      }
+      final byte[] bytes = new byte[(int) entry.getValue()[1]];
+      in.readFully(bytes);
+      sections.addCompressed(entry.getKey(), bytes);
+      offset += bytes.length;
+    }
+    return sections;
+  }
+
+  /**
+   * Reads only the given sections of a savegame file, skipping to each from the index.
+   *
+   * @return null if the file is a legacy savegame.
+   */
+  static SaveGameSections read(final File file, final String... names) throws IOException {
+    try (final RandomAccessFile in = new RandomAccessFile(file, "r")) {
+      final byte[] magic = new byte[MAGIC.length];
+      if (in.length() < MAGIC.length) {
+        return null;
+      }
+      in.readFully(magic);
+      if (!Arrays.equals(magic, MAGIC)) {
+        return null;
+      }
+      in.seek(0);
+      final Map<String, long[]> index = readIndex(in);
+      final long headerEnd = in.getFilePointer();
+      final SaveGameSections sections = new SaveGameSections();
+      for (final String name : names) {
+        final long[] location = index.get(name);
+        if (location == null) {
+          continue;
+        }
+        final byte[] bytes = new byte[(int) location[1]];
+        in.seek(headerEnd + location[0]);
+        in.readFully(bytes);
+        sections.addCompressed(name, bytes);
+      }
+      return sections;
+    }
+  }
+
+  /**
+   * @return the offset and length of each section by name, in the order they are written.
+   */
+  private static Map<String, long[]> readIndex(final DataInput in) throws IOException {
+    final byte[] magic = new byte[MAGIC.length];
+    in.readFully(magic);
+    if (!Arrays.equals(magic, MAGIC)) {
+      throw new IOException("Not a sectioned savegame");
+    }
+    final int version = in.readInt();
+    if (version > FORMAT_VERSION) {
+      throw new IOException("Savegame format " + version + " is newer than this engine reads:" + FORMAT_VERSION);
+    }
+    final int count = in.readInt();
+    final Map<String, long[]> index = new LinkedHashMap<>();
+    for (int i = 0; i < count; i++) {
+      final String name = in.readUTF();
+      index.put(name, new long[] {in.readLong(), in.readInt()});
+    }
+    return index;
+  }
+}
@@ -49,6 +49,8 @@ import games.strategy.engine.random.PlainRandomSource;
 import games.strategy.engine.random.RandomStats;
 import games.strategy.net.INode;
 import games.strategy.net.Messengers;
+import games.strategy.performance.Perf;
+import games.strategy.performance.PerfTimer;
 import games.strategy.triplea.TripleAPlayer;
 
 /**
@@ -67,6 +69,55 @@ public class ServerGame extends AbstractGame {
   private IRandomSource m_randomSource = new PlainRandomSource();
   private IRandomSource m_delegateRandomSource;
   private final DelegateExecutionManager m_delegateExecutionManager = new DelegateExecutionManager();
+  /**
+   * Applies changes and history events to our game data, without checking who sent them.
+   */
+  private final IGameModifiedChannel m_localGameModifiedChannel = new IGameModifiedChannel() {
+    @Override
+    public void gameDataChanged(final Change aChange) {
+      m_data.performChange(aChange);
+      m_data.getHistory().getHistoryWriter().addChange(aChange);
+    }
+
+    @Override
+    public void startHistoryEvent(final String event, final Object renderingData) {
+      startHistoryEvent(event);
+      if (renderingData != null) {
+        m_data.getHistory().getHistoryWriter().setRenderingData(renderingData);
+      }
+    }
+
+    @Override
+    public void startHistoryEvent(final String event) {
+      m_data.getHistory().getHistoryWriter().startEvent(event);
+    }
+
+    @Override
+    public void addChildToEvent(final String text, final Object renderingData) {
+      m_data.getHistory().getHistoryWriter().addChildToEvent(new EventChild(text, renderingData));
+    }
+
+    @Override
+    public void gameModificationBatch(final GameModificationBatch batch) {
+      batch.replay(this);
+    }
+
+    @Override
+    public void stepChanged(final String stepName, final String delegateName, final PlayerID player, final int round,
+        final String displayName, final boolean loadedFromSavedGame) {
+      if (loadedFromSavedGame) {
+        return;
+      }
+      m_data.getHistory().getHistoryWriter().startNextStep(stepName, delegateName, player, displayName);
+    }
+
+    @Override
+    public void shutDown() {}
+  };
+  /**
+   * Changes and history events go through here, so those made by a delegate reach the clients as one message.
+   */
+  private final GameModificationBatcher m_gameModificationBatcher;
   private InGameLobbyWatcherWrapper m_inGameLobbyWatcher;
   private boolean m_needToInitialize = true;
   /**
@@ -96,8 +147,7 @@ public class ServerGame extends AbstractGame {
       @Override
       public void gameDataChanged(final Change aChange) {
         assertCorrectCaller();
-        m_data.performChange(aChange);
-        m_data.getHistory().getHistoryWriter().addChange(aChange);
+        m_localGameModifiedChannel.gameDataChanged(aChange);
       }
 
       private void assertCorrectCaller() {
@@ -108,37 +158,34 @@ public class ServerGame extends AbstractGame {
 
       @Override
       public void startHistoryEvent(final String event, final Object renderingData) {
-        startHistoryEvent(event);
-        if (renderingData != null) {
-          setRenderingData(renderingData);
-        }
+        assertCorrectCaller();
+        m_localGameModifiedChannel.startHistoryEvent(event, renderingData);
       }
 
       @Override
       public void startHistoryEvent(final String event) {
         assertCorrectCaller();
-        m_data.getHistory().getHistoryWriter().startEvent(event);
+        m_localGameModifiedChannel.startHistoryEvent(event);
       }
 
       @Override
       public void addChildToEvent(final String text, final Object renderingData) {
         assertCorrectCaller();
-        m_data.getHistory().getHistoryWriter().addChildToEvent(new EventChild(text, renderingData));
+        m_localGameModifiedChannel.addChildToEvent(text, renderingData);
       }
 
-      protected void setRenderingData(final Object renderingData) {
+      // the batcher applied these to our data as they were made
+      @Override
+      public void gameModificationBatch(final GameModificationBatch batch) {
         assertCorrectCaller();
-        m_data.getHistory().getHistoryWriter().setRenderingData(renderingData);
       }
 
       @Override
       public void stepChanged(final String stepName, final String delegateName, final PlayerID player, final int round,
           final String displayName, final boolean loadedFromSavedGame) {
         assertCorrectCaller();
-        if (loadedFromSavedGame) {
-          return;
-        }
-        m_data.getHistory().getHistoryWriter().startNextStep(stepName, delegateName, player, displayName);
+        m_localGameModifiedChannel.stepChanged(stepName, delegateName, player, round, displayName,
+            loadedFromSavedGame);
       }
 
       // nothing to do, we call this
@@ -146,6 +193,9 @@ public class ServerGame extends AbstractGame {
       public void shutDown() {}
     };
     m_channelMessenger.registerChannelSubscriber(m_gameModifiedChannel, IGame.GAME_MODIFICATION_CHANNEL);
+    m_gameModificationBatcher = new GameModificationBatcher(
+        (IGameModifiedChannel) m_channelMessenger.getChannelBroadcastor(IGame.GAME_MODIFICATION_CHANNEL),
+        m_localGameModifiedChannel, m_delegateExecutionManager);
     setupDelegateMessaging(data);
     m_randomStats = new RandomStats(m_remoteMessenger);
     IServerRemote m_serverRemote = new IServerRemote() {
@@ -444,10 +494,14 @@ public class ServerGame extends AbstractGame {
   /**
    * @return true if the step should autosave
    */
+  @SuppressWarnings("try")
   private boolean endStep() {
     m_delegateExecutionManager.enterDelegateExecution();
     try {
-      getCurrentStep().getDelegate().end();
+      final IDelegate delegate = getCurrentStep().getDelegate();
+      try (PerfTimer timer = Perf.startTimer("delegate", "End " + delegate.getName())) {
+        delegate.end();
+      }
     } finally {
       m_delegateExecutionManager.leaveDelegateExecution();
     }
@@ -460,6 +514,7 @@ public class ServerGame extends AbstractGame {
     return false;
   }
 
+  @SuppressWarnings("try")
   private void startPersistentDelegates() {
     final Iterator<IDelegate> delegateIter = m_data.getDelegateList().iterator();
     while (delegateIter.hasNext()) {
@@ -468,7 +523,7 @@ public class ServerGame extends AbstractGame {
         continue;
       }
       final DefaultDelegateBridge bridge = new DefaultDelegateBridge(m_data, this,
-          new DelegateHistoryWriter(m_channelMessenger), m_randomStats, m_delegateExecutionManager);
+          new DelegateHistoryWriter(getGameModifiedBroadcaster()), m_randomStats, m_delegateExecutionManager);
       if (m_delegateRandomSource == null) {
         m_delegateRandomSource = (IRandomSource) m_delegateExecutionManager.createOutboundImplementation(m_randomSource,
             new Class<?>[]{IRandomSource.class});
@@ -477,13 +532,16 @@ public class ServerGame extends AbstractGame {
       m_delegateExecutionManager.enterDelegateExecution();
       try {
         delegate.setDelegateBridgeAndPlayer(bridge);
-        delegate.start();
+        try (PerfTimer timer = Perf.startTimer("delegate", "Start " + delegate.getName())) {
+          delegate.start();
+        }
       } finally {
         m_delegateExecutionManager.leaveDelegateExecution();
       }
     }
   }
 
+  @SuppressWarnings("try")
   private void startStep(final boolean stepIsRestoredFromSavedGame) {
     // dont save if we just loaded
     if (!stepIsRestoredFromSavedGame) {
@@ -494,7 +552,7 @@ public class ServerGame extends AbstractGame {
       }
     }
     final DefaultDelegateBridge bridge = new DefaultDelegateBridge(m_data, this,
-        new DelegateHistoryWriter(m_channelMessenger), m_randomStats, m_delegateExecutionManager);
+        new DelegateHistoryWriter(getGameModifiedBroadcaster()), m_randomStats, m_delegateExecutionManager);
     if (m_delegateRandomSource == null) {
       m_delegateRandomSource = (IRandomSource) m_delegateExecutionManager.createOutboundImplementation(m_randomSource,
           new Class<?>[]{IRandomSource.class});
@@ -510,7 +568,9 @@ public class ServerGame extends AbstractGame {
     try {
       final IDelegate delegate = getCurrentStep().getDelegate();
       delegate.setDelegateBridgeAndPlayer(bridge);
-      delegate.start();
+      try (PerfTimer timer = Perf.startTimer("delegate", "Start " + delegate.getName())) {
+        delegate.start();
+      }
     } finally {
       m_delegateExecutionManager.leaveDelegateExecution();
     }
@@ -605,7 +665,7 @@ public class ServerGame extends AbstractGame {
   }
 
   private IGameModifiedChannel getGameModifiedBroadcaster() {
-    return (IGameModifiedChannel) m_channelMessenger.getChannelBroadcastor(IGame.GAME_MODIFICATION_CHANNEL);
+    return m_gameModificationBatcher;
   }
 
   @Override
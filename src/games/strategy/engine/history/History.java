@@ -1,10 +1,15 @@
 package games.strategy.engine.history;
 
+import java.io.IOException;
 import java.io.ObjectStreamException;
 import java.io.Serializable;
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.Enumeration;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentNavigableMap;
+import java.util.concurrent.ConcurrentSkipListMap;
 
 import javax.swing.SwingUtilities;
 import javax.swing.tree.DefaultMutableTreeNode;
@@ -25,11 +30,18 @@ import javax.swing.tree.DefaultTreeModel;
 import games.strategy.engine.data.Change;
 import games.strategy.engine.data.CompositeChange;
 import games.strategy.engine.data.GameData;
+import games.strategy.performance.Perf;
+import games.strategy.performance.PerfTimer;
 import games.strategy.triplea.ui.history.HistoryPanel;
 
 public class History extends DefaultTreeModel {
+  // set while the game data is saved apart from its history, see writeChunks
+  private static final ThreadLocal<Boolean> s_writeEmpty = ThreadLocal.withInitial(() -> Boolean.FALSE);
   private final HistoryWriter m_writer = new HistoryWriter(this);
+  // null for the changes of lazy rounds, see getChange
   private final List<Change> m_changes = new ArrayList<>();
+  // the rounds read from a savegame by the index of their first change, read apart from the locks of this history
+  private final ConcurrentNavigableMap<Integer, LazyRound> m_lazyRounds = new ConcurrentSkipListMap<>();
   private final GameData m_data;
   private HistoryNode m_currentNode;
 
@@ -98,8 +110,7 @@ public class History extends DefaultTreeModel {
     if (firstChange == lastChange) {
       return null;
     }
-    final List<Change> changes =
-        m_changes.subList(Math.min(firstChange, lastChange), Math.max(firstChange, lastChange));
+    final List<Change> changes = getChanges(Math.min(firstChange, lastChange), Math.max(firstChange, lastChange));
     final Change compositeChange = new CompositeChange(changes);
     if (lastChange >= firstChange) {
       return compositeChange;
@@ -108,20 +119,44 @@ public class History extends DefaultTreeModel {
     }
   }
 
+  @SuppressWarnings("try")
   public synchronized void gotoNode(final HistoryNode node) {
     assertCorrectThread();
-    getGameData().acquireWriteLock();
-    try {
-      if (m_currentNode == null) {
-        m_currentNode = getLastNode();
-      }
-      final Change dataChange = getDelta(m_currentNode, node);
-      m_currentNode = node;
-      if (dataChange != null) {
-        m_data.performChange(dataChange);
+    try (PerfTimer timer = Perf.startTimer("history", "Go to history node")) {
+      getGameData().acquireWriteLock();
+      try {
+        if (m_currentNode == null) {
+          m_currentNode = getLastNode();
+        }
+        final Change dataChange = getDelta(m_currentNode, node);
+        m_currentNode = node;
+        if (dataChange != null) {
+          m_data.performChange(dataChange);
+        }
+      } finally {
+        getGameData().releaseWriteLock();
       }
-    } finally {
-      getGameData().releaseWriteLock();
+    }
+  }
+
+  /**
+   * Goes to a node after the current one by performing the changes in between, for HistoryReplay. A node before the
+   * current one is gone to as by gotoNode.
+   */
+  synchronized void gotoNodeForward(final HistoryNode node) {
+    assertCorrectThread();
+    if (m_currentNode == null) {
+      m_currentNode = getLastNode();
+    }
+    final int firstChange = getLastChange(m_currentNode);
+    final int lastChange = getLastChange(node);
+    if (lastChange < firstChange) {
+      gotoNode(node);
+      return;
+    }
+    m_currentNode = node;
+    if (lastChange > firstChange) {
+      m_data.performChange(new CompositeChange(getChanges(firstChange, lastChange)));
     }
   }
 
@@ -134,6 +169,7 @@ public class History extends DefaultTreeModel {
       while (m_changes.size() > lastChange) {
         m_changes.remove(lastChange);
       }
+      m_lazyRounds.tailMap(lastChange).clear();
       final List<HistoryNode> nodesToRemove = new ArrayList<>();
       final Enumeration<?> enumeration = ((DefaultMutableTreeNode) this.getRoot()).preorderEnumeration();
       enumeration.nextElement();
@@ -158,6 +194,34 @@ public class History extends DefaultTreeModel {
     }
   }
 
+  /**
+   * @return the change at the index, read from its round if that is a lazy round not read yet.
+   */
+  Change getChange(final int index) {
+    final Change change = m_changes.get(index);
+    if (change != null) {
+      return change;
+    }
+    final Map.Entry<Integer, LazyRound> round = m_lazyRounds.floorEntry(index);
+    return round == null ? null : round.getValue().getChange(index);
+  }
+
+  private List<Change> getChanges(final int from, final int to) {
+    if (m_lazyRounds.isEmpty()) {
+      return m_changes.subList(from, to);
+    }
+    final List<Change> changes = new ArrayList<>(to - from);
+    for (int i = from; i < to; i++) {
+      changes.add(getChange(i));
+    }
+    return changes;
+  }
+
+  void lazyRoundAdded(final LazyRound round, final int changeCount) {
+    m_lazyRounds.put(round.getChangeStartIndex(), round);
+    m_changes.addAll(Collections.nCopies(changeCount, (Change) null));
+  }
+
   synchronized void changeAdded(final Change aChange) {
     m_changes.add(aChange);
     if (m_currentNode == null) {
@@ -168,8 +232,76 @@ public class History extends DefaultTreeModel {
     }
   }
 
+  /**
+   * While set, the histories serialized by this thread are written empty, for saving a game data apart from its
+   * history with writeChunks.
+   */
+  public static void setWriteEmpty(final boolean writeEmpty) {
+    s_writeEmpty.set(writeEmpty);
+  }
+
   private Object writeReplace() throws ObjectStreamException {
-    return new SerializedHistory(this, m_data, m_changes);
+    if (s_writeEmpty.get()) {
+      return new SerializedHistory(m_data);
+    }
+    return new SerializedHistory(this, m_data);
+  }
+
+  /**
+   * Writes this history as a chunk per round, for readChunks to read into the empty history of the same game data once
+   * it is loaded. The chunks of lazy rounds not read yet are passed on as they were read, compressed; the others are
+   * not compressed. The read lock of the game data must be held.
+   */
+  public List<HistoryChunk> writeChunks() throws IOException {
+    final List<HistoryChunk> chunks = new ArrayList<>();
+    final HistoryNode root = (HistoryNode) getRoot();
+    int changeIndex = 0;
+    for (int i = 0; i < root.getChildCount(); i++) {
+      final Round round = (Round) root.getChildAt(i);
+      final int changeEnd = SerializedHistory.getChangeEnd(this, i);
+      final HistoryChunk chunk = round instanceof LazyRound ? ((LazyRound) round).getChunk() : null;
+      if (chunk != null) {
+        chunks.add(chunk);
+      } else {
+        final List<SerializationWriter> writers = new ArrayList<>();
+        SerializedHistory.addWriters(this, round, changeIndex, changeEnd, writers);
+        int changeCount = 0;
+        for (final SerializationWriter writer : writers) {
+          if (writer instanceof ChangeSerializationWriter) {
+            changeCount++;
+          }
+        }
+        chunks.add(HistoryChunk.of(round.getRoundNo(), changeCount, writers));
+      }
+      changeIndex = changeEnd;
+    }
+    return chunks;
+  }
+
+  /**
+   * Reads what writeChunks wrote into this history, which must be empty. The last round is read now, so that the game
+   * goes on from where it was; the others are only read when they are looked into, see LazyRound.
+   */
+  public void readChunks(final List<HistoryChunk> chunks) throws IOException {
+    if (((HistoryNode) getRoot()).getChildCount() > 0 || !m_changes.isEmpty()) {
+      throw new IllegalStateException("History is not empty");
+    }
+    for (int i = 0; i < chunks.size() - 1; i++) {
+      m_writer.addLazyRound(chunks.get(i));
+    }
+    if (!chunks.isEmpty()) {
+      replayChunk(chunks.get(chunks.size() - 1), m_data, m_writer);
+    }
+  }
+
+  /**
+   * Writes the round of a chunk to a history writer, resolving its game objects in the given game data.
+   */
+  static void replayChunk(final HistoryChunk chunk, final GameData data, final HistoryWriter writer)
+      throws IOException {
+    for (final Object element : chunk.read(data)) {
+      ((SerializationWriter) element).write(writer);
+    }
   }
 
   List<Change> getChanges() {
@@ -191,27 +323,71 @@ class SerializedHistory implements Serializable {
   private final List<SerializationWriter> m_Writers = new ArrayList<>();
   private final GameData m_data;
 
-  public SerializedHistory(final History history, final GameData data, final List<Change> changes) {
+  public SerializedHistory(final History history, final GameData data) {
+    m_data = data;
+    m_Writers.addAll(getWriters(history));
+  }
+
+  /**
+   * An empty history.
+   */
+  public SerializedHistory(final GameData data) {
     m_data = data;
+  }
+
+  static ArrayList<SerializationWriter> getWriters(final History history) {
+    final ArrayList<SerializationWriter> writers = new ArrayList<>();
+    final HistoryNode root = (HistoryNode) history.getRoot();
     int changeIndex = 0;
-    final Enumeration<?> enumeration = ((DefaultMutableTreeNode) history.getRoot()).preorderEnumeration();
-    enumeration.nextElement();
+    for (int i = 0; i < root.getChildCount(); i++) {
+      final HistoryNode round = (HistoryNode) root.getChildAt(i);
+      final int changeEnd = getChangeEnd(history, i);
+      final HistoryChunk chunk = round instanceof LazyRound ? ((LazyRound) round).getChunk() : null;
+      if (chunk != null) {
+        // pass on a round not read yet without reading it
+        writers.add(new LazyRoundSerializationWriter(chunk));
+      } else {
+        addWriters(history, round, changeIndex, changeEnd, writers);
+      }
+      changeIndex = changeEnd;
+    }
+    return writers;
+  }
+
+  /**
+   * @return the index after the last change of the round at the index among the children of the root.
+   */
+  static int getChangeEnd(final History history, final int roundIndex) {
+    final HistoryNode root = (HistoryNode) history.getRoot();
+    if (roundIndex + 1 < root.getChildCount()) {
+      return ((IndexedHistoryNode) root.getChildAt(roundIndex + 1)).getChangeStartIndex();
+    }
+    return history.getChanges().size();
+  }
+
+  /**
+   * Adds the writers of a node and the nodes below it, with the changes from changeIndex to changeEnd.
+   */
+  static void addWriters(final History history, final HistoryNode top, final int changeIndex, final int changeEnd,
+      final List<SerializationWriter> writers) {
+    int index = changeIndex;
+    final Enumeration<?> enumeration = top.preorderEnumeration();
     while (enumeration.hasMoreElements()) {
       final HistoryNode node = (HistoryNode) enumeration.nextElement();
       // write the changes to the start of the node
       if (node instanceof IndexedHistoryNode) {
-        while (changeIndex < ((IndexedHistoryNode) node).getChangeStartIndex()) {
-          m_Writers.add(new ChangeSerializationWriter(changes.get(changeIndex)));
-          changeIndex++;
+        while (index < ((IndexedHistoryNode) node).getChangeStartIndex()) {
+          writers.add(new ChangeSerializationWriter(history.getChange(index)));
+          index++;
         }
       }
       // write the node itself
-      m_Writers.add(node.getWriter());
+      writers.add(node.getWriter());
     }
     // write out remaining changes
-    while (changeIndex < changes.size()) {
-      m_Writers.add(new ChangeSerializationWriter(changes.get(changeIndex)));
-      changeIndex++;
+    while (index < changeEnd) {
+      writers.add(new ChangeSerializationWriter(history.getChange(index)));
+      index++;
     }
   }
 
@@ -245,6 +421,21 @@ interface SerializationWriter extends Serializable {
 }
 
 
+class LazyRoundSerializationWriter implements SerializationWriter {
+  private static final long serialVersionUID = 4866735406181340528L;
+  private final HistoryChunk m_chunk;
+
+  public LazyRoundSerializationWriter(final HistoryChunk chunk) {
+    m_chunk = chunk;
+  }
+
+  @Override
+  public void write(final HistoryWriter writer) {
+    writer.addLazyRound(m_chunk);
+  }
+}
+
+
 class ChangeSerializationWriter implements SerializationWriter {
   private static final long serialVersionUID = -3802807345707883606L;
   private final Change aChange;
@@ -0,0 +1,79 @@
+package games.strategy.engine.history;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.zip.InflaterInputStream;
+
+import games.strategy.engine.data.GameData;
+import games.strategy.engine.data.GameObjectInputStream;
+import games.strategy.engine.data.GameObjectOutputStream;
+import games.strategy.engine.framework.GameObjectStreamFactory;
+
+/**
+ * One round of a history as bytes, the writers of the round and of its changes written with the game objects by name.
+ * A chunk starts with the round, and holds the changes up to the next round.
+ * <p>
+ * Chunks written by History.writeChunks are not compressed. Chunks read from a savegame are deflated, and stay that
+ * way in a LazyRound until the round is looked into.
+ */
+public final class HistoryChunk implements Serializable {
+  private static final long serialVersionUID = 3309157062530932164L;
+  private final int m_round;
+  private final int m_changeCount;
+  private final byte[] m_bytes;
+  private final boolean m_compressed;
+
+  public HistoryChunk(final int round, final int changeCount, final byte[] bytes, final boolean compressed) {
+    m_round = round;
+    m_changeCount = changeCount;
+    m_bytes = bytes;
+    m_compressed = compressed;
+  }
+
+  static HistoryChunk of(final int round, final int changeCount, final List<?> writers) throws IOException {
+    final ByteArrayOutputStream bytes = new ByteArrayOutputStream(5000);
+    try (ObjectOutputStream out = new GameObjectOutputStream(bytes)) {
+      out.writeObject(writers instanceof ArrayList ? writers : new ArrayList<>(writers));
+    }
+    return new HistoryChunk(round, changeCount, bytes.toByteArray(), false);
+  }
+
+  /**
+   * Reads the writers, resolving the game objects in the given game data.
+   */
+  List<?> read(final GameData data) throws IOException {
+    final InputStream bytes = new ByteArrayInputStream(m_bytes);
+    try (ObjectInputStream in = new GameObjectInputStream(new GameObjectStreamFactory(data),
+        m_compressed ? new InflaterInputStream(bytes) : bytes)) {
+      return (List<?>) in.readObject();
+    } catch (final ClassNotFoundException e) {
+      throw new IOException(e.getMessage());
+    }
+  }
+
+  public int getRound() {
+    return m_round;
+  }
+
+  public int getChangeCount() {
+    return m_changeCount;
+  }
+
+  public byte[] getBytes() {
+    return m_bytes;
+  }
+
+  /**
+   * @return true if the bytes are deflated.
+   */
+  public boolean isCompressed() {
+    return m_compressed;
+  }
+}
@@ -0,0 +1,52 @@
+package games.strategy.engine.history;
+
+import java.util.Enumeration;
+
+import games.strategy.engine.data.GameData;
+
+/**
+ * Replays a history from its start, going through its nodes in order with the game data as it was at each one.
+ * <p>
+ * The changes of the history are undone once to get back to the start, after that each change is performed once as
+ * the nodes are reached, and nothing is ever undone again. This makes going through a whole game, as the stats export
+ * does, take about the time it took to make the changes, rather than jumping between nodes with gotoNode.
+ * <p>
+ * The replay changes the game data, so replay a copy and not the data of a running game.
+ *
+ * <pre>
+ * final HistoryReplay replay = new HistoryReplay(clone);
+ * while (replay.hasNext()) {
+ *   final HistoryNode node = replay.next();
+ *   // read clone here
+ * }
+ * </pre>
+ */
+public class HistoryReplay {
+  private final History m_history;
+  private final Enumeration<?> m_nodes;
+
+  /**
+   * Goes back to the start of the history of the data.
+   */
+  public HistoryReplay(final GameData data) {
+    m_history = data.getHistory();
+    final HistoryNode root = (HistoryNode) m_history.getRoot();
+    m_history.gotoNode(root);
+    m_nodes = root.preorderEnumeration();
+    // the root has no changes of its own
+    m_nodes.nextElement();
+  }
+
+  public boolean hasNext() {
+    return m_nodes.hasMoreElements();
+  }
+
+  /**
+   * @return the next node of the history, the game data is now as it was at that node.
+   */
+  public HistoryNode next() {
+    final HistoryNode node = (HistoryNode) m_nodes.nextElement();
+    m_history.gotoNodeForward(node);
+    return node;
+  }
+}
@@ -57,6 +57,25 @@ public class HistoryWriter implements java.io.Serializable {
 
   public void startNextRound(final int round) {
     assertCorrectThread();
+    closeRound();
+    final Round currentRound = new Round(round, m_history.getChanges().size());
+    m_current = (HistoryNode) m_history.getRoot();
+    addToAndSetCurrent(currentRound);
+  }
+
+  /**
+   * Adds a round that is only read from its chunk when it is looked into, see LazyRound.
+   */
+  void addLazyRound(final HistoryChunk chunk) {
+    assertCorrectThread();
+    closeRound();
+    final LazyRound round = new LazyRound(m_history, chunk, m_history.getChanges().size());
+    m_current = (HistoryNode) m_history.getRoot();
+    addToAndSetCurrent(round);
+    m_history.lazyRoundAdded(round, chunk.getChangeCount());
+  }
+
+  private void closeRound() {
     if (isCurrentEvent()) {
       closeCurrent();
     }
@@ -66,9 +85,6 @@ public class HistoryWriter implements java.io.Serializable {
     if (isCurrentRound()) {
       closeCurrent();
     }
-    final Round currentRound = new Round(round, m_history.getChanges().size());
-    m_current = (HistoryNode) m_history.getRoot();
-    addToAndSetCurrent(currentRound);
   }
 
   private void closeCurrent() {
@@ -3,7 +3,7 @@ package games.strategy.engine.history;
 public abstract class IndexedHistoryNode extends HistoryNode {
   private static final long serialVersionUID = 607716179473453685L;
   // points to the first change we are responsible for
-  private final int m_changeStartIndex;
+  private int m_changeStartIndex;
   // points after the last change we are responsible for
   private int m_changeStopIndex = -1;
 
@@ -23,4 +23,14 @@ public abstract class IndexedHistoryNode extends HistoryNode {
   void setChangeEndIndex(final int index) {
     m_changeStopIndex = index;
   }
+
+  /**
+   * Moves the changes this node is responsible for, for a node read apart from the changes before it.
+   */
+  void shiftChangeIndexes(final int offset) {
+    m_changeStartIndex += offset;
+    if (m_changeStopIndex != -1) {
+      m_changeStopIndex += offset;
+    }
+  }
 }
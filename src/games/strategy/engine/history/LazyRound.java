@@ -0,0 +1,111 @@
+package games.strategy.engine.history;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Enumeration;
+import java.util.List;
+
+import javax.swing.tree.TreeNode;
+
+import games.strategy.engine.data.Change;
+import games.strategy.engine.data.GameData;
+
+/**
+ * A round of a history read from a sectioned savegame. Its steps, events and changes stay in the compressed chunk
+ * until something first looks into the round, the history tree expanding it or going to a node past its start.
+ */
+class LazyRound extends Round {
+  private static final long serialVersionUID = -2717530447958244166L;
+  private final History m_history;
+  // the chunk of the round until it is read, then null
+  private HistoryChunk m_chunk;
+  // the changes of the round once it is read
+  private List<Change> m_changes;
+
+  LazyRound(final History history, final HistoryChunk chunk, final int changeStartIndex) {
+    super(chunk.getRound(), changeStartIndex);
+    m_history = history;
+    m_chunk = chunk;
+  }
+
+  /**
+   * @return the chunk of the round, null once the round is read.
+   */
+  synchronized HistoryChunk getChunk() {
+    return m_chunk;
+  }
+
+  Change getChange(final int index) {
+    read();
+    return m_changes.get(index - getChangeStartIndex());
+  }
+
+  private void read() {
+    final HistoryChunk chunk = getChunk();
+    if (chunk == null) {
+      return;
+    }
+    // read without holding the lock of this round, reading takes the read lock of the game data, and a thread going
+    // to a node holds its write lock while it waits for this round
+    final History scratch = new History(new GameData());
+    final HistoryWriter writer = scratch.getHistoryWriter();
+    try {
+      History.replayChunk(chunk, m_history.getGameData(), writer);
+    } catch (final IOException e) {
+      throw new IllegalStateException("Could not read history of round " + getRoundNo(), e);
+    }
+    // close the last step and event, as the next round did when the history was written
+    writer.startNextRound(getRoundNo() + 1);
+    if (scratch.getChanges().size() != chunk.getChangeCount()) {
+      throw new IllegalStateException("History of round " + getRoundNo() + " has " + scratch.getChanges().size()
+          + " changes, expected " + chunk.getChangeCount());
+    }
+    synchronized (this) {
+      if (m_chunk == null) {
+        // read by another thread meanwhile
+        return;
+      }
+      final HistoryNode round = (HistoryNode) ((HistoryNode) scratch.getRoot()).getChildAt(0);
+      final List<HistoryNode> children = new ArrayList<>();
+      for (int i = 0; i < round.getChildCount(); i++) {
+        children.add((HistoryNode) round.getChildAt(i));
+      }
+      for (int i = 0; i < children.size(); i++) {
+        final Enumeration<?> nodes = children.get(i).preorderEnumeration();
+        while (nodes.hasMoreElements()) {
+          final Object node = nodes.nextElement();
+          if (node instanceof IndexedHistoryNode) {
+            ((IndexedHistoryNode) node).shiftChangeIndexes(getChangeStartIndex());
+          }
+        }
+        insert(children.get(i), i);
+      }
+      m_changes = scratch.getChanges();
+      m_chunk = null;
+    }
+  }
+
+  @Override
+  public boolean isLeaf() {
+    return getChunk() == null && super.isLeaf();
+  }
+
+  @Override
+  public int getChildCount() {
+    read();
+    return super.getChildCount();
+  }
+
+  @Override
+  public TreeNode getChildAt(final int index) {
+    read();
+    return super.getChildAt(index);
+  }
+
+  @Override
+  @SuppressWarnings("rawtypes")
+  public Enumeration children() {
+    read();
+    return super.children();
+  }
+}
@@ -2,6 +2,7 @@ package games.strategy.engine.lobby.client.ui;
 
 import java.util.ArrayList;
 import java.util.Date;
+import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
 
@@ -9,6 +10,7 @@ import javax.swing.SwingUtilities;
 import javax.swing.table.AbstractTableModel;
 
 import games.strategy.engine.lobby.server.GameDescription;
+import games.strategy.engine.lobby.server.GameDescriptionDelta;
 import games.strategy.engine.lobby.server.ILobbyGameBroadcaster;
 import games.strategy.engine.lobby.server.ILobbyGameController;
 import games.strategy.engine.message.IChannelMessenger;
@@ -30,6 +32,7 @@ public class LobbyGameTableModel extends AbstractTableModel {
   // these must only be accessed in the swing event thread
   private final List<Tuple<GUID,GameDescription>> gameList;
   private final ILobbyGameBroadcaster lobbyGameBroadcaster;
+  private final ILobbyGameController lobbyGameController;
 
   public LobbyGameTableModel(final IMessenger messenger, final IChannelMessenger channelMessenger,
       final IRemoteMessenger remoteMessenger) {
@@ -46,6 +49,12 @@ public class LobbyGameTableModel extends AbstractTableModel {
         updateGame(gameId, description);
       }
 
+      @Override
+      public void gamesChanged(final List<GameDescriptionDelta> deltas) {
+        assertSentFromServer();
+        applyDeltas(deltas);
+      }
+
       @Override
       public void gameRemoved(final GUID gameId) {
         assertSentFromServer();
@@ -54,13 +63,64 @@ public class LobbyGameTableModel extends AbstractTableModel {
     };
     m_channelMessenger.registerChannelSubscriber(lobbyGameBroadcaster, ILobbyGameBroadcaster.GAME_BROADCASTER_CHANNEL);
 
-    final Map<GUID, GameDescription> games =
-        ((ILobbyGameController) m_remoteMessenger.getRemote(ILobbyGameController.GAME_CONTROLLER_REMOTE)).listGames();
+    lobbyGameController =
+        (ILobbyGameController) m_remoteMessenger.getRemote(ILobbyGameController.GAME_CONTROLLER_REMOTE);
+    final Map<GUID, GameDescription> games = lobbyGameController.listGames();
     for (final GUID id : games.keySet()) {
       updateGame(id, games.get(id));
     }
   }
 
+  private void applyDeltas(final List<GameDescriptionDelta> deltas) {
+    SwingUtilities.invokeLater(new Runnable() {
+      @Override
+      public void run() {
+        boolean missedUpdate = false;
+        for (final GameDescriptionDelta delta : deltas) {
+          final Tuple<GUID, GameDescription> game = findGame(delta.getGameId());
+          if (game != null && delta.canApplyTo(game.getSecond())) {
+            final int index = gameList.indexOf(game);
+            gameList.set(index, Tuple.of(game.getFirst(), delta.applyTo(game.getSecond())));
+            fireTableRowsUpdated(index, index);
+          } else if (game == null || game.getSecond().getVersion() < delta.getToVersion()) {
+            // we do not have the version the delta was made from
+            missedUpdate = true;
+          }
+        }
+        if (missedUpdate) {
+          reloadGames();
+        }
+      }
+    });
+  }
+
+  /**
+   * Replaces our games with the server's list, off the swing event thread.
+   */
+  private void reloadGames() {
+    new Thread(new Runnable() {
+      @Override
+      public void run() {
+        final Map<GUID, GameDescription> games = lobbyGameController.listGames();
+        SwingUtilities.invokeLater(new Runnable() {
+          @Override
+          public void run() {
+            final Iterator<Tuple<GUID, GameDescription>> iter = gameList.iterator();
+            while (iter.hasNext()) {
+              if (!games.containsKey(iter.next().getFirst())) {
+                iter.remove();
+              }
+            }
+            fireTableDataChanged();
+          }
+        });
+        for (final GUID id : games.keySet()) {
+          updateGame(id, games.get(id));
+        }
+      }
+    }, "Lobby game list reload").start();
+  }
+
   private void removeGame(final GUID gameId) {
     SwingUtilities.invokeLater(new Runnable() {
       @Override
@@ -158,6 +158,18 @@ public class GameDescription implements Externalizable, Cloneable {
     return m_botSupportEmail;
   }
 
+  void setBotSupportEmail(final String botSupportEmail) {
+    m_version++;
+    m_botSupportEmail = botSupportEmail;
+  }
+
+  /**
+   * Used when applying a {@link GameDescriptionDelta}, to end at the host's version rather than one per field.
+   */
+  void setVersion(final int version) {
+    m_version = version;
+  }
+
   public String getRound() {
     return m_round;
   }
@@ -0,0 +1,302 @@
+package games.strategy.engine.lobby.server;
+
+import java.io.Externalizable;
+import java.io.IOException;
+import java.io.ObjectInput;
+import java.io.ObjectOutput;
+import java.util.Date;
+import java.util.Objects;
+
+import games.strategy.engine.lobby.server.GameDescription.GameStatus;
+import games.strategy.net.GUID;
+import games.strategy.net.INode;
+import games.strategy.net.Node;
+
+/**
+ * The fields of a game description that changed between two of its versions.
+ * <p>
+ * The lobby sends these instead of the whole description when a hosted game changes. A delta can only be applied to
+ * the version it was made from, a client that does not have that version should fetch the game list again.
+ */
+public class GameDescriptionDelta implements Externalizable {
+  private static final long serialVersionUID = -5093870394751284573L;
+  private static final int HOSTED_BY = 1;
+  private static final int PORT = 1 << 1;
+  private static final int START_DATE_TIME = 1 << 2;
+  private static final int GAME_NAME = 1 << 3;
+  private static final int PLAYER_COUNT = 1 << 4;
+  private static final int ROUND = 1 << 5;
+  private static final int STATUS = 1 << 6;
+  private static final int HOST_NAME = 1 << 7;
+  private static final int COMMENT = 1 << 8;
+  private static final int PASSWORDED = 1 << 9;
+  private static final int ENGINE_VERSION = 1 << 10;
+  private static final int GAME_VERSION = 1 << 11;
+  private static final int BOT_SUPPORT_EMAIL = 1 << 12;
+  private GUID m_gameId;
+  private int m_fromVersion;
+  private int m_toVersion;
+  // bit set of the fields above that changed
+  private int m_changed;
+  private INode m_hostedBy;
+  private int m_port;
+  private Date m_startDateTime;
+  private String m_gameName;
+  private int m_playerCount;
+  private String m_round;
+  private GameStatus m_status;
+  private String m_hostName;
+  private String m_comment;
+  private boolean m_passworded;
+  private String m_engineVersion;
+  private String m_gameVersion;
+  private String m_botSupportEmail;
+
+  /** Needed for Externalizable. */
+  public GameDescriptionDelta() {}
+
+  /**
+   * @return the changes that turn from into to.
+   */
+  public static GameDescriptionDelta between(final GUID gameId, final GameDescription from,
+      final GameDescription to) {
+    final GameDescriptionDelta delta = new GameDescriptionDelta();
+    delta.m_gameId = gameId;
+    delta.m_fromVersion = from.getVersion();
+    delta.m_toVersion = to.getVersion();
+    if (!Objects.equals(from.getHostedBy(), to.getHostedBy())) {
+      delta.m_changed |= HOSTED_BY;
+      delta.m_hostedBy = to.getHostedBy();
+    }
+    if (from.getPort() != to.getPort()) {
+      delta.m_changed |= PORT;
+      delta.m_port = to.getPort();
+    }
+    if (!Objects.equals(from.getStartDateTime(), to.getStartDateTime())) {
+      delta.m_changed |= START_DATE_TIME;
+      delta.m_startDateTime = to.getStartDateTime();
+    }
+    if (!Objects.equals(from.getGameName(), to.getGameName())) {
+      delta.m_changed |= GAME_NAME;
+      delta.m_gameName = to.getGameName();
+    }
+    if (from.getPlayerCount() != to.getPlayerCount()) {
+      delta.m_changed |= PLAYER_COUNT;
+      delta.m_playerCount = to.getPlayerCount();
+    }
+    if (!Objects.equals(from.getRound(), to.getRound())) {
+      delta.m_changed |= ROUND;
+      delta.m_round = to.getRound();
+    }
+    if (from.getStatus() != to.getStatus()) {
+      delta.m_changed |= STATUS;
+      delta.m_status = to.getStatus();
+    }
+    if (!Objects.equals(from.getHostName(), to.getHostName())) {
+      delta.m_changed |= HOST_NAME;
+      delta.m_hostName = to.getHostName();
+    }
+    if (!Objects.equals(from.getComment(), to.getComment())) {
+      delta.m_changed |= COMMENT;
+      delta.m_comment = to.getComment();
+    }
+    if (from.getPassworded() != to.getPassworded()) {
+      delta.m_changed |= PASSWORDED;
+      delta.m_passworded = to.getPassworded();
+    }
+    if (!Objects.equals(from.getEngineVersion(), to.getEngineVersion())) {
+      delta.m_changed |= ENGINE_VERSION;
+      delta.m_engineVersion = to.getEngineVersion();
+    }
+    if (!Objects.equals(from.getGameVersion(), to.getGameVersion())) {
+      delta.m_changed |= GAME_VERSION;
+      delta.m_gameVersion = to.getGameVersion();
+    }
+    if (!Objects.equals(from.getBotSupportEmail(), to.getBotSupportEmail())) {
+      delta.m_changed |= BOT_SUPPORT_EMAIL;
+      delta.m_botSupportEmail = to.getBotSupportEmail();
+    }
+    return delta;
+  }
+
+  public GUID getGameId() {
+    return m_gameId;
+  }
+
+  public int getFromVersion() {
+    return m_fromVersion;
+  }
+
+  public int getToVersion() {
+    return m_toVersion;
+  }
+
+  /**
+   * @return true if no field changed.
+   */
+  public boolean isEmpty() {
+    return m_changed == 0;
+  }
+
+  /**
+   * @return true if this delta was made from the version of the given description.
+   */
+  public boolean canApplyTo(final GameDescription description) {
+    return description != null && description.getVersion() == m_fromVersion;
+  }
+
+  /**
+   * @return a copy of the description with the changed fields set, at the version this delta leads to.
+   */
+  public GameDescription applyTo(final GameDescription description) {
+    if (!canApplyTo(description)) {
+      throw new IllegalStateException("Delta from version " + m_fromVersion + " applied to version "
+          + (description == null ? null : description.getVersion()));
+    }
+    final GameDescription rVal = (GameDescription) description.clone();
+    if ((m_changed & HOSTED_BY) != 0) {
+      rVal.setHostedBy(m_hostedBy);
+    }
+    if ((m_changed & PORT) != 0) {
+      rVal.setPort(m_port);
+    }
+    if ((m_changed & START_DATE_TIME) != 0) {
+      rVal.setStartDateTime(m_startDateTime);
+    }
+    if ((m_changed & GAME_NAME) != 0) {
+      rVal.setGameName(m_gameName);
+    }
+    if ((m_changed & PLAYER_COUNT) != 0) {
+      rVal.setPlayerCount(m_playerCount);
+    }
+    if ((m_changed & ROUND) != 0) {
+      rVal.setRound(m_round);
+    }
+    if ((m_changed & STATUS) != 0) {
+      rVal.setStatus(m_status);
+    }
+    if ((m_changed & HOST_NAME) != 0) {
+      rVal.setHostName(m_hostName);
+    }
+    if ((m_changed & COMMENT) != 0) {
+      rVal.setComment(m_comment);
+    }
+    if ((m_changed & PASSWORDED) != 0) {
+      rVal.setPassworded(m_passworded);
+    }
+    if ((m_changed & ENGINE_VERSION) != 0) {
+      rVal.setEngineVersion(m_engineVersion);
+    }
+    if ((m_changed & GAME_VERSION) != 0) {
+      rVal.setGameVersion(m_gameVersion);
+    }
+    if ((m_changed & BOT_SUPPORT_EMAIL) != 0) {
+      rVal.setBotSupportEmail(m_botSupportEmail);
+    }
+    // the setters each moved the version on, use the host's
+    rVal.setVersion(m_toVersion);
+    return rVal;
+  }
+
+  @Override
+  public void writeExternal(final ObjectOutput out) throws IOException {
+    m_gameId.writeExternal(out);
+    out.writeInt(m_fromVersion);
+    out.writeInt(m_toVersion);
+    out.writeShort(m_changed);
+    if ((m_changed & HOSTED_BY) != 0) {
+      ((Node) m_hostedBy).writeExternal(out);
+    }
+    if ((m_changed & PORT) != 0) {
+      out.writeInt(m_port);
+    }
+    if ((m_changed & START_DATE_TIME) != 0) {
+      out.writeLong(m_startDateTime.getTime());
+    }
+    if ((m_changed & GAME_NAME) != 0) {
+      out.writeUTF(m_gameName);
+    }
+    if ((m_changed & PLAYER_COUNT) != 0) {
+      out.writeByte(m_playerCount);
+    }
+    if ((m_changed & ROUND) != 0) {
+      out.writeUTF(m_round);
+    }
+    if ((m_changed & STATUS) != 0) {
+      out.writeByte(m_status.ordinal());
+    }
+    if ((m_changed & HOST_NAME) != 0) {
+      out.writeUTF(m_hostName);
+    }
+    if ((m_changed & COMMENT) != 0) {
+      out.writeUTF(m_comment);
+    }
+    if ((m_changed & PASSWORDED) != 0) {
+      out.writeBoolean(m_passworded);
+    }
+    if ((m_changed & ENGINE_VERSION) != 0) {
+      out.writeUTF(m_engineVersion);
+    }
+    if ((m_changed & GAME_VERSION) != 0) {
+      out.writeUTF(m_gameVersion);
+    }
+    if ((m_changed & BOT_SUPPORT_EMAIL) != 0) {
+      out.writeUTF(m_botSupportEmail);
+    }
+  }
+
+  @Override
+  public void readExternal(final ObjectInput in) throws IOException, ClassNotFoundException {
+    m_gameId = new GUID();
+    m_gameId.readExternal(in);
+    m_fromVersion = in.readInt();
+    m_toVersion = in.readInt();
+    m_changed = in.readShort();
+    if ((m_changed & HOSTED_BY) != 0) {
+      m_hostedBy = new Node();
+      ((Node) m_hostedBy).readExternal(in);
+    }
+    if ((m_changed & PORT) != 0) {
+      m_port = in.readInt();
+    }
+    if ((m_changed & START_DATE_TIME) != 0) {
+      m_startDateTime = new Date(in.readLong());
+    }
+    if ((m_changed & GAME_NAME) != 0) {
+      m_gameName = in.readUTF();
+    }
+    if ((m_changed & PLAYER_COUNT) != 0) {
+      m_playerCount = in.readByte();
+    }
+    if ((m_changed & ROUND) != 0) {
+      m_round = in.readUTF();
+    }
+    if ((m_changed & STATUS) != 0) {
+      m_status = GameStatus.values()[in.readByte()];
+    }
+    if ((m_changed & HOST_NAME) != 0) {
+      m_hostName = in.readUTF();
+    }
+    if ((m_changed & COMMENT) != 0) {
+      m_comment = in.readUTF();
+    }
+    if ((m_changed & PASSWORDED) != 0) {
+      m_passworded = in.readBoolean();
+    }
+    if ((m_changed & ENGINE_VERSION) != 0) {
+      m_engineVersion = in.readUTF();
+    }
+    if ((m_changed & GAME_VERSION) != 0) {
+      m_gameVersion = in.readUTF();
+    }
+    if ((m_changed & BOT_SUPPORT_EMAIL) != 0) {
+      m_botSupportEmail = in.readUTF();
+    }
+  }
+
+  @Override
+  public String toString() {
+    return "GameDescriptionDelta for:" + m_gameId + " from version:" + m_fromVersion + " to:" + m_toVersion
+        + " changed fields:" + Integer.toBinaryString(m_changed);
+  }
+}
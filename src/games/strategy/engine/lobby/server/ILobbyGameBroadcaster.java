@@ -1,5 +1,7 @@
 package games.strategy.engine.lobby.server;
 
+import java.util.List;
+
 import games.strategy.engine.message.IChannelSubscribor;
 import games.strategy.engine.message.RemoteName;
 import games.strategy.net.GUID;
@@ -10,5 +12,10 @@ public interface ILobbyGameBroadcaster extends IChannelSubscribor {
 
   void gameUpdated(GUID gameId, GameDescription description);
 
+  /**
+   * The changes to games that were already sent, each made from the version last sent for its game.
+   */
+  void gamesChanged(List<GameDescriptionDelta> deltas);
+
   void gameRemoved(GUID gameId);
 }
@@ -6,8 +6,13 @@ import java.net.Socket;
 import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.Iterator;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 
@@ -19,14 +24,43 @@ import games.strategy.net.IMessenger;
 import games.strategy.net.INode;
 import games.strategy.net.IServerMessenger;
 
+/**
+ * Keeps the list of hosted games, and tells the lobby clients about changes to it.
+ * <p>
+ * New and removed games are sent right away. Hosts update their game on every round and player change, so updates are
+ * collected for a short while and then sent together, as the fields that changed since the version last sent.
+ */
 public class LobbyGameController implements ILobbyGameController {
   private final static Logger s_logger = Logger.getLogger(LobbyGameController.class.getName());
+  private static final long UPDATE_COALESCE_MILLIS = 1000;
   private final Object m_mutex = new Object();
   private final Map<GUID, GameDescription> m_allGames = new HashMap<>();
+  // the version of each game the clients have, the base of the next delta
+  private final Map<GUID, GameDescription> m_sentGames = new HashMap<>();
+  // games updated since the last deltas were sent
+  private final Set<GUID> m_updatedGames = new LinkedHashSet<>();
   private final ILobbyGameBroadcaster m_broadcaster;
+  private final long m_coalesceMillis;
+  private final ScheduledExecutorService m_updateSender;
+  private boolean m_updateScheduled = false;
 
   public LobbyGameController(final ILobbyGameBroadcaster broadcaster, final IMessenger messenger) {
+    this(broadcaster, messenger, UPDATE_COALESCE_MILLIS);
+  }
+
+  /**
+   * @param coalesceMillis
+   *        how long to collect updates before sending them, 0 sends each update right away
+   */
+  LobbyGameController(final ILobbyGameBroadcaster broadcaster, final IMessenger messenger,
+      final long coalesceMillis) {
     m_broadcaster = broadcaster;
+    m_coalesceMillis = coalesceMillis;
+    m_updateSender = Executors.newSingleThreadScheduledExecutor(runnable -> {
+      final Thread thread = new Thread(runnable, "Lobby game update sender");
+      thread.setDaemon(true);
+      return thread;
+    });
     IMessenger m_messenger = messenger;
     ((IServerMessenger) m_messenger).addConnectionChangeListener(new IConnectionChangeListener() {
       @Override
@@ -41,6 +75,7 @@ public class LobbyGameController implements ILobbyGameController {
 
   private void connectionLost(final INode to) {
     final List<GUID> removed = new ArrayList<>();
+    // broadcast while holding the lock, so a delta sent for the game cannot arrive after its removal
     synchronized (m_mutex) {
       final Iterator<GUID> keys = m_allGames.keySet().iterator();
       while (keys.hasNext()) {
@@ -51,9 +86,11 @@ public class LobbyGameController implements ILobbyGameController {
           removed.add(key);
         }
       }
-    }
-    for (final GUID guid : removed) {
-      m_broadcaster.gameRemoved(guid);
+      for (final GUID guid : removed) {
+        m_sentGames.remove(guid);
+        m_updatedGames.remove(guid);
+        m_broadcaster.gameRemoved(guid);
+      }
     }
   }
 
@@ -64,8 +101,10 @@ public class LobbyGameController implements ILobbyGameController {
     s_logger.info("Game added:" + description);
     synchronized (m_mutex) {
       m_allGames.put(gameID, description);
+      m_sentGames.put(gameID, description);
+      m_updatedGames.remove(gameID);
+      m_broadcaster.gameUpdated(gameID, description);
     }
-    m_broadcaster.gameUpdated(gameID, description);
   }
 
   private static void assertCorrectHost(final GameDescription description, final INode from) {
@@ -93,8 +132,37 @@ public class LobbyGameController implements ILobbyGameController {
         throw new IllegalStateException("Game modified by wrong host");
       }
       m_allGames.put(gameID, description);
+      m_updatedGames.add(gameID);
+      if (m_coalesceMillis <= 0) {
+        sendUpdates();
+      } else if (!m_updateScheduled) {
+        m_updateScheduled = true;
+        m_updateSender.schedule(this::sendUpdates, m_coalesceMillis, TimeUnit.MILLISECONDS);
+      }
+    }
+  }
+
+  /**
+   * Sends the changes made to the updated games since they were last sent, as one message.
+   */
+  void sendUpdates() {
+    synchronized (m_mutex) {
+      m_updateScheduled = false;
+      final List<GameDescriptionDelta> deltas = new ArrayList<>(m_updatedGames.size());
+      for (final GUID gameId : m_updatedGames) {
+        final GameDescription current = m_allGames.get(gameId);
+        final GameDescription sent = m_sentGames.get(gameId);
+        if (current == null || sent == null || current.getVersion() == sent.getVersion()) {
+          continue;
+        }
+        deltas.add(GameDescriptionDelta.between(gameId, sent, current));
+        m_sentGames.put(gameId, current);
+      }
+      m_updatedGames.clear();
+      if (!deltas.isEmpty()) {
+        m_broadcaster.gamesChanged(deltas);
+      }
     }
-    m_broadcaster.gameUpdated(gameID, description);
   }
 
   @Override
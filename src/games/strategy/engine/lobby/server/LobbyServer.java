@@ -2,11 +2,16 @@ package games.strategy.engine.lobby.server;
 
 import java.io.IOException;
 import java.io.InputStream;
+import java.io.OutputStream;
 import java.io.PrintStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
 import java.util.logging.Level;
 import java.util.logging.LogManager;
 import java.util.logging.Logger;
 
+import com.sun.net.httpserver.HttpServer;
+
 import games.strategy.debug.ClientLogger;
 import games.strategy.engine.chat.ChatController;
 import games.strategy.engine.chat.StatusManager;
@@ -15,9 +20,12 @@ import games.strategy.engine.lobby.server.headless.HeadlessLobbyConsole;
 import games.strategy.engine.lobby.server.login.LobbyLoginValidator;
 import games.strategy.engine.lobby.server.ui.LobbyAdminConsole;
 import games.strategy.engine.lobby.server.userDB.Database;
+import games.strategy.net.INode;
 import games.strategy.net.IServerMessenger;
 import games.strategy.net.Messengers;
 import games.strategy.net.ServerMessenger;
+import games.strategy.net.nio.ConnectionStats;
+import games.strategy.performance.Metrics;
 import games.strategy.sound.ClipPlayer;
 import games.strategy.triplea.util.LoggingPrintStream;
 import games.strategy.util.Version;
@@ -35,6 +43,8 @@ public class LobbyServer {
   // should the lobby take commands from stdin,
   // set to true to enable
   private static final String TRIPLEA_LOBBY_CONSOLE_PROPERTY = "triplea.lobby.console";
+  // serve the lobby metrics as plain text on http://host:port/stats, off unless a port is given
+  private static final String TRIPLEA_LOBBY_STATS_PORT_PROPERTY = "triplea.lobby.stats.port";
   public static final String ADMIN_USERNAME = "Admin";
   private final static Logger s_logger = Logger.getLogger(LobbyServer.class.getName());
   public static final String LOBBY_CHAT = "_LOBBY_CHAT";
@@ -42,7 +52,8 @@ public class LobbyServer {
   private final Messengers m_messengers;
 
   public static String[] getProperties() {
-    return new String[] {TRIPLEA_LOBBY_PORT_PROPERTY, TRIPLEA_LOBBY_CONSOLE_PROPERTY, TRIPLEA_LOBBY_UI_PROPERTY};
+    return new String[] {TRIPLEA_LOBBY_PORT_PROPERTY, TRIPLEA_LOBBY_CONSOLE_PROPERTY, TRIPLEA_LOBBY_UI_PROPERTY,
+        TRIPLEA_LOBBY_STATS_PORT_PROPERTY};
   }
 
   /** Creates a new instance of LobbyServer */
@@ -68,6 +79,9 @@ public class LobbyServer {
     final LobbyGameController controller = new LobbyGameController((ILobbyGameBroadcaster) m_messengers
         .getChannelMessenger().getChannelBroadcastor(ILobbyGameBroadcaster.GAME_BROADCASTER_CHANNEL), server);
     controller.register(m_messengers.getRemoteMessenger());
+    Metrics.gauge("lobby.connections", () -> server.getNodes().size());
+    Metrics.gauge("lobby.games", () -> controller.listGames().size());
+    Metrics.registerMBean();
     // now we are open for business
     server.setAcceptNewConnections(true);
   }
@@ -110,6 +124,9 @@ public class LobbyServer {
       if (Boolean.parseBoolean(System.getProperty(TRIPLEA_LOBBY_CONSOLE_PROPERTY, "false"))) {
         startConsole(server, in, out);
       }
+      if (System.getProperty(TRIPLEA_LOBBY_STATS_PORT_PROPERTY) != null) {
+        server.startStatsServer(Integer.parseInt(System.getProperty(TRIPLEA_LOBBY_STATS_PORT_PROPERTY)));
+      }
     } catch (final Exception ex) {
       s_logger.log(Level.SEVERE, ex.toString(), ex);
     }
@@ -128,6 +145,43 @@ public class LobbyServer {
     console.setVisible(true);
   }
 
+  /**
+   * @return the metrics, then the bytes read and written for each connected node, as name=value lines.
+   */
+  public String getStatsText() {
+    final StringBuilder rVal = new StringBuilder(Metrics.toText());
+    final IServerMessenger messenger = getMessenger();
+    if (messenger instanceof ServerMessenger) {
+      for (final INode node : messenger.getNodes()) {
+        final ConnectionStats stats = ((ServerMessenger) messenger).getConnectionStats(node);
+        if (stats != null) {
+          rVal.append("connection.").append(node.getName()).append(".bytesRead=").append(stats.getBytesRead())
+              .append('\n');
+          rVal.append("connection.").append(node.getName()).append(".bytesWritten=").append(stats.getBytesWritten())
+              .append('\n');
+        }
+      }
+    }
+    return rVal.toString();
+  }
+
+  /**
+   * Serve getStatsText() over http at /stats.
+   */
+  public void startStatsServer(final int port) throws IOException {
+    final HttpServer httpServer = HttpServer.create(new InetSocketAddress(port), 0);
+    httpServer.createContext("/stats", exchange -> {
+      final byte[] response = getStatsText().getBytes(StandardCharsets.UTF_8);
+      exchange.getResponseHeaders().set("Content-Type", "text/plain; charset=utf-8");
+      exchange.sendResponseHeaders(200, response.length);
+      try (OutputStream body = exchange.getResponseBody()) {
+        body.write(response);
+      }
+    });
+    httpServer.start();
+    s_logger.info("Serving lobby stats on port:" + port);
+  }
+
   public IServerMessenger getMessenger() {
     return (IServerMessenger) m_messengers.getMessenger();
   }
@@ -179,6 +233,7 @@ public class LobbyServer {
 
   private static void usage() {
     System.out.println("Arguments\n" + "   " + TRIPLEA_LOBBY_PORT_PROPERTY + "=<port number (ex: 3303)>\n" + "   "
-        + TRIPLEA_LOBBY_UI_PROPERTY + "=<true/false>\n" + "   " + TRIPLEA_LOBBY_CONSOLE_PROPERTY + "=<true/false>\n");
+        + TRIPLEA_LOBBY_UI_PROPERTY + "=<true/false>\n" + "   " + TRIPLEA_LOBBY_CONSOLE_PROPERTY + "=<true/false>\n"
+        + "   " + TRIPLEA_LOBBY_STATS_PORT_PROPERTY + "=<port number for http stats, off if not given>\n");
   }
 }
@@ -99,6 +99,8 @@ public class HeadlessLobbyConsole {
       memory();
     } else if (noun.equals("threads")) {
       threads();
+    } else if (noun.equals("stats")) {
+      out.print(server.getStatsText());
     } else {
       out.println("unrecognized command:" + command);
       showHelp();
@@ -185,7 +187,8 @@ public class HeadlessLobbyConsole {
 
   private void showHelp() {
     out.println("available commands:\n" + "  backup - backup the database \n" + "  help - show this message\n"
-        + "  memory - show memory usage\n" + "  status - show status information\n"
+        + "  memory - show memory usage\n" + "  stats - show metrics and bytes sent per connection\n"
+        + "  status - show status information\n"
         + "  sql {sql} - execute a sql command and print the results\n" + "  threads - get thread dumps\n"
         + "  quit - quit\n");
   }
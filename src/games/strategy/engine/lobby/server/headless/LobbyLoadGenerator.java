@@ -0,0 +1,270 @@
+package games.strategy.engine.lobby.server.headless;
+
+import java.io.IOException;
+import java.net.ServerSocket;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+import games.strategy.engine.chat.Chat;
+import games.strategy.engine.chat.IChatListener;
+import games.strategy.engine.lobby.server.GameDescription;
+import games.strategy.engine.lobby.server.GameDescription.GameStatus;
+import games.strategy.engine.lobby.server.ILobbyGameController;
+import games.strategy.engine.lobby.server.LobbyServer;
+import games.strategy.engine.lobby.server.login.LobbyLoginValidator;
+import games.strategy.engine.lobby.server.userDB.Database;
+import games.strategy.net.ClientMessenger;
+import games.strategy.net.GUID;
+import games.strategy.net.IConnectionLogin;
+import games.strategy.net.INode;
+import games.strategy.net.Messengers;
+import games.strategy.performance.Metrics;
+import games.strategy.sound.ClipPlayer;
+
+/**
+ * Simulates many lobby clients, each logging in anonymously, chatting and hosting a game it keeps updating.
+ * <p>
+ * Used to measure the lobby under load, the times seen by the clients are printed when the run ends, along with the
+ * metrics of the lobby when it was started by the generator.
+ * <p>
+ * Arguments are given as name=value, any left out take their defaults:
+ * host, port (no host starts a lobby in this vm on a free port), clients (50), seconds (60),
+ * chatMillis (2000) and updateMillis (5000).
+ */
+public class LobbyLoadGenerator {
+  private static final Logger s_logger = Logger.getLogger(LobbyLoadGenerator.class.getName());
+  private static final String CHAT_PREFIX = "load test ";
+  private final String m_host;
+  private final int m_port;
+  private final int m_clientCount;
+  private final long m_chatMillis;
+  private final long m_updateMillis;
+  private final ScheduledExecutorService m_timer;
+  private final List<SimulatedClient> m_clients = new ArrayList<>();
+
+  public LobbyLoadGenerator(final String host, final int port, final int clientCount, final long chatMillis,
+      final long updateMillis) {
+    m_host = host;
+    m_port = port;
+    m_clientCount = clientCount;
+    m_chatMillis = chatMillis;
+    m_updateMillis = updateMillis;
+    m_timer = Executors.newScheduledThreadPool(Math.max(2, Runtime.getRuntime().availableProcessors()), r -> {
+      final Thread t = new Thread(r, "Lobby load generator");
+      t.setDaemon(true);
+      return t;
+    });
+  }
+
+  /**
+   * Logs in every client, then lets them chat and update their games until the time is up.
+   */
+  public void run(final long seconds) throws InterruptedException {
+    // a random part keeps the names of two runs against the same lobby apart
+    final String runId = Integer.toString(new Random().nextInt(1000000), 36);
+    for (int i = 0; i < m_clientCount; i++) {
+      final SimulatedClient client = new SimulatedClient("load_" + runId + "_" + i);
+      m_clients.add(client);
+      m_timer.execute(client::start);
+    }
+    TimeUnit.SECONDS.sleep(seconds);
+    m_timer.shutdownNow();
+    m_timer.awaitTermination(10, TimeUnit.SECONDS);
+    for (final SimulatedClient client : m_clients) {
+      client.stop();
+    }
+  }
+
+  /**
+   * @return what the clients saw, as name=value lines.
+   */
+  public String getSummary() {
+    final StringBuilder rVal = new StringBuilder();
+    rVal.append("load.clients=").append(m_clientCount).append('\n');
+    Metrics.snapshot().forEach((name, value) -> {
+      if (name.startsWith("load.")) {
+        rVal.append(name).append('=').append(value).append('\n');
+      }
+    });
+    return rVal.toString();
+  }
+
+  @SuppressWarnings("deprecation")
+  private static String getFakeMac(final String name) {
+    // the lobby checks the format of the hashed mac, and bans by it, so each client gets its own
+    final Random random = new Random(name.hashCode());
+    final StringBuilder mac = new StringBuilder();
+    for (int i = 0; i < 6; i++) {
+      mac.append(i == 0 ? "" : "-").append(String.format("%02X", random.nextInt(256)));
+    }
+    // hashed as MacFinder hashes the real one
+    return games.strategy.util.MD5Crypt.crypt(mac.toString(), "MH");
+  }
+
+  private final class SimulatedClient implements IChatListener {
+    private final String m_name;
+    private final Random m_random;
+    private volatile ClientMessenger m_messenger;
+    private volatile Chat m_chat;
+    private GameDescription m_game;
+    private GUID m_gameId;
+
+    SimulatedClient(final String name) {
+      m_name = name;
+      m_random = new Random(name.hashCode());
+    }
+
+    void start() {
+      final long start = System.nanoTime();
+      try {
+        m_messenger = new ClientMessenger(m_host, m_port, m_name, getFakeMac(m_name), new IConnectionLogin() {
+          @Override
+          public Map<String, String> getProperties(final Map<String, String> challengeProperties) {
+            final Map<String, String> props = new HashMap<>();
+            props.put(LobbyLoginValidator.ANONYMOUS_LOGIN, Boolean.TRUE.toString());
+            props.put(LobbyLoginValidator.LOBBY_VERSION, LobbyServer.LOBBY_VERSION.toString());
+            return props;
+          }
+
+          @Override
+          public void notifyFailedLogin(final String message) {
+            s_logger.warning(m_name + " could not log in:" + message);
+          }
+        });
+      } catch (final IOException e) {
+        Metrics.counter("load.login.failed").increment();
+        s_logger.log(Level.FINE, m_name + " could not connect", e);
+        return;
+      }
+      Metrics.timer("load.login").recordSince(start);
+      final Messengers messengers = new Messengers(m_messenger);
+      final long chatStart = System.nanoTime();
+      m_chat = new Chat(LobbyServer.LOBBY_CHAT, messengers, Chat.CHAT_SOUND_PROFILE.NO_SOUND);
+      m_chat.addChatListener(this);
+      Metrics.timer("load.chat.join").recordSince(chatStart);
+      final ILobbyGameController controller = (ILobbyGameController) messengers.getRemoteMessenger()
+          .getRemote(ILobbyGameController.GAME_CONTROLLER_REMOTE);
+      m_gameId = new GUID();
+      m_game = new GameDescription(m_messenger.getLocalNode(), 3300, new Date(), "Load Test", 1,
+          GameStatus.WAITING_FOR_PLAYERS, "0", m_name, "", false, "1.0", "1.0");
+      final long postStart = System.nanoTime();
+      controller.postGame(m_gameId, m_game);
+      Metrics.timer("load.game.post").recordSince(postStart);
+      // spread the clients out over the interval, so they do not all send at once
+      m_timer.scheduleAtFixedRate(this::chat, m_random.nextInt((int) m_chatMillis), m_chatMillis,
+          TimeUnit.MILLISECONDS);
+      m_timer.scheduleAtFixedRate(() -> updateGame(controller), m_random.nextInt((int) m_updateMillis),
+          m_updateMillis, TimeUnit.MILLISECONDS);
+    }
+
+    private void chat() {
+      try {
+        m_chat.sendMessage(CHAT_PREFIX + System.nanoTime(), false);
+        Metrics.counter("load.chat.sent").increment();
+      } catch (final RuntimeException e) {
+        Metrics.counter("load.chat.failed").increment();
+        s_logger.log(Level.FINE, m_name + " could not chat", e);
+      }
+    }
+
+    private void updateGame(final ILobbyGameController controller) {
+      final GameDescription game = (GameDescription) m_game.clone();
+      game.setRound(Integer.toString(Integer.parseInt(game.getRound()) + 1));
+      game.setPlayerCount(1 + m_random.nextInt(6));
+      final long start = System.nanoTime();
+      try {
+        controller.updateGame(m_gameId, game);
+        m_game = game;
+        Metrics.timer("load.game.update").recordSince(start);
+      } catch (final RuntimeException e) {
+        Metrics.counter("load.game.update.failed").increment();
+        s_logger.log(Level.FINE, m_name + " could not update its game", e);
+      }
+    }
+
+    void stop() {
+      if (m_chat != null) {
+        m_chat.shutdown();
+      }
+      if (m_messenger != null) {
+        m_messenger.shutDown();
+      }
+    }
+
+    @Override
+    public void addMessage(final String message, final String from, final boolean thirdperson) {
+      Metrics.counter("load.chat.received").increment();
+      // our own messages coming back give the time the lobby takes to send a message to everyone
+      if (m_name.equals(from) && message.startsWith(CHAT_PREFIX)) {
+        try {
+          Metrics.timer("load.chat.roundTrip").recordSince(Long.parseLong(message.substring(CHAT_PREFIX.length())));
+        } catch (final NumberFormatException e) {
+          // not one of ours
+        }
+      }
+    }
+
+    @Override
+    public void addMessageWithSound(final String message, final String from, final boolean thirdperson,
+        final String sound) {
+      addMessage(message, from, thirdperson);
+    }
+
+    @Override
+    public void updatePlayerList(final Collection<INode> players) {}
+
+    @Override
+    public void addStatusMessage(final String message) {}
+  }
+
+  private static Map<String, String> parseArgs(final String[] args) {
+    final Map<String, String> rVal = new HashMap<>();
+    for (final String arg : args) {
+      final int index = arg.indexOf('=');
+      if (index <= 0) {
+        throw new IllegalArgumentException("Expected name=value, not:" + arg);
+      }
+      rVal.put(arg.substring(0, index), arg.substring(index + 1));
+    }
+    return rVal;
+  }
+
+  public static void main(final String[] args) throws Exception {
+    final Map<String, String> options = parseArgs(args);
+    ClipPlayer.setBeSilentInPreferencesWithoutAffectingCurrent(true);
+    LobbyServer server = null;
+    String host = options.get("host");
+    int port;
+    if (host == null) {
+      host = "localhost";
+      try (ServerSocket socket = new ServerSocket(0)) {
+        port = socket.getLocalPort();
+      }
+      server = new LobbyServer(port);
+      Database.getConnection().close();
+      System.out.println("Started lobby on port:" + port);
+    } else {
+      port = Integer.parseInt(options.getOrDefault("port", "3303"));
+    }
+    final LobbyLoadGenerator generator = new LobbyLoadGenerator(host, port,
+        Integer.parseInt(options.getOrDefault("clients", "50")),
+        Long.parseLong(options.getOrDefault("chatMillis", "2000")),
+        Long.parseLong(options.getOrDefault("updateMillis", "5000")));
+    generator.run(Long.parseLong(options.getOrDefault("seconds", "60")));
+    System.out.print(generator.getSummary());
+    if (server != null) {
+      System.out.print(server.getStatsText());
+    }
+    System.exit(0);
+  }
+}
@@ -17,6 +17,7 @@ import games.strategy.engine.lobby.server.userDB.BannedMacController;
 import games.strategy.engine.lobby.server.userDB.BannedUsernameController;
 import games.strategy.engine.lobby.server.userDB.DBUserController;
 import games.strategy.net.ILoginValidator;
+import games.strategy.performance.Metrics;
 import games.strategy.util.MD5Crypt;
 import games.strategy.util.Tuple;
 import games.strategy.util.Version;
@@ -54,7 +55,9 @@ public class LobbyLoginValidator implements ILoginValidator {
   public String verifyConnection(final Map<String, String> propertiesSentToClient,
       final Map<String, String> propertiesReadFromClient, final String clientName, final String clientMac,
       final SocketAddress remoteAddress) {
+    final long start = System.nanoTime();
     final String error = verifyConnectionInternal(propertiesReadFromClient, clientName, clientMac, remoteAddress);
+    Metrics.timer("lobby.login.verify").recordSince(start);
     if (error != null) {
       s_logger.info("Bad login attemp from " + remoteAddress + " for user " + clientName + " error:" + error);
       AccessLog.failedLogin(clientName, ((InetSocketAddress) remoteAddress).getAddress(), error);
@@ -1,6 +1,8 @@
 package games.strategy.engine.lobby.server.userDB;
 
 import java.io.File;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Proxy;
 import java.sql.CallableStatement;
 import java.sql.Connection;
 import java.sql.DriverManager;
@@ -11,6 +13,7 @@ import java.text.SimpleDateFormat;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Properties;
+import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 
@@ -19,6 +22,7 @@ import javax.swing.JFileChooser;
 import games.strategy.debug.ClientLogger;
 import games.strategy.engine.ClientFileSystemHelper;
 import games.strategy.engine.framework.startup.launcher.ServerLauncher;
+import games.strategy.performance.Metrics;
 import games.strategy.util.ThreadUtil;
 
 /**
@@ -38,6 +42,7 @@ public class Database {
   private static final Object s_dbSetupLock = new Object();
   private static boolean s_isDbSetup = false;
   private static boolean s_areDBTablesCreated = false;
+  private static final Metrics.Timer s_connectionTime = Metrics.timer("lobby.db.connection");
 
   private static File getCurrentDataBaseDir() {
     final File dbRootDir = getDBRoot();
@@ -85,7 +90,26 @@ public class Database {
       throw new IllegalStateException("Could not create db connection");
     }
     ensureDbTablesAreCreated(conn);
-    return conn;
+    return timed(conn);
+  }
+
+  /**
+   * Records how long the connection is used, from now until it is closed, as the lobby.db.connection metric.
+   */
+  private static Connection timed(final Connection conn) {
+    final long start = System.nanoTime();
+    final AtomicBoolean closed = new AtomicBoolean();
+    return (Connection) Proxy.newProxyInstance(Connection.class.getClassLoader(), new Class<?>[] {Connection.class},
+        (proxy, method, args) -> {
+          if (method.getName().equals("close") && closed.compareAndSet(false, true)) {
+            s_connectionTime.recordSince(start);
+          }
+          try {
+            return method.invoke(conn, args);
+          } catch (final InvocationTargetException e) {
+            throw e.getTargetException();
+          }
+        });
   }
 
   /**
@@ -181,21 +205,21 @@ public class Database {
           shutDownDB();
         }
       }));
+      // we want to backup the database on occassion
+      final Thread backupThread = new Thread(new Runnable() {
+        @Override
+        public void run() {
+          while (true) {
+            // wait 7 days
+            ThreadUtil.sleep(7 * 24 * 60 * 60 * 1000);
+            backup();
+          }
+        }
+      }, "TripleA Database Backup Thread");
+      backupThread.setDaemon(true);
+      backupThread.start();
       s_isDbSetup = true;
     }
-    // we want to backup the database on occassion
-    final Thread backupThread = new Thread(new Runnable() {
-      @Override
-      public void run() {
-        while (true) {
-          // wait 7 days
-          ThreadUtil.sleep(7 * 24 * 60 * 60 * 1000);
-          backup();
-        }
-      }
-    }, "TripleA Database Backup Thread");
-    backupThread.setDaemon(true);
-    backupThread.start();
   }
 
   /**
@@ -8,13 +8,20 @@ import java.io.PrintStream;
 import java.io.Serializable;
 import java.lang.reflect.InvocationTargetException;
 import java.lang.reflect.Method;
+import java.util.ArrayDeque;
 import java.util.ArrayList;
-import java.util.HashMap;
+import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
-import java.util.concurrent.CountDownLatch;
-import java.util.concurrent.ExecutorService;
-import java.util.concurrent.Executors;
+import java.util.Queue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.concurrent.atomic.AtomicLong;
 import java.util.logging.Level;
 import java.util.logging.Logger;
@@ -34,24 +41,36 @@ import games.strategy.util.ThreadUtil;
 public class UnifiedMessenger {
   private final static Logger s_logger = Logger.getLogger(UnifiedMessenger.class.getName());
 
-  private static final ExecutorService threadPool = Executors.newFixedThreadPool(15);
+  // the most invocations from remote nodes running at once, more are queued until a thread is free
+  private static final int MAX_INVOCATION_THREADS = Integer.getInteger("triplea.messenger.maxInvocationThreads", 64);
+  private static final AtomicInteger threadCount = new AtomicInteger();
+  // invocations from remote nodes run here, a thread is only needed per running call since
+  // calls to single threaded end points wait in their end point's queue, not on a thread
+  // the core size is the maximum, so threads are added before calls are queued, and idle ones time out
+  private static final ThreadPoolExecutor threadPool = new ThreadPoolExecutor(MAX_INVOCATION_THREADS,
+      MAX_INVOCATION_THREADS, 60, TimeUnit.SECONDS, new LinkedBlockingQueue<>(), r -> {
+        final Thread thread = new Thread(r, "UnifiedMessenger invocation " + threadCount.incrementAndGet());
+        thread.setDaemon(true);
+        return thread;
+      });
+
+  static {
+    threadPool.allowCoreThreadTimeOut(true);
+  }
+
   // the messenger we are based on
   private final IMessenger m_messenger;
   // lock on this for modifications to create or remove local end points
+  // looking up a single end point does not need the lock
   private final Object m_endPointMutex = new Object();
   // maps String -> EndPoint
   // these are the end points that
   // have local implementors
-  private final Map<String, EndPoint> m_localEndPoints = new HashMap<>();
-  private final Object m_pendingLock = new Object();
-  // threads wait on these latches for the hub to return invocations
-  // the latch should be removed from the map when you countdown the last result
-  // access should be synchronized on m_pendingLock
-  // TODO: how do these get shutdown when we exit a game or close triplea?
-  private final Map<GUID, CountDownLatch> m_pendingInvocations = new HashMap<>();
-  // after the remote has invoked, the results are placed here
-  // access should be synchronized on m_pendingLock
-  private final Map<GUID, RemoteMethodCallResults> m_results = new HashMap<>();
+  private final Map<String, EndPoint> m_localEndPoints = new ConcurrentHashMap<>();
+  // invocations waiting for the hub to return their results, the future is removed when it is completed
+  // a concurrent map, so results for different calls do not contend on one lock
+  private final Map<GUID, CompletableFuture<RemoteMethodCallResults>> m_pendingInvocations =
+      new ConcurrentHashMap<>();
   // only non null for the server
   private UnifiedMessengerHub m_hub;
 
@@ -84,12 +103,11 @@ public class UnifiedMessenger {
   }
 
   private void messengerInvalid() {
-    synchronized (m_pendingLock) {
-      for (final GUID id : m_pendingInvocations.keySet()) {
-        final CountDownLatch latch = m_pendingInvocations.remove(id);
-        latch.countDown();
-        m_results.put(id, new RemoteMethodCallResults(new ConnectionLostException("Connection Lost")));
-      }
+    final Iterator<CompletableFuture<RemoteMethodCallResults>> pending = m_pendingInvocations.values().iterator();
+    while (pending.hasNext()) {
+      final CompletableFuture<RemoteMethodCallResults> results = pending.next();
+      pending.remove();
+      results.complete(new RemoteMethodCallResults(new ConnectionLostException("Connection Lost")));
     }
   }
 
@@ -97,51 +115,58 @@ public class UnifiedMessenger {
    * Invoke and wait for all implementors on all vms to finish executing.
    */
   public RemoteMethodCallResults invokeAndWait(final String endPointName, final RemoteMethodCall remoteCall) {
-    EndPoint local;
-    synchronized (m_endPointMutex) {
-      local = m_localEndPoints.get(endPointName);
+    final CompletableFuture<RemoteMethodCallResults> results = invokeAsync(endPointName, remoteCall);
+    try {
+      return results.get();
+    } catch (final InterruptedException e) {
+      s_logger.log(Level.WARNING, e.getMessage());
+      throw new IllegalStateException("No results from remote call. Method returned:" + remoteCall.getMethodName()
+          + " for remote name:" + remoteCall.getRemoteName());
+    } catch (final ExecutionException e) {
+      if (e.getCause() instanceof RuntimeException) {
+        throw (RuntimeException) e.getCause();
+      }
+      throw new IllegalStateException(e.getCause());
     }
+  }
+
+  /**
+   * Invoke the single implementor of the end point without waiting for it to finish.
+   * <p>
+   * If the implementor is on this node it is called before this method returns. Otherwise the returned future is
+   * completed on the thread that reads the results from the network, so callbacks added to it should not block.
+   *
+   * @return the results of the call, completed exceptionally if the end point on this node has no implementor or
+   *         more than one.
+   */
+  public CompletableFuture<RemoteMethodCallResults> invokeAsync(final String endPointName,
+      final RemoteMethodCall remoteCall) {
+    final EndPoint local = m_localEndPoints.get(endPointName);
     if (local == null) {
-      return invokeAndWaitRemote(remoteCall);
-      // we have the implementor here, just invoke it
+      return invokeRemote(remoteCall);
+    }
+    // we have the implementor here, just invoke it
+    final CompletableFuture<RemoteMethodCallResults> rVal = new CompletableFuture<>();
+    final long number = local.takeANumber();
+    final List<RemoteMethodCallResults> results = local.invokeLocal(remoteCall, number, getLocalNode());
+    if (results.size() == 0) {
+      rVal.completeExceptionally(new RemoteNotFoundException("Not found:" + endPointName));
+    } else if (results.size() > 1) {
+      rVal.completeExceptionally(new IllegalStateException("Too many implementors, got back:" + results));
     } else {
-      final long number = local.takeANumber();
-      final List<RemoteMethodCallResults> results = local.invokeLocal(remoteCall, number, getLocalNode());
-      if (results.size() == 0) {
-        throw new RemoteNotFoundException("Not found:" + endPointName);
-      }
-      if (results.size() > 1) {
-        throw new IllegalStateException("Too many implementors, got back:" + results);
-      }
-      return results.get(0);
+      rVal.complete(results.get(0));
     }
+    return rVal;
   }
 
-  private RemoteMethodCallResults invokeAndWaitRemote(final RemoteMethodCall remoteCall) {
+  private CompletableFuture<RemoteMethodCallResults> invokeRemote(final RemoteMethodCall remoteCall) {
     final GUID methodCallID = new GUID();
-    final CountDownLatch latch = new CountDownLatch(1);
-    synchronized (m_pendingLock) {
-      m_pendingInvocations.put(methodCallID, latch);
-    }
+    final CompletableFuture<RemoteMethodCallResults> results = new CompletableFuture<>();
+    m_pendingInvocations.put(methodCallID, results);
     // invoke remotely
     final Invoke invoke = new HubInvoke(methodCallID, true, remoteCall);
     send(invoke, m_messenger.getServerNode());
-
-    try {
-      latch.await();
-    } catch (final InterruptedException e) {
-      s_logger.log(Level.WARNING, e.getMessage());
-    }
-
-    synchronized (m_pendingLock) {
-      RemoteMethodCallResults results = m_results.remove(methodCallID);
-      if (results == null) {
-        throw new IllegalStateException(
-            "No results from remote call. Method returned:" + remoteCall.getMethodName() + " for remote name:"
-                + remoteCall.getRemoteName() + " with id:" + methodCallID);
-      }
-      return results;
-    }
+    return results;
   }
 
   /**
@@ -152,10 +177,7 @@ public class UnifiedMessenger {
     final Invoke invoke = new HubInvoke(null, false, call);
     send(invoke, m_messenger.getServerNode());
     // invoke locally
-    EndPoint endPoint;
-    synchronized (m_endPointMutex) {
-      endPoint = m_localEndPoints.get(endPointName);
-    }
+    final EndPoint endPoint = m_localEndPoints.get(endPointName);
     if (endPoint != null) {
       final long number = endPoint.takeANumber();
       final List<RemoteMethodCallResults> results = endPoint.invokeLocal(call, number, getLocalNode());
@@ -279,10 +301,7 @@ public class UnifiedMessenger {
       // maybe an attempt to spoof a message
       assertIsServer(from);
       final SpokeInvoke invoke = (SpokeInvoke) msg;
-      EndPoint local;
-      synchronized (m_endPointMutex) {
-        local = m_localEndPoints.get(invoke.call.getRemoteName());
-      }
+      final EndPoint local = m_localEndPoints.get(invoke.call.getRemoteName());
       // something a bit strange here, it may be the case
       // that the endpoint was deleted locally
       // regardless, the other side is expecting our reply
@@ -297,33 +316,30 @@ public class UnifiedMessenger {
       // very important
       // we are guaranteed that here messages will be
       // read in the same order that they are sent from the client
-      // however, once we delegate to the thread pool, there is no
-      // guarantee that the thread pool task will run before
-      // we get the next message notification
-      // get the number for the invocation here
-      final long methodRunNumber = local.takeANumber();
+      // the end point takes the number for the invocation now, and
+      // runs single threaded invocations in that order
       // we dont want to block the message thread, only one thread is
       // reading messages
       // per connection, so run with out thread pool
       final EndPoint localFinal = local;
-      final Runnable task = new Runnable() {
-        @Override
-        public void run() {
-          final List<RemoteMethodCallResults> results =
-              localFinal.invokeLocal(invoke.call, methodRunNumber, invoke.getInvoker());
-          if (invoke.needReturnValues) {
-            RemoteMethodCallResults result = null;
-            if (results.size() == 1) {
-              result = results.get(0);
-            } else {
-              result = new RemoteMethodCallResults(
-                  new IllegalStateException("Invalid result count" + results.size()) + " for end point:" + localFinal);
-            }
-            send(new HubInvocationResults(result, invoke.methodCallID), from);
+      local.dispatch(invoke.call, invoke.getInvoker(), threadPool).whenComplete((results, error) -> {
+        if (!invoke.needReturnValues) {
+          if (error != null) {
+            s_logger.log(Level.WARNING, error.getMessage(), error);
           }
+          return;
         }
-      };
-      threadPool.execute(task);
+        final RemoteMethodCallResults result;
+        if (error != null) {
+          result = new RemoteMethodCallResults(error);
+        } else if (results.size() == 1) {
+          result = results.get(0);
+        } else {
+          result = new RemoteMethodCallResults(
+              new IllegalStateException("Invalid result count" + results.size()) + " for end point:" + localFinal);
+        }
+        send(new HubInvocationResults(result, invoke.methodCallID), from);
+      });
     }
     // a remote machine is returning results
     else if (msg instanceof SpokeInvocationResults) {
@@ -332,13 +348,13 @@ public class UnifiedMessenger {
       assertIsServer(from);
       final SpokeInvocationResults results = (SpokeInvocationResults) msg;
       final GUID methodID = results.methodCallID;
-      // both of these should already be populated
-      // this list should be a synchronized list so we can do the add
-      // all
-      synchronized (m_pendingLock) {
-        m_results.put(methodID, results.results);
-        m_pendingInvocations.remove(methodID).countDown();
+      final CompletableFuture<RemoteMethodCallResults> pending = m_pendingInvocations.remove(methodID);
+      if (pending == null) {
+        // completed already when the connection was lost
+        s_logger.log(Level.FINE, "No invocation waiting for results:" + results);
+        return;
       }
+      pending.complete(results.results);
     }
   }
 
@@ -346,10 +362,7 @@ public class UnifiedMessenger {
     synchronized (m_endPointMutex) {
       stream.println("Local Endpoints:" + m_localEndPoints);
     }
-    synchronized (m_endPointMutex) {
-      stream.println("Remote nodes with implementors:" + m_results);
-      stream.println("Remote nodes with implementors:" + m_pendingInvocations);
-    }
+    stream.println("Invocations waiting for results:" + m_pendingInvocations.keySet());
   }
 
   @Override
@@ -376,6 +389,10 @@ class EndPoint {
   private final Class<?> m_remoteClass;
   private final List<Object> m_implementors = new ArrayList<>();
   private final boolean m_singleThreaded;
+  // invocations of a single threaded end point waiting for the one before them to finish
+  // access should be synchronized on the queue
+  private final Queue<Runnable> m_dispatchQueue = new ArrayDeque<>();
+  private boolean m_draining;
 
   public EndPoint(final String name, final Class<?> remoteClass, final boolean singleThreaded) {
     m_name = name;
@@ -482,6 +499,56 @@ class EndPoint {
     }
   }
 
+  /**
+   * Invoke on the executor, without the caller waiting.
+   * <p>
+   * The number of the invocation is taken now. Invocations of a single threaded end point are queued and run one
+   * after another, rather than each holding a thread while waiting for its number to come up.
+   */
+  CompletableFuture<List<RemoteMethodCallResults>> dispatch(final RemoteMethodCall call,
+      final INode messageOriginator, final Executor executor) {
+    final CompletableFuture<List<RemoteMethodCallResults>> rVal = new CompletableFuture<>();
+    if (!m_singleThreaded) {
+      final long number = takeANumber();
+      executor.execute(() -> invokeLocal(call, number, messageOriginator, rVal));
+      return rVal;
+    }
+    synchronized (m_dispatchQueue) {
+      // take the number while holding the lock, so the queue stays in number order
+      final long number = takeANumber();
+      m_dispatchQueue.add(() -> invokeLocal(call, number, messageOriginator, rVal));
+      if (m_draining) {
+        return rVal;
+      }
+      m_draining = true;
+    }
+    executor.execute(this::drainDispatchQueue);
+    return rVal;
+  }
+
+  private void invokeLocal(final RemoteMethodCall call, final long number, final INode messageOriginator,
+      final CompletableFuture<List<RemoteMethodCallResults>> results) {
+    try {
+      results.complete(invokeLocal(call, number, messageOriginator));
+    } catch (final RuntimeException e) {
+      results.completeExceptionally(e);
+    }
+  }
+
+  private void drainDispatchQueue() {
+    while (true) {
+      final Runnable next;
+      synchronized (m_dispatchQueue) {
+        next = m_dispatchQueue.poll();
+        if (next == null) {
+          m_draining = false;
+          return;
+        }
+      }
+      next.run();
+    }
+  }
+
   /**
    * @param call
    * @param rVal
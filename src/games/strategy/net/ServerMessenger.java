@@ -34,6 +34,7 @@ import games.strategy.engine.message.HubInvoke;
 import games.strategy.engine.message.RemoteMethodCall;
 import games.strategy.engine.message.RemoteName;
 import games.strategy.engine.message.SpokeInvoke;
+import games.strategy.net.nio.ConnectionStats;
 import games.strategy.net.nio.NIOSocket;
 import games.strategy.net.nio.NIOSocketListener;
 import games.strategy.net.nio.QuarantineConversation;
@@ -748,6 +749,14 @@ public class ServerMessenger implements IServerMessenger, NIOSocketListener {
     logger.info("Connection added to:" + remote);
   }
 
+  /**
+   * @return the bytes read from and written to the node, or null if it is not connected.
+   */
+  public ConnectionStats getConnectionStats(final INode node) {
+    final SocketChannel channel = nodeToChannel.get(node);
+    return channel == null ? null : nioSocket.getStats(channel);
+  }
+
   @Override
   public INode getRemoteNode(final SocketChannel channel) {
     return channelToNode.get(channel);
@@ -0,0 +1,100 @@
+package games.strategy.net.nio;
+
+import java.nio.ByteBuffer;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Direct byte buffers for reading and writing packets, reused instead of being allocated for each packet.
+ * <p>
+ * Buffers come in power of two sizes, from 1 KB up to the size of a chunk of a framed packet. Larger packets get a
+ * heap buffer of their own, they are rare and would pin a lot of memory in the pool. Each size keeps at most a few
+ * MB of free buffers.
+ */
+final class BufferPool {
+  private static final int MIN_SHIFT = 10;
+  // big enough for a full chunk, its flags and its size
+  private static final int MAX_SHIFT = 17;
+  private static final int MAX_FREE_BYTES_PER_SIZE = 4 * 1024 * 1024;
+  private static final BufferPool s_instance = new BufferPool();
+  private final SizeClass[] m_sizes = new SizeClass[MAX_SHIFT - MIN_SHIFT + 1];
+
+  private static final class SizeClass {
+    private final Queue<ByteBuffer> free = new ConcurrentLinkedQueue<>();
+    private final AtomicInteger freeCount = new AtomicInteger();
+    private final int capacity;
+    private final int maxFree;
+
+    private SizeClass(final int capacity) {
+      this.capacity = capacity;
+      maxFree = Math.max(1, MAX_FREE_BYTES_PER_SIZE / capacity);
+    }
+  }
+
+  BufferPool() {
+    for (int i = 0; i < m_sizes.length; i++) {
+      m_sizes[i] = new SizeClass(1 << (MIN_SHIFT + i));
+    }
+  }
+
+  /**
+   * @return the pool shared by the readers and writers of all sockets.
+   */
+  static BufferPool getInstance() {
+    return s_instance;
+  }
+
+  /**
+   * @return a cleared buffer with at least the given capacity, and a limit of the given size.
+   *         Release it once it is no longer used.
+   */
+  PooledBuffer acquire(final int size) {
+    final SizeClass sizeClass = getSizeClass(size);
+    if (sizeClass == null) {
+      final ByteBuffer buffer = ByteBuffer.allocate(size);
+      return new PooledBuffer(this, buffer);
+    }
+    ByteBuffer buffer = sizeClass.free.poll();
+    if (buffer == null) {
+      buffer = ByteBuffer.allocateDirect(sizeClass.capacity);
+    } else {
+      sizeClass.freeCount.decrementAndGet();
+      buffer.clear();
+    }
+    buffer.limit(size);
+    return new PooledBuffer(this, buffer);
+  }
+
+  private SizeClass getSizeClass(final int size) {
+    if (size > 1 << MAX_SHIFT) {
+      return null;
+    }
+    final int shift = Math.max(MIN_SHIFT, 32 - Integer.numberOfLeadingZeros(Math.max(size, 1) - 1));
+    return m_sizes[shift - MIN_SHIFT];
+  }
+
+  void recycle(final ByteBuffer buffer) {
+    if (!buffer.isDirect()) {
+      return;
+    }
+    final SizeClass sizeClass = getSizeClass(buffer.capacity());
+    if (sizeClass == null || sizeClass.capacity != buffer.capacity()) {
+      return;
+    }
+    // when the pool is full, the garbage collector frees the buffer
+    if (sizeClass.freeCount.incrementAndGet() > sizeClass.maxFree) {
+      sizeClass.freeCount.decrementAndGet();
+      return;
+    }
+    sizeClass.free.add(buffer);
+  }
+
+  /**
+   * @return the number of free buffers of the size the given size is rounded up to.
+   */
+  int getFreeCount(final int size) {
+    final SizeClass sizeClass = getSizeClass(size);
+    return sizeClass == null ? 0 : sizeClass.freeCount.get();
+  }
+}
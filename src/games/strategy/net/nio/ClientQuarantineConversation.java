@@ -3,6 +3,7 @@ package games.strategy.net.nio;
 import java.io.Serializable;
 import java.net.InetSocketAddress;
 import java.nio.channels.SocketChannel;
+import java.util.HashMap;
 import java.util.Map;
 import java.util.concurrent.CountDownLatch;
 import java.util.logging.Level;
@@ -113,13 +114,13 @@ public class ClientQuarantineConversation extends QuarantineConversation {
             if (s_logger.isLoggable(Level.FINER)) {
               s_logger.log(Level.FINER, "writing response" + challengeResponse);
             }
-            send((Serializable) challengeResponse);
+            send(offerCompression(challengeResponse));
           } else {
             showLatch.countDown();
             if (s_logger.isLoggable(Level.FINER)) {
               s_logger.log(Level.FINER, "sending null response");
             }
-            send(null);
+            send(offerCompression(null));
           }
           step = STEP.READ_ERROR;
           return ACTION.NONE;
@@ -142,6 +143,11 @@ public class ClientQuarantineConversation extends QuarantineConversation {
           }
           localName = strings[0];
           serverName = strings[1];
+          // older servers only send the names
+          if (strings.length > 2 && MessageFraming.isEnabled()
+              && MessageFraming.getCompressionName().equals(strings[2])) {
+            socket.setFramed(channel);
+          }
           step = STEP.READ_ADDRESS;
           return ACTION.NONE;
         case READ_ADDRESS:
@@ -169,6 +175,19 @@ public class ClientQuarantineConversation extends QuarantineConversation {
     }
   }
 
+  /**
+   * Servers that read framed packets accept them when they see this in the response,
+   * the others only read the properties they asked for.
+   */
+  private static HashMap<String, String> offerCompression(final Map<String, String> response) {
+    if (!MessageFraming.isEnabled()) {
+      return response == null ? null : new HashMap<>(response);
+    }
+    final HashMap<String, String> rVal = response == null ? new HashMap<>() : new HashMap<>(response);
+    rVal.put(MessageFraming.COMPRESSION_PROPERTY, MessageFraming.getCompressionName());
+    return rVal;
+  }
+
   private void send(final Serializable object) {
     // this messenger is quarantined, so to and from dont matter
     final MessageHeader header = new MessageHeader(Node.NULL_NODE, Node.NULL_NODE, object);
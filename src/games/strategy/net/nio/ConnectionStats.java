@@ -0,0 +1,32 @@
+package games.strategy.net.nio;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * The bytes read from and written to one connection.
+ */
+public final class ConnectionStats {
+  private final AtomicLong m_bytesRead = new AtomicLong();
+  private final AtomicLong m_bytesWritten = new AtomicLong();
+
+  void addRead(final long bytes) {
+    m_bytesRead.addAndGet(bytes);
+  }
+
+  void addWritten(final long bytes) {
+    m_bytesWritten.addAndGet(bytes);
+  }
+
+  public long getBytesRead() {
+    return m_bytesRead.get();
+  }
+
+  public long getBytesWritten() {
+    return m_bytesWritten.get();
+  }
+
+  @Override
+  public String toString() {
+    return "read:" + getBytesRead() + " written:" + getBytesWritten();
+  }
+}
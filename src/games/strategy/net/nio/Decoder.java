@@ -1,11 +1,11 @@
 package games.strategy.net.nio;
 
-import java.io.ByteArrayInputStream;
 import java.io.Externalizable;
 import java.io.IOException;
 import java.io.ObjectInputStream;
 import java.io.Serializable;
 import java.net.Socket;
+import java.nio.ByteBuffer;
 import java.nio.channels.SocketChannel;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.logging.Level;
@@ -21,6 +21,7 @@ import games.strategy.net.IObjectStreamFactory;
 import games.strategy.net.MessageHeader;
 import games.strategy.net.Node;
 import games.strategy.net.nio.QuarantineConversation.ACTION;
+import games.strategy.performance.Metrics;
 
 /**
  * A thread to Decode messages from a reader.
@@ -39,6 +40,9 @@ public class Decoder {
   private final ConcurrentHashMap<SocketChannel, QuarantineConversation> quarantine =
       new ConcurrentHashMap<>();
   private final Thread thread;
+  private final Metrics.Timer decodeTime = Metrics.timer("net.decode");
+  // chunks of framed messages read so far, by channel
+  private final ConcurrentHashMap<SocketChannel, MessageFraming.Assembler> assemblers = new ConcurrentHashMap<>();
 
   public Decoder(final NIOSocket nioSocket, final NIOReader reader, final IErrorReporter reporter,
       final IObjectStreamFactory objectStreamFactory, final String threadSuffix) {
@@ -75,9 +79,20 @@ public class Decoder {
         if (logger.isLoggable(Level.FINEST)) {
           logger.finest("Decoding packet:" + data);
         }
-        final ByteArrayInputStream stream = new ByteArrayInputStream(data.getData());
         try {
+          ByteBuffer bytes = data.getData();
+          if (data.isFramed()) {
+            bytes = assemblers.computeIfAbsent(data.getChannel(), c -> new MessageFraming.Assembler()).add(bytes);
+            if (bytes == null) {
+              // wait for the rest of the message
+              continue;
+            }
+          }
+          // read straight from the packet's buffer
+          final ByteBufferInputStream stream = new ByteBufferInputStream(bytes);
+          final long decodeStart = System.nanoTime();
           final MessageHeader header = readMessageHeader(data.getChannel(), objectStreamFactory.create(stream));
+          decodeTime.recordSince(decodeStart);
           if (logger.isLoggable(Level.FINEST)) {
             logger.log(Level.FINEST, "header decoded:" + header);
           }
@@ -107,6 +122,8 @@ public class Decoder {
           // is odd
           logger.log(Level.SEVERE, "error reading object", ioe);
           errorReporter.error(data.getChannel(), ioe);
+        } finally {
+          data.release();
         }
       } catch (final Exception e) {
         // catch unhandles exceptions to that the decoder
@@ -217,5 +234,9 @@ public class Decoder {
     if (conversation != null) {
       conversation.close();
     }
+    final MessageFraming.Assembler assembler = assemblers.remove(channel);
+    if (assembler != null) {
+      assembler.close();
+    }
   }
 }
@@ -4,12 +4,17 @@ import java.io.Externalizable;
 import java.io.IOException;
 import java.io.ObjectOutputStream;
 import java.nio.channels.SocketChannel;
+import java.util.Collections;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 
 import games.strategy.net.IObjectStreamFactory;
 import games.strategy.net.MessageHeader;
 import games.strategy.net.Node;
+import games.strategy.performance.Metrics;
 
 /**
  * Encodes data to be written by a writer
@@ -19,6 +24,9 @@ public class Encoder {
   private final NIOWriter m_writer;
   private final IObjectStreamFactory m_objectStreamFactory;
   private final NIOSocket m_nioSocket;
+  // the channels that read framed packets
+  private final Set<SocketChannel> m_framed = Collections.newSetFromMap(new ConcurrentHashMap<>());
+  private final Metrics.Timer m_encodeTime = Metrics.timer("net.encode");
 
   public Encoder(final NIOSocket nioSocket, final NIOWriter writer, final IObjectStreamFactory objectStreamFactory) {
     m_nioSocket = nioSocket;
@@ -37,22 +45,39 @@ public class Encoder {
       throw new IllegalArgumentException("No to channel!");
     }
     final ByteArrayOutputStream2 sink = new ByteArrayOutputStream2(512);
-    SocketWriteData data;
+    final List<SocketWriteData> data;
+    final long encodeStart = System.nanoTime();
     try {
       write(header, m_objectStreamFactory.create(sink), to);
-      data = new SocketWriteData(sink.getBuffer(), sink.size());
+      if (m_framed.contains(to)) {
+        data = MessageFraming.frame(sink.getBuffer(), sink.size());
+      } else {
+        data = Collections.singletonList(new SocketWriteData(sink.getBuffer(), sink.size()));
+      }
     } catch (final Exception e) {
       // we arent doing any io, just writing in memory
       // so something is very wrong
       s_logger.log(Level.SEVERE, "Error writing object:" + header, e);
       return;
     }
+    m_encodeTime.recordSince(encodeStart);
     if (s_logger.isLoggable(Level.FINER)) {
-      s_logger.log(Level.FINER, "encoded  msg:" + header.getMessage() + " size:" + data.size());
+      s_logger.log(Level.FINER, "encoded  msg:" + header.getMessage() + " size:" + sink.size() + " packets:" + data);
     }
     m_writer.enque(data, to);
   }
 
+  /**
+   * Write framed packets to the channel from now on, the other side must have agreed to read them.
+   */
+  void setFramed(final SocketChannel channel) {
+    m_framed.add(channel);
+  }
+
+  void closed(final SocketChannel channel) {
+    m_framed.remove(channel);
+  }
+
   private void write(final MessageHeader header, final ObjectOutputStream out, final SocketChannel remote)
       throws IOException {
     if (header.getFrom() == null) {
@@ -0,0 +1,203 @@
+package games.strategy.net.nio;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.zip.Adler32;
+import java.util.zip.DataFormatException;
+import java.util.zip.Deflater;
+import java.util.zip.Inflater;
+
+/**
+ * Splits encoded messages into framed packets, and joins them back together.
+ * <p>
+ * Framed packets are only sent once both sides of a connection agreed to them while quarantined, older versions only
+ * read unframed packets. A framed packet starts with a byte of flags. The message may be compressed with deflate,
+ * using a preset dictionary of the names that show up in most serialized messages, and is split into chunks so that
+ * one large message (a save game, for example) is never written or read as a single buffer.
+ * <p>
+ * A compressed message is the length of the uncompressed message as an int, then the deflated bytes.
+ */
+final class MessageFraming {
+  // the upper bits of the size of a framed packet
+  static final int FRAMED_MAGIC = 0x9c000000;
+  static final int COMPRESSED = 1;
+  static final int MORE_CHUNKS = 1 << 1;
+  static final int CHUNK_SIZE = 64 * 1024;
+  // limits the size of a message joined from chunks
+  static final int MAX_FRAMED_MESSAGE_SIZE = 100 * 1000 * 1000;
+  // smaller messages do not get smaller when deflated
+  private static final int MIN_COMPRESS_SIZE = 64;
+  // the key in the challenge response a client uses to say it reads framed packets
+  static final String COMPRESSION_PROPERTY = "Transport Compression";
+  private static final byte[] DICTIONARY = createDictionary();
+  private static final ThreadLocal<Deflater> deflaters =
+      ThreadLocal.withInitial(() -> new Deflater(Deflater.BEST_SPEED));
+
+  private MessageFraming() {}
+
+  private static byte[] createDictionary() {
+    // deflate finds matches nearer the end of the dictionary with shorter codes, so the most common names are last
+    final String[] names = {"java.util.HashMap", "java.util.ArrayList", "java.util.Collections$UnmodifiableList",
+        "java.lang.Boolean", "java.lang.Integer", "java.lang.Number", "java.lang.Long", "java.lang.Enum",
+        "[Ljava.lang.String;", "[Ljava.lang.Object;", "[Ljava.lang.Class;", "java.rmi.server.UID", "java.rmi.dgc.VMID",
+        "games.strategy.engine.data.Territory", "games.strategy.engine.data.PlayerID",
+        "games.strategy.engine.data.UnitType", "games.strategy.engine.data.Unit", "games.strategy.engine.data.Change",
+        "games.strategy.engine.data.CompositeChange", "games.strategy.engine.data.changefactory.",
+        "games.strategy.engine.history.", "games.strategy.engine.chat.", "games.strategy.engine.message.RemoteName",
+        "games.strategy.engine.message.RemoteMethodCallResults", "games.strategy.net.Node", "games.strategy.net.GUID",
+        "java.lang.String"};
+    return String.join("", names).getBytes(StandardCharsets.US_ASCII);
+  }
+
+  /**
+   * @return false if framed packets were turned off with the triplea.network.compression system property.
+   */
+  static boolean isEnabled() {
+    return !"false".equals(System.getProperty("triplea.network.compression"));
+  }
+
+  /**
+   * @return the name of the compression both sides of a connection must have to use framed packets.
+   */
+  static String getCompressionName() {
+    final Adler32 checksum = new Adler32();
+    checksum.update(DICTIONARY);
+    return "deflate:" + Long.toHexString(checksum.getValue());
+  }
+
+  /**
+   * @return the framed packets for the message, in the order they must be written.
+   */
+  static List<SocketWriteData> frame(final byte[] message, final int count) {
+    byte[] payload = message;
+    int payloadCount = count;
+    int flags = 0;
+    if (count >= MIN_COMPRESS_SIZE) {
+      final ByteArrayOutputStream2 compressed = compress(message, count);
+      if (compressed.size() < count) {
+        payload = compressed.getBuffer();
+        payloadCount = compressed.size();
+        flags = COMPRESSED;
+      }
+    }
+    final List<SocketWriteData> packets = new ArrayList<>(payloadCount / CHUNK_SIZE + 1);
+    int offset = 0;
+    do {
+      final int chunk = Math.min(CHUNK_SIZE, payloadCount - offset);
+      final boolean last = offset + chunk == payloadCount;
+      packets.add(new SocketWriteData(last ? flags : flags | MORE_CHUNKS, payload, offset, chunk));
+      offset += chunk;
+    } while (offset < payloadCount);
+    return packets;
+  }
+
+  private static ByteArrayOutputStream2 compress(final byte[] message, final int count) {
+    final Deflater deflater = deflaters.get();
+    deflater.reset();
+    deflater.setDictionary(DICTIONARY);
+    deflater.setInput(message, 0, count);
+    deflater.finish();
+    final ByteArrayOutputStream2 sink = new ByteArrayOutputStream2(count / 2 + 16);
+    sink.write(count >>> 24);
+    sink.write(count >>> 16);
+    sink.write(count >>> 8);
+    sink.write(count);
+    final byte[] buffer = new byte[Math.min(count, 16 * 1024)];
+    while (!deflater.finished()) {
+      final int written = deflater.deflate(buffer);
+      sink.write(buffer, 0, written);
+      // no point finishing if it is already as big as the message
+      if (sink.size() >= count) {
+        break;
+      }
+    }
+    return sink;
+  }
+
+  /**
+   * Joins the chunks of the framed packets read from one connection.
+   * Not thread safe, it is used by the decoder thread.
+   */
+  static final class Assembler {
+    private final ByteArrayOutputStream m_chunks = new ByteArrayOutputStream();
+    private Inflater m_inflater;
+
+    /**
+     * @param packet the content of a framed packet, the flags then the chunk.
+     * @return the message, or null if more chunks are needed. A message sent in one uncompressed chunk is
+     *         returned without copying it, it is only valid as long as the packet's buffer.
+     */
+    ByteBuffer add(final ByteBuffer packet) throws IOException {
+      if (!packet.hasRemaining()) {
+        throw new IOException("Empty framed packet");
+      }
+      final int flags = packet.get();
+      final int chunkSize = packet.remaining();
+      if (m_chunks.size() + chunkSize > MAX_FRAMED_MESSAGE_SIZE) {
+        throw new IOException("Framed message too big, size:" + (m_chunks.size() + chunkSize));
+      }
+      if ((flags & MORE_CHUNKS) != 0 || m_chunks.size() > 0) {
+        final byte[] chunk = new byte[chunkSize];
+        packet.get(chunk);
+        m_chunks.write(chunk, 0, chunkSize);
+        if ((flags & MORE_CHUNKS) != 0) {
+          return null;
+        }
+        final byte[] payload = m_chunks.toByteArray();
+        m_chunks.reset();
+        return (flags & COMPRESSED) == 0 ? ByteBuffer.wrap(payload) : decompress(payload, payload.length);
+      }
+      if ((flags & COMPRESSED) == 0) {
+        return packet.slice();
+      }
+      // the inflater only reads arrays
+      final byte[] payload = new byte[chunkSize];
+      packet.get(payload);
+      return decompress(payload, chunkSize);
+    }
+
+    private ByteBuffer decompress(final byte[] payload, final int length) throws IOException {
+      if (length < 4) {
+        throw new IOException("No compressed size");
+      }
+      final int size = ((payload[0] & 0xff) << 24) | ((payload[1] & 0xff) << 16) | ((payload[2] & 0xff) << 8)
+          | (payload[3] & 0xff);
+      if (size < 0 || size > MAX_FRAMED_MESSAGE_SIZE) {
+        throw new IOException("Invalid uncompressed size:" + size);
+      }
+      if (m_inflater == null) {
+        m_inflater = new Inflater();
+      }
+      m_inflater.reset();
+      m_inflater.setInput(payload, 4, length - 4);
+      final byte[] rVal = new byte[size];
+      try {
+        int read = 0;
+        while (read < size) {
+          final int count = m_inflater.inflate(rVal, read, size - read);
+          if (count == 0) {
+            if (m_inflater.needsDictionary()) {
+              m_inflater.setDictionary(DICTIONARY);
+            } else if (m_inflater.finished() || m_inflater.needsInput()) {
+              throw new IOException("Compressed message ended after " + read + " of " + size + " bytes");
+            }
+          }
+          read += count;
+        }
+      } catch (final DataFormatException e) {
+        throw new IOException(e);
+      }
+      return ByteBuffer.wrap(rVal);
+    }
+
+    void close() {
+      if (m_inflater != null) {
+        m_inflater.end();
+      }
+    }
+  }
+}
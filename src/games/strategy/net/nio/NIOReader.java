@@ -15,13 +15,17 @@ import java.util.Map;
 import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.LinkedBlockingQueue;
+import java.util.function.Function;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 
+import games.strategy.performance.Metrics;
+
 /**
  * A thread that reads socket data using NIO from a collection of sockets.<br>
  * Data is read in packets, and placed in the output queye.<br>
  * Packets are placed in the output queue in order they are read from the socket.
+ * Whoever takes a packet must release it.
  */
 public class NIOReader {
   private static final Logger logger = Logger.getLogger(NIOReader.class.getName());
@@ -32,10 +36,16 @@ public class NIOReader {
   private final Selector selector;
   private final Object socketsToAddMutex = new Object();
   private final List<SocketChannel> socketsToAdd = new ArrayList<>();
+  private final Function<SocketChannel, ConnectionStats> stats;
   private long totalBytes;
+  private final Metrics.Counter bytesRead = Metrics.counter("net.bytes.read");
+  private final Metrics.Counter packetsRead = Metrics.counter("net.packets.read");
+  private final Metrics.Counter decodeQueue = Metrics.counter("net.decode.queue.packets");
 
-  public NIOReader(final IErrorReporter reporter, final String threadSuffix) {
+  public NIOReader(final IErrorReporter reporter, final Function<SocketChannel, ConnectionStats> stats,
+      final String threadSuffix) {
     errorReporter = reporter;
+    this.stats = stats;
     try {
       selector = Selector.open();
     } catch (final IOException e) {
@@ -122,6 +132,13 @@ public class NIOReader {
               final boolean done = packet.read(channel);
               if (done) {
                 totalBytes += packet.size();
+                bytesRead.add(packet.size());
+                packetsRead.increment();
+                final ConnectionStats channelStats = stats.apply(channel);
+                // null once the channel is closed
+                if (channelStats != null) {
+                  channelStats.addRead(packet.size());
+                }
                 if (logger.isLoggable(Level.FINE)) {
                   String remote = "null";
                   final Socket s = channel.socket();
@@ -140,6 +157,9 @@ public class NIOReader {
             } catch (final Exception e) {
               logger.log(Level.FINER, "exception reading", e);
               key.cancel();
+              // only this thread touches a packet before it is done
+              reading.remove(channel);
+              packet.release();
               errorReporter.error(channel, e);
             }
           } else if (!key.isValid()) {
@@ -159,6 +179,7 @@ public class NIOReader {
 
   private void enque(final SocketReadData packet) {
     reading.remove(packet.getChannel());
+    decodeQueue.increment();
     outputQueue.offer(packet);
   }
 
@@ -172,7 +193,9 @@ public class NIOReader {
   }
 
   public SocketReadData take() throws InterruptedException {
-    return outputQueue.take();
+    final SocketReadData packet = outputQueue.take();
+    decodeQueue.decrement();
+    return packet;
   }
 
   public void closed(final SocketChannel channel) {
@@ -3,6 +3,8 @@ package games.strategy.net.nio;
 import java.io.IOException;
 import java.net.Socket;
 import java.nio.channels.SocketChannel;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 
@@ -25,11 +27,12 @@ public class NIOSocket implements IErrorReporter {
   private final NIOWriter m_writer;
   private final NIOReader m_reader;
   private final NIOSocketListener m_listener;
+  private final Map<SocketChannel, ConnectionStats> m_stats = new ConcurrentHashMap<>();
 
   public NIOSocket(final IObjectStreamFactory factory, final NIOSocketListener listener, final String name) {
     m_listener = listener;
-    m_writer = new NIOWriter(this, name);
-    m_reader = new NIOReader(this, name);
+    m_writer = new NIOWriter(this, this::getStats, name);
+    m_reader = new NIOReader(this, this::getStats, name);
     m_decoder = new Decoder(this, m_reader, this, factory, name);
     m_encoder = new Encoder(this, m_writer, factory);
   }
@@ -42,6 +45,13 @@ public class NIOSocket implements IErrorReporter {
     return m_listener.getRemoteNode(channel);
   }
 
+  /**
+   * @return the bytes read and written to the channel so far, or null if the channel was not added or is closed.
+   */
+  public ConnectionStats getStats(final SocketChannel channel) {
+    return m_stats.get(channel);
+  }
+
   /**
    * Stop our threads.
    * This does not close the sockets we are connected to.
@@ -70,11 +80,19 @@ public class NIOSocket implements IErrorReporter {
     if (channel.isBlocking()) {
       throw new IllegalArgumentException("Channel is blocking");
     }
+    m_stats.put(channel, new ConnectionStats());
     // add the decoder first, so it can quarantine the messages!
     m_decoder.add(channel, conversation);
     m_reader.add(channel);
   }
 
+  /**
+   * The other side of the channel said it reads framed packets, see MessageFraming.
+   */
+  void setFramed(final SocketChannel channel) {
+    m_encoder.setFramed(channel);
+  }
+
   void unquarantine(final SocketChannel channel, final QuarantineConversation conversation) {
     m_listener.socketUnqaurantined(channel, conversation);
   }
@@ -105,8 +123,10 @@ public class NIOSocket implements IErrorReporter {
       s_logger.log(Level.FINE, "error closing channel", e1);
     }
     m_decoder.closed(channel);
+    m_encoder.closed(channel);
     m_writer.closed(channel);
     m_reader.closed(channel);
+    m_stats.remove(channel);
   }
 
   void messageReceived(final MessageHeader header, final SocketChannel channel) {
@@ -8,18 +8,28 @@ import java.nio.channels.SelectionKey;
 import java.nio.channels.Selector;
 import java.nio.channels.SocketChannel;
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.Iterator;
+import java.util.LinkedList;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.function.Function;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 
+import games.strategy.performance.Metrics;
+
 /**
  * A thread that writes socket data using NIO .<br>
  * Data is written in packets that are enqued on our buffer.
  * Packets are sent to the sockets in the order that they are received.
+ * <p>
+ * Each time a socket can be written the writer moves on to the next socket after at most one packet, so a message
+ * split into many chunks does not hold up the messages waiting for other sockets.
+ * <p>
+ * The writer owns the packets it is given, and releases their buffers once they are written or the socket closes.
  */
 public class NIOWriter {
   private static final Logger s_logger = Logger.getLogger(NIOWriter.class.getName());
@@ -34,9 +44,16 @@ public class NIOWriter {
   private final Object m_mutex = new Object();
   private long m_totalBytes = 0;
   private volatile boolean m_running = true;
+  private final Function<SocketChannel, ConnectionStats> m_stats;
+  private final Metrics.Counter m_bytesWritten = Metrics.counter("net.bytes.written");
+  private final Metrics.Counter m_packetsWritten = Metrics.counter("net.packets.written");
+  private final Metrics.Counter m_queuedPackets = Metrics.counter("net.write.queue.packets");
+  private final Metrics.Counter m_queuedBytes = Metrics.counter("net.write.queue.bytes");
 
-  public NIOWriter(final IErrorReporter reporter, final String threadSuffix) {
+  public NIOWriter(final IErrorReporter reporter, final Function<SocketChannel, ConnectionStats> stats,
+      final String threadSuffix) {
     m_errorReporter = reporter;
+    m_stats = stats;
     try {
       m_selector = Selector.open();
     } catch (final IOException e) {
@@ -117,6 +134,13 @@ public class NIOWriter {
                 final boolean done = packet.write(channel);
                 if (done) {
                   m_totalBytes += packet.size();
+                  m_bytesWritten.add(packet.size());
+                  m_packetsWritten.increment();
+                  final ConnectionStats stats = m_stats.apply(channel);
+                  // null once the channel is closed
+                  if (stats != null) {
+                    stats.addWritten(packet.size());
+                  }
                   if (s_logger.isLoggable(Level.FINE)) {
                     String remote = "null";
                     final Socket s = channel.socket();
@@ -130,12 +154,14 @@ public class NIOWriter {
                     s_logger.log(Level.FINE, " done writing to:" + remote + " size:" + packet.size() + " writeCalls;"
                         + packet.getWriteCalls() + " total:" + m_totalBytes);
                   }
-                  removeLast(channel);
+                  removeLast(channel, packet);
                 }
               } catch (final Exception e) {
                 s_logger.log(Level.FINER, "exception writing", e);
                 m_errorReporter.error(channel, e);
                 key.cancel();
+              } finally {
+                packet.release();
               }
             } else {
               // nothing to write
@@ -161,19 +187,28 @@ public class NIOWriter {
   }
 
   private void removeAll(final SocketChannel to) {
+    final List<SocketWriteData> values;
     synchronized (m_mutex) {
-      m_writing.remove(to);
+      values = m_writing.remove(to);
+    }
+    if (values != null) {
+      // the writer thread may still be writing the first one, it keeps that buffer until it is done
+      values.forEach(this::dequeued);
     }
   }
 
-  private void removeLast(final SocketChannel to) {
+  private void removeLast(final SocketChannel to, final SocketWriteData written) {
     synchronized (m_mutex) {
       final List<SocketWriteData> values = m_writing.get(to);
       if (values == null) {
         s_logger.log(Level.SEVERE, "NO socket data to:" + to + " all:" + values);
         return;
       }
-      values.remove(0);
+      if (values.get(0) != written) {
+        // the socket was closed while we were writing
+        return;
+      }
+      dequeued(values.remove(0));
       // remove empty lists, so we can detect that we need to wake up the socket
       if (values.isEmpty()) {
         m_writing.remove(to);
@@ -181,6 +216,15 @@ public class NIOWriter {
     }
   }
 
+  private void dequeued(final SocketWriteData packet) {
+    m_queuedPackets.decrement();
+    m_queuedBytes.add(-packet.size());
+    packet.release();
+  }
+
+  /**
+   * @return the next packet to write, retained for the caller.
+   */
   private SocketWriteData getData(final SocketChannel to) {
     synchronized (m_mutex) {
       if (!m_writing.containsKey(to)) {
@@ -190,20 +234,32 @@ public class NIOWriter {
       if (values.isEmpty()) {
         return null;
       }
-      return values.get(0);
+      final SocketWriteData packet = values.get(0);
+      return packet.retain() ? packet : null;
     }
   }
 
   public void enque(final SocketWriteData data, final SocketChannel channel) {
+    enque(Collections.singletonList(data), channel);
+  }
+
+  /**
+   * Enque packets that must be written one after the other, with no packets from other threads between them.
+   */
+  public void enque(final List<SocketWriteData> data, final SocketChannel channel) {
     synchronized (m_mutex) {
       if (!m_running) {
+        data.forEach(SocketWriteData::release);
         return;
       }
+      for (final SocketWriteData packet : data) {
+        m_queuedPackets.increment();
+        m_queuedBytes.add(packet.size());
+      }
       if (m_writing.containsKey(channel)) {
-        m_writing.get(channel).add(data);
+        m_writing.get(channel).addAll(data);
       } else {
-        final List<SocketWriteData> values = new ArrayList<>();
-        values.add(data);
+        final List<SocketWriteData> values = new LinkedList<>(data);
         m_writing.put(channel, values);
         m_socketsToWake.add(channel);
         m_selector.wakeup();
@@ -0,0 +1,50 @@
+package games.strategy.net.nio;
+
+import java.nio.ByteBuffer;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * A buffer from a BufferPool, with a count of its users.
+ * <p>
+ * It starts with one user. Each thread that needs the buffer to stay valid, for example while writing it to a socket
+ * that may be closed at the same time, retains it first and releases it when done. The buffer goes back to the pool
+ * when the last user releases it, and must not be touched after that.
+ */
+final class PooledBuffer {
+  private final BufferPool m_pool;
+  private final ByteBuffer m_buffer;
+  private final AtomicInteger m_references = new AtomicInteger(1);
+
+  PooledBuffer(final BufferPool pool, final ByteBuffer buffer) {
+    m_pool = pool;
+    m_buffer = buffer;
+  }
+
+  ByteBuffer getBuffer() {
+    return m_buffer;
+  }
+
+  /**
+   * @return false if the buffer was already returned to the pool.
+   */
+  boolean retain() {
+    while (true) {
+      final int references = m_references.get();
+      if (references <= 0) {
+        return false;
+      }
+      if (m_references.compareAndSet(references, references + 1)) {
+        return true;
+      }
+    }
+  }
+
+  void release() {
+    final int references = m_references.decrementAndGet();
+    if (references == 0) {
+      m_pool.recycle(m_buffer);
+    } else if (references < 0) {
+      throw new IllegalStateException("Buffer released too often");
+    }
+  }
+}
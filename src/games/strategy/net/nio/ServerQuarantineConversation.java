@@ -11,14 +11,16 @@ import games.strategy.net.ILoginValidator;
 import games.strategy.net.MessageHeader;
 import games.strategy.net.Node;
 import games.strategy.net.ServerMessenger;
+import games.strategy.performance.Metrics;
 
 public class ServerQuarantineConversation extends QuarantineConversation {
   /**
    * Communication sequence
    * 1) server reads client name
    * 2) server sends challenge (or null if no challenge is to be made)
-   * 3) server reads response (or null if no challenge)
-   * 4) server send null then client name and node info on success, or an error message if there is an error
+   * 3) server reads response (or null if no challenge), newer clients add the compression they read
+   * 4) server send null then client name and node info on success, or an error message if there is an error,
+   * the names include the compression if the server accepts it
    * 5) if the client reads an error message, the client sends an acknowledgment (we need to make sur the client gets
    * the message before
    * closing the socket)
@@ -37,6 +39,7 @@ public class ServerQuarantineConversation extends QuarantineConversation {
   private String m_remoteMac;
   private Map<String, String> challenge;
   private final ServerMessenger m_serverMessenger;
+  private final long m_startNanos = System.nanoTime();
 
   public ServerQuarantineConversation(final ILoginValidator validator, final SocketChannel channel,
       final NIOSocket socket, final ServerMessenger serverMessenger) {
@@ -55,8 +58,18 @@ public class ServerQuarantineConversation extends QuarantineConversation {
   }
 
   @Override
-  @SuppressWarnings("unchecked")
   public ACTION message(final Object o) {
+    final ACTION action = converse(o);
+    if (action == ACTION.UNQUARANTINE) {
+      Metrics.timer("net.login").recordSince(m_startNanos);
+    } else if (action == ACTION.TERMINATE) {
+      Metrics.counter("net.login.failed").increment();
+    }
+    return action;
+  }
+
+  @SuppressWarnings("unchecked")
+  private ACTION converse(final Object o) {
     try {
       switch (m_step) {
         case READ_NAME:
@@ -107,7 +120,15 @@ public class ServerQuarantineConversation extends QuarantineConversation {
             s_logger.log(Level.FINER, "Sending name:" + m_remoteName);
           }
           // send the node its name and our name
-          send(new String[] {m_remoteName, m_serverMessenger.getLocalNode().getName()});
+          // if the client offered compression, say we accept it, new clients read framed packets from here on
+          if (response != null && MessageFraming.isEnabled()
+              && MessageFraming.getCompressionName().equals(response.get(MessageFraming.COMPRESSION_PROPERTY))) {
+            m_socket.setFramed(m_channel);
+            send(new String[] {m_remoteName, m_serverMessenger.getLocalNode().getName(),
+                MessageFraming.getCompressionName()});
+          } else {
+            send(new String[] {m_remoteName, m_serverMessenger.getLocalNode().getName()});
+          }
           // send the node its and our address as we see it
           send(new InetSocketAddress[] {(InetSocketAddress) m_channel.socket().getRemoteSocketAddress(),
               m_serverMessenger.getLocalNode().getSocketAddress()});
@@ -12,6 +12,7 @@ import java.util.logging.Logger;
  * <p>
  * A Packet does not correspond to a network packet, rather it is the bytes for 1 serialized java object.
  * <p>
+ * The data is read into a buffer from the BufferPool. Whoever takes the packet from the reader must release it.
  */
 class SocketReadData {
   public static final int MAX_MESSAGE_SIZE = 1000 * 1000 * 10;
@@ -23,14 +24,13 @@ class SocketReadData {
   // size we send is 0x9b
   public static final int MAGIC = 0x9b000000;
   private int targetSize = -1;
-  // we read into here the first four
-  // bytes to find out size
-  private ByteBuffer sizeBuffer;
-  // we read into here after knowing out size
-  private ByteBuffer contentBuffer;
+  // we read the size into here, and then the content
+  // if the content does not fit, it gets a bigger buffer
+  private PooledBuffer buffer;
   private final SocketChannel channel;
   private final int number = counter.incrementAndGet();
   private int readCalls;
+  private boolean framed;
 
   public SocketReadData(final SocketChannel channel) {
     this.channel = channel;
@@ -47,9 +47,10 @@ class SocketReadData {
     if (targetSize < 0) {
       // our first read
       // find out how big this packet is
-      if (sizeBuffer == null) {
-        sizeBuffer = ByteBuffer.allocate(4);
+      if (buffer == null) {
+        buffer = BufferPool.getInstance().acquire(4);
       }
+      final ByteBuffer sizeBuffer = buffer.getBuffer();
       final int size = channel.read(sizeBuffer);
       if (logger.isLoggable(Level.FINEST)) {
         logger.finest("read size_buffer bytes:" + size);
@@ -61,7 +62,10 @@ class SocketReadData {
       if (!sizeBuffer.hasRemaining()) {
         sizeBuffer.flip();
         targetSize = sizeBuffer.getInt();
-        if ((targetSize & 0xFF000000) != MAGIC) {
+        final int magic = targetSize & 0xFF000000;
+        if (magic == MessageFraming.FRAMED_MAGIC) {
+          framed = true;
+        } else if (magic != MAGIC) {
           throw new IOException("Did not write magic!");
         }
         targetSize = targetSize & 0x00ffffff;
@@ -69,14 +73,20 @@ class SocketReadData {
         if (targetSize <= 0 || targetSize > MAX_MESSAGE_SIZE) {
           throw new IOException("Invalid triplea packet size:" + targetSize);
         }
-        contentBuffer = ByteBuffer.allocate(targetSize);
-        sizeBuffer = null;
+        if (targetSize <= sizeBuffer.capacity()) {
+          sizeBuffer.clear();
+          sizeBuffer.limit(targetSize);
+        } else {
+          buffer.release();
+          buffer = BufferPool.getInstance().acquire(targetSize);
+        }
       } else {
         // we ddnt read all 4 bytes, return
         return false;
       }
     }
     // http://javaalmanac.com/egs/java.nio/DetectClosed.html
+    final ByteBuffer contentBuffer = buffer.getBuffer();
     final int size = channel.read(contentBuffer);
     if (logger.isLoggable(Level.FINEST)) {
       logger.finest("read content bytes:" + size);
@@ -84,7 +94,11 @@ class SocketReadData {
     if (size == -1) {
       throw new IOException("Socket closed");
     }
-    return !contentBuffer.hasRemaining();
+    if (contentBuffer.hasRemaining()) {
+      return false;
+    }
+    contentBuffer.flip();
+    return true;
   }
 
   public SocketChannel getChannel() {
@@ -92,15 +106,28 @@ class SocketReadData {
   }
 
   /**
-   * Get the data as a byte[].
-   * This method can only be called once.
+   * Get the data of a packet that has been read, without copying it.
+   * The buffer is only valid until the packet is released.
    */
-  public byte[] getData() {
-    final byte[] rVal = new byte[contentBuffer.capacity()];
-    contentBuffer.flip();
-    contentBuffer.get(rVal);
-    contentBuffer = null;
-    return rVal;
+  public ByteBuffer getData() {
+    return buffer.getBuffer();
+  }
+
+  /**
+   * Return the buffer to the pool, once the data is no longer needed.
+   */
+  void release() {
+    if (buffer != null) {
+      buffer.release();
+      buffer = null;
+    }
+  }
+
+  /**
+   * @return true if the data starts with the flags of a framed packet, see MessageFraming.
+   */
+  boolean isFramed() {
+    return framed;
   }
 
   public int size() {
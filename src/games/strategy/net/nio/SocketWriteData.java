@@ -13,67 +13,94 @@ import java.util.logging.Logger;
  * Packets do not correspond to ip packets. A packet is just the data for one serialized object.
  * <p>
  * The packet is written over the network as 32 bits indicating the size in bytes, then the data itself.
+ * The upper 8 bits of the size tell framed packets from plain ones.
+ * <p>
+ * Both are held in one buffer from the BufferPool, which goes back to the pool when the packet is released.
  */
 public class SocketWriteData {
   private static final Logger s_logger = Logger.getLogger(SocketWriteData.class.getName());
   private static final AtomicInteger s_counter = new AtomicInteger();
-  private final ByteBuffer m_size;
-  private final ByteBuffer m_content;
+  private final PooledBuffer m_buffer;
+  private final int m_size;
   private final int m_number = s_counter.incrementAndGet();
   // how many times we called write before we finished writing ourselves
   private int m_writeCalls = 0;
 
-  public SocketWriteData(final byte[] data, int count) {
-    m_content = ByteBuffer.allocate(count);
-    m_content.put(data, 0, count);
-    m_size = ByteBuffer.allocate(4);
+  public SocketWriteData(final byte[] data, final int count) {
     if (count < 0 || count > SocketReadData.MAX_MESSAGE_SIZE) {
       throw new IllegalStateException("Invalid message size:" + count);
     }
-    count = count ^ SocketReadData.MAGIC;
-    m_size.putInt(count);
-    m_size.flip();
-    m_content.flip();
+    m_size = count + 4;
+    m_buffer = BufferPool.getInstance().acquire(m_size);
+    final ByteBuffer buffer = m_buffer.getBuffer();
+    buffer.putInt(count ^ SocketReadData.MAGIC);
+    buffer.put(data, 0, count);
+    buffer.flip();
+  }
+
+  /**
+   * A framed packet, see MessageFraming.
+   */
+  SocketWriteData(final int flags, final byte[] data, final int offset, final int count) {
+    final int size = count + 1;
+    if (count < 0 || size > SocketReadData.MAX_MESSAGE_SIZE) {
+      throw new IllegalStateException("Invalid message size:" + count);
+    }
+    m_size = size + 4;
+    m_buffer = BufferPool.getInstance().acquire(m_size);
+    final ByteBuffer buffer = m_buffer.getBuffer();
+    buffer.putInt(size ^ MessageFraming.FRAMED_MAGIC);
+    buffer.put((byte) flags);
+    buffer.put(data, offset, count);
+    buffer.flip();
   }
 
   public int size() {
-    return m_size.capacity() + m_content.capacity();
+    return m_size;
   }
 
   public int getWriteCalls() {
     return m_writeCalls;
   }
 
+  /**
+   * @return the size and content, from the first byte not yet written.
+   */
+  ByteBuffer getBuffer() {
+    return m_buffer.getBuffer();
+  }
+
+  /**
+   * Keep the buffer from going back to the pool until released, see PooledBuffer.
+   *
+   * @return false if the packet was already released.
+   */
+  boolean retain() {
+    return m_buffer.retain();
+  }
+
+  void release() {
+    m_buffer.release();
+  }
+
   /**
    * @return true if the write has written the entire message
    */
   public boolean write(final SocketChannel channel) throws IOException {
     m_writeCalls++;
-    if (m_size.hasRemaining()) {
-      final int count = channel.write(m_size);
-      if (count == -1) {
-        throw new IOException("triplea: end of stream detected");
-      }
-      if (s_logger.isLoggable(Level.FINEST)) {
-        s_logger.finest("wrote size_buffer bytes:" + count);
-      }
-      // we could not write everything
-      if (m_size.hasRemaining()) {
-        return false;
-      }
-    }
-    final int count = channel.write(m_content);
+    final ByteBuffer buffer = m_buffer.getBuffer();
+    final int count = channel.write(buffer);
     if (count == -1) {
       throw new IOException("triplea: end of stream detected");
     }
     if (s_logger.isLoggable(Level.FINEST)) {
-      s_logger.finest("wrote content bytes:" + count);
+      s_logger.finest("wrote bytes:" + count);
     }
-    return !m_content.hasRemaining();
+    return !buffer.hasRemaining();
   }
 
   @Override
   public String toString() {
-    return "<id:" + m_number + " size:" + m_content.capacity() + ">";
+    return "<id:" + m_number + " size:" + (m_size - 4) + ">";
   }
 }
@@ -0,0 +1,70 @@
+package games.strategy.performance;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Durations counted in buckets that double in size, from under 1 microsecond up.
+ * Percentiles are the upper bound of the bucket they fall in, so they are at most twice the real value.
+ */
+public final class Histogram {
+  private static final int BUCKETS = 40;
+  private final AtomicLongArray counts = new AtomicLongArray(BUCKETS);
+  private final AtomicLong totalNanos = new AtomicLong();
+  private final AtomicLong maxNanos = new AtomicLong();
+
+  void record(final long nanos) {
+    final long micros = Math.max(0, TimeUnit.NANOSECONDS.toMicros(nanos));
+    // bucket i holds durations below 2^i microseconds
+    final int bucket = Math.min(BUCKETS - 1, 64 - Long.numberOfLeadingZeros(micros));
+    counts.incrementAndGet(bucket);
+    totalNanos.addAndGet(nanos);
+    long max = maxNanos.get();
+    while (nanos > max && !maxNanos.compareAndSet(max, nanos)) {
+      max = maxNanos.get();
+    }
+  }
+
+  public long getCount() {
+    long count = 0;
+    for (int i = 0; i < BUCKETS; i++) {
+      count += counts.get(i);
+    }
+    return count;
+  }
+
+  public long getTotalMicros() {
+    return TimeUnit.NANOSECONDS.toMicros(totalNanos.get());
+  }
+
+  public long getMaxMicros() {
+    return TimeUnit.NANOSECONDS.toMicros(maxNanos.get());
+  }
+
+  /**
+   * @param percentile between 0 and 100.
+   */
+  public long getPercentileMicros(final double percentile) {
+    final long count = getCount();
+    if (count == 0) {
+      return 0;
+    }
+    final long rank = (long) Math.ceil(count * percentile / 100);
+    long seen = 0;
+    for (int i = 0; i < BUCKETS; i++) {
+      seen += counts.get(i);
+      if (seen >= Math.max(1, rank)) {
+        return Math.min(1L << i, getMaxMicros());
+      }
+    }
+    return getMaxMicros();
+  }
+
+  @Override
+  public String toString() {
+    return "count:" + getCount() + " total:" + getTotalMicros() / 1000 + "ms p50:" + getPercentileMicros(50)
+        + "us p90:" + getPercentileMicros(90) + "us p99:" + getPercentileMicros(99) + "us max:" + getMaxMicros()
+        + "us";
+  }
+}
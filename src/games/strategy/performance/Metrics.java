@@ -0,0 +1,221 @@
+package games.strategy.performance;
+
+import java.lang.management.ManagementFactory;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.SortedMap;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.LongSupplier;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+import javax.management.Attribute;
+import javax.management.AttributeList;
+import javax.management.AttributeNotFoundException;
+import javax.management.DynamicMBean;
+import javax.management.JMException;
+import javax.management.MBeanAttributeInfo;
+import javax.management.MBeanInfo;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+
+/**
+ * Counters, gauges and timers that are always collected, unlike the timings of Perf which only run when performance
+ * logging is turned on. Recording a value is cheap and does not lock, so they can be used on the network threads.
+ * <p>
+ * The values can be read as text, see toText, or over JMX once registerMBean is called, each value being an
+ * attribute of the triplea:type=Metrics bean.
+ */
+public final class Metrics {
+  private static final Logger s_logger = Logger.getLogger(Metrics.class.getName());
+  private static final String MBEAN_NAME = "triplea:type=Metrics";
+  private static final Map<String, Counter> s_counters = new ConcurrentHashMap<>();
+  private static final Map<String, Timer> s_timers = new ConcurrentHashMap<>();
+  private static final Map<String, LongSupplier> s_gauges = new ConcurrentHashMap<>();
+
+  private Metrics() {}
+
+  /**
+   * A count that can go up and down, such as bytes read or packets queued.
+   */
+  public static final class Counter {
+    private final LongAdder m_value = new LongAdder();
+
+    public void increment() {
+      m_value.increment();
+    }
+
+    public void decrement() {
+      m_value.decrement();
+    }
+
+    public void add(final long amount) {
+      m_value.add(amount);
+    }
+
+    public long get() {
+      return m_value.sum();
+    }
+  }
+
+  /**
+   * How many times something took place, and how long it took.
+   */
+  public static final class Timer {
+    private final LongAdder m_count = new LongAdder();
+    private final LongAdder m_totalNanos = new LongAdder();
+    private final AtomicLong m_maxNanos = new AtomicLong();
+
+    public void record(final long nanos) {
+      m_count.increment();
+      m_totalNanos.add(nanos);
+      long max = m_maxNanos.get();
+      while (nanos > max && !m_maxNanos.compareAndSet(max, nanos)) {
+        max = m_maxNanos.get();
+      }
+    }
+
+    /**
+     * Records the time since the given System.nanoTime().
+     */
+    public void recordSince(final long startNanos) {
+      record(System.nanoTime() - startNanos);
+    }
+
+    public long getCount() {
+      return m_count.sum();
+    }
+
+    public long getTotalMicros() {
+      return TimeUnit.NANOSECONDS.toMicros(m_totalNanos.sum());
+    }
+
+    public long getMeanMicros() {
+      final long count = m_count.sum();
+      return count == 0 ? 0 : getTotalMicros() / count;
+    }
+
+    public long getMaxMicros() {
+      return TimeUnit.NANOSECONDS.toMicros(m_maxNanos.get());
+    }
+  }
+
+  public static Counter counter(final String name) {
+    return s_counters.computeIfAbsent(name, n -> new Counter());
+  }
+
+  public static Timer timer(final String name) {
+    return s_timers.computeIfAbsent(name, n -> new Timer());
+  }
+
+  /**
+   * A value read when the metrics are, such as the number of connections.
+   * A gauge registered again with the same name replaces the previous one.
+   */
+  public static void gauge(final String name, final LongSupplier value) {
+    s_gauges.put(name, value);
+  }
+
+  public static void removeGauge(final String name) {
+    s_gauges.remove(name);
+  }
+
+  /**
+   * @return every value by name, timers as .count, .meanMicros, .maxMicros and .totalMicros values.
+   */
+  public static SortedMap<String, Long> snapshot() {
+    final SortedMap<String, Long> rVal = new TreeMap<>();
+    s_counters.forEach((name, counter) -> rVal.put(name, counter.get()));
+    s_gauges.forEach((name, gauge) -> {
+      try {
+        rVal.put(name, gauge.getAsLong());
+      } catch (final RuntimeException e) {
+        s_logger.log(Level.FINE, "Could not read gauge:" + name, e);
+      }
+    });
+    s_timers.forEach((name, timer) -> {
+      rVal.put(name + ".count", timer.getCount());
+      rVal.put(name + ".meanMicros", timer.getMeanMicros());
+      rVal.put(name + ".maxMicros", timer.getMaxMicros());
+      rVal.put(name + ".totalMicros", timer.getTotalMicros());
+    });
+    return rVal;
+  }
+
+  /**
+   * @return every value as a name=value line.
+   */
+  public static String toText() {
+    final StringBuilder rVal = new StringBuilder();
+    snapshot().forEach((name, value) -> rVal.append(name).append('=').append(value).append('\n'));
+    return rVal.toString();
+  }
+
+  /**
+   * Export the metrics over JMX, does nothing if they already are.
+   */
+  public static synchronized void registerMBean() {
+    try {
+      final MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+      final ObjectName name = new ObjectName(MBEAN_NAME);
+      if (!server.isRegistered(name)) {
+        server.registerMBean(new MetricsMBean(), name);
+      }
+    } catch (final JMException e) {
+      s_logger.log(Level.WARNING, "Could not register metrics with JMX", e);
+    }
+  }
+
+  private static final class MetricsMBean implements DynamicMBean {
+    @Override
+    public Object getAttribute(final String attribute) throws AttributeNotFoundException {
+      final Long value = snapshot().get(attribute);
+      if (value == null) {
+        throw new AttributeNotFoundException(attribute);
+      }
+      return value;
+    }
+
+    @Override
+    public AttributeList getAttributes(final String[] attributes) {
+      final SortedMap<String, Long> snapshot = snapshot();
+      final AttributeList rVal = new AttributeList();
+      for (final String attribute : attributes) {
+        if (snapshot.containsKey(attribute)) {
+          rVal.add(new Attribute(attribute, snapshot.get(attribute)));
+        }
+      }
+      return rVal;
+    }
+
+    @Override
+    public MBeanInfo getMBeanInfo() {
+      final List<MBeanAttributeInfo> attributes = new ArrayList<>();
+      for (final String name : snapshot().keySet()) {
+        attributes.add(new MBeanAttributeInfo(name, Long.class.getName(), name, true, false, false));
+      }
+      return new MBeanInfo(Metrics.class.getName(), "TripleA metrics",
+          attributes.toArray(new MBeanAttributeInfo[attributes.size()]), null, null, null);
+    }
+
+    @Override
+    public void setAttribute(final Attribute attribute) {
+      throw new UnsupportedOperationException("Metrics are read only");
+    }
+
+    @Override
+    public AttributeList setAttributes(final AttributeList attributes) {
+      return new AttributeList();
+    }
+
+    @Override
+    public Object invoke(final String actionName, final Object[] params, final String[] signature) {
+      throw new UnsupportedOperationException("No operations");
+    }
+  }
+}
@@ -1,36 +1,88 @@
 package games.strategy.performance;
 
+import java.io.BufferedWriter;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.SortedMap;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.logging.Level;
+import java.util.logging.Logger;
 import java.util.prefs.Preferences;
 
 
 /**
  * Provides a high level API to the game engine for performance measurements.
- * This class handles the library details and sends output to 'PerformanceConsole.java'
+ * <p>
+ * Timers are only kept while performance logging is on, either from the menu, which also shows the timers that are
+ * not nested in others in 'PerformanceConsole.java', or with the triplea.trace.file system property. When off,
+ * starting a timer costs a field read.
+ * <p>
+ * Each thread keeps its most recent timers, which can be written as a trace, see writeTrace, and every timer is
+ * counted in a histogram by its title. With triplea.trace.file set the trace is written to that file on exit.
  */
-// TODO Move the methods in this class to PerfTimer
 public class Perf {
-
+  private static final Logger s_logger = Logger.getLogger(Perf.class.getName());
   private static final String LOG_PERFORMANCE_KEY = "logPerformance";
-  private static boolean enabled;
+  private static final String TRACE_FILE_PROPERTY = "triplea.trace.file";
+  private static final String TRACE_BUFFER_SIZE_PROPERTY = "triplea.trace.bufferSize";
+  private static final String DEFAULT_CATEGORY = "perf";
+  private static final long BASE_NANOS = System.nanoTime();
+  // the buffers of threads that ended are dropped once there are more than this
+  private static final int MAX_BUFFERS = 64;
+  private static final List<TraceBuffer> buffers = new ArrayList<>();
+  private static final ThreadLocal<TraceBuffer> threadBuffer = ThreadLocal.withInitial(Perf::newBuffer);
+  private static final Map<String, Histogram> histograms = new ConcurrentHashMap<>();
+  private static volatile boolean consoleEnabled;
+  private static volatile boolean tracing;
+  private static volatile boolean enabled;
 
   static {
-    enabled = isEnabled();
-    if (enabled) {
+    consoleEnabled = isEnabled();
+    final String traceFile = System.getProperty(TRACE_FILE_PROPERTY);
+    tracing = traceFile != null;
+    enabled = consoleEnabled || tracing;
+    if (consoleEnabled) {
       PerformanceConsole.getInstance().setVisible(true);
     }
+    if (traceFile != null) {
+      Runtime.getRuntime().addShutdownHook(new Thread(() -> {
+        try {
+          writeTrace(new File(traceFile));
+        } catch (final IOException e) {
+          s_logger.log(Level.WARNING, "Could not write trace to:" + traceFile, e);
+        }
+      }, "Write performance trace"));
+    }
   }
 
   public static void setEnabled(final boolean isEnabled) {
-    if (enabled != isEnabled) {
-      enabled = isEnabled;
-      PerformanceConsole.getInstance().setVisible(enabled);
+    if (consoleEnabled != isEnabled) {
+      consoleEnabled = isEnabled;
+      enabled = consoleEnabled || tracing;
+      PerformanceConsole.getInstance().setVisible(consoleEnabled);
       storeEnabledPreference();
     }
   }
 
+  /**
+   * Keep timers without showing the console, as when the triplea.trace.file system property is set.
+   */
+  public static void setTracing(final boolean isTracing) {
+    tracing = isTracing;
+    enabled = consoleEnabled || tracing;
+  }
+
   private static void storeEnabledPreference() {
     final Preferences prefs = Preferences.userNodeForPackage(EnablePerformanceLoggingCheckBox.class);
-    prefs.put(LOG_PERFORMANCE_KEY, Boolean.valueOf(enabled).toString());
+    prefs.put(LOG_PERFORMANCE_KEY, Boolean.valueOf(consoleEnabled).toString());
   }
 
   public static boolean isEnabled() {
@@ -38,19 +90,98 @@ public class Perf {
     return prefs.getBoolean(LOG_PERFORMANCE_KEY, false);
   }
 
-  public static PerfTimer startTimer(String title) {
+  public static PerfTimer startTimer(final String title) {
+    return startTimer(DEFAULT_CATEGORY, title);
+  }
+
+  /**
+   * @param category groups timers in the trace, such as "delegate", "ai" or "odds".
+   */
+  public static PerfTimer startTimer(final String category, final String title) {
     if (!enabled) {
       return PerfTimer.DISABLED_TIMER;
     } else {
-       return new PerfTimer(title);
+      return new PerfTimer(category, title, threadBuffer.get());
+    }
+  }
+
+  private static TraceBuffer newBuffer() {
+    final TraceBuffer buffer =
+        new TraceBuffer(Thread.currentThread(), Integer.getInteger(TRACE_BUFFER_SIZE_PROPERTY, 4096));
+    synchronized (buffers) {
+      if (buffers.size() >= MAX_BUFFERS) {
+        buffers.removeIf(b -> !b.isThreadAlive());
+      }
+      buffers.add(buffer);
+    }
+    return buffer;
+  }
+
+  protected static void processResult(final long stopNanos, final PerfTimer perfTimer, final int depth) {
+    histograms.computeIfAbsent(perfTimer.title, title -> new Histogram()).record(stopNanos);
+    // nested timers are only in the trace and histograms, there are too many to read as they happen
+    if (consoleEnabled && depth == 0) {
+      final long stopMicros = stopNanos / 1000;
+      final long milliFraction = (stopMicros % 1000) / 100;
+      final long millis = (stopMicros / 1000);
+      PerformanceConsole.getInstance().append(millis + "." + milliFraction + " ms - " + perfTimer.title + "\n");
     }
   }
 
-  protected static void processResult(long stopNanos, PerfTimer perfTimer) {
-    long stopMicros = stopNanos / 1000;
+  /**
+   * @return the histogram of every timer title seen, by title.
+   */
+  public static SortedMap<String, Histogram> getHistograms() {
+    return new TreeMap<>(histograms);
+  }
+
+  /**
+   * Writes the timers kept by each thread in the trace event format, which chrome://tracing and Perfetto open.
+   * The histograms are written with the trace, as its otherData.
+   */
+  public static void writeTrace(final File file) throws IOException {
+    try (Writer out =
+        new BufferedWriter(new OutputStreamWriter(new FileOutputStream(file), StandardCharsets.UTF_8))) {
+      writeTrace(out);
+    }
+  }
 
-    long milliFraction = (stopMicros % 1000) / 100;
-    long millis = (stopMicros / 1000);
-    PerformanceConsole.getInstance().append( millis + "." + milliFraction + " ms - " + perfTimer.title + "\n");
+  public static void writeTrace(final Writer out) throws IOException {
+    final List<TraceBuffer> toWrite;
+    synchronized (buffers) {
+      toWrite = new ArrayList<>(buffers);
+    }
+    out.write("{\"displayTimeUnit\":\"ms\",\"traceEvents\":[\n");
+    long dropped = 0;
+    for (int i = 0; i < toWrite.size(); i++) {
+      if (i > 0) {
+        out.write(",\n");
+      }
+      toWrite.get(i).writeEvents(out, BASE_NANOS);
+      dropped += toWrite.get(i).getDropped();
+    }
+    out.write("\n],\"otherData\":{\"droppedTimers\":\"" + dropped + "\"");
+    for (final Map.Entry<String, Histogram> entry : getHistograms().entrySet()) {
+      out.write(",\n" + quote(entry.getKey()) + ":" + quote(entry.getValue().toString()));
+    }
+    out.write("}}\n");
+  }
+
+  /**
+   * @return the string as a json string.
+   */
+  static String quote(final String s) {
+    final StringBuilder rVal = new StringBuilder(s.length() + 2).append('"');
+    for (int i = 0; i < s.length(); i++) {
+      final char c = s.charAt(i);
+      if (c == '"' || c == '\\') {
+        rVal.append('\\').append(c);
+      } else if (c < ' ') {
+        rVal.append(String.format("\\u%04x", (int) c));
+      } else {
+        rVal.append(c);
+      }
+    }
+    return rVal.append('"').toString();
   }
 }
@@ -2,26 +2,48 @@ package games.strategy.performance;
 
 import java.io.Closeable;
 
+/**
+ * A span of time, started with Perf.startTimer and ended by closing it.
+ * <p>
+ * Timers started on a thread while another is open are nested in it, close them in the reverse order they were
+ * started, try with resources does this.
+ */
 public class PerfTimer implements Closeable {
 
-  protected static final PerfTimer DISABLED_TIMER = new PerfTimer("disabled");
+  protected static final PerfTimer DISABLED_TIMER = new PerfTimer("disabled", "disabled", null);
 
   public final String title;
-  private final long startMillis;
+  final String category;
+  private final TraceBuffer buffer;
+  private final long startNanos;
+  private boolean closed;
 
-  protected PerfTimer(String title) {
+  PerfTimer(final String category, final String title, final TraceBuffer buffer) {
+    this.category = category;
     this.title = title;
-    this.startMillis = System.nanoTime();
+    this.buffer = buffer;
+    if (buffer != null) {
+      buffer.enter();
+    }
+    this.startNanos = System.nanoTime();
   }
-  private long stopTimer() {
-    long end = System.nanoTime();
-    return end-startMillis;
+
+  long getStartNanos() {
+    return startNanos;
   }
+
   @Override
   public void close() {
-    Perf.processResult(stopTimer(), this);
+    if (buffer == null || closed) {
+      return;
+    }
+    closed = true;
+    final long duration = System.nanoTime() - startNanos;
+    Perf.processResult(duration, this, buffer.exit());
+    buffer.add(this, duration);
   }
-  /** Alias for the close method, stops the timer*/
+
+  /** Alias for the close method, stops the timer */
   public void stop() {
     close();
   }
@@ -0,0 +1,92 @@
+package games.strategy.performance;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.lang.ref.WeakReference;
+
+/**
+ * The timers ended on one thread, keeping only the most recent ones once full.
+ * <p>
+ * Only the owning thread adds to a buffer, the lock is there for the thread that writes the trace, so it is never
+ * contended while a game runs.
+ */
+final class TraceBuffer {
+  private final WeakReference<Thread> thread;
+  private final String threadName;
+  private final long threadId;
+  private final String[] titles;
+  private final String[] categories;
+  private final long[] starts;
+  private final long[] durations;
+  private final int[] depths;
+  // how many timers are open on the thread, touched only by the owning thread
+  private int depth;
+  private int next;
+  private long added;
+
+  TraceBuffer(final Thread thread, final int capacity) {
+    this.thread = new WeakReference<>(thread);
+    threadName = thread.getName();
+    threadId = thread.getId();
+    titles = new String[capacity];
+    categories = new String[capacity];
+    starts = new long[capacity];
+    durations = new long[capacity];
+    depths = new int[capacity];
+  }
+
+  boolean isThreadAlive() {
+    final Thread owner = thread.get();
+    return owner != null && owner.isAlive();
+  }
+
+  void enter() {
+    depth++;
+  }
+
+  /**
+   * @return the depth of the timer that ended, 0 if it was not nested.
+   */
+  int exit() {
+    return depth = Math.max(0, depth - 1);
+  }
+
+  synchronized void add(final PerfTimer timer, final long durationNanos) {
+    titles[next] = timer.title;
+    categories[next] = timer.category;
+    starts[next] = timer.getStartNanos();
+    durations[next] = durationNanos;
+    depths[next] = depth;
+    next = (next + 1) % titles.length;
+    added++;
+  }
+
+  /**
+   * @return how many timers were dropped because the buffer was full.
+   */
+  synchronized long getDropped() {
+    return Math.max(0, added - titles.length);
+  }
+
+  /**
+   * Writes the timers, oldest first, as complete events of the trace event format.
+   *
+   * @param baseNanos the System.nanoTime() the trace starts at.
+   */
+  synchronized void writeEvents(final Writer out, final long baseNanos) throws IOException {
+    out.write("{\"name\":\"thread_name\",\"ph\":\"M\",\"pid\":1,\"tid\":" + threadId + ",\"args\":{\"name\":"
+        + Perf.quote(threadName) + "}}");
+    final int count = (int) Math.min(added, titles.length);
+    final int first = added > titles.length ? next : 0;
+    for (int i = 0; i < count; i++) {
+      final int index = (first + i) % titles.length;
+      out.write(",\n{\"name\":" + Perf.quote(titles[index]) + ",\"cat\":" + Perf.quote(categories[index])
+          + ",\"ph\":\"X\",\"pid\":1,\"tid\":" + threadId + ",\"ts\":" + toMicros(starts[index] - baseNanos)
+          + ",\"dur\":" + toMicros(durations[index]) + ",\"args\":{\"depth\":" + depths[index] + "}}");
+    }
+  }
+
+  private static String toMicros(final long nanos) {
+    return (nanos / 1000) + "." + String.format("%03d", Math.abs(nanos % 1000));
+  }
+}
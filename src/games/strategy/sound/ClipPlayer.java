@@ -18,15 +18,20 @@ import java.util.List;
 import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.prefs.BackingStoreException;
 import java.util.prefs.Preferences;
 import java.util.zip.ZipEntry;
 import java.util.zip.ZipFile;
 
 import games.strategy.util.UrlStreams;
-import javazoom.jl.player.AudioDevice;
-import javazoom.jl.player.FactoryRegistry;
-import javazoom.jl.player.advanced.AdvancedPlayer;
 
 import com.google.common.base.Throwables;
 
@@ -110,6 +115,11 @@ import games.strategy.triplea.ResourceLoader;
  * "generic/game_start").
  * (if any sounds are found in step 4 above, then we ignore the generic folder completely) <br>
  * 6. Randomize the list's order, then pick one, and play the sound.
+ * <br>
+ * <br>
+ * Clips are played by a small pool of threads, and decoded clips are cached, so a clip heard often is only decoded
+ * once. The battle, placement and capture sounds are decoded when a map is loaded. If the same sound is asked for
+ * again before it started playing, only one is played, and if too many sounds are waiting, new ones are dropped.
  */
 public class ClipPlayer {
   protected static final String ASSETS_SOUNDS_FOLDER = "sounds";
@@ -118,7 +128,32 @@ public class ClipPlayer {
   private static final boolean DEFAULT_SOUND_SILENCED_SWITCH_SETTING = false;
 
   private static final String MP3_SUFFIX = ".mp3";
-
+  private static final int MAX_CLIPS_PLAYING = 4;
+  private static final int MAX_CLIPS_WAITING = 8;
+  private static final long DECODED_CLIP_CACHE_BYTES = 48L * 1024 * 1024;
+  // played during battles, placement and moves, often many times in a row
+  private static final List<String> FREQUENT_CLIPS = Arrays.asList(SoundPath.CLIP_BATTLE_AA_HIT,
+      SoundPath.CLIP_BATTLE_AA_MISS, SoundPath.CLIP_BATTLE_AIR, SoundPath.CLIP_BATTLE_LAND,
+      SoundPath.CLIP_BATTLE_SEA_NORMAL, SoundPath.CLIP_BATTLE_SEA_SUBS, SoundPath.CLIP_BATTLE_BOMBARD,
+      SoundPath.CLIP_PLACED_AIR, SoundPath.CLIP_PLACED_LAND, SoundPath.CLIP_PLACED_SEA,
+      SoundPath.CLIP_TERRITORY_CAPTURE_LAND, SoundPath.CLIP_TERRITORY_CAPTURE_SEA);
+  private static final AtomicInteger playbackThreadCount = new AtomicInteger();
+  // shared by the clip players of all maps, threads are only started when a clip is played
+  private static final ThreadPoolExecutor playbackExecutor = new ThreadPoolExecutor(MAX_CLIPS_PLAYING,
+      MAX_CLIPS_PLAYING, 10, TimeUnit.SECONDS, new ArrayBlockingQueue<>(MAX_CLIPS_WAITING), runnable -> {
+        final Thread thread = new Thread(runnable, "Triplea sound player " + playbackThreadCount.incrementAndGet());
+        thread.setDaemon(true);
+        return thread;
+      });
+  private static final DecodedClipCache<URI> decodedClips = new DecodedClipCache<>(DECODED_CLIP_CACHE_BYTES);
+  // the clips being decoded, so a clip asked for by the player and the prefetch at once is decoded only once
+  private static final Map<URI, FutureTask<DecodedClip>> decodingClips = new ConcurrentHashMap<>();
+  // the clip names waiting to be played
+  private static final Set<String> waitingClips = ConcurrentHashMap.newKeySet();
+
+  static {
+    playbackExecutor.allowCoreThreadTimeOut(true);
+  }
 
   protected final Map<String, List<URL>> sounds = new HashMap<>();
   private final Set<String> mutedClips = new HashSet<>();
@@ -275,17 +310,108 @@ public class ClipPlayer {
     // "phase_technology_Japanese"
 
     if (clip != null) {
-      (new Thread(() -> {
+      final String waitingName = folder;
+      // the same sound asked for again before it started, play it once
+      if (!waitingClips.add(waitingName)) {
+        return;
+      }
+      try {
+        playbackExecutor.execute(() -> {
+          waitingClips.remove(waitingName);
+          playDecoded(clip);
+        });
+      } catch (final RejectedExecutionException e) {
+        // too many sounds waiting, they would only play long after the action anyway
+        waitingClips.remove(waitingName);
+      }
+    }
+  }
+
+  private static void playDecoded(final URI clip) {
+    try {
+      final DecodedClip decoded = getDecodedClip(clip);
+      if (decoded != null) {
+        decoded.play();
+      }
+    } catch (final Exception e) {
+      ClientLogger.logError("Failed to play: " + clip, e);
+    }
+  }
+
+  private static DecodedClip getDecodedClip(final URI clip) throws Exception {
+    final DecodedClip cached = decodedClips.get(clip);
+    if (cached != null) {
+      return cached;
+    }
+    final FutureTask<DecodedClip> decoding = new FutureTask<>(() -> decodeClip(clip));
+    final FutureTask<DecodedClip> running = decodingClips.putIfAbsent(clip, decoding);
+    if (running != null) {
+      return getDecoded(running);
+    }
+    try {
+      decoding.run();
+    } finally {
+      decodingClips.remove(clip, decoding);
+    }
+    return getDecoded(decoding);
+  }
+
+  private static DecodedClip decodeClip(final URI clip) throws Exception {
+    // another thread may have finished decoding it since we looked in the cache
+    final DecodedClip cached = decodedClips.get(clip);
+    if (cached != null) {
+      return cached;
+    }
+    final Optional<InputStream> inputStream = UrlStreams.openStream(clip.toURL());
+    if (!inputStream.isPresent()) {
+      return null;
+    }
+    final DecodedClip decoded = DecodedClip.decode(inputStream.get());
+    // cached before the task is removed from decodingClips, so no one decodes it again in between
+    decodedClips.put(clip, decoded);
+    return decoded;
+  }
+
+  private static DecodedClip getDecoded(final FutureTask<DecodedClip> decoding) throws Exception {
+    try {
+      return decoding.get();
+    } catch (final ExecutionException e) {
+      if (e.getCause() instanceof Exception) {
+        throw (Exception) e.getCause();
+      }
+      if (e.getCause() instanceof Error) {
+        throw (Error) e.getCause();
+      }
+      throw e;
+    }
+  }
+
+  /**
+   * Decodes the sounds of the clips played most often, so they play without delay the first time.
+   * Does nothing when sounds are off. Call this from a background thread, decoding takes a while.
+   */
+  public void decodeFrequentClips() {
+    if (beSilent) {
+      return;
+    }
+    for (final String clipName : FREQUENT_CLIPS) {
+      if (isMuted(clipName)) {
+        continue;
+      }
+      final List<URL> clipUrls;
+      synchronized (sounds) {
+        clipUrls = new ArrayList<>(getClipPaths(clipName));
+      }
+      for (final URL clipUrl : clipUrls) {
         try {
-          Optional<InputStream> inputStream = UrlStreams.openStream(clip.toURL());
-          if (inputStream.isPresent()) {
-            final AudioDevice audioDevice = FactoryRegistry.systemRegistry().createAudioDevice();
-            new AdvancedPlayer(inputStream.get(), audioDevice).play();
+          final URI clip = clipUrl.toURI();
+          if (!decodedClips.contains(clip)) {
+            getDecodedClip(clip);
           }
-        } catch (Exception e) {
-          ClientLogger.logError("Failed to play: " + clip, e);
+        } catch (final Exception e) {
+          ClientLogger.logQuietly("Failed to decode: " + clipUrl, e);
         }
-      })).start();
+      }
     }
   }
 
@@ -297,22 +423,28 @@ public class ClipPlayer {
   }
 
   private URI loadClipPath(final String pathName) {
+    synchronized (sounds) {
+      final List<URL> availableSounds = getClipPaths(pathName);
+      if (availableSounds == null || availableSounds.isEmpty()) {
+        return null;
+      }
+      // we want to pick a random sound from this folder, as users don't like hearing the same ones over
+      // and over again
+      Collections.shuffle(availableSounds);
+      try {
+        return availableSounds.get(0).toURI();
+      } catch (URISyntaxException e) {
+        throw Throwables.propagate(e);
+      }
+    }
+  }
+
+  private List<URL> getClipPaths(final String pathName) {
     if (!sounds.containsKey(pathName)) {
       // parse sounds for the first time
       sounds.put(pathName, parseClipPaths(pathName));
     }
-    final List<URL> availableSounds = sounds.get(pathName);
-    if (availableSounds == null || availableSounds.isEmpty()) {
-      return null;
-    }
-    // we want to pick a random sound from this folder, as users don't like hearing the same ones over
-    // and over again
-    Collections.shuffle(availableSounds);
-    try {
-      return availableSounds.get(0).toURI();
-    } catch (URISyntaxException e) {
-      throw Throwables.propagate(e);
-    }
+    return sounds.get(pathName);
   }
 
   /**
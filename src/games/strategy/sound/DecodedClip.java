@@ -0,0 +1,86 @@
+package games.strategy.sound;
+
+import java.io.ByteArrayOutputStream;
+import java.io.InputStream;
+
+import javax.sound.sampled.AudioFormat;
+import javax.sound.sampled.AudioSystem;
+import javax.sound.sampled.LineUnavailableException;
+import javax.sound.sampled.SourceDataLine;
+
+import javazoom.jl.decoder.Bitstream;
+import javazoom.jl.decoder.Decoder;
+import javazoom.jl.decoder.Header;
+import javazoom.jl.decoder.JavaLayerException;
+import javazoom.jl.decoder.SampleBuffer;
+
+/**
+ * A sound clip decoded from mp3 into 16 bit PCM, ready to be written to an audio line without decoding it again.
+ */
+final class DecodedClip {
+  private final AudioFormat format;
+  private final byte[] pcm;
+
+  DecodedClip(final AudioFormat format, final byte[] pcm) {
+    this.format = format;
+    this.pcm = pcm;
+  }
+
+  /**
+   * Decodes every frame of the mp3 stream. The stream is closed afterwards.
+   */
+  static DecodedClip decode(final InputStream stream) throws JavaLayerException {
+    final Bitstream bitstream = new Bitstream(stream);
+    final Decoder decoder = new Decoder();
+    final ByteArrayOutputStream pcm = new ByteArrayOutputStream();
+    byte[] frame = new byte[0];
+    try {
+      Header header;
+      while ((header = bitstream.readFrame()) != null) {
+        final SampleBuffer output = (SampleBuffer) decoder.decodeFrame(header, bitstream);
+        final short[] samples = output.getBuffer();
+        final int length = output.getBufferLength();
+        if (frame.length < length * 2) {
+          frame = new byte[length * 2];
+        }
+        for (int i = 0; i < length; i++) {
+          // little endian, as AudioFormat is told below
+          frame[2 * i] = (byte) samples[i];
+          frame[2 * i + 1] = (byte) (samples[i] >> 8);
+        }
+        pcm.write(frame, 0, length * 2);
+        bitstream.closeFrame();
+      }
+    } finally {
+      bitstream.close();
+    }
+    final AudioFormat format =
+        new AudioFormat(decoder.getOutputFrequency(), 16, decoder.getOutputChannels(), true, false);
+    return new DecodedClip(format, pcm.toByteArray());
+  }
+
+  /**
+   * Plays the clip on a new audio line, returns once it has been played.
+   */
+  void play() throws LineUnavailableException {
+    if (pcm.length == 0) {
+      return;
+    }
+    final SourceDataLine line = AudioSystem.getSourceDataLine(format);
+    line.open(format);
+    try {
+      line.start();
+      line.write(pcm, 0, pcm.length);
+      line.drain();
+    } finally {
+      line.close();
+    }
+  }
+
+  /**
+   * @return the size of the decoded sound, in bytes.
+   */
+  int size() {
+    return pcm.length;
+  }
+}
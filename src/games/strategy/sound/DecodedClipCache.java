@@ -0,0 +1,57 @@
+package games.strategy.sound;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * A least recently used cache of decoded clips, bounded by the total size of their sound data.
+ * <p>
+ * Clips bigger than a quarter of the budget (long anthems, for example) are not kept, so one of them cannot push out
+ * all the short battle sounds.
+ */
+final class DecodedClipCache<K> {
+  private final long maxBytes;
+  private final Map<K, DecodedClip> clips = new LinkedHashMap<>(16, 0.75f, true);
+  private long bytes;
+
+  DecodedClipCache(final long maxBytes) {
+    this.maxBytes = maxBytes;
+  }
+
+  synchronized DecodedClip get(final K key) {
+    return clips.get(key);
+  }
+
+  /**
+   * @return true if the clip was cached.
+   */
+  synchronized boolean put(final K key, final DecodedClip clip) {
+    if (clip.size() > maxBytes / 4) {
+      return false;
+    }
+    final DecodedClip previous = clips.put(key, clip);
+    if (previous != null) {
+      bytes -= previous.size();
+    }
+    bytes += clip.size();
+    final Iterator<DecodedClip> eldest = clips.values().iterator();
+    while (bytes > maxBytes) {
+      bytes -= eldest.next().size();
+      eldest.remove();
+    }
+    return true;
+  }
+
+  synchronized boolean contains(final K key) {
+    return clips.containsKey(key);
+  }
+
+  synchronized int size() {
+    return clips.size();
+  }
+
+  synchronized long getBytes() {
+    return bytes;
+  }
+}
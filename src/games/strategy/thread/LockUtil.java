@@ -8,6 +8,8 @@ import java.util.Map;
 import java.util.Set;
 import java.util.WeakHashMap;
 import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
 
 /**
  * Utility class for ensuring that locks are acquired in a consistent order.
@@ -20,6 +22,8 @@ import java.util.concurrent.locks.Lock;
  * meant more for when
  * you are considering your ambitious multi-threaded code a mistake, and you are trying to limit the damage.
  * <p>
+ * The check is only made when turned on, by the triplea.lockOrder.check system property or the constructor, as the
+ * tests do. Otherwise acquiring and releasing go straight to the lock.
  */
 public class LockUtil {
   // the locks the current thread has
@@ -30,10 +34,29 @@ public class LockUtil {
   private final static Map<Lock, Set<WeakLockRef>> m_locksHeldWhenAcquired = new WeakHashMap<>();
   private final Object m_mutex = new Object();
   private static ErrorReporter m_errorReporter = new ErrorReporter();
+  private static final boolean CHECK_ORDER = Boolean.getBoolean("triplea.lockOrder.check");
+  private final boolean m_checkOrder;
 
-  public LockUtil() {}
+  public LockUtil() {
+    this(CHECK_ORDER);
+  }
+
+  /**
+   * @param checkOrder whether to check the order locks are acquired in, and keep which locks are held.
+   */
+  public LockUtil(final boolean checkOrder) {
+    m_checkOrder = checkOrder;
+  }
+
+  public boolean isCheckingOrder() {
+    return m_checkOrder;
+  }
 
   public void acquireLock(final Lock aLock) {
+    if (!m_checkOrder) {
+      aLock.lock();
+      return;
+    }
     synchronized (m_mutex) {
       if (m_locksHeld.get() == null) {
         m_locksHeld.set(new HashMap<>());
@@ -75,6 +98,10 @@ public class LockUtil {
   }
 
   public void releaseLock(final Lock aLock) {
+    if (!m_checkOrder) {
+      aLock.unlock();
+      return;
+    }
     synchronized (m_mutex) {
       int count = m_locksHeld.get().get(aLock);
       count--;
@@ -87,7 +114,19 @@ public class LockUtil {
     aLock.unlock();
   }
 
+  /**
+   * Without the order check only a ReentrantLock or the write lock of a ReentrantReadWriteLock can tell whether it is
+   * held.
+   */
   public boolean isLockHeld(final Lock aLock) {
+    if (!m_checkOrder) {
+      if (aLock instanceof ReentrantLock) {
+        return ((ReentrantLock) aLock).isHeldByCurrentThread();
+      } else if (aLock instanceof ReentrantReadWriteLock.WriteLock) {
+        return ((ReentrantReadWriteLock.WriteLock) aLock).isHeldByCurrentThread();
+      }
+      throw new UnsupportedOperationException("Cannot tell if lock is held without the order check:" + aLock);
+    }
     if (m_locksHeld.get() == null) {
       return false;
     }
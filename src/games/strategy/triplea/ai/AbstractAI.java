@@ -13,6 +13,8 @@ import java.util.Map.Entry;
 import java.util.Set;
 import java.util.logging.Logger;
 
+import games.strategy.performance.Perf;
+import games.strategy.performance.PerfTimer;
 import games.strategy.triplea.player.AbstractBaseAI;
 import games.strategy.engine.data.GameData;
 import games.strategy.engine.data.PlayerID;
@@ -410,38 +412,41 @@ public abstract class AbstractAI extends AbstractBaseAI implements ITripleAPlaye
    * The given phase has started. We parse the phase name and call the apropiate method.
    */
   @Override
+  @SuppressWarnings("try")
   public final void start(final String name) {
     // must call super.start
     super.start(name);
     final PlayerID id = getPlayerID();
-    if (name.endsWith("Bid")) {
-      final IPurchaseDelegate purchaseDelegate = (IPurchaseDelegate) getPlayerBridge().getRemoteDelegate();
-      final String propertyName = id.getName() + " bid";
-      final int bidAmount = getGameData().getProperties().get(propertyName, 0);
-      purchase(true, bidAmount, purchaseDelegate, getGameData(), id);
-    } else if (name.endsWith("Purchase")) {
-      final IPurchaseDelegate purchaseDelegate = (IPurchaseDelegate) getPlayerBridge().getRemoteDelegate();
-      final Resource PUs = getGameData().getResourceList().getResource(Constants.PUS);
-      final int leftToSpend = id.getResources().getQuantity(PUs);
-      purchase(false, leftToSpend, purchaseDelegate, getGameData(), id);
-    } else if (name.endsWith("Tech")) {
-      final ITechDelegate techDelegate = (ITechDelegate) getPlayerBridge().getRemoteDelegate();
-      tech(techDelegate, getGameData(), id);
-    } else if (name.endsWith("Move")) {
-      final IMoveDelegate moveDel = (IMoveDelegate) getPlayerBridge().getRemoteDelegate();
-      if (name.endsWith("AirborneCombatMove")) {
-      } else {
-        move(name.endsWith("NonCombatMove"), moveDel, getGameData(), id);
+    try (PerfTimer timer = Perf.startTimer("ai", getName() + " " + name)) {
+      if (name.endsWith("Bid")) {
+        final IPurchaseDelegate purchaseDelegate = (IPurchaseDelegate) getPlayerBridge().getRemoteDelegate();
+        final String propertyName = id.getName() + " bid";
+        final int bidAmount = getGameData().getProperties().get(propertyName, 0);
+        purchase(true, bidAmount, purchaseDelegate, getGameData(), id);
+      } else if (name.endsWith("Purchase")) {
+        final IPurchaseDelegate purchaseDelegate = (IPurchaseDelegate) getPlayerBridge().getRemoteDelegate();
+        final Resource PUs = getGameData().getResourceList().getResource(Constants.PUS);
+        final int leftToSpend = id.getResources().getQuantity(PUs);
+        purchase(false, leftToSpend, purchaseDelegate, getGameData(), id);
+      } else if (name.endsWith("Tech")) {
+        final ITechDelegate techDelegate = (ITechDelegate) getPlayerBridge().getRemoteDelegate();
+        tech(techDelegate, getGameData(), id);
+      } else if (name.endsWith("Move")) {
+        final IMoveDelegate moveDel = (IMoveDelegate) getPlayerBridge().getRemoteDelegate();
+        if (name.endsWith("AirborneCombatMove")) {
+        } else {
+          move(name.endsWith("NonCombatMove"), moveDel, getGameData(), id);
+        }
+      } else if (name.endsWith("Battle")) {
+        battle((IBattleDelegate) getPlayerBridge().getRemoteDelegate(), getGameData(), id);
+      } else if (name.endsWith("Politics")) {
+        politicalActions();
+      } else if (name.endsWith("Place")) {
+        final IAbstractPlaceDelegate placeDel = (IAbstractPlaceDelegate) getPlayerBridge().getRemoteDelegate();
+        place(name.indexOf("Bid") != -1, placeDel, getGameData(), id);
+      } else if (name.endsWith("EndTurn")) {
+        endTurn((IAbstractForumPosterDelegate) getPlayerBridge().getRemoteDelegate(), getGameData(), id);
       }
-    } else if (name.endsWith("Battle")) {
-      battle((IBattleDelegate) getPlayerBridge().getRemoteDelegate(), getGameData(), id);
-    } else if (name.endsWith("Politics")) {
-      politicalActions();
-    } else if (name.endsWith("Place")) {
-      final IAbstractPlaceDelegate placeDel = (IAbstractPlaceDelegate) getPlayerBridge().getRemoteDelegate();
-      place(name.indexOf("Bid") != -1, placeDel, getGameData(), id);
-    } else if (name.endsWith("EndTurn")) {
-      endTurn((IAbstractForumPosterDelegate) getPlayerBridge().getRemoteDelegate(), getGameData(), id);
     }
   }
 
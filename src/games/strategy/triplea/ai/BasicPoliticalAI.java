@@ -122,7 +122,7 @@ public class BasicPoliticalAI {
       final GameData data) {
     // if we have 21 or more PUs and the cost of the action is l0% or less of our total money, then it is an acceptable
     // price.
-    final float production = AbstractEndTurnDelegate.getProduction(data.getMap().getTerritoriesOwnedBy(player), data);
+    final float production = AbstractEndTurnDelegate.getProduction(player, data);
     return production >= 21 && (nextAction.getCostPU()) <= ((production / 10));
   }
 }
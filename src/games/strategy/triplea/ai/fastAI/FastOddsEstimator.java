@@ -7,8 +7,10 @@ import games.strategy.engine.data.TerritoryEffect;
 import games.strategy.engine.data.Unit;
 import games.strategy.triplea.ai.proAI.util.ProBattleUtils;
 import games.strategy.triplea.oddsCalculator.ta.AggregateResults;
+import games.strategy.triplea.oddsCalculator.ta.BattleSpecification;
 import games.strategy.triplea.oddsCalculator.ta.IOddsCalculator;
 import games.strategy.triplea.oddsCalculator.ta.OddsCalculatorListener;
+import games.strategy.triplea.oddsCalculator.ta.OddsPrecision;
 
 import java.util.ArrayList;
 import java.util.Collection;
@@ -108,6 +110,22 @@ public class FastOddsEstimator implements IOddsCalculator {
 
   }
 
+  @Override
+  public List<AggregateResults> calculate(final List<BattleSpecification> battles) {
+    final List<AggregateResults> results = new ArrayList<>(battles.size());
+    for (final BattleSpecification battle : battles) {
+      results.add(setCalculateDataAndCalculate(battle.getAttacker(), battle.getDefender(), battle.getLocation(),
+          battle.getAttacking(), battle.getDefending(), battle.getBombarding(), battle.getTerritoryEffects(),
+          battle.getRunCount()));
+    }
+    return results;
+  }
+
+  @Override
+  public void setPrecision(final OddsPrecision precision) {
+
+  }
+
   @Override
   public void cancel() {
 
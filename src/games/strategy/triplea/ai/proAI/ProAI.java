@@ -18,6 +18,8 @@ import games.strategy.engine.data.Unit;
 import games.strategy.engine.delegate.IDelegateBridge;
 import games.strategy.engine.framework.GameDataUtils;
 import games.strategy.net.GUID;
+import games.strategy.performance.Perf;
+import games.strategy.performance.PerfTimer;
 import games.strategy.triplea.ai.AbstractAI;
 import games.strategy.triplea.ai.proAI.data.ProBattleResult;
 import games.strategy.triplea.ai.proAI.data.ProPurchaseTerritory;
@@ -40,6 +42,7 @@ import games.strategy.triplea.delegate.IBattle;
 import games.strategy.triplea.delegate.IBattle.BattleType;
 import games.strategy.triplea.delegate.Matches;
 import games.strategy.triplea.delegate.PoliticsDelegate;
+import games.strategy.triplea.delegate.TuvCostsCache;
 import games.strategy.triplea.delegate.dataObjects.CasualtyDetails;
 import games.strategy.triplea.delegate.dataObjects.CasualtyList;
 import games.strategy.triplea.delegate.remote.IAbstractPlaceDelegate;
@@ -162,6 +165,7 @@ public class ProAI extends AbstractAI {
   }
 
   @Override
+  @SuppressWarnings("try")
   protected void purchase(final boolean purchaseForBid, int PUsToSpend, final IPurchaseDelegate purchaseDelegate,
       final GameData data, final PlayerID player) {
     final long start = System.currentTimeMillis();
@@ -223,32 +227,34 @@ public class ProAI extends AbstractAI {
             step.getPlayerID());
         final String stepName = step.getName();
         ProLogger.info("Simulating phase: " + stepName);
-        if (stepName.endsWith("NonCombatMove")) {
-          ProData.initializeSimulation(this, dataCopy, playerCopy);
-          final Map<Territory, ProTerritory> factoryMoveMap = nonCombatMoveAI.simulateNonCombatMove(moveDel);
-          if (storedFactoryMoveMap == null) {
-            storedFactoryMoveMap = ProSimulateTurnUtils.transferMoveMap(factoryMoveMap, data, player);
-          }
-        } else if (stepName.endsWith("CombatMove") && !stepName.endsWith("AirborneCombatMove")) {
-          ProData.initializeSimulation(this, dataCopy, playerCopy);
-          final Map<Territory, ProTerritory> moveMap = combatMoveAI.doCombatMove(moveDel);
-          if (storedCombatMoveMap == null) {
-            storedCombatMoveMap = ProSimulateTurnUtils.transferMoveMap(moveMap, data, player);
-          }
-        } else if (stepName.endsWith("Battle")) {
-          ProData.initializeSimulation(this, dataCopy, playerCopy);
-          ProSimulateTurnUtils.simulateBattles(dataCopy, playerCopy, bridge, calc);
-        } else if (stepName.endsWith("Place") || stepName.endsWith("EndTurn")) {
-          ProData.initializeSimulation(this, dataCopy, player);
-          storedPurchaseTerritories = purchaseAI.purchase(purchaseDelegate, data);
-          break;
-        } else if (stepName.endsWith("Politics")) {
-          ProData.initializeSimulation(this, dataCopy, player);
-          final PoliticsDelegate politicsDelegate = DelegateFinder.politicsDelegate(dataCopy);
-          politicsDelegate.setDelegateBridgeAndPlayer(bridge);
-          final List<PoliticalActionAttachment> actions = politicsAI.politicalActions();
-          if (storedPoliticalActions == null) {
-            storedPoliticalActions = actions;
+        try (PerfTimer timer = Perf.startTimer("ai", "Simulate " + stepName)) {
+          if (stepName.endsWith("NonCombatMove")) {
+            ProData.initializeSimulation(this, dataCopy, playerCopy);
+            final Map<Territory, ProTerritory> factoryMoveMap = nonCombatMoveAI.simulateNonCombatMove(moveDel);
+            if (storedFactoryMoveMap == null) {
+              storedFactoryMoveMap = ProSimulateTurnUtils.transferMoveMap(factoryMoveMap, data, player);
+            }
+          } else if (stepName.endsWith("CombatMove") && !stepName.endsWith("AirborneCombatMove")) {
+            ProData.initializeSimulation(this, dataCopy, playerCopy);
+            final Map<Territory, ProTerritory> moveMap = combatMoveAI.doCombatMove(moveDel);
+            if (storedCombatMoveMap == null) {
+              storedCombatMoveMap = ProSimulateTurnUtils.transferMoveMap(moveMap, data, player);
+            }
+          } else if (stepName.endsWith("Battle")) {
+            ProData.initializeSimulation(this, dataCopy, playerCopy);
+            ProSimulateTurnUtils.simulateBattles(dataCopy, playerCopy, bridge, calc);
+          } else if (stepName.endsWith("Place") || stepName.endsWith("EndTurn")) {
+            ProData.initializeSimulation(this, dataCopy, player);
+            storedPurchaseTerritories = purchaseAI.purchase(purchaseDelegate, data);
+            break;
+          } else if (stepName.endsWith("Politics")) {
+            ProData.initializeSimulation(this, dataCopy, player);
+            final PoliticsDelegate politicsDelegate = DelegateFinder.politicsDelegate(dataCopy);
+            politicsDelegate.setDelegateBridgeAndPlayer(bridge);
+            final List<PoliticalActionAttachment> actions = politicsAI.politicalActions();
+            if (storedPoliticalActions == null) {
+              storedPoliticalActions = actions;
+            }
           }
         }
       }
@@ -270,6 +276,8 @@ public class ProAI extends AbstractAI {
       storedPurchaseTerritories = null;
     }
     ProLogger.info(player.getName() + " time for place=" + (System.currentTimeMillis() - start));
+    ProLogger.debug(TuvCostsCache.getStatistics());
+    ProLogger.debug(calc.getCache().getStatistics());
   }
 
   @Override
@@ -532,8 +532,7 @@ public class ProNonCombatMoveAI {
 
     // Add best sea production territory for sea factories
     List<Territory> seaFactories =
-        Match.getMatches(data.getMap().getTerritories(),
-            ProMatches.territoryHasInfraFactoryAndIsNotConqueredOwnedLand(player, data));
+        ProUtils.getNotConqueredFactoryTerritories(data, player);
     seaFactories =
         Match.getMatches(seaFactories, ProMatches.territoryHasInfraFactoryAndIsOwnedLandAdjacentToSea(player, data));
     for (final Territory t : seaFactories) {
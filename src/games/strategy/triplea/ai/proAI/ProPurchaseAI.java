@@ -78,8 +78,7 @@ public class ProPurchaseAI {
         new CompositeMatchAnd<>(Matches.unitIsOwnedBy(player), Matches.UnitCanProduceUnits,
             Matches.UnitIsInfrastructure);
     final List<Territory> rfactories =
-        Match.getMatches(data.getMap().getTerritories(),
-            ProMatches.territoryHasInfraFactoryAndIsNotConqueredOwnedLand(player, data));
+        ProUtils.getNotConqueredFactoryTerritories(data, player);
     if (player.getRepairFrontier() != null
         && games.strategy.triplea.Properties.getDamageFromBombingDoneToUnitsInsteadOfTerritories(data)) {
       ProLogger.debug("Factories can be damaged");
@@ -1025,19 +1025,31 @@ public class ProTerritoryManager {
     ProLogger.info("Removing territories that can't be conquered");
     final GameData data = ProData.getData();
 
-    // Determine if territory can be successfully attacked with max possible attackers
-    final List<Territory> territoriesToRemove = new ArrayList<>();
+    // Check if I can win without amphib units and ignore AA since max units might have lots of planes, calculating all
+    // the territories together
+    final Map<Territory, List<Unit>> maxUnitsMap = new HashMap<>();
+    final Map<Territory, List<Unit>> defendersMap = new HashMap<>();
+    final Map<Territory, Set<Unit>> noBombardersMap = new HashMap<>();
     for (final Territory t : attackMap.keySet()) {
       final ProTerritory patd = attackMap.get(t);
-
-      // Check if I can win without amphib units and ignore AA since max units might have lots of planes
       List<Unit> defenders =
           Match.getMatches(patd.getMaxEnemyDefenders(player, data), ProMatches.unitIsEnemyAndNotAA(player, data));
       if (isIgnoringRelationships) {
         defenders = new ArrayList<>(t.getUnits().getUnits());
       }
-      patd.setMaxBattleResult(calc.estimateAttackBattleResults(player, t, patd.getMaxUnits(), defenders,
-          new HashSet<>()));
+      maxUnitsMap.put(t, patd.getMaxUnits());
+      defendersMap.put(t, defenders);
+      noBombardersMap.put(t, new HashSet<>());
+    }
+    final Map<Territory, ProBattleResult> maxBattleResults =
+        calc.estimateAttackBattleResults(player, maxUnitsMap, defendersMap, noBombardersMap);
+
+    // Determine if territory can be successfully attacked with max possible attackers
+    final List<Territory> territoriesToRemove = new ArrayList<>();
+    for (final Territory t : attackMap.keySet()) {
+      final ProTerritory patd = attackMap.get(t);
+      final List<Unit> defenders = defendersMap.get(t);
+      patd.setMaxBattleResult(maxBattleResults.get(t));
 
       // Add in amphib units if I can't win without them
       if (patd.getMaxBattleResult().getWinPercentage() < ProData.winPercentage && !patd.getMaxAmphibUnits().isEmpty()) {
@@ -2,6 +2,7 @@ package games.strategy.triplea.ai.proAI.simulate;
 
 import games.strategy.engine.data.Change;
 import games.strategy.engine.data.PlayerID;
+import games.strategy.engine.framework.GameModificationBatch;
 import games.strategy.engine.framework.IGameModifiedChannel;
 
 public class ProDummyGameModifiedChannel implements IGameModifiedChannel {
@@ -11,6 +12,9 @@ public class ProDummyGameModifiedChannel implements IGameModifiedChannel {
   @Override
   public void gameDataChanged(final Change aChange) {}
 
+  @Override
+  public void gameModificationBatch(final GameModificationBatch batch) {}
+
   @Override
   public void shutDown() {}
 
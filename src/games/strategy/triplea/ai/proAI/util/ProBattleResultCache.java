@@ -0,0 +1,181 @@
+package games.strategy.triplea.ai.proAI.util;
+
+import games.strategy.engine.data.PlayerID;
+import games.strategy.engine.data.Territory;
+import games.strategy.engine.data.TerritoryEffect;
+import games.strategy.engine.data.Unit;
+import games.strategy.triplea.TripleAUnit;
+import games.strategy.triplea.ai.proAI.data.ProBattleResult;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Pro AI battle results, by what was in the battle rather than which units.
+ * <p>
+ * The AI tries many attacks that differ only by which of several equal units take part, this lets it calculate each
+ * battle once. Two battles are the same when they are in the same territory, between the same players, with the same
+ * retreat option, territory effects, and the same number of units of each type, owner, hits, damage and
+ * transported or submerged state on each side and bombarding.
+ * <p>
+ * The least recently used results are dropped once the cache is full. It is cleared by the owner when a new turn
+ * starts, see ProOddsCalculator.setData.
+ */
+public class ProBattleResultCache {
+
+  static final int DEFAULT_CAPACITY = 2000;
+  private final Map<String, ProBattleResult> results;
+  private long hits = 0;
+  private long misses = 0;
+  private long evictions = 0;
+
+  public ProBattleResultCache() {
+    this(DEFAULT_CAPACITY);
+  }
+
+  ProBattleResultCache(final int capacity) {
+    results = new LinkedHashMap<String, ProBattleResult>(16, 0.75f, true) {
+      private static final long serialVersionUID = 2917420283619315212L;
+
+      @Override
+      protected boolean removeEldestEntry(final Map.Entry<String, ProBattleResult> eldest) {
+        if (size() > capacity) {
+          evictions++;
+          return true;
+        }
+        return false;
+      }
+    };
+  }
+
+  /**
+   * @return the key of the battle, equal for battles with the same units in the same state.
+   */
+  public static String getKey(final Territory t, final PlayerID attacker, final PlayerID defender,
+      final Collection<Unit> attackingUnits, final Collection<Unit> defendingUnits,
+      final Collection<Unit> bombardingUnits, final Collection<TerritoryEffect> territoryEffects,
+      final boolean retreatWhenOnlyAirLeft) {
+    final StringBuilder key = new StringBuilder(t.getName()).append('|').append(t.getOwner().getName()).append('|')
+        .append(attacker.getName()).append('|').append(defender.getName()).append('|').append(retreatWhenOnlyAirLeft);
+    appendUnits(key.append("|A:"), attackingUnits);
+    appendUnits(key.append("|D:"), defendingUnits);
+    appendUnits(key.append("|B:"), bombardingUnits);
+    final List<String> effects = new ArrayList<>();
+    for (final TerritoryEffect effect : territoryEffects) {
+      effects.add(effect.getName());
+    }
+    Collections.sort(effects);
+    key.append("|E:").append(effects);
+    return key.toString();
+  }
+
+  private static void appendUnits(final StringBuilder key, final Collection<Unit> units) {
+    final List<String> signatures = new ArrayList<>(units.size());
+    for (final Unit unit : units) {
+      signatures.add(getSignature(unit));
+    }
+    Collections.sort(signatures);
+    key.append(signatures);
+  }
+
+  private static String getSignature(final Unit unit) {
+    final StringBuilder signature = new StringBuilder(unit.getType().getName()).append('/')
+        .append(unit.getOwner().getName()).append('/').append(unit.getHits());
+    if (unit instanceof TripleAUnit) {
+      final TripleAUnit tripleAUnit = (TripleAUnit) unit;
+      signature.append('/').append(tripleAUnit.getUnitDamage()).append('/')
+          .append(tripleAUnit.getTransportedBy() != null).append('/').append(tripleAUnit.getSubmerged());
+    }
+    return signature.toString();
+  }
+
+  /**
+   * @return the result of a battle with the same key, with its remaining units swapped for the equal units of this
+   *         battle, or null if there is none.
+   */
+  public synchronized ProBattleResult get(final String key, final List<Unit> attackingUnits,
+      final List<Unit> defendingUnits) {
+    final ProBattleResult result = results.get(key);
+    if (result == null) {
+      misses++;
+      return null;
+    }
+    hits++;
+    return new ProBattleResult(result.getWinPercentage(), result.getTUVSwing(), result.isHasLandUnitRemaining(),
+        mapUnits(result.getAverageAttackersRemaining(), attackingUnits),
+        mapUnits(result.getAverageDefendersRemaining(), defendingUnits), result.getBattleRounds());
+  }
+
+  public synchronized void put(final String key, final ProBattleResult result) {
+    results.put(key, result);
+  }
+
+  /**
+   * @return for each of the remaining units, a unit of the battle with the same signature, never the same one twice.
+   */
+  private static List<Unit> mapUnits(final List<Unit> remaining, final List<Unit> battleUnits) {
+    final Map<String, List<Unit>> unitsBySignature = new HashMap<>();
+    for (final Unit unit : battleUnits) {
+      unitsBySignature.computeIfAbsent(getSignature(unit), s -> new ArrayList<>()).add(unit);
+    }
+    final List<Unit> mapped = new ArrayList<>(remaining.size());
+    final List<Unit> unmatched = new ArrayList<>();
+    for (final Unit unit : remaining) {
+      final List<Unit> candidates = unitsBySignature.get(getSignature(unit));
+      if (candidates != null && !candidates.isEmpty()) {
+        mapped.add(candidates.remove(candidates.size() - 1));
+      } else {
+        unmatched.add(unit);
+      }
+    }
+    // a unit whose state differs from when the battle was calculated, fall back to one of the same type and owner
+    for (final Unit unit : unmatched) {
+      for (final List<Unit> candidates : unitsBySignature.values()) {
+        if (!candidates.isEmpty() && candidates.get(0).getType().equals(unit.getType())
+            && candidates.get(0).getOwner().equals(unit.getOwner())) {
+          mapped.add(candidates.remove(candidates.size() - 1));
+          break;
+        }
+      }
+    }
+    return mapped;
+  }
+
+  public synchronized void clear() {
+    results.clear();
+  }
+
+  public synchronized int size() {
+    return results.size();
+  }
+
+  public synchronized long getHitCount() {
+    return hits;
+  }
+
+  public synchronized long getMissCount() {
+    return misses;
+  }
+
+  public synchronized long getEvictionCount() {
+    return evictions;
+  }
+
+  /**
+   * @return the fraction of lookups that were answered from the cache, or 0 if there were none.
+   */
+  public synchronized double getHitRate() {
+    final long total = hits + misses;
+    return total == 0 ? 0 : (double) hits / total;
+  }
+
+  public synchronized String getStatistics() {
+    return String.format("Battle result cache: %d hits, %d misses, %d evictions, %.1f%% hit rate", hits, misses,
+        evictions, getHitRate() * 100);
+  }
+}
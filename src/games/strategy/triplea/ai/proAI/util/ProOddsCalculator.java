@@ -3,6 +3,7 @@ package games.strategy.triplea.ai.proAI.util;
 import games.strategy.engine.data.GameData;
 import games.strategy.engine.data.PlayerID;
 import games.strategy.engine.data.Territory;
+import games.strategy.engine.data.TerritoryEffect;
 import games.strategy.engine.data.Unit;
 import games.strategy.triplea.Properties;
 import games.strategy.triplea.ai.proAI.ProData;
@@ -11,11 +12,16 @@ import games.strategy.triplea.delegate.BattleCalculator;
 import games.strategy.triplea.delegate.Matches;
 import games.strategy.triplea.delegate.TerritoryEffectHelper;
 import games.strategy.triplea.oddsCalculator.ta.AggregateResults;
+import games.strategy.triplea.oddsCalculator.ta.BattleSpecification;
 import games.strategy.triplea.oddsCalculator.ta.IOddsCalculator;
+import games.strategy.triplea.oddsCalculator.ta.OddsPrecision;
 import games.strategy.util.Match;
 
 import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Set;
 
 /**
@@ -23,15 +29,43 @@ import java.util.Set;
  */
 public class ProOddsCalculator {
 
+  private static final double WIN_PERCENT_MARGIN = 0.04;
+  private static final double MIN_TUV_SWING_MARGIN = 2;
+  private static final double TUV_SWING_MARGIN_FRACTION = 0.03;
+  private static final long MAX_MILLIS_PER_BATTLE = 2000;
+
   private final IOddsCalculator calc;
+  private final ProBattleResultCache cache = new ProBattleResultCache();
+  private int cacheRound = -1;
+  private PlayerID cachePlayer = null;
   private boolean isCanceled = false;
 
   public ProOddsCalculator(final IOddsCalculator calc) {
     this.calc = calc;
   }
 
+  /**
+   * Sets the data to calculate with. The cached battle results are kept as long as it is the same player's turn, the
+   * units of a battle do not fight differently within a turn.
+   */
   public void setData(final GameData data) {
     calc.setGameData(data);
+    if (data == null) {
+      cache.clear();
+      cachePlayer = null;
+      return;
+    }
+    final int round = data.getSequence().getRound();
+    final PlayerID player = data.getSequence().getStep().getPlayerID();
+    if (round != cacheRound || player == null || !player.equals(cachePlayer)) {
+      cache.clear();
+      cacheRound = round;
+      cachePlayer = player;
+    }
+  }
+
+  public ProBattleResultCache getCache() {
+    return cache;
   }
 
   public void cancelCalcs() {
@@ -55,6 +89,68 @@ public class ProOddsCalculator {
     return callBattleCalculator(player, t, attackingUnits, defendingUnits, bombardingUnits);
   }
 
+  /**
+   * Estimates the attack of each territory like estimateAttackBattleResults, calculating the battles that need the
+   * battle calculator together so they are spread across its threads.
+   *
+   * @return the result of each territory given attacking units.
+   */
+  public Map<Territory, ProBattleResult> estimateAttackBattleResults(final PlayerID player,
+      final Map<Territory, List<Unit>> attackingUnitsMap, final Map<Territory, List<Unit>> defendingUnitsMap,
+      final Map<Territory, Set<Unit>> bombardingUnitsMap) {
+    final GameData data = ProData.getData();
+    final Map<Territory, ProBattleResult> results = new HashMap<>();
+    final List<Territory> territoriesToCalculate = new ArrayList<>();
+    final List<String> keys = new ArrayList<>();
+    final List<BattleSpecification> battles = new ArrayList<>();
+    for (final Territory t : attackingUnitsMap.keySet()) {
+      final List<Unit> attackingUnits = attackingUnitsMap.get(t);
+      final List<Unit> defendingUnits = defendingUnitsMap.get(t);
+      final Set<Unit> bombardingUnits = bombardingUnitsMap.get(t);
+      ProBattleResult result = checkIfNoAttackersOrDefenders(t, attackingUnits, defendingUnits);
+      if (result == null && ProBattleUtils.estimateStrengthDifference(t, attackingUnits, defendingUnits) < 45) {
+        result = new ProBattleResult(0, -999, false, new ArrayList<>(), defendingUnits, 1);
+      }
+      if (result == null && (isCanceled || defendingUnits.isEmpty())) {
+        result = new ProBattleResult();
+      }
+      if (result != null) {
+        results.put(t, result);
+        continue;
+      }
+      final PlayerID attacker = attackingUnits.get(0).getOwner();
+      final PlayerID defender = defendingUnits.get(0).getOwner();
+      final Collection<TerritoryEffect> territoryEffects = TerritoryEffectHelper.getEffects(t);
+      final String key = ProBattleResultCache.getKey(t, attacker, defender, attackingUnits, defendingUnits,
+          bombardingUnits, territoryEffects, false);
+      final ProBattleResult cachedResult = cache.get(key, attackingUnits, defendingUnits);
+      if (cachedResult != null) {
+        results.put(t, cachedResult);
+        continue;
+      }
+      territoriesToCalculate.add(t);
+      keys.add(key);
+      battles.add(new BattleSpecification(attacker, defender, t, attackingUnits, defendingUnits, bombardingUnits,
+          territoryEffects, getRunCount(attackingUnits, defendingUnits), getPrecision(attackingUnits, defendingUnits)));
+    }
+    if (battles.isEmpty()) {
+      return results;
+    }
+    final List<AggregateResults> batchResults = calc.calculate(battles);
+    for (int i = 0; i < battles.size(); i++) {
+      final Territory t = territoriesToCalculate.get(i);
+      final BattleSpecification battle = battles.get(i);
+      final ProBattleResult result = toBattleResult(data, t, battle.getAttacker(), battle.getDefender(),
+          attackingUnitsMap.get(t), defendingUnitsMap.get(t), batchResults.get(i));
+      // a cancelled calculation stops early, its result is not the battle's
+      if (!isCanceled) {
+        cache.put(keys.get(i), result);
+      }
+      results.put(t, result);
+    }
+    return results;
+  }
+
   public ProBattleResult estimateDefendBattleResults(final PlayerID player, final Territory t,
       final List<Unit> attackingUnits, final List<Unit> defendingUnits, final Set<Unit> bombardingUnits) {
 
@@ -118,21 +214,61 @@ public class ProOddsCalculator {
       return new ProBattleResult();
     }
 
-    // Use battle calculator (hasLandUnitRemaining is always true for naval territories)
-    AggregateResults results = null;
-    final int minArmySize = Math.min(attackingUnits.size(), defendingUnits.size());
-    final int runCount = Math.max(16, 100 - minArmySize);
+    // The same battle may already have been calculated this turn
     final PlayerID attacker = attackingUnits.get(0).getOwner();
     final PlayerID defender = defendingUnits.get(0).getOwner();
+    final Collection<TerritoryEffect> territoryEffects = TerritoryEffectHelper.getEffects(t);
+    final String key = ProBattleResultCache.getKey(t, attacker, defender, attackingUnits, defendingUnits,
+        bombardingUnits, territoryEffects, retreatWhenOnlyAirLeft);
+    final ProBattleResult cachedResult = cache.get(key, attackingUnits, defendingUnits);
+    if (cachedResult != null) {
+      return cachedResult;
+    }
+    final ProBattleResult result = calculateBattleResult(data, t, attacker, defender, attackingUnits, defendingUnits,
+        bombardingUnits, territoryEffects, retreatWhenOnlyAirLeft);
+    // a cancelled calculation stops early, its result is not the battle's
+    if (!isCanceled) {
+      cache.put(key, result);
+    }
+    return result;
+  }
+
+  private ProBattleResult calculateBattleResult(final GameData data, final Territory t, final PlayerID attacker,
+      final PlayerID defender, final List<Unit> attackingUnits, final List<Unit> defendingUnits,
+      final Set<Unit> bombardingUnits, final Collection<TerritoryEffect> territoryEffects,
+      final boolean retreatWhenOnlyAirLeft) {
+
+    // Use battle calculator (hasLandUnitRemaining is always true for naval territories)
+    AggregateResults results = null;
+    calc.setPrecision(getPrecision(attackingUnits, defendingUnits));
     if (retreatWhenOnlyAirLeft) {
       calc.setRetreatWhenOnlyAirLeft(true);
     }
     results =
         calc.setCalculateDataAndCalculate(attacker, defender, t, attackingUnits, defendingUnits, new ArrayList<>(
-            bombardingUnits), TerritoryEffectHelper.getEffects(t), runCount);
+            bombardingUnits), territoryEffects, getRunCount(attackingUnits, defendingUnits));
     if (retreatWhenOnlyAirLeft) {
       calc.setRetreatWhenOnlyAirLeft(false);
     }
+    return toBattleResult(data, t, attacker, defender, attackingUnits, defendingUnits, results);
+  }
+
+  // stop once the estimate settles, lopsided battles need few runs and close ones get up to twice the old count
+  private static int getRunCount(final List<Unit> attackingUnits, final List<Unit> defendingUnits) {
+    final int minArmySize = Math.min(attackingUnits.size(), defendingUnits.size());
+    return 2 * Math.max(16, 100 - minArmySize);
+  }
+
+  private static OddsPrecision getPrecision(final List<Unit> attackingUnits, final List<Unit> defendingUnits) {
+    final double battleTUV = BattleCalculator.getTUV(attackingUnits, ProData.unitValueMap)
+        + BattleCalculator.getTUV(defendingUnits, ProData.unitValueMap);
+    return new OddsPrecision(WIN_PERCENT_MARGIN, Math.max(MIN_TUV_SWING_MARGIN,
+        battleTUV * TUV_SWING_MARGIN_FRACTION), MAX_MILLIS_PER_BATTLE);
+  }
+
+  private static ProBattleResult toBattleResult(final GameData data, final Territory t, final PlayerID attacker,
+      final PlayerID defender, final List<Unit> attackingUnits, final List<Unit> defendingUnits,
+      final AggregateResults results) {
 
     // Find battle result statistics
     final double winPercentage = results.getAttackerWinPercent() * 100;
@@ -198,8 +198,7 @@ public class ProPurchaseUtils {
       ownedAndNotConqueredFactoryTerritories = data.getMap().getTerritoriesOwnedBy(player);
     } else {
       ownedAndNotConqueredFactoryTerritories =
-          Match.getMatches(data.getMap().getTerritories(),
-              ProMatches.territoryHasInfraFactoryAndIsNotConqueredOwnedLand(player, data));
+          ProUtils.getNotConqueredFactoryTerritories(data, player);
     }
     ownedAndNotConqueredFactoryTerritories =
         Match.getMatches(ownedAndNotConqueredFactoryTerritories,
@@ -18,6 +18,7 @@ import games.strategy.util.Match;
 import games.strategy.util.ThreadUtil;
 
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.Iterator;
 import java.util.List;
@@ -131,15 +132,35 @@ public class ProUtils {
   }
 
   public static double getPlayerProduction(final PlayerID player, final GameData data) {
-    int rVal = 0;
-    for (final Territory place : data.getMap().getTerritories()) {
-      // Match will Check if terr is a Land Convoy Route and check ownership of neighboring Sea Zone, or if contested
-      if (place.getOwner().equals(player) && Matches.territoryCanCollectIncomeFrom(player, data).match(place)) {
-        rVal += TerritoryAttachment.getProduction(place);
+    return data.getMap().getPlayerAggregate(player, "proPlayerProduction", p -> {
+      int rVal = 0;
+      for (final Territory place : data.getMap().getTerritoriesOwnedBy(p)) {
+        // Match will Check if terr is a Land Convoy Route and check ownership of neighboring Sea Zone, or if contested
+        if (Matches.territoryCanCollectIncomeFrom(p, data).match(place)) {
+          rVal += TerritoryAttachment.getProduction(place);
+        }
       }
-    }
-    rVal *= Properties.getPU_Multiplier(data);
-    return rVal;
+      rVal *= Properties.getPU_Multiplier(data);
+      return rVal;
+    });
+  }
+
+  /**
+   * Returns the land territories owned by the player that contain one of its infrastructure factories, including
+   * territories conquered this turn.
+   */
+  public static List<Territory> getOwnedFactoryTerritories(final GameData data, final PlayerID player) {
+    return new ArrayList<>(data.getMap().getPlayerAggregate(player, "proOwnedFactoryTerritories",
+        p -> Collections.unmodifiableList(Match.getMatches(data.getMap().getTerritoriesOwnedBy(p),
+            ProMatches.territoryHasInfraFactoryAndIsOwnedLand(p)))));
+  }
+
+  /**
+   * Returns the factory territories of the player that were not conquered this turn.
+   */
+  public static List<Territory> getNotConqueredFactoryTerritories(final GameData data, final PlayerID player) {
+    return Match.getMatches(getOwnedFactoryTerritories(data, player),
+        ProMatches.territoryIsNotConqueredOwnedLand(player, data));
   }
 
   public static List<Territory> getLiveEnemyCapitals(final GameData data, final PlayerID player) {
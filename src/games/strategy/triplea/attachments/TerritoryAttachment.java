@@ -1,6 +1,7 @@
 package games.strategy.triplea.attachments;
 
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.HashSet;
 import java.util.Iterator;
 import java.util.List;
@@ -91,47 +92,53 @@ public class TerritoryAttachment extends DefaultAttachment {
    * will return empty list if none controlled, never returns null
    */
   public static List<Territory> getAllCapitals(final PlayerID player, final GameData data) {
-    final List<Territory> capitals = new ArrayList<>();
-    for (final Territory current : data.getMap().getTerritories()) {
-      final TerritoryAttachment ta = TerritoryAttachment.get(current);
-      if (ta != null && ta.getCapital() != null) {
-        final PlayerID whoseCapital = data.getPlayerList().getPlayerID(ta.getCapital());
-        if (whoseCapital == null) {
-          throw new IllegalStateException("Invalid capital for player name:" + ta.getCapital());
-        }
-        if (player.equals(whoseCapital)) {
-          capitals.add(current);
-        }
-      }
-    }
+    final List<Territory> capitals =
+        data.getMap().getPlayerAggregate(player, "capitals", p -> Collections.unmodifiableList(findAllCapitals(p, data)));
     if (!capitals.isEmpty()) {
-      return capitals;
+      return new ArrayList<>(capitals);
     }
     // Added check for optional players- no error thrown for them
     if (player.getOptional()) {
-      return capitals;
+      return new ArrayList<>();
     }
     throw new IllegalStateException("Capital not found for:" + player);
   }
 
+  private static List<Territory> findAllCapitals(final PlayerID player, final GameData data) {
+    final List<Territory> capitals = new ArrayList<>();
+    for (final Territory current : data.getMap().getTerritories()) {
+      if (isCapitalOf(current, player, data)) {
+        capitals.add(current);
+      }
+    }
+    return capitals;
+  }
+
+  private static boolean isCapitalOf(final Territory territory, final PlayerID player, final GameData data) {
+    final TerritoryAttachment ta = TerritoryAttachment.get(territory);
+    if (ta == null || ta.getCapital() == null) {
+      return false;
+    }
+    final PlayerID whoseCapital = data.getPlayerList().getPlayerID(ta.getCapital());
+    if (whoseCapital == null) {
+      throw new IllegalStateException("Invalid capital for player name:" + ta.getCapital());
+    }
+    return player.equals(whoseCapital);
+  }
+
   /**
    * will return empty list if none controlled, never returns null
    */
   public static List<Territory> getAllCurrentlyOwnedCapitals(final PlayerID player, final GameData data) {
-    final List<Territory> capitals = new ArrayList<>();
-    for (final Territory current : data.getMap().getTerritories()) {
-      final TerritoryAttachment ta = TerritoryAttachment.get(current);
-      if (ta != null && ta.getCapital() != null) {
-        final PlayerID whoseCapital = data.getPlayerList().getPlayerID(ta.getCapital());
-        if (whoseCapital == null) {
-          throw new IllegalStateException("Invalid capital for player name:" + ta.getCapital());
-        }
-        if (player.equals(whoseCapital) && player.equals(current.getOwner())) {
+    return new ArrayList<>(data.getMap().getPlayerAggregate(player, "ownedCapitals", p -> {
+      final List<Territory> capitals = new ArrayList<>();
+      for (final Territory current : data.getMap().getTerritoriesOwnedBy(p)) {
+        if (isCapitalOf(current, p, data)) {
           capitals.add(current);
         }
       }
-    }
-    return capitals;
+      return Collections.unmodifiableList(capitals);
+    }));
   }
 
   /**
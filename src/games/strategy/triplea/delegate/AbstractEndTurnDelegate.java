@@ -78,8 +78,7 @@ public abstract class AbstractEndTurnDelegate extends BaseTripleADelegate implem
       // we do not collect any income this turn
     } else {
       // just collect resources
-      final Collection<Territory> territories = data.getMap().getTerritoriesOwnedBy(m_player);
-      int toAdd = getProduction(territories);
+      int toAdd = getProduction(m_player, data);
       final int blockadeLoss = getBlockadeProductionLoss(m_player, data, m_bridge, endTurnReport);
       toAdd -= blockadeLoss;
       toAdd *= Properties.getPU_Multiplier(data);
@@ -334,6 +333,15 @@ public abstract class AbstractEndTurnDelegate extends BaseTripleADelegate implem
     return getProduction(territories, getData());
   }
 
+  /**
+   * @return the production of all territories owned by the player, computed at most once between changes to the game
+   *         data.
+   */
+  public static int getProduction(final PlayerID player, final GameData data) {
+    return data.getMap().getPlayerAggregate(player, "production",
+        p -> getProduction(data.getMap().getTerritoriesOwnedBy(p), data));
+  }
+
   public static int getProduction(final Collection<Territory> territories, final GameData data) {
     int value = 0;
     for (final Territory current : territories) {
@@ -1023,6 +1023,10 @@ public class BattleCalculator {
    * @return a map of unit types to PU cost
    */
   public static IntegerMap<UnitType> getCostsForTUV(final PlayerID player, final GameData data) {
+    return TuvCostsCache.getCostsForTuv(player, data, () -> computeCostsForTUV(player, data));
+  }
+
+  private static IntegerMap<UnitType> computeCostsForTUV(final PlayerID player, final GameData data) {
     final Resource PUS;
     data.acquireReadLock();
     try {
@@ -1069,11 +1073,11 @@ public class BattleCalculator {
    * @param data
    */
   public static IntegerMap<UnitType> getCostsForTuvForAllPlayersMergedAndAveraged(final GameData data) {
-    /*
-     * if (s_costsForTuvForAllPlayersMergedAndAveraged != null && s_costsForTuvForAllPlayersMergedAndAveraged.size() >
-     * 0)
-     * return s_costsForTuvForAllPlayersMergedAndAveraged;
-     */
+    return TuvCostsCache.getCostsForTuvForAllPlayersMergedAndAveraged(data,
+        () -> computeCostsForTuvForAllPlayersMergedAndAveraged(data));
+  }
+
+  private static IntegerMap<UnitType> computeCostsForTuvForAllPlayersMergedAndAveraged(final GameData data) {
     final Resource PUS;
     data.acquireReadLock();
     try {
@@ -1111,9 +1115,6 @@ public class BattleCalculator {
       final int averagedCost = (int) Math.round(((double) totalCosts / (double) costsForType.size()));
       costs.put(ut, averagedCost);
     }
-    // There is a problem with this variable, that it isn't being cleared out when we
-    // s_costsForTuvForAllPlayersMergedAndAveraged = costs;
-    // switch maps.
     return costs;
   }
 
@@ -1129,6 +1130,12 @@ public class BattleCalculator {
    */
   public static Map<PlayerID, Map<UnitType, ResourceCollection>> getResourceCostsForTUV(final GameData data,
       final boolean includeAverageForMissingUnits) {
+    return TuvCostsCache.getResourceCostsForTuv(data, includeAverageForMissingUnits,
+        () -> computeResourceCostsForTUV(data, includeAverageForMissingUnits));
+  }
+
+  private static Map<PlayerID, Map<UnitType, ResourceCollection>> computeResourceCostsForTUV(final GameData data,
+      final boolean includeAverageForMissingUnits) {
     final LinkedHashMap<PlayerID, Map<UnitType, ResourceCollection>> rVal =
         new LinkedHashMap<>();
     final Map<UnitType, ResourceCollection> average = includeAverageForMissingUnits
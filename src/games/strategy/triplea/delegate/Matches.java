@@ -26,6 +26,7 @@ import games.strategy.triplea.attachments.UnitSupportAttachment;
 import games.strategy.triplea.util.TransportUtils;
 import games.strategy.triplea.util.UnitCategory;
 import games.strategy.triplea.util.UnitSeperator;
+import games.strategy.util.CompiledMatch;
 import games.strategy.util.CompositeMatch;
 import games.strategy.util.CompositeMatchAnd;
 import games.strategy.util.CompositeMatchOr;
@@ -2156,19 +2157,24 @@ public class Matches {
   }
 
   public static Match<Territory> territoryHasEnemyLandUnits(final PlayerID player, final GameData data) {
+    // built once, and flattened with the clauses of UnitIsLand
+    final Match<Unit> enemyLandUnit =
+        CompiledMatch.compile(new CompositeMatchAnd<>(enemyUnit(player, data), UnitIsLand));
     return new Match<Territory>() {
       @Override
       public boolean match(final Territory t) {
-        return t.getUnits().someMatch(new CompositeMatchAnd<>(enemyUnit(player, data), UnitIsLand));
+        return t.getUnits().someMatch(enemyLandUnit);
       }
     };
   }
 
   public static Match<Territory> territoryHasEnemySeaUnits(final PlayerID player, final GameData data) {
+    final Match<Unit> enemySeaUnit =
+        CompiledMatch.compile(new CompositeMatchAnd<>(enemyUnit(player, data), UnitIsSea));
     return new Match<Territory>() {
       @Override
       public boolean match(final Territory t) {
-        return t.getUnits().someMatch(new CompositeMatchAnd<>(enemyUnit(player, data), UnitIsSea));
+        return t.getUnits().someMatch(enemySeaUnit);
       }
     };
   }
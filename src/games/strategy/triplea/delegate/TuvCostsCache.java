@@ -0,0 +1,134 @@
+package games.strategy.triplea.delegate;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+import com.google.common.cache.CacheBuilder;
+
+import games.strategy.engine.data.GameData;
+import games.strategy.engine.data.PlayerID;
+import games.strategy.engine.data.ResourceCollection;
+import games.strategy.engine.data.UnitType;
+import games.strategy.util.IntegerMap;
+
+/**
+ * Caches the unit cost tables that {@link BattleCalculator} derives from the production frontiers and rules.
+ * <p>
+ * There is one set of tables per game data, held weakly so a discarded game data (for example a copy made by the
+ * odds calculator) does not stay in memory. The tables are dropped when {@link GameData#getProductionVersion()}
+ * changes, which happens when a production frontier or rule changes, or a player gets a new production frontier.
+ * <p>
+ * Callers always receive their own copy of the maps, but the resource collections of the resource cost tables are
+ * shared and must not be modified.
+ * <p>
+ * The hit and miss counts are kept for the whole JVM, so the hit rate of an AI game can be checked with
+ * {@link #getStatistics()}.
+ */
+public final class TuvCostsCache {
+  private static final ConcurrentMap<GameData, Tables> tablesByData =
+      CacheBuilder.newBuilder().weakKeys().<GameData, Tables>build().asMap();
+  private static final AtomicLong hits = new AtomicLong();
+  private static final AtomicLong misses = new AtomicLong();
+  private static final AtomicLong invalidations = new AtomicLong();
+
+  private TuvCostsCache() {}
+
+  static IntegerMap<UnitType> getCostsForTuv(final PlayerID player, final GameData data,
+      final Supplier<IntegerMap<UnitType>> computation) {
+    if (player == null) {
+      return computation.get();
+    }
+    return lookUp(getTables(data).costs, player, computation).copy();
+  }
+
+  static IntegerMap<UnitType> getCostsForTuvForAllPlayersMergedAndAveraged(final GameData data,
+      final Supplier<IntegerMap<UnitType>> computation) {
+    return lookUp(getTables(data).averagedCosts, Boolean.TRUE, computation).copy();
+  }
+
+  static Map<PlayerID, Map<UnitType, ResourceCollection>> getResourceCostsForTuv(final GameData data,
+      final boolean includeAverageForMissingUnits,
+      final Supplier<Map<PlayerID, Map<UnitType, ResourceCollection>>> computation) {
+    final Map<PlayerID, Map<UnitType, ResourceCollection>> cached =
+        lookUp(getTables(data).resourceCosts, includeAverageForMissingUnits, computation);
+    final Map<PlayerID, Map<UnitType, ResourceCollection>> copy = new LinkedHashMap<>();
+    for (final Map.Entry<PlayerID, Map<UnitType, ResourceCollection>> entry : cached.entrySet()) {
+      copy.put(entry.getKey(), new LinkedHashMap<>(entry.getValue()));
+    }
+    return copy;
+  }
+
+  private static Tables getTables(final GameData data) {
+    final long version = data.getProductionVersion();
+    return tablesByData.compute(data, (key, tables) -> {
+      if (tables != null && tables.version == version) {
+        return tables;
+      }
+      if (tables != null) {
+        invalidations.incrementAndGet();
+      }
+      return new Tables(version);
+    });
+  }
+
+  private static <K, V> V lookUp(final Map<K, V> table, final K key, final Supplier<V> computation) {
+    final V cached = table.get(key);
+    if (cached != null) {
+      hits.incrementAndGet();
+      return cached;
+    }
+    misses.incrementAndGet();
+    // computed outside of any lock, two threads missing at the same time compute the same table twice
+    final V computed = computation.get();
+    table.put(key, computed);
+    return computed;
+  }
+
+  public static long getHitCount() {
+    return hits.get();
+  }
+
+  public static long getMissCount() {
+    return misses.get();
+  }
+
+  public static long getInvalidationCount() {
+    return invalidations.get();
+  }
+
+  /**
+   * @return the fraction of lookups that were answered from the cache, or 0 if there were none.
+   */
+  public static double getHitRate() {
+    final long hitCount = hits.get();
+    final long total = hitCount + misses.get();
+    return total == 0 ? 0 : (double) hitCount / total;
+  }
+
+  public static String getStatistics() {
+    return String.format("TUV costs cache: %d hits, %d misses, %d invalidations, %.1f%% hit rate", getHitCount(),
+        getMissCount(), getInvalidationCount(), getHitRate() * 100);
+  }
+
+  public static void resetStatistics() {
+    hits.set(0);
+    misses.set(0);
+    invalidations.set(0);
+  }
+
+  private static final class Tables {
+    private final long version;
+    private final Map<PlayerID, IntegerMap<UnitType>> costs = new ConcurrentHashMap<>();
+    private final Map<Boolean, IntegerMap<UnitType>> averagedCosts = new ConcurrentHashMap<>();
+    private final Map<Boolean, Map<PlayerID, Map<UnitType, ResourceCollection>>> resourceCosts =
+        new ConcurrentHashMap<>();
+
+    private Tables(final long version) {
+      this.version = version;
+    }
+  }
+}
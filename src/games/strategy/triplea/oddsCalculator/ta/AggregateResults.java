@@ -220,6 +220,14 @@ public class AggregateResults implements Serializable {
     return count / m_results.size();
   }
 
+  /**
+   * @return true if the results are the exact chances of the outcomes rather than from fighting the battle, then
+   *         there are no results and the roll count is 0.
+   */
+  public boolean isExact() {
+    return false;
+  }
+
   public int getRollCount() {
     return m_results.size();
   }
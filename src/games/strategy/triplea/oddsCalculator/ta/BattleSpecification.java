@@ -0,0 +1,91 @@
+package games.strategy.triplea.oddsCalculator.ta;
+
+import java.util.ArrayList;
+import java.util.Collection;
+
+import games.strategy.engine.data.PlayerID;
+import games.strategy.engine.data.Territory;
+import games.strategy.engine.data.TerritoryEffect;
+import games.strategy.engine.data.Unit;
+
+/**
+ * One battle of a batch given to IOddsCalculator.calculate(List), what setCalculateData is given for a single battle.
+ * The retreat and order of loss settings of the calculator apply to every battle of the batch. The unit collections
+ * are copied, and are not to be changed through the getters.
+ */
+public class BattleSpecification {
+  private final PlayerID m_attacker;
+  private final PlayerID m_defender;
+  private final Territory m_location;
+  private final Collection<Unit> m_attacking;
+  private final Collection<Unit> m_defending;
+  private final Collection<Unit> m_bombarding;
+  private final Collection<TerritoryEffect> m_territoryEffects;
+  private final int m_runCount;
+  private final OddsPrecision m_precision;
+
+  public BattleSpecification(final PlayerID attacker, final PlayerID defender, final Territory location,
+      final Collection<Unit> attacking, final Collection<Unit> defending, final Collection<Unit> bombarding,
+      final Collection<TerritoryEffect> territoryEffects, final int runCount) {
+    this(attacker, defender, location, attacking, defending, bombarding, territoryEffects, runCount, null);
+  }
+
+  /**
+   * @param precision when this battle may stop early, or null for the precision set on the calculator.
+   */
+  public BattleSpecification(final PlayerID attacker, final PlayerID defender, final Territory location,
+      final Collection<Unit> attacking, final Collection<Unit> defending, final Collection<Unit> bombarding,
+      final Collection<TerritoryEffect> territoryEffects, final int runCount, final OddsPrecision precision) {
+    m_attacker = attacker;
+    m_defender = defender;
+    m_location = location;
+    m_attacking = new ArrayList<>(attacking);
+    m_defending = new ArrayList<>(defending);
+    m_bombarding = new ArrayList<>(bombarding);
+    m_territoryEffects = new ArrayList<>(territoryEffects);
+    m_runCount = runCount;
+    m_precision = precision;
+  }
+
+  public PlayerID getAttacker() {
+    return m_attacker;
+  }
+
+  public PlayerID getDefender() {
+    return m_defender;
+  }
+
+  public Territory getLocation() {
+    return m_location;
+  }
+
+  public Collection<Unit> getAttacking() {
+    return m_attacking;
+  }
+
+  public Collection<Unit> getDefending() {
+    return m_defending;
+  }
+
+  public Collection<Unit> getBombarding() {
+    return m_bombarding;
+  }
+
+  public Collection<TerritoryEffect> getTerritoryEffects() {
+    return m_territoryEffects;
+  }
+
+  public int getRunCount() {
+    return m_runCount;
+  }
+
+  public OddsPrecision getPrecision() {
+    return m_precision;
+  }
+
+  @Override
+  public String toString() {
+    return "BattleSpecification attacker:" + m_attacker + " defender:" + m_defender + " location:" + m_location
+        + " attacking:" + m_attacking.size() + " defending:" + m_defending.size() + " runs:" + m_runCount;
+  }
+}
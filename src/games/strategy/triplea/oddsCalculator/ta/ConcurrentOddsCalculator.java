@@ -1,7 +1,9 @@
 package games.strategy.triplea.oddsCalculator.ta;
 
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collection;
+import java.util.Comparator;
 import java.util.HashMap;
 import java.util.HashSet;
 import java.util.List;
@@ -24,6 +26,8 @@ import games.strategy.engine.data.Territory;
 import games.strategy.engine.data.TerritoryEffect;
 import games.strategy.engine.data.Unit;
 import games.strategy.engine.framework.GameDataUtils;
+import games.strategy.performance.Perf;
+import games.strategy.performance.PerfTimer;
 import games.strategy.util.CountUpAndDownLatch;
 
 /**
@@ -55,6 +59,9 @@ public class ConcurrentOddsCalculator implements IOddsCalculator {
   // do not let multiple calculations or setting calc data happen at same time
   private final Object m_mutexCalcIsRunning = new Object();
   private final List<OddsCalculatorListener> m_listeners = new ArrayList<>();
+  private volatile OddsPrecision m_precision = null;
+  // stops the workers taking more battles of a batch
+  private volatile boolean m_batchCancelled = false;
 
   public ConcurrentOddsCalculator(final String threadNamePrefix) {
     m_executor = Executors.newFixedThreadPool(MAX_THREADS,
@@ -259,70 +266,142 @@ public class ConcurrentOddsCalculator implements IOddsCalculator {
    * results and combines them together.
    */
   @Override
+  @SuppressWarnings("try")
   public AggregateResults calculate() throws IllegalStateException {
     synchronized (m_mutexCalcIsRunning) {
       awaitLatch();
-      final long start = System.currentTimeMillis();
-      // Create worker thread pool and start all workers
-      int totalRunCount = 0;
-      final List<Future<AggregateResults>> list = new ArrayList<>();
-      for (final OddsCalculator worker : m_workers) {
-        if (!getIsReady()) {
-          // we could have attempted to set a new game data, while the old one was still being set, causing it to abort
-          // with null data
-          return new AggregateResults(0);
+      try (PerfTimer timer = Perf.startTimer("odds", "Concurrent odds calculation")) {
+        final long start = System.currentTimeMillis();
+        // a simple battle is worked out exactly by one worker, its results cannot be split
+        if (!m_workers.isEmpty() && getIsReady()) {
+          final AggregateResults exactResults = m_workers.get(0).calculateExactly();
+          if (exactResults != null) {
+            return exactResults;
+          }
         }
-        if (!worker.getIsReady()) {
-          throw new IllegalStateException("Called calculate before setting calculate data!");
+        // Create worker thread pool and start all workers
+        int totalRunCount = 0;
+        // the workers stop together, on the statistics of all their battles
+        final OddsConvergence convergence = m_precision == null ? null : new OddsConvergence(m_precision);
+        final List<Future<AggregateResults>> list = new ArrayList<>();
+        for (final OddsCalculator worker : m_workers) {
+          if (!getIsReady()) {
+            // we could have attempted to set a new game data, while the old one was still being set, causing it to
+            // abort with null data
+            return new AggregateResults(0);
+          }
+          if (!worker.getIsReady()) {
+            throw new IllegalStateException("Called calculate before setting calculate data!");
+          }
+          if (worker.getRunCount() > 0) {
+            totalRunCount += worker.getRunCount();
+            final Future<AggregateResults> workerResult = m_executor.submit(() -> worker.calculate(convergence));
+            list.add(workerResult);
+          }
         }
-        if (worker.getRunCount() > 0) {
-          totalRunCount += worker.getRunCount();
-          final Future<AggregateResults> workerResult = m_executor.submit(worker);
-          list.add(workerResult);
+        // Wait for all worker futures to complete and combine results
+        final AggregateResults results = new AggregateResults(totalRunCount);
+        final Set<InterruptedException> interruptExceptions = new HashSet<>();
+        final Map<String, Set<ExecutionException>> executionExceptions = new HashMap<>();
+        for (final Future<AggregateResults> future : list) {
+          try {
+            final AggregateResults result = future.get();
+            results.addResults(result.getResults());
+          } catch (final InterruptedException e) {
+            interruptExceptions.add(e);
+          } catch (final ExecutionException e) {
+            final String cause = e.getCause().getLocalizedMessage();
+            Set<ExecutionException> exceptions = executionExceptions.get(cause);
+            if (exceptions == null) {
+              exceptions = new HashSet<>();
+            }
+            exceptions.add(e);
+            executionExceptions.put(cause, exceptions);
+          }
         }
-      }
-      // Wait for all worker futures to complete and combine results
-      final AggregateResults results = new AggregateResults(totalRunCount);
-      final Set<InterruptedException> interruptExceptions = new HashSet<>();
-      final Map<String, Set<ExecutionException>> executionExceptions = new HashMap<>();
-      for (final Future<AggregateResults> future : list) {
-        try {
-          final AggregateResults result = future.get();
-          results.addResults(result.getResults());
-        } catch (final InterruptedException e) {
-          interruptExceptions.add(e);
-        } catch (final ExecutionException e) {
-          final String cause = e.getCause().getLocalizedMessage();
-          Set<ExecutionException> exceptions = executionExceptions.get(cause);
-          if (exceptions == null) {
-            exceptions = new HashSet<>();
+        // we don't want to scare the user with 8+ errors all for the same thing
+        if (!interruptExceptions.isEmpty()) {
+          s_logger.log(Level.SEVERE, interruptExceptions.size() + " Battle results workers interrupted",
+              interruptExceptions.iterator().next());
+        }
+        if (!executionExceptions.isEmpty()) {
+          Exception e = null;
+          for (final Set<ExecutionException> entry : executionExceptions.values()) {
+            if (!entry.isEmpty()) {
+              e = entry.iterator().next();
+              s_logger.log(Level.SEVERE, entry.size() + " Battle results workers aborted by exception", e.getCause());
+            }
+          }
+          if (e != null) {
+            throw new IllegalStateException(e.getCause());
           }
-          exceptions.add(e);
-          executionExceptions.put(cause, exceptions);
         }
+        results.setTime(System.currentTimeMillis() - start);
+        return results;
       }
-      // we don't want to scare the user with 8+ errors all for the same thing
-      if (!interruptExceptions.isEmpty()) {
-        s_logger.log(Level.SEVERE, interruptExceptions.size() + " Battle results workers interrupted",
-            interruptExceptions.iterator().next());
-      }
-      if (!executionExceptions.isEmpty()) {
-        Exception e = null;
-        for (final Set<ExecutionException> entry : executionExceptions.values()) {
-          if (!entry.isEmpty()) {
-            e = entry.iterator().next();
-            s_logger.log(Level.SEVERE, entry.size() + " Battle results workers aborted by exception", e.getCause());
+    }
+  }
+
+  /**
+   * Each worker takes whole battles off the list until none are left, the largest first so that a big battle is not
+   * left for last while the other workers sit idle.
+   */
+  @Override
+  @SuppressWarnings("try")
+  public List<AggregateResults> calculate(final List<BattleSpecification> battles) {
+    synchronized (m_mutexCalcIsRunning) {
+      awaitLatch();
+      try (PerfTimer timer = Perf.startTimer("odds", "Concurrent batch odds calculation")) {
+        final AggregateResults[] results = new AggregateResults[battles.size()];
+        if (m_isDataSet && !m_isShutDown) {
+          // the workers are left set to the last battle each calculated
+          m_isCalcSet = false;
+          // setting game data cancels, which is not meant for this batch
+          m_batchCancelled = false;
+          final List<Integer> order = new ArrayList<>(battles.size());
+          for (int i = 0; i < battles.size(); i++) {
+            order.add(i);
+          }
+          order.sort(Comparator.comparingInt((final Integer i) -> getSize(battles.get(i))).reversed());
+          final AtomicInteger next = new AtomicInteger();
+          final OddsPrecision precision = m_precision;
+          final List<Future<?>> list = new ArrayList<>();
+          for (final OddsCalculator worker : m_workers) {
+            if (list.size() >= battles.size()) {
+              break;
+            }
+            list.add(m_executor.submit(() -> {
+              for (int i = next.getAndIncrement(); i < order.size() && !m_batchCancelled; i = next.getAndIncrement()) {
+                final int battle = order.get(i);
+                results[battle] = worker.calculate(battles.get(battle), precision);
+              }
+            }));
+          }
+          for (final Future<?> future : list) {
+            try {
+              future.get();
+            } catch (final InterruptedException e) {
+              s_logger.log(Level.SEVERE, "Batch of battle results interrupted", e);
+            } catch (final ExecutionException e) {
+              s_logger.log(Level.SEVERE, "Batch of battle results aborted by exception", e.getCause());
+              throw new IllegalStateException(e.getCause());
+            }
           }
         }
-        if (e != null) {
-          throw new IllegalStateException(e.getCause());
+        for (int i = 0; i < results.length; i++) {
+          if (results[i] == null) {
+            results[i] = new AggregateResults(0);
+          }
         }
+        return Arrays.asList(results);
       }
-      results.setTime(System.currentTimeMillis() - start);
-      return results;
     }
   }
 
+  private static int getSize(final BattleSpecification battle) {
+    return battle.getRunCount() * (battle.getAttacking().size() + battle.getDefending().size());
+  }
+
   @Override
   public AggregateResults setCalculateDataAndCalculate(final PlayerID attacker, final PlayerID defender,
       final Territory location, final Collection<Unit> attacking, final Collection<Unit> defending,
@@ -427,9 +506,17 @@ public class ConcurrentOddsCalculator implements IOddsCalculator {
     }
   }
 
+  @Override
+  public void setPrecision(final OddsPrecision precision) {
+    synchronized (m_mutexCalcIsRunning) {
+      m_precision = precision;
+    }
+  }
+
   // not on purpose, we need to be able to cancel at any time
   @Override
   public void cancel() {
+    m_batchCancelled = true;
     for (final OddsCalculator worker : m_workers) {
       worker.cancel();
     }
@@ -0,0 +1,176 @@
+package games.strategy.triplea.oddsCalculator.ta;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+
+import games.strategy.engine.data.GameData;
+import games.strategy.engine.data.Territory;
+import games.strategy.engine.data.Unit;
+import games.strategy.triplea.Properties;
+import games.strategy.triplea.TripleAUnit;
+import games.strategy.triplea.attachments.UnitAttachment;
+import games.strategy.triplea.attachments.UnitSupportAttachment;
+import games.strategy.triplea.delegate.BattleCalculator;
+import games.strategy.triplea.delegate.Matches;
+import games.strategy.triplea.delegate.UnitBattleComparator;
+
+/**
+ * Works out the exact outcome of a simple battle instead of fighting it many times.
+ * <p>
+ * A battle is simple when every unit rolls one die at its plain attack or defense, takes one hit to kill and has no
+ * special abilities: no AA, support, first strike, transporting, carrying, bombarding or territory effects, with
+ * dice rather than low luck, no retreats and no limit on the number of rounds. Then each side loses its weakest
+ * units first, as the default casualty selection does, so a battle is described by how many units each side has
+ * left and the chance of every outcome can be found by going through those states from the start of the battle.
+ */
+final class ExactBattleSolver {
+  // the work grows with the square of attackers times defenders, bigger battles are simulated
+  static final int MAX_UNITS_PER_SIDE = 50;
+
+  private ExactBattleSolver() {}
+
+  /**
+   * @return true if the units and game rules make this a simple battle, the calculator checks its own settings.
+   */
+  static boolean canSolve(final GameData data, final Territory location, final Collection<Unit> attacking,
+      final Collection<Unit> defending) {
+    if (attacking.isEmpty() || defending.isEmpty() || attacking.size() > MAX_UNITS_PER_SIDE
+        || defending.size() > MAX_UNITS_PER_SIDE) {
+      return false;
+    }
+    if (Properties.getLow_Luck(data) || Properties.getKamikaze_Airplanes(data)) {
+      return false;
+    }
+    final int maxRounds =
+        location.isWater() ? Properties.getSeaBattleRounds(data) : Properties.getLandBattleRounds(data);
+    if (maxRounds > 0) {
+      return false;
+    }
+    for (final Unit unit : attacking) {
+      if (!isSimple(unit) || UnitAttachment.get(unit.getType()).getAttack(unit.getOwner()) <= 0
+          || UnitAttachment.get(unit.getType()).getAttackRolls(unit.getOwner()) != 1) {
+        return false;
+      }
+    }
+    for (final Unit unit : defending) {
+      if (!isSimple(unit) || UnitAttachment.get(unit.getType()).getDefense(unit.getOwner()) <= 0
+          || UnitAttachment.get(unit.getType()).getDefenseRolls(unit.getOwner()) != 1) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  private static boolean isSimple(final Unit unit) {
+    final UnitAttachment ua = UnitAttachment.get(unit.getType());
+    if (ua.getHitPoints() != 1 || unit.getHits() != 0 || ua.getIsSub() || ua.getIsSuicide() || ua.getIsKamikaze()
+        || ua.getIsInfrastructure() || ua.getIsMarine() != 0 || ua.getArtillery()
+        || ua.getTransportCapacity() > 0 || ua.getCarrierCapacity() > 0 || ua.getChooseBestRoll()
+        || Matches.UnitIsAAforAnything.match(unit) || !UnitSupportAttachment.get(unit.getType()).isEmpty()) {
+      return false;
+    }
+    return !(unit instanceof TripleAUnit) || ((TripleAUnit) unit).getTransportedBy() == null;
+  }
+
+  /**
+   * Only call when canSolve is true.
+   */
+  static ExactResults solve(final GameData data, final Collection<Unit> attacking,
+      final Collection<Unit> defending) {
+    final List<Unit> attackers = sortByOrderOfLoss(attacking, false, data);
+    final List<Unit> defenders = sortByOrderOfLoss(defending, true, data);
+    final double[][] attackerHits = getHitDistributions(getHitChances(attackers, false, data));
+    final double[][] defenderHits = getHitDistributions(getHitChances(defenders, true, data));
+    final int attackerCount = attackers.size();
+    final int defenderCount = defenders.size();
+    final double[] attackerWins = new double[attackerCount + 1];
+    final double[] defenderWins = new double[defenderCount + 1];
+    double draw = 0;
+    double rounds = 0;
+    // the chance of a round starting with a attackers and d defenders left, a round never adds units so every state
+    // is final before it is reached from the states with more units
+    final double[][] reached = new double[attackerCount + 1][defenderCount + 1];
+    reached[attackerCount][defenderCount] = 1;
+    for (int a = attackerCount; a > 0; a--) {
+      for (int d = defenderCount; d > 0; d--) {
+        final double chance = reached[a][d];
+        if (chance == 0) {
+          continue;
+        }
+        final double[] aHits = attackerHits[a];
+        final double[] dHits = defenderHits[d];
+        // a round without hits leaves the state as it was, so count the rounds until one has a hit
+        final double leave = 1 / (1 - aHits[0] * dHits[0]);
+        rounds += chance * leave;
+        for (int i = 0; i <= a; i++) {
+          for (int j = 0; j <= d; j++) {
+            if (i == 0 && j == 0) {
+              continue;
+            }
+            final double next = chance * leave * aHits[i] * dHits[j];
+            final int attackersLeft = Math.max(0, a - j);
+            final int defendersLeft = Math.max(0, d - i);
+            if (attackersLeft == 0 && defendersLeft == 0) {
+              draw += next;
+            } else if (defendersLeft == 0) {
+              attackerWins[attackersLeft] += next;
+            } else if (attackersLeft == 0) {
+              defenderWins[defendersLeft] += next;
+            } else {
+              reached[attackersLeft][defendersLeft] += next;
+            }
+          }
+        }
+      }
+    }
+    return new ExactResults(attackers, defenders, attackerWins, defenderWins, draw, rounds);
+  }
+
+  /**
+   * @return the units in the order they are lost, weakest first.
+   */
+  private static List<Unit> sortByOrderOfLoss(final Collection<Unit> units, final boolean defending,
+      final GameData data) {
+    final List<Unit> sorted = new ArrayList<>(units);
+    if (!sorted.isEmpty()) {
+      Collections.sort(sorted, new UnitBattleComparator(defending,
+          BattleCalculator.getCostsForTUV(sorted.get(0).getOwner(), data), Collections.emptyList(), data, false,
+          false));
+    }
+    return sorted;
+  }
+
+  private static double[] getHitChances(final List<Unit> units, final boolean defending, final GameData data) {
+    final int diceSides = data.getDiceSides();
+    final double[] chances = new double[units.size()];
+    for (int i = 0; i < units.size(); i++) {
+      final Unit unit = units.get(i);
+      final UnitAttachment ua = UnitAttachment.get(unit.getType());
+      final int power = defending ? ua.getDefense(unit.getOwner()) : ua.getAttack(unit.getOwner());
+      chances[i] = (double) Math.min(power, diceSides) / diceSides;
+    }
+    return chances;
+  }
+
+  /**
+   * @param chances the chance of each unit hitting, in order of loss.
+   * @return for each number of units left, which are the strongest ones, the chance of each number of hits.
+   */
+  private static double[][] getHitDistributions(final double[] chances) {
+    final double[][] distributions = new double[chances.length + 1][];
+    distributions[0] = new double[] {1};
+    for (int left = 1; left <= chances.length; left++) {
+      final double chance = chances[chances.length - left];
+      final double[] previous = distributions[left - 1];
+      final double[] distribution = new double[left + 1];
+      for (int hits = 0; hits < left; hits++) {
+        distribution[hits] += previous[hits] * (1 - chance);
+        distribution[hits + 1] += previous[hits] * chance;
+      }
+      distributions[left] = distribution;
+    }
+    return distributions;
+  }
+}
@@ -0,0 +1,185 @@
+package games.strategy.triplea.oddsCalculator.ta;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+
+import games.strategy.engine.data.GameData;
+import games.strategy.engine.data.PlayerID;
+import games.strategy.engine.data.Unit;
+import games.strategy.engine.data.UnitType;
+import games.strategy.triplea.delegate.BattleCalculator;
+import games.strategy.util.IntegerMap;
+import games.strategy.util.Tuple;
+
+/**
+ * The outcome of a battle worked out by ExactBattleSolver, the chance of every number of units left rather than
+ * battles fought, so there are no results to get.
+ */
+class ExactResults extends AggregateResults {
+  private static final long serialVersionUID = 4727281307929873150L;
+  // in order of loss, so the units left are always the last ones
+  private final List<Unit> m_attackers;
+  private final List<Unit> m_defenders;
+  // by the number of units left
+  private final double[] m_attackerWins;
+  private final double[] m_defenderWins;
+  private final double m_draw;
+  private final double m_rounds;
+
+  ExactResults(final List<Unit> attackers, final List<Unit> defenders, final double[] attackerWins,
+      final double[] defenderWins, final double draw, final double rounds) {
+    super(0);
+    m_attackers = attackers;
+    m_defenders = defenders;
+    m_attackerWins = attackerWins;
+    m_defenderWins = defenderWins;
+    m_draw = draw;
+    m_rounds = rounds;
+  }
+
+  @Override
+  public boolean isExact() {
+    return true;
+  }
+
+  private static double sum(final double[] chances) {
+    double sum = 0;
+    for (final double chance : chances) {
+      sum += chance;
+    }
+    return sum;
+  }
+
+  private static double average(final double[] chances) {
+    double sum = 0;
+    for (int left = 0; left < chances.length; left++) {
+      sum += left * chances[left];
+    }
+    return sum;
+  }
+
+  private static List<Unit> getLeft(final List<Unit> units, final int left) {
+    return new ArrayList<>(units.subList(units.size() - left, units.size()));
+  }
+
+  @Override
+  public double getAttackerWinPercent() {
+    return sum(m_attackerWins);
+  }
+
+  @Override
+  public double getDefenderWinPercent() {
+    return sum(m_defenderWins);
+  }
+
+  @Override
+  public double getDrawPercent() {
+    return m_draw;
+  }
+
+  @Override
+  public double getAverageAttackingUnitsLeft() {
+    return average(m_attackerWins);
+  }
+
+  @Override
+  public double getAverageDefendingUnitsLeft() {
+    return average(m_defenderWins);
+  }
+
+  @Override
+  public double getAverageAttackingUnitsLeftWhenAttackerWon() {
+    final double win = getAttackerWinPercent();
+    return win <= 0 ? 0 : average(m_attackerWins) / win;
+  }
+
+  @Override
+  public double getAverageDefendingUnitsLeftWhenDefenderWon() {
+    final double win = getDefenderWinPercent();
+    return win <= 0 ? 0 : average(m_defenderWins) / win;
+  }
+
+  @Override
+  public double getAverageBattleRoundsFought() {
+    return m_rounds;
+  }
+
+  /**
+   * The units left in the outcome closest to the average number of units left on each side.
+   */
+  @Override
+  public List<Unit> getAverageAttackingUnitsRemaining() {
+    final int[] closest = getOutcomeClosestToAverage();
+    return getLeft(m_attackers, closest[0]);
+  }
+
+  @Override
+  public List<Unit> getAverageDefendingUnitsRemaining() {
+    final int[] closest = getOutcomeClosestToAverage();
+    return getLeft(m_defenders, closest[1]);
+  }
+
+  /**
+   * @return the attackers and defenders left in the possible outcome closest to the average, the more likely one on a
+   *         tie.
+   */
+  private int[] getOutcomeClosestToAverage() {
+    final double averageAttackers = getAverageAttackingUnitsLeft();
+    final double averageDefenders = getAverageDefendingUnitsLeft();
+    int[] closest = new int[] {0, 0};
+    double closestDif = m_draw > 0 ? averageAttackers + averageDefenders : Double.MAX_VALUE;
+    double closestChance = m_draw;
+    for (int left = 1; left < m_attackerWins.length; left++) {
+      final double dif = Math.abs(left - averageAttackers) + averageDefenders;
+      if (m_attackerWins[left] > 0
+          && (dif < closestDif || (dif == closestDif && m_attackerWins[left] > closestChance))) {
+        closest = new int[] {left, 0};
+        closestDif = dif;
+        closestChance = m_attackerWins[left];
+      }
+    }
+    for (int left = 1; left < m_defenderWins.length; left++) {
+      final double dif = averageAttackers + Math.abs(left - averageDefenders);
+      if (m_defenderWins[left] > 0
+          && (dif < closestDif || (dif == closestDif && m_defenderWins[left] > closestChance))) {
+        closest = new int[] {0, left};
+        closestDif = dif;
+        closestChance = m_defenderWins[left];
+      }
+    }
+    return closest;
+  }
+
+  @Override
+  public Tuple<Double, Double> getAverageTUVofUnitsLeftOver(final IntegerMap<UnitType> attackerCostsForTUV,
+      final IntegerMap<UnitType> defenderCostsForTUV) {
+    return Tuple.of(getAverageTUVLeft(m_attackers, m_attackerWins, attackerCostsForTUV),
+        getAverageTUVLeft(m_defenders, m_defenderWins, defenderCostsForTUV));
+  }
+
+  private static double getAverageTUVLeft(final List<Unit> units, final double[] chances,
+      final IntegerMap<UnitType> costs) {
+    double tuv = 0;
+    double tuvLeft = 0;
+    // add the units from the strongest, which are the ones left
+    for (int left = 1; left < chances.length; left++) {
+      tuvLeft += costs.getInt(units.get(units.size() - left).getType());
+      tuv += chances[left] * tuvLeft;
+    }
+    return tuv;
+  }
+
+  @Override
+  public double getAverageTUVswing(final PlayerID attacker, final Collection<Unit> attackers, final PlayerID defender,
+      final Collection<Unit> defenders, final GameData data) {
+    final IntegerMap<UnitType> attackerCostsForTUV = BattleCalculator.getCostsForTUV(attacker, data);
+    final IntegerMap<UnitType> defenderCostsForTUV = BattleCalculator.getCostsForTUV(defender, data);
+    final int attackerTotalTUV = BattleCalculator.getTUV(attackers, attackerCostsForTUV);
+    final int defenderTotalTUV = BattleCalculator.getTUV(defenders, defenderCostsForTUV);
+    final Tuple<Double, Double> average = getAverageTUVofUnitsLeftOver(attackerCostsForTUV, defenderCostsForTUV);
+    final double attackerLost = attackerTotalTUV - average.getFirst();
+    final double defenderLost = defenderTotalTUV - average.getSecond();
+    return defenderLost - attackerLost;
+  }
+}
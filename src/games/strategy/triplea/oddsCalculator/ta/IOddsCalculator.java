@@ -1,6 +1,7 @@
 package games.strategy.triplea.oddsCalculator.ta;
 
 import java.util.Collection;
+import java.util.List;
 
 import games.strategy.engine.data.GameData;
 import games.strategy.engine.data.PlayerID;
@@ -24,6 +25,14 @@ public interface IOddsCalculator {
       final Territory location, final Collection<Unit> attacking, final Collection<Unit> defending,
       final Collection<Unit> bombarding, final Collection<TerritoryEffect> territoryEffects, final int runCount);
 
+  /**
+   * Calculates each battle on its own, with the retreat and order of loss settings of this calculator, spreading the
+   * battles rather than the runs of each battle across the threads.
+   *
+   * @return the results in the same order as the battles, empty for those not calculated because it was cancelled.
+   */
+  List<AggregateResults> calculate(final List<BattleSpecification> battles);
+
   int getRunCount();
 
   boolean getIsReady();
@@ -44,6 +53,12 @@ public interface IOddsCalculator {
 
   void setDefenderOrderOfLosses(final String defenderOrderOfLosses);
 
+  /**
+   * Lets calculations stop before the run count once the results are as precise as asked for, null to always fight
+   * the run count.
+   */
+  void setPrecision(final OddsPrecision precision);
+
   void cancel();
 
   void shutdown();
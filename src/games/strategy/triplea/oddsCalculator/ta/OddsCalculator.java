@@ -11,6 +11,8 @@ import java.util.Properties;
 import java.util.Set;
 import java.util.concurrent.Callable;
 
+import games.strategy.performance.Perf;
+import games.strategy.performance.PerfTimer;
 import games.strategy.triplea.delegate.GameDelegateBridge;
 import games.strategy.engine.data.Change;
 import games.strategy.engine.data.ChangeFactory;
@@ -26,6 +28,7 @@ import games.strategy.engine.data.UnitTypeList;
 import games.strategy.engine.delegate.IDelegateBridge;
 import games.strategy.engine.display.IDisplay;
 import games.strategy.engine.framework.GameDataUtils;
+import games.strategy.engine.framework.GameModificationBatch;
 import games.strategy.engine.framework.IGameModifiedChannel;
 import games.strategy.engine.gamePlayer.IRemotePlayer;
 import games.strategy.engine.history.DelegateHistoryWriter;
@@ -51,6 +54,7 @@ import games.strategy.triplea.delegate.remote.ITechDelegate;
 import games.strategy.triplea.ui.display.DummyTripleADisplay;
 import games.strategy.util.CompositeMatch;
 import games.strategy.util.CompositeMatchAnd;
+import games.strategy.util.IntegerMap;
 import games.strategy.util.Match;
 import games.strategy.util.Tuple;
 
@@ -78,7 +82,10 @@ public class OddsCalculator implements IOddsCalculator, Callable<AggregateResult
   private String m_attackerOrderOfLosses = null;
   private String m_defenderOrderOfLosses = null;
   private int m_runCount = 0;
+  private OddsPrecision m_precision = null;
   private volatile boolean m_cancelled = false;
+  // calculating a single battle clears m_cancelled when it stops, this stops the rest of a batch once cancelled
+  private volatile boolean m_batchCancelled = false;
   private volatile boolean m_isDataSet = false;
   private volatile boolean m_isCalcSet = false;
   private volatile boolean m_isRunning = false;
@@ -164,7 +171,40 @@ public class OddsCalculator implements IOddsCalculator, Callable<AggregateResult
     if (!getIsReady()) {
       throw new IllegalStateException("Called calculate before setting calculate data!");
     }
-    return calculate(m_runCount);
+    return calculate(m_runCount, m_precision == null ? null : new OddsConvergence(m_precision));
+  }
+
+  /**
+   * Calculates with the statistics of the whole calculation, so a worker of a concurrent calculation stops when they
+   * are precise enough.
+   */
+  AggregateResults calculate(final OddsConvergence convergence) {
+    if (!getIsReady()) {
+      throw new IllegalStateException("Called calculate before setting calculate data!");
+    }
+    return calculate(m_runCount, convergence);
+  }
+
+  @Override
+  public List<AggregateResults> calculate(final List<BattleSpecification> battles) {
+    m_batchCancelled = false;
+    final List<AggregateResults> results = new ArrayList<>(battles.size());
+    for (final BattleSpecification battle : battles) {
+      results.add(m_batchCancelled ? new AggregateResults(0) : calculate(battle, m_precision));
+    }
+    return results;
+  }
+
+  /**
+   * Sets the calculate data to the battle and calculates it.
+   *
+   * @param precision used when the battle has none of its own, may be null.
+   */
+  AggregateResults calculate(final BattleSpecification battle, final OddsPrecision precision) {
+    setCalculateData(battle.getAttacker(), battle.getDefender(), battle.getLocation(), battle.getAttacking(),
+        battle.getDefending(), battle.getBombarding(), battle.getTerritoryEffects(), battle.getRunCount());
+    final OddsPrecision battlePrecision = battle.getPrecision() == null ? precision : battle.getPrecision();
+    return calculate(battlePrecision == null ? null : new OddsConvergence(battlePrecision));
   }
 
   @Override
@@ -222,9 +262,15 @@ public class OddsCalculator implements IOddsCalculator, Callable<AggregateResult
     m_defenderOrderOfLosses = defenderOrderOfLosses;
   }
 
+  @Override
+  public void setPrecision(final OddsPrecision precision) {
+    m_precision = precision;
+  }
+
   @Override
   public void cancel() {
     m_cancelled = true;
+    m_batchCancelled = true;
   }
 
   @Override
@@ -240,46 +286,93 @@ public class OddsCalculator implements IOddsCalculator, Callable<AggregateResult
     return 1;
   }
 
-  private AggregateResults calculate(final int count) {
-    m_isRunning = true;
-    final long start = System.currentTimeMillis();
-    final AggregateResults rVal = new AggregateResults(count);
-    final BattleTracker battleTracker = new BattleTracker();
-    // CasualtySortingCaching can cause issues if there is more than 1 one battle being calced at the same time (like if
-    // the AI and a human
-    // are both using the calc)
-    // TODO: first, see how much it actually speeds stuff up by, and if it does make a difference then convert it to a
-    // per-thread, per-calc
-    // caching
-    final List<Unit> attackerOrderOfLosses =
-        OddsCalculator.getUnitListByOrderOfLoss(m_attackerOrderOfLosses, m_attackingUnits, m_data);
-    final List<Unit> defenderOrderOfLosses =
-        OddsCalculator.getUnitListByOrderOfLoss(m_defenderOrderOfLosses, m_defendingUnits, m_data);
-    for (int i = 0; i < count && !m_cancelled; i++) {
-      final CompositeChange allChanges = new CompositeChange();
-      final DummyDelegateBridge bridge1 = new DummyDelegateBridge(m_attacker, m_data, allChanges, attackerOrderOfLosses,
-          defenderOrderOfLosses, m_keepOneAttackingLandUnit, m_retreatAfterRound, m_retreatAfterXUnitsLeft,
-          m_retreatWhenOnlyAirLeft, m_retreatWhenMetaPowerIsLower);
-      final GameDelegateBridge bridge = new GameDelegateBridge(bridge1);
-      final MustFightBattle battle = new MustFightBattle(m_location, m_attacker, m_data, battleTracker);
-      battle.setHeadless(true);
-      battle.isAmphibious();
-      battle.setUnits(m_defendingUnits, m_attackingUnits, m_bombardingUnits,
-          (m_amphibious ? m_attackingUnits : new ArrayList<>()), m_defender, m_territoryEffects);
-      // battle.setAttackingFromAndMap(attackingFromMap);
-      bridge1.setBattle(battle);
-      battle.fight(bridge);
-      rVal.addResult(new BattleResults(battle, m_data));
-      // restore the game to its original state
-      m_data.performChange(allChanges.invert());
-      battleTracker.clear();
-      battleTracker.clearBattleRecords();
+  /**
+   * @return the exact results if the battle set to calculate is simple enough for ExactBattleSolver, otherwise null.
+   */
+  @SuppressWarnings("try")
+  AggregateResults calculateExactly() {
+    if (!getIsReady() || !m_bombardingUnits.isEmpty() || !m_territoryEffects.isEmpty() || m_amphibious
+        || m_keepOneAttackingLandUnit || m_retreatAfterRound >= 0 || m_retreatAfterXUnitsLeft >= 0
+        || m_retreatWhenOnlyAirLeft || m_retreatWhenMetaPowerIsLower || m_attackerOrderOfLosses != null
+        || m_defenderOrderOfLosses != null
+        || !ExactBattleSolver.canSolve(m_data, m_location, m_attackingUnits, m_defendingUnits)) {
+      return null;
+    }
+    try (PerfTimer timer = Perf.startTimer("odds", "Exact odds calculation")) {
+      final long start = System.currentTimeMillis();
+      final AggregateResults results = ExactBattleSolver.solve(m_data, m_attackingUnits, m_defendingUnits);
+      results.setTime(System.currentTimeMillis() - start);
+      return results;
+    }
+  }
+
+  @SuppressWarnings("try")
+  private AggregateResults calculate(final int count, final OddsConvergence convergence) {
+    final AggregateResults exactResults = calculateExactly();
+    if (exactResults != null) {
+      m_cancelled = false;
+      return exactResults;
+    }
+    try (PerfTimer timer = Perf.startTimer("odds", "Odds calculation")) {
+      m_isRunning = true;
+      final long start = System.currentTimeMillis();
+      final AggregateResults rVal = new AggregateResults(count);
+      final BattleTracker battleTracker = new BattleTracker();
+      // CasualtySortingCaching can cause issues if there is more than 1 one battle being calced at the same time (like
+      // if the AI and a human
+      // are both using the calc)
+      // TODO: first, see how much it actually speeds stuff up by, and if it does make a difference then convert it to a
+      // per-thread, per-calc
+      // caching
+      final List<Unit> attackerOrderOfLosses =
+          OddsCalculator.getUnitListByOrderOfLoss(m_attackerOrderOfLosses, m_attackingUnits, m_data);
+      final List<Unit> defenderOrderOfLosses =
+          OddsCalculator.getUnitListByOrderOfLoss(m_defenderOrderOfLosses, m_defendingUnits, m_data);
+      final IntegerMap<UnitType> attackerCostsForTUV =
+          convergence == null ? null : BattleCalculator.getCostsForTUV(m_attacker, m_data);
+      final IntegerMap<UnitType> defenderCostsForTUV =
+          convergence == null ? null : BattleCalculator.getCostsForTUV(m_defender, m_data);
+      final int attackerTotalTUV = convergence == null ? 0 : BattleCalculator.getTUV(m_attackingUnits,
+          attackerCostsForTUV);
+      final int defenderTotalTUV = convergence == null ? 0 : BattleCalculator.getTUV(m_defendingUnits,
+          defenderCostsForTUV);
+      for (int i = 0; i < count && !m_cancelled; i++) {
+        if (convergence != null && i % OddsPrecision.BATCH_SIZE == 0 && convergence.isDone()) {
+          break;
+        }
+        final CompositeChange allChanges = new CompositeChange();
+        final DummyDelegateBridge bridge1 = new DummyDelegateBridge(m_attacker, m_data, allChanges,
+            attackerOrderOfLosses, defenderOrderOfLosses, m_keepOneAttackingLandUnit, m_retreatAfterRound,
+            m_retreatAfterXUnitsLeft, m_retreatWhenOnlyAirLeft, m_retreatWhenMetaPowerIsLower);
+        final GameDelegateBridge bridge = new GameDelegateBridge(bridge1);
+        final MustFightBattle battle = new MustFightBattle(m_location, m_attacker, m_data, battleTracker);
+        battle.setHeadless(true);
+        battle.isAmphibious();
+        battle.setUnits(m_defendingUnits, m_attackingUnits, m_bombardingUnits,
+            (m_amphibious ? m_attackingUnits : new ArrayList<>()), m_defender, m_territoryEffects);
+        // battle.setAttackingFromAndMap(attackingFromMap);
+        bridge1.setBattle(battle);
+        battle.fight(bridge);
+        final BattleResults result = new BattleResults(battle, m_data);
+        rVal.addResult(result);
+        if (convergence != null) {
+          final int attackerLost =
+              attackerTotalTUV - BattleCalculator.getTUV(result.getRemainingAttackingUnits(), attackerCostsForTUV);
+          final int defenderLost =
+              defenderTotalTUV - BattleCalculator.getTUV(result.getRemainingDefendingUnits(), defenderCostsForTUV);
+          convergence.addResult(result.attackerWon(), defenderLost - attackerLost);
+        }
+        // restore the game to its original state
+        m_data.performChange(allChanges.invert());
+        battleTracker.clear();
+        battleTracker.clearBattleRecords();
+      }
+      // BattleCalculator.DisableCasualtySortingCaching();
+      rVal.setTime(System.currentTimeMillis() - start);
+      m_isRunning = false;
+      m_cancelled = false;
+      return rVal;
     }
-    // BattleCalculator.DisableCasualtySortingCaching();
-    rVal.setTime(System.currentTimeMillis() - start);
-    m_isRunning = false;
-    m_cancelled = false;
-    return rVal;
   }
 
   public static boolean isValidOrderOfLoss(final String orderOfLoss, final GameData data) {
@@ -507,6 +600,9 @@ class DummyGameModifiedChannel implements IGameModifiedChannel {
   @Override
   public void gameDataChanged(final Change aChange) {}
 
+  @Override
+  public void gameModificationBatch(final GameModificationBatch batch) {}
+
   @Override
   public void shutDown() {}
 
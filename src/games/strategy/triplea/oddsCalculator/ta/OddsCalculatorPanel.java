@@ -86,6 +86,8 @@ import games.strategy.util.Match;
 public class OddsCalculatorPanel extends JPanel {
   private static final long serialVersionUID = -3559687618320469183L;
   private static final String NO_EFFECTS = "*None*";
+  // plus or minus 1% win and 1 TUV swing, the number of runs is the most fought
+  private static final OddsPrecision PANEL_PRECISION = new OddsPrecision(0.01, 1, 0);
   private final Window m_parent;
   private final JLabel m_attackerWin = new JLabel();
   private final JLabel m_defenderWin = new JLabel();
@@ -112,6 +114,7 @@ public class OddsCalculatorPanel extends JPanel {
   private final JCheckBox m_landBattleCheckBox = new JCheckBox("Land Battle");
   private final JCheckBox m_retreatWhenOnlyAirLeftCheckBox = new JCheckBox("Retreat when only air left");
   private final JCheckBox m_retreatWhenMetaPowerIsLower = new JCheckBox("Retreat when meta-power is lower");
+  private final JCheckBox m_stopWhenPreciseCheckBox = new JCheckBox("Stop when precise");
   private final IUIContext m_context;
   private final GameData m_data;
   private final IOddsCalculator m_calculator;
@@ -461,6 +464,11 @@ public class OddsCalculatorPanel extends JPanel {
           } else {
             m_calculator.setRetreatWhenMetaPowerIsLower(false);
           }
+          if (m_stopWhenPreciseCheckBox.isSelected()) {
+            m_calculator.setPrecision(PANEL_PRECISION);
+          } else {
+            m_calculator.setPrecision(null);
+          }
           m_calculator.setAttackerOrderOfLosses(m_attackerOrderOfLosses);
           m_calculator.setDefenderOrderOfLosses(m_defenderOrderOfLosses);
           final Collection<TerritoryEffect> territoryEffects = getTerritoryEffects();
@@ -512,7 +520,7 @@ public class OddsCalculatorPanel extends JPanel {
       } finally {
         m_data.releaseReadLock();
       }
-      m_count.setText(results.get().getRollCount() + "");
+      m_count.setText(results.get().isExact() ? "exact" : results.get().getRollCount() + "");
       m_time.setText(formatValue(results.get().getTime() / 1000.0) + "s");
     }
   }
@@ -688,8 +696,10 @@ public class OddsCalculatorPanel extends JPanel {
               GridBagConstraints.EAST, GridBagConstraints.BOTH, new Insets(10, 15, 0, 0), 0, 0));
       row1 += m_territoryEffectsJList.getVisibleRowCount();
     }
-    resultsText.add(m_retreatWhenOnlyAirLeftCheckBox, new GridBagConstraints(1, row2++, 1, 1, 0, 0,
+    resultsText.add(m_stopWhenPreciseCheckBox, new GridBagConstraints(1, row2++, 1, 1, 0, 0,
         GridBagConstraints.WEST, GridBagConstraints.NONE, new Insets(10, 10, 0, 5), 0, 0));
+    resultsText.add(m_retreatWhenOnlyAirLeftCheckBox, new GridBagConstraints(1, row2++, 1, 1, 0, 0,
+        GridBagConstraints.WEST, GridBagConstraints.NONE, new Insets(2, 10, 0, 5), 0, 0));
     resultsText.add(m_retreatWhenMetaPowerIsLower, new GridBagConstraints(1, row2++, 1, 1, 0, 0,
         GridBagConstraints.WEST, GridBagConstraints.NONE, new Insets(2, 10, 0, 5), 0, 0));
     resultsText.add(m_keepOneAttackingLandUnitCheckBox, new GridBagConstraints(1, row2++, 1, 1, 0, 0,
@@ -791,6 +801,8 @@ public class OddsCalculatorPanel extends JPanel {
         "TUV Swing does not include captured AA guns and other infrastructure, and does not include Bombarding sea units for land battles.");
     m_retreatWhenOnlyAirLeftCheckBox.setToolTipText(
         "We retreat if only air is left, and if 'retreat when x units left' is positive we will retreat when x of non-air is left too.");
+    m_stopWhenPreciseCheckBox.setToolTipText(
+        "Stop before the number of runs once the win % is known to within 1% and the TUV swing to within 1, 19 times out of 20.");
     m_retreatWhenMetaPowerIsLower.setToolTipText(
         "We retreat if our 'meta power' is lower than the opponent. Meta Power is equal to:  Power  +  (2 * HitPoints * DiceSides / 6)");
     m_attackerUnitsTotalNumber.setToolTipText(
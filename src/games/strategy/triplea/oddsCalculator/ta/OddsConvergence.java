@@ -0,0 +1,74 @@
+package games.strategy.triplea.oddsCalculator.ta;
+
+/**
+ * The running win count and TUV swing statistics of one odds calculation, shared by the workers of a concurrent
+ * calculation so they stop together once the estimate is precise enough.
+ */
+class OddsConvergence {
+  private final OddsPrecision precision;
+  private final long startMillis;
+  private int runs = 0;
+  private int wins = 0;
+  private double swingSum = 0;
+  private double swingSumOfSquares = 0;
+
+  OddsConvergence(final OddsPrecision precision) {
+    this.precision = precision;
+    startMillis = System.currentTimeMillis();
+  }
+
+  synchronized void addResult(final boolean attackerWon, final double tuvSwing) {
+    runs++;
+    if (attackerWon) {
+      wins++;
+    }
+    swingSum += tuvSwing;
+    swingSumOfSquares += tuvSwing * tuvSwing;
+  }
+
+  synchronized int getRuns() {
+    return runs;
+  }
+
+  /**
+   * @return the half width of the 95% Wilson score interval of the attacker win percentage, as a fraction.
+   *         Unlike the plain normal interval it is not 0 when every battle so far was won, or every one lost.
+   */
+  synchronized double getWinPercentMargin() {
+    if (runs == 0) {
+      return 1;
+    }
+    final double p = (double) wins / runs;
+    final double z2 = OddsPrecision.Z * OddsPrecision.Z;
+    return OddsPrecision.Z * Math.sqrt(p * (1 - p) / runs + z2 / (4.0 * runs * runs)) / (1 + z2 / runs);
+  }
+
+  /**
+   * @return the half width of the 95% confidence interval of the average TUV swing.
+   */
+  synchronized double getTUVSwingMargin() {
+    if (runs < 2) {
+      return Double.POSITIVE_INFINITY;
+    }
+    final double mean = swingSum / runs;
+    // sample variance, can come out a rounding error below 0
+    final double variance = Math.max(0, (swingSumOfSquares - runs * mean * mean) / (runs - 1));
+    return OddsPrecision.Z * Math.sqrt(variance / runs);
+  }
+
+  synchronized boolean isTimeUp() {
+    return runs > 0 && precision.getMaxMillis() > 0
+        && System.currentTimeMillis() - startMillis >= precision.getMaxMillis();
+  }
+
+  /**
+   * @return true once enough battles were fought for the precision asked for, or the time budget ran out.
+   */
+  synchronized boolean isDone() {
+    if (isTimeUp()) {
+      return true;
+    }
+    return runs >= OddsPrecision.MIN_RUNS && getWinPercentMargin() <= precision.getWinPercentMargin()
+        && getTUVSwingMargin() <= precision.getTUVSwingMargin();
+  }
+}
@@ -0,0 +1,52 @@
+package games.strategy.triplea.oddsCalculator.ta;
+
+/**
+ * When an odds calculation may stop before its run count: once the 95% confidence intervals of the attacker win
+ * percentage and of the TUV swing are narrower than asked for, or once it has run for its time budget.
+ * The run count given with the calculate data stays the most battles that will be fought.
+ * <p>
+ * Battles are fought in batches of BATCH_SIZE and never fewer than MIN_RUNS, so a battle that is always won the same
+ * way stops after a few dozen runs while a close one runs until the estimate settles.
+ */
+public final class OddsPrecision {
+  public static final int MIN_RUNS = 16;
+  public static final int BATCH_SIZE = 8;
+  // two sided 95% confidence
+  static final double Z = 1.96;
+  private final double winPercentMargin;
+  private final double tuvSwingMargin;
+  private final long maxMillis;
+
+  /**
+   * @param winPercentMargin the half width of the win percentage interval, as a fraction, 0.02 is plus or minus 2%.
+   * @param tuvSwingMargin the half width of the TUV swing interval.
+   * @param maxMillis the time budget, 0 or less for none.
+   */
+  public OddsPrecision(final double winPercentMargin, final double tuvSwingMargin, final long maxMillis) {
+    if (winPercentMargin <= 0 || tuvSwingMargin <= 0) {
+      throw new IllegalArgumentException("Margins must be positive, win percent:" + winPercentMargin
+          + " TUV swing:" + tuvSwingMargin);
+    }
+    this.winPercentMargin = winPercentMargin;
+    this.tuvSwingMargin = tuvSwingMargin;
+    this.maxMillis = maxMillis;
+  }
+
+  public double getWinPercentMargin() {
+    return winPercentMargin;
+  }
+
+  public double getTUVSwingMargin() {
+    return tuvSwingMargin;
+  }
+
+  public long getMaxMillis() {
+    return maxMillis;
+  }
+
+  @Override
+  public String toString() {
+    return "OddsPrecision win percent:" + winPercentMargin + " TUV swing:" + tuvSwingMargin + " max millis:"
+        + maxMillis;
+  }
+}
@@ -134,12 +134,7 @@ public class EconomyPanel extends AbstractStatPanel {
       if (!m_isDirty) {
         return m_collectedData.length;
       } else {
-        m_data.acquireReadLock();
-        try {
-          return m_data.getPlayerList().size() + getAlliances().size();
-        } finally {
-          m_data.releaseReadLock();
-        }
+        return m_data.readOptimistically(() -> m_data.getPlayerList().size() + getAlliances().size());
       }
     }
 
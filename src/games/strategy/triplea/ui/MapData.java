@@ -100,6 +100,8 @@ public class MapData {
   private Map<String, List<Point>> m_place;
   // maps String -> Collection of Polygons
   private Map<String, List<Polygon>> m_polys;
+  // finds the polygons at a point or in a rectangle, built from m_polys
+  private TerritoryPolygonIndex m_polygonIndex;
   // maps String -> Point
   private Map<String, Point> m_centers;
   // maps String -> Point
@@ -163,6 +165,7 @@ public class MapData {
       m_territoryEffects =
           PointFileReaderWriter.readOneToMany(loader.getResourceAsStream(prefix + TERRITORY_EFFECT_FILE));
       m_polys = PointFileReaderWriter.readOneToManyPolygons(loader.getResourceAsStream(prefix + POLYGON_FILE));
+      m_polygonIndex = new TerritoryPolygonIndex(m_polys);
       m_centers = PointFileReaderWriter.readOneToOneCenters(loader.getResourceAsStream(prefix + CENTERS_FILE));
       m_vcPlace = PointFileReaderWriter.readOneToOne(loader.getResourceAsStream(prefix + VC_MARKERS));
       m_convoyPlace = PointFileReaderWriter.readOneToOne(loader.getResourceAsStream(prefix + CONVOY_MARKERS));
@@ -605,26 +608,9 @@ public class MapData {
    * Get the territory at the x,y co-ordinates could be null.
    */
   public String getTerritoryAt(final double x, final double y) {
-    String seaName = null;
     // try to find a land territory.
     // sea zones often surround a land territory
-    final Iterator<String> keyIter = m_polys.keySet().iterator();
-    while (keyIter.hasNext()) {
-      final String name = keyIter.next();
-      final Collection<Polygon> polygons = m_polys.get(name);
-      final Iterator<Polygon> polyIter = polygons.iterator();
-      while (polyIter.hasNext()) {
-        final Polygon poly = polyIter.next();
-        if (poly.contains(x, y)) {
-          if (Util.isTerritoryNameIndicatingWater(name)) {
-            seaName = name;
-          } else {
-            return name;
-          }
-        }
-      }
-    }
-    return seaName;
+    return m_polygonIndex.getTerritoryAt(x, y);
   }
 
   public Dimension getMapDimensions() {
@@ -716,27 +702,7 @@ public class MapData {
    * @return List of territory names as Strings
    */
   public List<String> territoriesThatOverlap(final Rectangle2D bounds) {
-    List<String> rVal = null;
-    final Iterator<String> terrIter = getTerritories().iterator();
-    while (terrIter.hasNext()) {
-      final String terr = terrIter.next();
-      final List<Polygon> polygons = getPolygons(terr);
-      for (int i = 0; i < polygons.size(); i++) {
-        final Polygon item = polygons.get(i);
-        if (item.intersects(bounds) || item.contains(bounds) || bounds.contains(item.getBounds2D())) {
-          if (rVal == null) {
-            rVal = new ArrayList<>(4);
-          }
-          rVal.add(terr);
-          // only add it once
-          break;
-        }
-      }
-    }
-    if (rVal == null) {
-      return Collections.emptyList();
-    }
-    return rVal;
+    return m_polygonIndex.territoriesThatOverlap(bounds);
   }
 
   public Image getVCImage() {
@@ -919,6 +919,7 @@ class BackgroundDrawer implements Runnable {
         continue;
       }
       final GameData data = mapPanel.getData();
+      // not an optimistic read, the tile caches what it draws, so a drawing that raced a change would stay on screen
       data.acquireReadLock();
       try {
         tile.getImage(data, mapPanel.getUIContext().getMapData());
@@ -50,6 +50,7 @@ import games.strategy.engine.data.Unit;
 import games.strategy.engine.data.events.GameDataChangeListener;
 import games.strategy.engine.delegate.IDelegateBridge;
 import games.strategy.engine.display.IDisplay;
+import games.strategy.engine.framework.GameModificationBatch;
 import games.strategy.engine.framework.IGameModifiedChannel;
 import games.strategy.engine.gamePlayer.IRemotePlayer;
 import games.strategy.engine.history.DelegateHistoryWriter;
@@ -407,12 +408,7 @@ public class ObjectivePanel extends AbstractStatPanel {
       if (!m_isDirty) {
         return m_collectedData.length;
       } else {
-        m_data.acquireReadLock();
-        try {
-          return getRowTotal();
-        } finally {
-          m_data.releaseReadLock();
-        }
+        return m_data.readOptimistically(() -> getRowTotal());
       }
     }
 
@@ -588,6 +584,9 @@ class DummyGameModifiedChannel implements IGameModifiedChannel {
   @Override
   public void gameDataChanged(final Change aChange) {}
 
+  @Override
+  public void gameModificationBatch(final GameModificationBatch batch) {}
+
   @Override
   public void shutDown() {}
 
@@ -109,12 +109,7 @@ public class PoliticalStateOverview extends JPanel {
       }
     }
     if (relType == null) {
-      m_data.acquireReadLock();
-      try {
-        relType = m_data.getRelationshipTracker().getRelationshipType(player1, player2);
-      } finally {
-        m_data.releaseReadLock();
-      }
+      relType = m_data.readOptimistically(() -> m_data.getRelationshipTracker().getRelationshipType(player1, player2));
     }
     final JComponent relationshipLabel = getRelationshipComponent(player1, player2, relType);
     final JPanel relationshipLabelPanel = new JPanel();
@@ -154,13 +149,8 @@ public class PoliticalStateOverview extends JPanel {
             }
 
             // see if there is actually a change
-            RelationshipType actualRelationship = null;
-            m_data.acquireReadLock();
-            try {
-              actualRelationship = m_data.getRelationshipTracker().getRelationshipType(player1, player2);
-            } finally {
-              m_data.releaseReadLock();
-            }
+            final RelationshipType actualRelationship =
+                m_data.readOptimistically(() -> m_data.getRelationshipTracker().getRelationshipType(player1, player2));
             if (!chosenRelationship.equals(actualRelationship)) {
               // add new change
               m_editChanges.add(Triple.of(player1, player2, chosenRelationship));
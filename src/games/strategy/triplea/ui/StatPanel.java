@@ -11,6 +11,10 @@ import java.util.HashMap;
 import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.function.ToDoubleFunction;
 
 import javax.swing.ImageIcon;
 import javax.swing.JComponent;
@@ -27,7 +31,6 @@ import games.strategy.engine.data.Change;
 import games.strategy.engine.data.GameData;
 import games.strategy.engine.data.PlayerID;
 import games.strategy.engine.data.Territory;
-import games.strategy.engine.data.Unit;
 import games.strategy.engine.data.UnitType;
 import games.strategy.engine.data.events.GameDataChangeListener;
 import games.strategy.engine.stats.AbstractStat;
@@ -52,6 +55,14 @@ public class StatPanel extends AbstractStatPanel {
   private Image m_statsImage = null;
   protected final Map<PlayerID, ImageIcon> m_mapPlayerImage = new HashMap<>();
   protected IUIContext m_uiContext;
+  // stats are updated at most this often while the game data keeps changing
+  private static final long UPDATE_DELAY_MILLIS = 250;
+  // shared by the stat tables of all games, an update is short and only done while a table is drawn
+  private static final ScheduledExecutorService s_updater = Executors.newSingleThreadScheduledExecutor(r -> {
+    final Thread thread = new Thread(r, "Stat panel updater");
+    thread.setDaemon(true);
+    return thread;
+  });
 
   /** Creates a new instance of InfoPanel */
   public StatPanel(final GameData data, final IUIContext uiContext2) {
@@ -164,11 +175,20 @@ public class StatPanel extends AbstractStatPanel {
   /**
    * Custom table model.
    * This model is thread safe.
+   * <p>
+   * The stats are worked out on a background thread when the table is drawn after the game data changed, at most once
+   * every UPDATE_DELAY_MILLIS however fast the changes come, and the table shows the last stats until then. A change
+   * of resources only updates the resource stats.
    */
   class StatTableModel extends AbstractTableModel implements GameDataChangeListener {
     private static final long serialVersionUID = -6156153062049822444L;
     /* Flag to indicate whether data needs to be recalculated */
     private boolean m_isDirty = true;
+    /* Flag to indicate whether the resource stats need to be recalculated */
+    private boolean m_isResourcesDirty = false;
+    private boolean m_isUpdateScheduled = false;
+    private boolean m_isRepaintPending = false;
+    private long m_lastUpdateMillis = 0;
     /* Column Header Names */
     /* Underlying data for the table */
     private String[][] m_collectedData;
@@ -194,56 +214,108 @@ public class StatPanel extends AbstractStatPanel {
       }
     }
 
-    private synchronized void loadData() {
+    /**
+     * @param previous the stats to keep all but the resource stats of, or null to work out all the stats.
+     */
+    private String[][] loadData(final String[][] previousData) {
       m_data.acquireReadLock();
       try {
         final List<PlayerID> players = getPlayers();
         final Collection<String> alliances = getAlliances();
-        m_collectedData = new String[players.size() + alliances.size()][m_stats.length + 1];
+        final String[][] collectedData = new String[players.size() + alliances.size()][];
+        // only keep the other stats when the rows are the same
+        final String[][] previous =
+            previousData == null || previousData.length != collectedData.length ? null : previousData;
         int row = 0;
         for (final PlayerID player : players) {
-          m_collectedData[row][0] = player.getName();
-          for (int i = 0; i < m_stats.length; i++) {
-            m_collectedData[row][i + 1] = m_stats[i].getFormatter().format(m_stats[i].getValue(player, m_data));
-          }
+          collectedData[row] = loadRow(previous == null ? null : previous[row], player.getName(),
+              stat -> stat.getValue(player, m_data));
           row++;
         }
         final Iterator<String> allianceIterator = alliances.iterator();
         while (allianceIterator.hasNext()) {
           final String alliance = allianceIterator.next();
-          m_collectedData[row][0] = alliance;
-          for (int i = 0; i < m_stats.length; i++) {
-            m_collectedData[row][i + 1] = m_stats[i].getFormatter().format(m_stats[i].getValue(alliance, m_data));
-          }
+          collectedData[row] = loadRow(previous == null ? null : previous[row], alliance,
+              stat -> stat.getValue(alliance, m_data));
           row++;
         }
+        return collectedData;
       } finally {
         m_data.releaseReadLock();
       }
     }
 
+    private String[] loadRow(final String[] previous, final String name, final ToDoubleFunction<IStat> value) {
+      final String[] rowData = previous == null ? new String[m_stats.length + 1] : previous.clone();
+      rowData[0] = name;
+      for (int i = 0; i < m_stats.length; i++) {
+        if (previous == null || m_stats[i] instanceof ResourceStat) {
+          rowData[i + 1] = m_stats[i].getFormatter().format(value.applyAsDouble(m_stats[i]));
+        }
+      }
+      return rowData;
+    }
+
+    private void update() {
+      final String[][] previous;
+      synchronized (this) {
+        previous = m_isDirty ? null : m_collectedData;
+        m_isDirty = false;
+        m_isResourcesDirty = false;
+        m_isUpdateScheduled = false;
+      }
+      final String[][] collectedData = loadData(previous);
+      synchronized (this) {
+        m_collectedData = collectedData;
+        m_lastUpdateMillis = System.currentTimeMillis();
+      }
+      SwingUtilities.invokeLater(() -> fireTableDataChanged());
+    }
+
+    private synchronized void scheduleUpdate() {
+      if (m_isUpdateScheduled || (!m_isDirty && !m_isResourcesDirty)) {
+        return;
+      }
+      m_isUpdateScheduled = true;
+      final long delay = Math.max(0, m_lastUpdateMillis + UPDATE_DELAY_MILLIS - System.currentTimeMillis());
+      s_updater.schedule(() -> update(), delay, TimeUnit.MILLISECONDS);
+    }
+
     @Override
     public void gameDataChanged(final Change aChange) {
       synchronized (this) {
-        m_isDirty = true;
+        if (aChange != null && aChange.isResourceChangeOnly()) {
+          m_isResourcesDirty = true;
+        } else {
+          m_isDirty = true;
+        }
+        if (m_isRepaintPending) {
+          return;
+        }
+        m_isRepaintPending = true;
       }
       SwingUtilities.invokeLater(new Runnable() {
         @Override
         public void run() {
+          synchronized (StatTableModel.this) {
+            m_isRepaintPending = false;
+          }
           repaint();
         }
       });
     }
 
     /*
-     * Recalcs the underlying data in a lazy manner Limitation: This is not
-     * a threadsafe implementation
+     * Recalcs the underlying data in a lazy manner, the first time here and later in the background
      */
     @Override
     public synchronized Object getValueAt(final int row, final int col) {
-      if (m_isDirty) {
-        loadData();
+      if (m_collectedData == null) {
+        m_collectedData = loadData(null);
         m_isDirty = false;
+        m_isResourcesDirty = false;
+      } else {
+        scheduleUpdate();
       }
       return m_collectedData[row][col];
     }
@@ -264,18 +336,14 @@ public class StatPanel extends AbstractStatPanel {
 
     @Override
     public synchronized int getRowCount() {
-      if (!m_isDirty) {
+      if (m_collectedData != null) {
+        // the rows shown until the background update is done
         return m_collectedData.length;
       } else {
         // no need to recalculate all the stats just to get the row count
         // getting the row count is a fairly frequent operation, and will
         // happen even if we are not displayed!
-        m_data.acquireReadLock();
-        try {
-          return m_data.getPlayerList().size() + getAlliances().size();
-        } finally {
-          m_data.releaseReadLock();
-        }
+        return m_data.readOptimistically(() -> m_data.getPlayerList().size() + getAlliances().size());
       }
     }
 
@@ -465,11 +533,11 @@ public class StatPanel extends AbstractStatPanel {
     @Override
     public double getValue(final PlayerID player, final GameData data) {
       int rVal = 0;
-      for (final Territory place : data.getMap().getTerritories()) {
+      for (final Territory place : data.getMap().getTerritoriesOwnedBy(player)) {
         /*
          * Match will Check if terr is a Land Convoy Route and check ownership of neighboring Sea Zone, or if contested
          */
-        if (place.getOwner().equals(player) && Matches.territoryCanCollectIncomeFrom(player, data).match(place)) {
+        if (Matches.territoryCanCollectIncomeFrom(player, data).match(place)) {
           rVal += TerritoryAttachment.getProduction(place);
         }
       }
@@ -491,9 +559,8 @@ public class StatPanel extends AbstractStatPanel {
     @Override
     public double getValue(final PlayerID player, final GameData data) {
       int rVal = 0;
-      final Match<Unit> ownedBy = Matches.unitIsOwnedBy(player);
       for (final Territory place : data.getMap().getTerritories()) {
-        rVal += place.getUnits().countMatches(ownedBy);
+        rVal += place.getUnits().getUnitCount(player);
       }
       return rVal;
     }
@@ -507,11 +574,12 @@ public class StatPanel extends AbstractStatPanel {
     @Override
     public double getValue(final PlayerID player, final GameData data) {
       final IntegerMap<UnitType> costs = BattleCalculator.getCostsForTUV(player, data);
-      final Match<Unit> unitIsOwnedBy = Matches.unitIsOwnedBy(player);
       int rVal = 0;
       for (final Territory place : data.getMap().getTerritories()) {
-        final Collection<Unit> owned = place.getUnits().getMatches(unitIsOwnedBy);
-        rVal += BattleCalculator.getTUV(owned, costs);
+        final IntegerMap<UnitType> owned = place.getUnits().getUnitsByType(player);
+        for (final UnitType type : owned.keySet()) {
+          rVal += owned.getInt(type) * costs.getInt(type);
+        }
       }
       return rVal;
     }
@@ -525,10 +593,7 @@ public class StatPanel extends AbstractStatPanel {
     @Override
     public double getValue(final PlayerID player, final GameData data) {
       int rVal = 0;
-      for (final Territory place : data.getMap().getTerritories()) {
-        if (!place.getOwner().equals(player)) {
-          continue;
-        }
+      for (final Territory place : data.getMap().getTerritoriesOwnedBy(player)) {
         final TerritoryAttachment ta = TerritoryAttachment.get(place);
         if (ta == null) {
           continue;
@@ -107,13 +107,7 @@ public class TerritoryDetailPanel extends AbstractStatPanel {
       labelText = "<html>" + ta.toStringForInfo(true, true) + "<br></html>";
     }
     add(new JLabel(labelText));
-    Collection<Unit> unitsInTerritory;
-    m_data.acquireReadLock();
-    try {
-      unitsInTerritory = territory.getUnits().getUnits();
-    } finally {
-      m_data.releaseReadLock();
-    }
+    final Collection<Unit> unitsInTerritory = m_data.readOptimistically(() -> territory.getUnits().getUnits());
     add(new JLabel("Units: " + unitsInTerritory.size()));
     final JScrollPane scroll = new JScrollPane(unitsInTerritoryPanel(unitsInTerritory, m_uiContext, m_data));
     scroll.setBorder(BorderFactory.createEmptyBorder());
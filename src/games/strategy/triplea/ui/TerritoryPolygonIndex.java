@@ -0,0 +1,190 @@
+package games.strategy.triplea.ui;
+
+import java.awt.Polygon;
+import java.awt.Rectangle;
+import java.awt.geom.Rectangle2D;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+
+import games.strategy.ui.Util;
+
+/**
+ * A uniform grid over the territory polygons of a map, so that hit testing a point or a rectangle only looks at the
+ * polygons whose bounding box shares a grid cell with it.
+ * <p>
+ * The grid is sized so there are about as many cells as polygons. Every polygon is listed in each cell its bounding
+ * box touches, in the iteration order of the map it was built from, so queries give the same answers in the same
+ * order as testing every polygon would.
+ * <p>
+ * The index is immutable and built once, when the map data is loaded.
+ */
+class TerritoryPolygonIndex {
+  private static final Entry[] NO_ENTRIES = new Entry[0];
+  private final int m_minX;
+  private final int m_minY;
+  private final int m_cellWidth;
+  private final int m_cellHeight;
+  private final int m_columns;
+  private final int m_rows;
+  // cell (column, row) is at row * m_columns + column
+  private final Entry[][] m_cells;
+  // territory names by their position in the map
+  private final String[] m_names;
+
+  TerritoryPolygonIndex(final Map<String, List<Polygon>> polygons) {
+    final List<Entry> entries = new ArrayList<>();
+    Rectangle extent = null;
+    m_names = new String[polygons.size()];
+    int territoryIndex = 0;
+    for (final Map.Entry<String, List<Polygon>> territory : polygons.entrySet()) {
+      m_names[territoryIndex] = territory.getKey();
+      final boolean water = Util.isTerritoryNameIndicatingWater(territory.getKey());
+      for (final Polygon polygon : territory.getValue()) {
+        final Entry entry = new Entry(territory.getKey(), territoryIndex, water, polygon);
+        entries.add(entry);
+        if (extent == null) {
+          extent = new Rectangle(entry.bounds);
+        } else {
+          extent.add(entry.bounds);
+        }
+      }
+      territoryIndex++;
+    }
+    if (extent == null) {
+      extent = new Rectangle();
+    }
+    final int cellsPerSide = Math.max(1, (int) Math.ceil(Math.sqrt(entries.size())));
+    m_minX = extent.x;
+    m_minY = extent.y;
+    m_cellWidth = Math.max(1, (extent.width + cellsPerSide - 1) / cellsPerSide);
+    m_cellHeight = Math.max(1, (extent.height + cellsPerSide - 1) / cellsPerSide);
+    m_columns = Math.max(1, (extent.width + m_cellWidth) / m_cellWidth);
+    m_rows = Math.max(1, (extent.height + m_cellHeight) / m_cellHeight);
+    final List<List<Entry>> cells = new ArrayList<>(m_columns * m_rows);
+    for (int i = 0; i < m_columns * m_rows; i++) {
+      cells.add(null);
+    }
+    for (final Entry entry : entries) {
+      final Rectangle bounds = entry.bounds;
+      final int lastColumn = column(bounds.getMaxX());
+      final int lastRow = row(bounds.getMaxY());
+      for (int row = row(bounds.getMinY()); row <= lastRow; row++) {
+        for (int column = column(bounds.getMinX()); column <= lastColumn; column++) {
+          final int cell = row * m_columns + column;
+          if (cells.get(cell) == null) {
+            cells.set(cell, new ArrayList<>(4));
+          }
+          cells.get(cell).add(entry);
+        }
+      }
+    }
+    m_cells = new Entry[cells.size()][];
+    for (int i = 0; i < m_cells.length; i++) {
+      final List<Entry> cell = cells.get(i);
+      m_cells[i] = cell == null ? NO_ENTRIES : cell.toArray(new Entry[cell.size()]);
+    }
+  }
+
+  private int column(final double x) {
+    return clamp((int) Math.floor((x - m_minX) / m_cellWidth), m_columns);
+  }
+
+  private int row(final double y) {
+    return clamp((int) Math.floor((y - m_minY) / m_cellHeight), m_rows);
+  }
+
+  private static int clamp(final int index, final int count) {
+    return Math.max(0, Math.min(count - 1, index));
+  }
+
+  /**
+   * @return the land territory containing the point, or if there is none, the last sea zone containing it, or null.
+   */
+  String getTerritoryAt(final double x, final double y) {
+    final double column = Math.floor((x - m_minX) / m_cellWidth);
+    final double row = Math.floor((y - m_minY) / m_cellHeight);
+    if (column < 0 || row < 0 || column >= m_columns || row >= m_rows) {
+      return null;
+    }
+    String seaName = null;
+    for (final Entry entry : m_cells[(int) row * m_columns + (int) column]) {
+      if (entry.polygon.contains(x, y)) {
+        if (entry.water) {
+          seaName = entry.name;
+        } else {
+          return entry.name;
+        }
+      }
+    }
+    return seaName;
+  }
+
+  /**
+   * @return the names of the territories with a polygon that intersects or is bound by the rectangle.
+   */
+  List<String> territoriesThatOverlap(final Rectangle2D bounds) {
+    final int firstColumn = column(bounds.getMinX());
+    final int lastColumn = column(bounds.getMaxX());
+    final int firstRow = row(bounds.getMinY());
+    final int lastRow = row(bounds.getMaxY());
+    // a territory can be in several of the cells, only report it once
+    int[] matches = null;
+    int matchCount = 0;
+    for (int row = firstRow; row <= lastRow; row++) {
+      for (int column = firstColumn; column <= lastColumn; column++) {
+        for (final Entry entry : m_cells[row * m_columns + column]) {
+          if (contains(matches, matchCount, entry.territoryIndex)) {
+            continue;
+          }
+          if (entry.polygon.intersects(bounds) || entry.polygon.contains(bounds)
+              || bounds.contains(entry.polygon.getBounds2D())) {
+            if (matches == null) {
+              matches = new int[4];
+            } else if (matchCount == matches.length) {
+              matches = Arrays.copyOf(matches, matchCount * 2);
+            }
+            matches[matchCount++] = entry.territoryIndex;
+          }
+        }
+      }
+    }
+    if (matchCount == 0) {
+      return Collections.emptyList();
+    }
+    // report them in map order, as a scan of every territory would
+    Arrays.sort(matches, 0, matchCount);
+    final List<String> rVal = new ArrayList<>(matchCount);
+    for (int i = 0; i < matchCount; i++) {
+      rVal.add(m_names[matches[i]]);
+    }
+    return rVal;
+  }
+
+  private static boolean contains(final int[] values, final int count, final int value) {
+    for (int i = 0; i < count; i++) {
+      if (values[i] == value) {
+        return true;
+      }
+    }
+    return false;
+  }
+
+  private static final class Entry {
+    private final String name;
+    private final int territoryIndex;
+    private final boolean water;
+    private final Polygon polygon;
+    private final Rectangle bounds;
+
+    private Entry(final String name, final int territoryIndex, final boolean water, final Polygon polygon) {
+      this.name = name;
+      this.territoryIndex = territoryIndex;
+      this.water = water;
+      this.polygon = polygon;
+      this.bounds = polygon.getBounds();
+    }
+  }
+}
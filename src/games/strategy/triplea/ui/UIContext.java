@@ -100,7 +100,7 @@ public class UIContext extends AbstractUIContext {
       @Override
       public void run() {
         // change the resource loader (this allows us to play sounds the map folder, rather than just default sounds)
-        ClipPlayer.getInstance(m_resourceLoader);
+        ClipPlayer.getInstance(m_resourceLoader).decodeFrequentClips();
       }
     };
     (new Thread(loadSounds, "Triplea sound loader")).start();
@@ -197,18 +197,24 @@ public class HistoryPanel extends JPanel {
       return;
     }
     final TreePath path = m_tree.getSelectionPath();
-    final TreeNode selected = (TreeNode) path.getLastPathComponent();
-    @SuppressWarnings("unchecked")
-    final Enumeration<TreeNode> nodeEnum =
-        ((DefaultMutableTreeNode) m_tree.getModel().getRoot()).depthFirstEnumeration();
+    final DefaultMutableTreeNode selected = (DefaultMutableTreeNode) path.getLastPathComponent();
+    // the nodes before the selected one depth first are the nodes below it, then the nodes before it that are not
+    // above it, walked from the selected node so that only the rounds on the way are read from a savegame
     TreeNode previous = null;
-    while (nodeEnum.hasMoreElements()) {
-      final TreeNode current = nodeEnum.nextElement();
-      if (current == selected) {
-        break;
-      } else if (current.getParent() instanceof Step) {
+    final Enumeration<?> below = selected.preorderEnumeration();
+    below.nextElement();
+    while (below.hasMoreElements()) {
+      final TreeNode current = (TreeNode) below.nextElement();
+      if (current.getParent() instanceof Step) {
+        previous = current;
+      }
+    }
+    DefaultMutableTreeNode current = selected.getPreviousNode();
+    while (previous == null && current != null) {
+      if (current.getParent() instanceof Step && !selected.isNodeAncestor(current)) {
         previous = current;
       }
+      current = current.getPreviousNode();
     }
     if (previous != null) {
       navigateTo(previous);
@@ -240,21 +246,16 @@ public class HistoryPanel extends JPanel {
       return;
     }
     final TreePath path = m_tree.getSelectionPath();
-    final TreeNode selected = (TreeNode) path.getLastPathComponent();
-    @SuppressWarnings("unchecked")
-    final Enumeration<TreeNode> nodeEnum = ((DefaultMutableTreeNode) m_tree.getModel().getRoot()).preorderEnumeration();
+    final DefaultMutableTreeNode selected = (DefaultMutableTreeNode) path.getLastPathComponent();
+    // walk on from the selected node, so that only the rounds on the way are read from a savegame
     TreeNode next = null;
-    boolean foundSelected = false;
-    while (nodeEnum.hasMoreElements()) {
-      final TreeNode current = nodeEnum.nextElement();
-      if (current == selected) {
-        foundSelected = true;
-      } else if (foundSelected) {
-        if (current.getParent() instanceof Step) {
-          next = current;
-          break;
-        }
+    DefaultMutableTreeNode current = selected.getNextNode();
+    while (current != null) {
+      if (current.getParent() instanceof Step) {
+        next = current;
+        break;
       }
+      current = current.getNextNode();
     }
     if (next != null) {
       navigateTo(next);
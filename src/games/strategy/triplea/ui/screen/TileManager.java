@@ -498,8 +498,7 @@ public class TileManager {
     if (units == null) {
       return null;
     }
-    data.acquireReadLock();
-    try {
+    return data.readOptimistically(() -> {
       Tile.S_TILE_LOCKUTIL.acquireLock(m_lock);
       try {
         for (final UnitsDrawer drawer : m_allUnitDrawables) {
@@ -515,14 +514,14 @@ public class TileManager {
       } finally {
         Tile.S_TILE_LOCKUTIL.releaseLock(m_lock);
       }
-    } finally {
-      data.releaseReadLock();
-    }
+    });
   }
 
+  /**
+   * Called as the mouse moves, so it reads optimistically rather than wait behind a change for the read lock.
+   */
   public Tuple<Territory, List<Unit>> getUnitsAtPoint(final double x, final double y, final GameData gameData) {
-    gameData.acquireReadLock();
-    try {
+    return gameData.readOptimistically(() -> {
       Tile.S_TILE_LOCKUTIL.acquireLock(m_lock);
       try {
         for (final UnitsDrawer drawer : m_allUnitDrawables) {
@@ -537,9 +536,7 @@ public class TileManager {
       } finally {
         Tile.S_TILE_LOCKUTIL.releaseLock(m_lock);
       }
-    } finally {
-      gameData.releaseReadLock();
-    }
+    });
   }
 
   public void setTerritoryOverlay(final Territory territory, final Color color, final int alpha, final GameData data,
@@ -0,0 +1,229 @@
+package games.strategy.util;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * A flattened form of a tree of {@link CompositeMatchAnd}, {@link CompositeMatchOr} and {@link InverseMatch} objects.
+ * <p>
+ * Nested composites of the same kind are inlined into a single list of clauses, double negations are removed and
+ * always/never matches are folded away, so evaluating the compiled match walks one list instead of a tree of
+ * composite objects.
+ * <p>
+ * {@link #compile(Match)} keeps the original clause order, which is always safe. {@link #adaptive(Match)}
+ * additionally reorders clauses by their observed selectivity and sampled cost so that the clause most likely to
+ * decide the result cheaply is evaluated first. Only use the adaptive form when the clauses are side effect free and
+ * do not rely on an earlier clause having guarded them (for example a null check followed by a dereference).
+ * <p>
+ * A compiled match is a snapshot: matches added to the source composite after compiling are not seen.
+ */
+public final class CompiledMatch<T> extends Match<T> {
+  private static final int REORDER_INTERVAL = 1024;
+  private static final int TIMING_SAMPLE_MASK = 63;
+
+  private final boolean isAnd;
+  private final boolean isAdaptive;
+  // replaced, never modified, when the adaptive form reorders
+  private volatile List<Clause<T>> clauses;
+  // statistics are updated without synchronization, lost updates only affect the clause order
+  private int evaluations;
+
+  /**
+   * Returns a flattened equivalent of the given match that evaluates its clauses in their original order.
+   */
+  public static <T> Match<T> compile(final Match<T> match) {
+    return compile(match, false);
+  }
+
+  /**
+   * Returns a flattened equivalent of the given match that reorders its clauses by observed selectivity and cost.
+   */
+  public static <T> Match<T> adaptive(final Match<T> match) {
+    return compile(match, true);
+  }
+
+  private static <T> Match<T> compile(final Match<T> match, final boolean isAdaptive) {
+    final Match<T> simplified = removeDoubleNegation(match);
+    if (simplified instanceof InverseMatch) {
+      final Match<T> inner = ((InverseMatch<T>) simplified).getMatch();
+      final Match<T> compiledInner = compile(inner, isAdaptive);
+      return compiledInner == inner ? simplified : new InverseMatch<>(compiledInner);
+    }
+    final boolean isAnd;
+    if (isAndNode(simplified)) {
+      isAnd = true;
+    } else if (isOrNode(simplified)) {
+      isAnd = false;
+    } else {
+      return simplified;
+    }
+    final List<Match<T>> flattened = new ArrayList<>();
+    flatten(simplified, isAnd, isAdaptive, flattened);
+    final List<Match<T>> kept = new ArrayList<>(flattened.size());
+    final Match<T> always = Match.getAlwaysMatch();
+    final Match<T> never = Match.getNeverMatch();
+    for (final Match<T> clause : flattened) {
+      // an always match cannot make an AND fail, and a never match cannot make an OR succeed
+      if (clause == (isAnd ? always : never)) {
+        continue;
+      }
+      // a never match decides an AND, and an always match decides an OR
+      if (clause == (isAnd ? never : always)) {
+        return isAnd ? never : always;
+      }
+      kept.add(clause);
+    }
+    if (kept.isEmpty()) {
+      return isAnd ? Match.getAlwaysMatch() : Match.getNeverMatch();
+    }
+    if (kept.size() == 1) {
+      return kept.get(0);
+    }
+    return new CompiledMatch<>(isAnd, isAdaptive, kept);
+  }
+
+  private static <T> void flatten(final Match<T> node, final boolean isAnd, final boolean isAdaptive,
+      final List<Match<T>> out) {
+    for (final Match<T> child : childrenOf(node)) {
+      final Match<T> simplified = removeDoubleNegation(child);
+      if (isAnd ? isAndNode(simplified) : isOrNode(simplified)) {
+        flatten(simplified, isAnd, isAdaptive, out);
+      } else {
+        out.add(compile(simplified, isAdaptive));
+      }
+    }
+  }
+
+  private static <T> List<Match<T>> childrenOf(final Match<T> node) {
+    if (node instanceof CompositeMatch) {
+      return ((CompositeMatch<T>) node).getMatches();
+    }
+    final List<Match<T>> children = new ArrayList<>();
+    for (final Clause<T> clause : ((CompiledMatch<T>) node).clauses) {
+      children.add(clause.match);
+    }
+    return children;
+  }
+
+  private static boolean isAndNode(final Match<?> match) {
+    return match instanceof CompositeMatchAnd || (match instanceof CompiledMatch && ((CompiledMatch<?>) match).isAnd);
+  }
+
+  private static boolean isOrNode(final Match<?> match) {
+    return match instanceof CompositeMatchOr || (match instanceof CompiledMatch && !((CompiledMatch<?>) match).isAnd);
+  }
+
+  private static <T> Match<T> removeDoubleNegation(final Match<T> match) {
+    Match<T> current = match;
+    while (current instanceof InverseMatch && ((InverseMatch<T>) current).getMatch() instanceof InverseMatch) {
+      current = ((InverseMatch<T>) ((InverseMatch<T>) current).getMatch()).getMatch();
+    }
+    return current;
+  }
+
+  private CompiledMatch(final boolean isAnd, final boolean isAdaptive, final List<Match<T>> matches) {
+    this.isAnd = isAnd;
+    this.isAdaptive = isAdaptive;
+    final List<Clause<T>> list = new ArrayList<>(matches.size());
+    for (final Match<T> match : matches) {
+      list.add(new Clause<>(match));
+    }
+    clauses = list;
+  }
+
+  @Override
+  public boolean match(final T o) {
+    final List<Clause<T>> current = clauses;
+    final int size = current.size();
+    if (!isAdaptive) {
+      for (int i = 0; i < size; i++) {
+        if (current.get(i).match.match(o) != isAnd) {
+          return !isAnd;
+        }
+      }
+      return isAnd;
+    }
+    final int evaluation = ++evaluations;
+    final boolean sampleTiming = (evaluation & TIMING_SAMPLE_MASK) == 0;
+    boolean result = isAnd;
+    for (int i = 0; i < size; i++) {
+      final Clause<T> clause = current.get(i);
+      final boolean clauseResult;
+      if (sampleTiming) {
+        final long start = System.nanoTime();
+        clauseResult = clause.match.match(o);
+        clause.sampledNanos += System.nanoTime() - start;
+        clause.sampledEvaluations++;
+      } else {
+        clauseResult = clause.match.match(o);
+      }
+      clause.evaluations++;
+      if (clauseResult != isAnd) {
+        clause.decisions++;
+        result = !isAnd;
+        break;
+      }
+    }
+    if (evaluation % REORDER_INTERVAL == 0) {
+      reorder(current);
+    }
+    return result;
+  }
+
+  /**
+   * Orders the clauses by expected cost per decision, the optimal order for independent clauses.
+   */
+  private void reorder(final List<Clause<T>> current) {
+    final List<Clause<T>> sorted = new ArrayList<>(current);
+    sorted.sort(Comparator.comparingDouble(Clause::getCostPerDecision));
+    for (final Clause<T> clause : sorted) {
+      clause.decay();
+    }
+    clauses = sorted;
+  }
+
+  /**
+   * Returns the clauses in their current evaluation order.
+   */
+  public List<Match<T>> getClauses() {
+    final List<Match<T>> matches = new ArrayList<>();
+    for (final Clause<T> clause : clauses) {
+      matches.add(clause.match);
+    }
+    return matches;
+  }
+
+  public boolean isAnd() {
+    return isAnd;
+  }
+
+  private static final class Clause<T> {
+    private final Match<T> match;
+    private long evaluations;
+    private long decisions;
+    private long sampledNanos;
+    private long sampledEvaluations;
+
+    private Clause(final Match<T> match) {
+      this.match = match;
+    }
+
+    private double getCostPerDecision() {
+      // laplace smoothing keeps clauses that have not been seen yet in the middle of the order
+      final double decisionProbability = (decisions + 1.0) / (evaluations + 2.0);
+      final double cost = sampledEvaluations == 0 ? 1.0 : Math.max(1.0, (double) sampledNanos / sampledEvaluations);
+      return cost / decisionProbability;
+    }
+
+    /**
+     * Halves the statistics so that the order follows changes in the matched data.
+     */
+    private void decay() {
+      evaluations /= 2;
+      decisions /= 2;
+      sampledNanos /= 2;
+      sampledEvaluations /= 2;
+    }
+  }
+}
@@ -1,32 +1,44 @@
 package games.strategy.util;
 
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.io.ObjectStreamField;
 import java.io.Serializable;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.HashMap;
 import java.util.Iterator;
+import java.util.Map;
 import java.util.Map.Entry;
 import java.util.Set;
 
 /**
  * A utility class for mapping Objects to ints. <br>
- * Supports adding and comparing of maps.
+ * Supports adding and comparing of maps. <br>
+ * Values are stored as primitive ints, see {@link ObjectIntHashMap}. Keys are iterated in insert order.
  */
 public class IntegerMap<T> implements Cloneable, Serializable {
   private static final long serialVersionUID = 6856531659284300930L;
-  private final HashMap<T, Integer> mapValues;
+  // keeps the serialized form of the HashMap backed version, so old save games still load
+  private static final ObjectStreamField[] serialPersistentFields =
+      {new ObjectStreamField("mapValues", HashMap.class)};
+  private transient ObjectIntHashMap<T> mapValues;
 
   /** Creates new IntegerMap */
   public IntegerMap() {
-    mapValues = new HashMap<>();
+    mapValues = new ObjectIntHashMap<>();
   }
 
   public IntegerMap(final int size) {
-    mapValues = new HashMap<>(size);
+    mapValues = new ObjectIntHashMap<>(size);
   }
 
+  /**
+   * The load factor is ignored, the backing table is never more than half full.
+   */
   public IntegerMap(final int size, final float loadFactor) {
-    mapValues = new HashMap<>(size, loadFactor);
+    this(size);
   }
 
   public IntegerMap(final T object, final int value) {
@@ -46,10 +58,7 @@ public class IntegerMap<T> implements Cloneable, Serializable {
    * @param integerMap
    */
   public IntegerMap(final IntegerMap<T> integerMap) {
-    mapValues = new HashMap<>(integerMap.size());
-    for (final T t : integerMap.keySet()) {
-      mapValues.put(t, integerMap.getInt(t));
-    }
+    mapValues = new ObjectIntHashMap<>(integerMap.mapValues);
   }
 
   /**
@@ -59,7 +68,7 @@ public class IntegerMap<T> implements Cloneable, Serializable {
    * @param integerMaps
    */
   public IntegerMap(final IntegerMap<T>[] integerMaps) {
-    mapValues = new HashMap<>();
+    mapValues = new ObjectIntHashMap<>();
     for (final IntegerMap<T> integerMap : integerMaps) {
       this.add(integerMap);
     }
@@ -69,20 +78,21 @@ public class IntegerMap<T> implements Cloneable, Serializable {
     return mapValues.size();
   }
 
+  /**
+   * A null value is stored as 0.
+   */
   public void put(final T key, final Integer value) {
-    mapValues.put(key, value);
+    mapValues.put(key, value == null ? 0 : value);
   }
 
   public void put(final T key, final int value) {
-    final Integer obj = Integer.valueOf(value);
-    mapValues.put(key, obj);
+    mapValues.put(key, value);
   }
 
   public void putAll(final Collection<T> keys, final int value) {
-    final Integer obj = Integer.valueOf(value);
     final Iterator<T> iter = keys.iterator();
     while (iter.hasNext()) {
-      put(iter.next(), obj);
+      put(iter.next(), value);
     }
   }
 
@@ -97,11 +107,7 @@ public class IntegerMap<T> implements Cloneable, Serializable {
    * returns 0 if no key found.
    */
   public int getInt(final T key) {
-    final Integer val = mapValues.get(key);
-    if (val == null) {
-      return 0;
-    }
-    return val;
+    return mapValues.get(key);
   }
 
   public void add(final T key, final Integer value) {
@@ -109,13 +115,7 @@ public class IntegerMap<T> implements Cloneable, Serializable {
   }
 
   public void add(final T key, final int value) {
-    if (mapValues.get(key) == null) {
-      put(key, value);
-    } else {
-      final Integer oldVal = mapValues.get(key);
-      final int newVal = oldVal + value;
-      put(key, newVal);
-    }
+    mapValues.add(key, value);
   }
 
   /**
@@ -128,8 +128,8 @@ public class IntegerMap<T> implements Cloneable, Serializable {
    *        (1 = floor, 2 = round, 3 = ceil)
    */
   public void multiplyAllValuesBy(final double multiplyBy, final int RoundType) {
-    for (final T t : keySet()) {
-      double val = mapValues.get(t);
+    for (int i = mapValues.firstPosition(); i >= 0; i = mapValues.nextPosition(i)) {
+      double val = mapValues.valueAt(i);
       switch (RoundType) {
         case 1:
           val = Math.floor(val * multiplyBy);
@@ -144,7 +144,7 @@ public class IntegerMap<T> implements Cloneable, Serializable {
           val = val * multiplyBy;
           break;
       }
-      put(t, (int) val);
+      mapValues.setValueAt(i, (int) val);
     }
   }
 
@@ -169,9 +169,9 @@ public class IntegerMap<T> implements Cloneable, Serializable {
     if (mapValues.isEmpty()) {
       return false;
     }
-    final int first = mapValues.values().iterator().next();
-    for (final int value : mapValues.values()) {
-      if (first != value) {
+    final int first = mapValues.valueAt(mapValues.firstPosition());
+    for (int i = mapValues.firstPosition(); i >= 0; i = mapValues.nextPosition(i)) {
+      if (first != mapValues.valueAt(i)) {
         return false;
       }
     }
@@ -187,8 +187,8 @@ public class IntegerMap<T> implements Cloneable, Serializable {
     if (mapValues.isEmpty()) {
       return false;
     }
-    for (final int value : mapValues.values()) {
-      if (integer != value) {
+    for (int i = mapValues.firstPosition(); i >= 0; i = mapValues.nextPosition(i)) {
+      if (integer != mapValues.valueAt(i)) {
         return false;
       }
     }
@@ -203,9 +203,9 @@ public class IntegerMap<T> implements Cloneable, Serializable {
       return 0;
     }
     int max = Integer.MIN_VALUE;
-    for (final int value : mapValues.values()) {
-      if (value > max) {
-        max = value;
+    for (int i = mapValues.firstPosition(); i >= 0; i = mapValues.nextPosition(i)) {
+      if (mapValues.valueAt(i) > max) {
+        max = mapValues.valueAt(i);
       }
     }
     return max;
@@ -219,9 +219,9 @@ public class IntegerMap<T> implements Cloneable, Serializable {
       return 0;
     }
     int min = Integer.MAX_VALUE;
-    for (final int value : mapValues.values()) {
-      if (value < min) {
-        min = value;
+    for (int i = mapValues.firstPosition(); i >= 0; i = mapValues.nextPosition(i)) {
+      if (mapValues.valueAt(i) < min) {
+        min = mapValues.valueAt(i);
       }
     }
     return min;
@@ -236,10 +236,10 @@ public class IntegerMap<T> implements Cloneable, Serializable {
     }
     int max = Integer.MIN_VALUE;
     T rVal = null;
-    for (final Entry<T, Integer> entry : mapValues.entrySet()) {
-      if (entry.getValue() > max) {
-        max = entry.getValue();
-        rVal = entry.getKey();
+    for (int i = mapValues.firstPosition(); i >= 0; i = mapValues.nextPosition(i)) {
+      if (mapValues.valueAt(i) > max) {
+        max = mapValues.valueAt(i);
+        rVal = mapValues.keyAt(i);
       }
     }
     return rVal;
@@ -254,10 +254,10 @@ public class IntegerMap<T> implements Cloneable, Serializable {
     }
     int min = Integer.MAX_VALUE;
     T rVal = null;
-    for (final Entry<T, Integer> entry : mapValues.entrySet()) {
-      if (entry.getValue() < min) {
-        min = entry.getValue();
-        rVal = entry.getKey();
+    for (int i = mapValues.firstPosition(); i >= 0; i = mapValues.nextPosition(i)) {
+      if (mapValues.valueAt(i) < min) {
+        min = mapValues.valueAt(i);
+        rVal = mapValues.keyAt(i);
       }
     }
     return rVal;
@@ -268,22 +268,18 @@ public class IntegerMap<T> implements Cloneable, Serializable {
    */
   public int totalValues() {
     int sum = 0;
-    for (final Integer value : mapValues.values()) {
-      sum += value;
+    for (int i = mapValues.firstPosition(); i >= 0; i = mapValues.nextPosition(i)) {
+      sum += mapValues.valueAt(i);
     }
     return sum;
   }
 
   public void add(final IntegerMap<T> map) {
-    for (final T key : map.keySet()) {
-      add(key, map.getInt(key));
-    }
+    addMultiple(map, 1);
   }
 
   public void subtract(final IntegerMap<T> map) {
-    for (final T key : map.keySet()) {
-      add(key, -map.getInt(key));
-    }
+    addMultiple(map, -1);
   }
 
   /**
@@ -295,8 +291,9 @@ public class IntegerMap<T> implements Cloneable, Serializable {
    * that a and b are not equal.
    */
   public boolean greaterThanOrEqualTo(final IntegerMap<T> map) {
-    for (final T key : map.keySet()) {
-      if (!(this.getInt(key) >= map.getInt(key))) {
+    final ObjectIntHashMap<T> other = map.mapValues;
+    for (int i = other.firstPosition(); i >= 0; i = other.nextPosition(i)) {
+      if (!(this.getInt(other.keyAt(i)) >= other.valueAt(i))) {
         return false;
       }
     }
@@ -307,8 +304,8 @@ public class IntegerMap<T> implements Cloneable, Serializable {
    * True if all values are >= 0.
    */
   public boolean isPositive() {
-    for (final T key : mapValues.keySet()) {
-      if (getInt(key) < 0) {
+    for (int i = mapValues.firstPosition(); i >= 0; i = mapValues.nextPosition(i)) {
+      if (mapValues.valueAt(i) < 0) {
         return false;
       }
     }
@@ -316,9 +313,7 @@ public class IntegerMap<T> implements Cloneable, Serializable {
   }
 
   public IntegerMap<T> copy() {
-    final IntegerMap<T> copy = new IntegerMap<>();
-    copy.add(this);
-    return copy;
+    return new IntegerMap<>(this);
   }
 
   @Override
@@ -330,8 +325,9 @@ public class IntegerMap<T> implements Cloneable, Serializable {
    * Add map * multiple
    */
   public void addMultiple(final IntegerMap<T> map, final int multiple) {
-    for (final T key : map.keySet()) {
-      add(key, map.getInt(key) * multiple);
+    final ObjectIntHashMap<T> other = map.mapValues;
+    for (int i = other.firstPosition(); i >= 0; i = other.nextPosition(i)) {
+      mapValues.add(other.keyAt(i), other.valueAt(i) * multiple);
     }
   }
 
@@ -365,9 +361,9 @@ public class IntegerMap<T> implements Cloneable, Serializable {
 
   public int sumMatches(final Match<T> matcher) {
     int sum = 0;
-    for (final T obj : mapValues.keySet()) {
-      if (matcher.match(obj)) {
-        sum += getInt(obj);
+    for (int i = mapValues.firstPosition(); i >= 0; i = mapValues.nextPosition(i)) {
+      if (matcher.match(mapValues.keyAt(i))) {
+        sum += mapValues.valueAt(i);
       }
     }
     return sum;
@@ -409,20 +405,18 @@ public class IntegerMap<T> implements Cloneable, Serializable {
   public String toString() {
     final StringBuilder buf = new StringBuilder();
     buf.append("IntegerMap:\n");
-    final Iterator<T> iter = mapValues.keySet().iterator();
-    if (!iter.hasNext()) {
+    if (mapValues.isEmpty()) {
       buf.append("empty\n");
     }
-    while (iter.hasNext()) {
-      final T current = iter.next();
-      buf.append(current).append(" -> ").append(getInt(current)).append("\n");
+    for (int i = mapValues.firstPosition(); i >= 0; i = mapValues.nextPosition(i)) {
+      buf.append(mapValues.keyAt(i)).append(" -> ").append(mapValues.valueAt(i)).append("\n");
     }
     return buf.toString();
   }
 
   @Override
   public int hashCode() {
-    return mapValues.hashCode();
+    return mapValues.mapHashCode();
   }
 
   /**
@@ -440,17 +434,24 @@ public class IntegerMap<T> implements Cloneable, Serializable {
       return false;
     }
     final IntegerMap<T> map = (IntegerMap<T>) o;
-    if (!map.keySet().equals(this.keySet())) {
-      return false;
-    }
-    if (!map.mapValues.equals(this.mapValues)) {
-      return false;
-    }
-    for (final T key : map.keySet()) {
-      if (!(this.getInt(key) == map.getInt(key))) {
-        return false;
+    return map.mapValues.mappingsEqual(this.mapValues);
+  }
+
+  private void writeObject(final ObjectOutputStream out) throws IOException {
+    final ObjectOutputStream.PutField fields = out.putFields();
+    fields.put("mapValues", mapValues.copyInto(new HashMap<>(Math.max(16, mapValues.size() * 4 / 3 + 1))));
+    out.writeFields();
+  }
+
+  @SuppressWarnings("unchecked")
+  private void readObject(final ObjectInputStream in) throws IOException, ClassNotFoundException {
+    final ObjectInputStream.GetField fields = in.readFields();
+    final Map<T, Integer> values = (Map<T, Integer>) fields.get("mapValues", null);
+    mapValues = new ObjectIntHashMap<>(values == null ? 0 : values.size());
+    if (values != null) {
+      for (final Entry<T, Integer> entry : values.entrySet()) {
+        put(entry.getKey(), entry.getValue());
       }
     }
-    return true;
   }
 }
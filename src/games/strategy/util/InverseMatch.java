@@ -15,4 +15,8 @@ public class InverseMatch<T> extends Match<T> {
   public boolean match(final T o) {
     return !match.match(o);
   }
+
+  Match<T> getMatch() {
+    return match;
+  }
 }
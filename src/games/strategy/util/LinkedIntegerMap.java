@@ -1,33 +1,44 @@
 package games.strategy.util;
 
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.io.ObjectStreamField;
 import java.io.Serializable;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Iterator;
 import java.util.LinkedHashMap;
+import java.util.Map;
 import java.util.Map.Entry;
 import java.util.Set;
 
 /**
  * A utility class for mapping Objects to ints. <br>
  * Supports adding and comparing of maps. <br>
- * Uses LinkedHashMap to keep insert order.
+ * Keeps insert order. Values are stored as primitive ints, see {@link ObjectIntHashMap}.
  */
 public class LinkedIntegerMap<T> implements Cloneable, Serializable {
   private static final long serialVersionUID = 6856531659284300930L;
-  private final LinkedHashMap<T, Integer> m_values;
+  // keeps the serialized form of the LinkedHashMap backed version, so old save games still load
+  private static final ObjectStreamField[] serialPersistentFields =
+      {new ObjectStreamField("m_values", LinkedHashMap.class)};
+  private transient ObjectIntHashMap<T> m_values;
 
   /** Creates new IntegerMap */
   public LinkedIntegerMap() {
-    m_values = new LinkedHashMap<>();
+    m_values = new ObjectIntHashMap<>();
   }
 
   public LinkedIntegerMap(final int size) {
-    m_values = new LinkedHashMap<>(size);
+    m_values = new ObjectIntHashMap<>(size);
   }
 
+  /**
+   * The load factor is ignored, the backing table is never more than half full.
+   */
   public LinkedIntegerMap(final int size, final float loadFactor) {
-    m_values = new LinkedHashMap<>(size, loadFactor);
+    this(size);
   }
 
   public LinkedIntegerMap(final T object, final int value) {
@@ -47,14 +58,7 @@ public class LinkedIntegerMap<T> implements Cloneable, Serializable {
    * @param integerMap
    */
   public LinkedIntegerMap(final LinkedIntegerMap<T> integerMap) {
-    /*
-     * this will also work:
-     * m_values = new HashMap<T,Integer>(integerMap.m_values);
-     */
-    m_values = new LinkedHashMap<>(integerMap.size());
-    for (final T t : integerMap.keySet()) {
-      m_values.put(t, integerMap.getInt(t));
-    }
+    m_values = new ObjectIntHashMap<>(integerMap.m_values);
   }
 
   /**
@@ -64,7 +68,7 @@ public class LinkedIntegerMap<T> implements Cloneable, Serializable {
    * @param integerMap
    */
   public LinkedIntegerMap(final LinkedIntegerMap<T>[] integerMaps) {
-    m_values = new LinkedHashMap<>();
+    m_values = new ObjectIntHashMap<>();
     for (final LinkedIntegerMap<T> integerMap : integerMaps) {
       this.add(integerMap);
     }
@@ -74,20 +78,21 @@ public class LinkedIntegerMap<T> implements Cloneable, Serializable {
     return m_values.size();
   }
 
+  /**
+   * A null value is stored as 0.
+   */
   public void put(final T key, final Integer value) {
-    m_values.put(key, value);
+    m_values.put(key, value == null ? 0 : value);
   }
 
   public void put(final T key, final int value) {
-    final Integer obj = Integer.valueOf(value);
-    m_values.put(key, obj);
+    m_values.put(key, value);
   }
 
   public void putAll(final Collection<T> keys, final int value) {
-    final Integer obj = Integer.valueOf(value);
     final Iterator<T> iter = keys.iterator();
     while (iter.hasNext()) {
-      put(iter.next(), obj);
+      put(iter.next(), value);
     }
   }
 
@@ -102,11 +107,7 @@ public class LinkedIntegerMap<T> implements Cloneable, Serializable {
    * returns 0 if no key found.
    */
   public int getInt(final T key) {
-    final Integer val = m_values.get(key);
-    if (val == null) {
-      return 0;
-    }
-    return val;
+    return m_values.get(key);
   }
 
   public void add(final T key, final Integer value) {
@@ -114,13 +115,7 @@ public class LinkedIntegerMap<T> implements Cloneable, Serializable {
   }
 
   public void add(final T key, final int value) {
-    if (m_values.get(key) == null) {
-      put(key, value);
-    } else {
-      final Integer oldVal = m_values.get(key);
-      final int newVal = oldVal + value;
-      put(key, newVal);
-    }
+    m_values.add(key, value);
   }
 
   /**
@@ -133,8 +128,8 @@ public class LinkedIntegerMap<T> implements Cloneable, Serializable {
    *        (1 = floor, 2 = round, 3 = ceil)
    */
   public void multiplyAllValuesBy(final double multiplyBy, final int RoundType) {
-    for (final T t : keySet()) {
-      double val = m_values.get(t);
+    for (int i = m_values.firstPosition(); i >= 0; i = m_values.nextPosition(i)) {
+      double val = m_values.valueAt(i);
       switch (RoundType) {
         case 1:
           val = Math.floor(val * multiplyBy);
@@ -149,7 +144,7 @@ public class LinkedIntegerMap<T> implements Cloneable, Serializable {
           val = val * multiplyBy;
           break;
       }
-      put(t, (int) val);
+      m_values.setValueAt(i, (int) val);
     }
   }
 
@@ -174,9 +169,9 @@ public class LinkedIntegerMap<T> implements Cloneable, Serializable {
     if (m_values.isEmpty()) {
       return false;
     }
-    final int first = m_values.values().iterator().next();
-    for (final int value : m_values.values()) {
-      if (first != value) {
+    final int first = m_values.valueAt(m_values.firstPosition());
+    for (int i = m_values.firstPosition(); i >= 0; i = m_values.nextPosition(i)) {
+      if (first != m_values.valueAt(i)) {
         return false;
       }
     }
@@ -192,8 +187,8 @@ public class LinkedIntegerMap<T> implements Cloneable, Serializable {
     if (m_values.isEmpty()) {
       return false;
     }
-    for (final int value : m_values.values()) {
-      if (integer != value) {
+    for (int i = m_values.firstPosition(); i >= 0; i = m_values.nextPosition(i)) {
+      if (integer != m_values.valueAt(i)) {
         return false;
       }
     }
@@ -208,9 +203,9 @@ public class LinkedIntegerMap<T> implements Cloneable, Serializable {
       return 0;
     }
     int max = Integer.MIN_VALUE;
-    for (final int value : m_values.values()) {
-      if (value > max) {
-        max = value;
+    for (int i = m_values.firstPosition(); i >= 0; i = m_values.nextPosition(i)) {
+      if (m_values.valueAt(i) > max) {
+        max = m_values.valueAt(i);
       }
     }
     return max;
@@ -224,9 +219,9 @@ public class LinkedIntegerMap<T> implements Cloneable, Serializable {
       return 0;
     }
     int min = Integer.MAX_VALUE;
-    for (final int value : m_values.values()) {
-      if (value < min) {
-        min = value;
+    for (int i = m_values.firstPosition(); i >= 0; i = m_values.nextPosition(i)) {
+      if (m_values.valueAt(i) < min) {
+        min = m_values.valueAt(i);
       }
     }
     return min;
@@ -241,10 +236,10 @@ public class LinkedIntegerMap<T> implements Cloneable, Serializable {
     }
     int max = Integer.MIN_VALUE;
     T rVal = null;
-    for (final Entry<T, Integer> entry : m_values.entrySet()) {
-      if (entry.getValue() > max) {
-        max = entry.getValue();
-        rVal = entry.getKey();
+    for (int i = m_values.firstPosition(); i >= 0; i = m_values.nextPosition(i)) {
+      if (m_values.valueAt(i) > max) {
+        max = m_values.valueAt(i);
+        rVal = m_values.keyAt(i);
       }
     }
     return rVal;
@@ -259,10 +254,10 @@ public class LinkedIntegerMap<T> implements Cloneable, Serializable {
     }
     int min = Integer.MAX_VALUE;
     T rVal = null;
-    for (final Entry<T, Integer> entry : m_values.entrySet()) {
-      if (entry.getValue() < min) {
-        min = entry.getValue();
-        rVal = entry.getKey();
+    for (int i = m_values.firstPosition(); i >= 0; i = m_values.nextPosition(i)) {
+      if (m_values.valueAt(i) < min) {
+        min = m_values.valueAt(i);
+        rVal = m_values.keyAt(i);
       }
     }
     return rVal;
@@ -273,22 +268,18 @@ public class LinkedIntegerMap<T> implements Cloneable, Serializable {
    */
   public int totalValues() {
     int sum = 0;
-    for (final Integer value : m_values.values()) {
-      sum += value;
+    for (int i = m_values.firstPosition(); i >= 0; i = m_values.nextPosition(i)) {
+      sum += m_values.valueAt(i);
     }
     return sum;
   }
 
   public void add(final LinkedIntegerMap<T> map) {
-    for (final T key : map.keySet()) {
-      add(key, map.getInt(key));
-    }
+    addMultiple(map, 1);
   }
 
   public void subtract(final LinkedIntegerMap<T> map) {
-    for (final T key : map.keySet()) {
-      add(key, -map.getInt(key));
-    }
+    addMultiple(map, -1);
   }
 
   /**
@@ -300,8 +291,9 @@ public class LinkedIntegerMap<T> implements Cloneable, Serializable {
    * that a and b are not equal.
    */
   public boolean greaterThanOrEqualTo(final LinkedIntegerMap<T> map) {
-    for (final T key : map.keySet()) {
-      if (!(this.getInt(key) >= map.getInt(key))) {
+    final ObjectIntHashMap<T> other = map.m_values;
+    for (int i = other.firstPosition(); i >= 0; i = other.nextPosition(i)) {
+      if (!(this.getInt(other.keyAt(i)) >= other.valueAt(i))) {
         return false;
       }
     }
@@ -312,8 +304,8 @@ public class LinkedIntegerMap<T> implements Cloneable, Serializable {
    * True if all values are >= 0.
    */
   public boolean isPositive() {
-    for (final T key : m_values.keySet()) {
-      if (getInt(key) < 0) {
+    for (int i = m_values.firstPosition(); i >= 0; i = m_values.nextPosition(i)) {
+      if (m_values.valueAt(i) < 0) {
         return false;
       }
     }
@@ -321,9 +313,7 @@ public class LinkedIntegerMap<T> implements Cloneable, Serializable {
   }
 
   public LinkedIntegerMap<T> copy() {
-    final LinkedIntegerMap<T> copy = new LinkedIntegerMap<>();
-    copy.add(this);
-    return copy;
+    return new LinkedIntegerMap<>(this);
   }
 
   @Override
@@ -335,8 +325,9 @@ public class LinkedIntegerMap<T> implements Cloneable, Serializable {
    * Add map * multiple
    */
   public void addMultiple(final LinkedIntegerMap<T> map, final int multiple) {
-    for (final T key : map.keySet()) {
-      add(key, map.getInt(key) * multiple);
+    final ObjectIntHashMap<T> other = map.m_values;
+    for (int i = other.firstPosition(); i >= 0; i = other.nextPosition(i)) {
+      m_values.add(other.keyAt(i), other.valueAt(i) * multiple);
     }
   }
 
@@ -370,9 +361,9 @@ public class LinkedIntegerMap<T> implements Cloneable, Serializable {
 
   public int sumMatches(final Match<T> matcher) {
     int sum = 0;
-    for (final T obj : m_values.keySet()) {
-      if (matcher.match(obj)) {
-        sum += getInt(obj);
+    for (int i = m_values.firstPosition(); i >= 0; i = m_values.nextPosition(i)) {
+      if (matcher.match(m_values.keyAt(i))) {
+        sum += m_values.valueAt(i);
       }
     }
     return sum;
@@ -414,20 +405,18 @@ public class LinkedIntegerMap<T> implements Cloneable, Serializable {
   public String toString() {
     final StringBuilder buf = new StringBuilder();
     buf.append("IntegerMap:\n");
-    final Iterator<T> iter = m_values.keySet().iterator();
-    if (!iter.hasNext()) {
+    if (m_values.isEmpty()) {
       buf.append("empty\n");
     }
-    while (iter.hasNext()) {
-      final T current = iter.next();
-      buf.append(current).append(" -> ").append(getInt(current)).append("\n");
+    for (int i = m_values.firstPosition(); i >= 0; i = m_values.nextPosition(i)) {
+      buf.append(m_values.keyAt(i)).append(" -> ").append(m_values.valueAt(i)).append("\n");
     }
     return buf.toString();
   }
 
   @Override
   public int hashCode() {
-    return m_values.hashCode();
+    return m_values.mapHashCode();
   }
 
   /**
@@ -445,17 +434,24 @@ public class LinkedIntegerMap<T> implements Cloneable, Serializable {
       return false;
     }
     final LinkedIntegerMap<T> map = (LinkedIntegerMap<T>) o;
-    if (!map.keySet().equals(this.keySet())) {
-      return false;
-    }
-    if (!map.m_values.equals(this.m_values)) {
-      return false;
-    }
-    for (final T key : map.keySet()) {
-      if (!(this.getInt(key) == map.getInt(key))) {
-        return false;
+    return map.m_values.mappingsEqual(this.m_values);
+  }
+
+  private void writeObject(final ObjectOutputStream out) throws IOException {
+    final ObjectOutputStream.PutField fields = out.putFields();
+    fields.put("m_values", m_values.copyInto(new LinkedHashMap<>(Math.max(16, m_values.size() * 4 / 3 + 1))));
+    out.writeFields();
+  }
+
+  @SuppressWarnings("unchecked")
+  private void readObject(final ObjectInputStream in) throws IOException, ClassNotFoundException {
+    final ObjectInputStream.GetField fields = in.readFields();
+    final Map<T, Integer> values = (Map<T, Integer>) fields.get("m_values", null);
+    m_values = new ObjectIntHashMap<>(values == null ? 0 : values.size());
+    if (values != null) {
+      for (final Entry<T, Integer> entry : values.entrySet()) {
+        put(entry.getKey(), entry.getValue());
       }
     }
-    return true;
   }
 }
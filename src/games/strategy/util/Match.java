@@ -18,13 +18,24 @@ import java.util.Set;
  * count the number of matches, see if any elements match etc.
  */
 public abstract class Match<T> {
+  // stateless, so one of each serves every element type
+  private static final Match<?> ALWAYS_MATCH = new AlwaysMatch<>();
+  private static final Match<?> NEVER_MATCH = new NeverMatch<>();
 
+  /**
+   * Returns a match that every element satisfies, always the same instance.
+   */
+  @SuppressWarnings("unchecked")
   public static <T> Match<T> getAlwaysMatch() {
-    return new AlwaysMatch<>();
+    return (Match<T>) ALWAYS_MATCH;
   }
 
+  /**
+   * Returns a match that no element satisfies, always the same instance.
+   */
+  @SuppressWarnings("unchecked")
   public static <T> Match<T> getNeverMatch() {
-    return new NeverMatch<>();
+    return (Match<T>) NEVER_MATCH;
   }
 
   /**
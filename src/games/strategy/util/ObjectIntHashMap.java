@@ -0,0 +1,497 @@
+package games.strategy.util;
+
+import java.util.AbstractCollection;
+import java.util.AbstractSet;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.ConcurrentModificationException;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.Map.Entry;
+import java.util.NoSuchElementException;
+import java.util.Objects;
+import java.util.Set;
+
+/**
+ * An open addressing map from objects to primitive ints, backing {@link IntegerMap} and {@link LinkedIntegerMap}.
+ * <p>
+ * Entries are stored in insertion order in parallel key and value arrays, and a separate linear probing table of
+ * entry positions is used for lookups. Reading, putting and adding to a value never boxes it, and iterating the
+ * entries walks two flat arrays. Removed entries leave a marker behind that is dropped the next time the entry arrays
+ * are rebuilt.
+ * <p>
+ * The key set, values and entry set views are live and support removal through their iterators, like the views of a
+ * {@link java.util.HashMap}. Values are boxed when read through the views. Code in this package can iterate without
+ * boxing using {@link #firstPosition()}, {@link #nextPosition(int)}, {@link #keyAt(int)} and {@link #valueAt(int)}.
+ * <p>
+ * Null keys are allowed. This class is not thread safe.
+ */
+final class ObjectIntHashMap<T> {
+  private static final Object NULL_KEY = new Object();
+  private static final Object REMOVED = new Object();
+  private static final int EMPTY_SLOT = -1;
+  private static final int DELETED_SLOT = -2;
+  private static final int DEFAULT_CAPACITY = 8;
+
+  // positions into the entry arrays, twice as long as the entry arrays so the probe table is at most half full
+  private int[] slots;
+  private Object[] keys;
+  private int[] hashes;
+  private int[] values;
+  // entries used so far, including removed ones
+  private int end;
+  private int size;
+  private int modCount;
+  private final int initialCapacity;
+
+  ObjectIntHashMap() {
+    this(DEFAULT_CAPACITY);
+  }
+
+  ObjectIntHashMap(final int expectedSize) {
+    if (expectedSize < 0) {
+      throw new IllegalArgumentException("Illegal capacity: " + expectedSize);
+    }
+    initialCapacity = Math.max(2, expectedSize);
+  }
+
+  ObjectIntHashMap(final ObjectIntHashMap<T> other) {
+    initialCapacity = other.initialCapacity;
+    if (other.size == 0) {
+      return;
+    }
+    if (other.end == other.size) {
+      slots = other.slots.clone();
+      keys = other.keys.clone();
+      hashes = other.hashes.clone();
+      values = other.values.clone();
+      end = other.end;
+      size = other.size;
+    } else {
+      allocate(other.size);
+      for (int i = other.firstPosition(); i >= 0; i = other.nextPosition(i)) {
+        append(other.keys[i], other.hashes[i], other.values[i]);
+      }
+    }
+  }
+
+  int size() {
+    return size;
+  }
+
+  boolean isEmpty() {
+    return size == 0;
+  }
+
+  boolean containsKey(final Object key) {
+    return indexOf(key) >= 0;
+  }
+
+  /**
+   * Returns the value for the given key, or 0 if the key is not mapped.
+   */
+  int get(final Object key) {
+    final int position = indexOf(key);
+    return position < 0 ? 0 : values[position];
+  }
+
+  void put(final T key, final int value) {
+    // find first, inserting may replace the value array
+    final int position = findOrInsert(key);
+    values[position] = value;
+  }
+
+  /**
+   * Adds the given amount to the value of the key, mapping the key to the amount if it is not mapped yet.
+   */
+  void add(final T key, final int amount) {
+    final int position = findOrInsert(key);
+    values[position] += amount;
+  }
+
+  /**
+   * Removes the mapping for the given key and returns whether there was one.
+   */
+  boolean remove(final Object key) {
+    if (size == 0) {
+      return false;
+    }
+    final Object maskedKey = mask(key);
+    final int hash = hash(maskedKey);
+    final int mask = slots.length - 1;
+    for (int slot = hash & mask;; slot = (slot + 1) & mask) {
+      final int position = slots[slot];
+      if (position == EMPTY_SLOT) {
+        return false;
+      }
+      if (position >= 0 && hashes[position] == hash && maskedKey.equals(keys[position])) {
+        slots[slot] = DELETED_SLOT;
+        keys[position] = REMOVED;
+        size--;
+        modCount++;
+        return true;
+      }
+    }
+  }
+
+  void clear() {
+    if (slots != null) {
+      slots = null;
+      keys = null;
+      hashes = null;
+      values = null;
+      end = 0;
+      size = 0;
+      modCount++;
+    }
+  }
+
+  /**
+   * Returns the position of the first entry, or -1 if the map is empty.
+   */
+  int firstPosition() {
+    return nextPosition(-1);
+  }
+
+  /**
+   * Returns the position of the entry after the given one, or -1 if there is none.
+   */
+  int nextPosition(final int position) {
+    for (int i = position + 1; i < end; i++) {
+      if (keys[i] != REMOVED) {
+        return i;
+      }
+    }
+    return -1;
+  }
+
+  @SuppressWarnings("unchecked")
+  T keyAt(final int position) {
+    final Object key = keys[position];
+    return key == NULL_KEY ? null : (T) key;
+  }
+
+  int valueAt(final int position) {
+    return values[position];
+  }
+
+  void setValueAt(final int position, final int value) {
+    values[position] = value;
+  }
+
+  /**
+   * Returns the same hash code as a {@link java.util.HashMap} holding the same mappings as boxed integers.
+   */
+  int mapHashCode() {
+    int result = 0;
+    for (int i = firstPosition(); i >= 0; i = nextPosition(i)) {
+      result += Objects.hashCode(keyAt(i)) ^ values[i];
+    }
+    return result;
+  }
+
+  /**
+   * Returns true if both maps hold the same mappings, regardless of their order.
+   */
+  boolean mappingsEqual(final ObjectIntHashMap<?> other) {
+    if (other.size != size) {
+      return false;
+    }
+    for (int i = firstPosition(); i >= 0; i = nextPosition(i)) {
+      final int otherPosition = other.indexOf(keyAt(i));
+      if (otherPosition < 0 || other.values[otherPosition] != values[i]) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  /**
+   * Copies the mappings into the given map, boxing the values.
+   */
+  <M extends Map<T, Integer>> M copyInto(final M map) {
+    for (int i = firstPosition(); i >= 0; i = nextPosition(i)) {
+      map.put(keyAt(i), values[i]);
+    }
+    return map;
+  }
+
+  Set<T> keySet() {
+    return new AbstractSet<T>() {
+      @Override
+      public Iterator<T> iterator() {
+        return new PositionIterator<T>() {
+          @Override
+          T get(final int position) {
+            return keyAt(position);
+          }
+        };
+      }
+
+      @Override
+      public int size() {
+        return size;
+      }
+
+      @Override
+      public boolean contains(final Object o) {
+        return containsKey(o);
+      }
+
+      @Override
+      public boolean remove(final Object o) {
+        return ObjectIntHashMap.this.remove(o);
+      }
+
+      @Override
+      public void clear() {
+        ObjectIntHashMap.this.clear();
+      }
+    };
+  }
+
+  Collection<Integer> values() {
+    return new AbstractCollection<Integer>() {
+      @Override
+      public Iterator<Integer> iterator() {
+        return new PositionIterator<Integer>() {
+          @Override
+          Integer get(final int position) {
+            return values[position];
+          }
+        };
+      }
+
+      @Override
+      public int size() {
+        return size;
+      }
+
+      @Override
+      public void clear() {
+        ObjectIntHashMap.this.clear();
+      }
+    };
+  }
+
+  Set<Entry<T, Integer>> entrySet() {
+    return new AbstractSet<Entry<T, Integer>>() {
+      @Override
+      public Iterator<Entry<T, Integer>> iterator() {
+        return new PositionIterator<Entry<T, Integer>>() {
+          @Override
+          Entry<T, Integer> get(final int position) {
+            return new PositionEntry(position);
+          }
+        };
+      }
+
+      @Override
+      public int size() {
+        return size;
+      }
+
+      @Override
+      public boolean contains(final Object o) {
+        if (!(o instanceof Entry)) {
+          return false;
+        }
+        final Entry<?, ?> entry = (Entry<?, ?>) o;
+        final int position = indexOf(entry.getKey());
+        return position >= 0 && Integer.valueOf(values[position]).equals(entry.getValue());
+      }
+
+      @Override
+      public boolean remove(final Object o) {
+        return contains(o) && ObjectIntHashMap.this.remove(((Entry<?, ?>) o).getKey());
+      }
+
+      @Override
+      public void clear() {
+        ObjectIntHashMap.this.clear();
+      }
+    };
+  }
+
+  private int indexOf(final Object key) {
+    if (size == 0) {
+      return -1;
+    }
+    final Object maskedKey = mask(key);
+    final int hash = hash(maskedKey);
+    final int mask = slots.length - 1;
+    for (int slot = hash & mask;; slot = (slot + 1) & mask) {
+      final int position = slots[slot];
+      if (position == EMPTY_SLOT) {
+        return -1;
+      }
+      if (position >= 0 && hashes[position] == hash && maskedKey.equals(keys[position])) {
+        return position;
+      }
+    }
+  }
+
+  /**
+   * Returns the position of the key, appending it with a value of 0 if it is not mapped yet.
+   */
+  private int findOrInsert(final T key) {
+    final Object maskedKey = mask(key);
+    final int hash = hash(maskedKey);
+    if (slots == null) {
+      allocate(initialCapacity);
+    } else {
+      final int mask = slots.length - 1;
+      for (int slot = hash & mask;; slot = (slot + 1) & mask) {
+        final int position = slots[slot];
+        if (position == EMPTY_SLOT) {
+          break;
+        }
+        if (position >= 0 && hashes[position] == hash && maskedKey.equals(keys[position])) {
+          return position;
+        }
+      }
+      if (end == keys.length) {
+        // drop removed entries, and grow unless at least a fifth of the entries were removed
+        rebuild(size + (size >> 2) >= keys.length ? keys.length * 2 : keys.length);
+      }
+    }
+    modCount++;
+    return append(maskedKey, hash, 0);
+  }
+
+  private int append(final Object maskedKey, final int hash, final int value) {
+    final int position = end++;
+    keys[position] = maskedKey;
+    hashes[position] = hash;
+    values[position] = value;
+    final int mask = slots.length - 1;
+    int slot = hash & mask;
+    // deleted slots are not reused, they are only cleared when the table is rebuilt
+    while (slots[slot] != EMPTY_SLOT) {
+      slot = (slot + 1) & mask;
+    }
+    slots[slot] = position;
+    size++;
+    return position;
+  }
+
+  private void allocate(final int capacity) {
+    keys = new Object[capacity];
+    hashes = new int[capacity];
+    values = new int[capacity];
+    slots = new int[Integer.highestOneBit(capacity * 2 - 1) * 2];
+    Arrays.fill(slots, EMPTY_SLOT);
+    end = 0;
+    size = 0;
+  }
+
+  private void rebuild(final int capacity) {
+    final Object[] oldKeys = keys;
+    final int[] oldHashes = hashes;
+    final int[] oldValues = values;
+    final int oldEnd = end;
+    allocate(capacity);
+    for (int i = 0; i < oldEnd; i++) {
+      if (oldKeys[i] != REMOVED) {
+        append(oldKeys[i], oldHashes[i], oldValues[i]);
+      }
+    }
+  }
+
+  private void removeAt(final int position) {
+    remove(keyAt(position));
+  }
+
+  private static Object mask(final Object key) {
+    return key == null ? NULL_KEY : key;
+  }
+
+  private static int hash(final Object maskedKey) {
+    // spread the bits, the table is indexed by the low bits only
+    final int h = maskedKey.hashCode() * 0x9E3779B9;
+    return h ^ (h >>> 16);
+  }
+
+  private abstract class PositionIterator<E> implements Iterator<E> {
+    private int next = firstPosition();
+    private int last = -1;
+    private int expectedModCount = modCount;
+
+    abstract E get(int position);
+
+    @Override
+    public boolean hasNext() {
+      return next >= 0;
+    }
+
+    @Override
+    public E next() {
+      if (modCount != expectedModCount) {
+        throw new ConcurrentModificationException();
+      }
+      if (next < 0) {
+        throw new NoSuchElementException();
+      }
+      last = next;
+      next = nextPosition(next);
+      return get(last);
+    }
+
+    @Override
+    public void remove() {
+      if (last < 0) {
+        throw new IllegalStateException();
+      }
+      if (modCount != expectedModCount) {
+        throw new ConcurrentModificationException();
+      }
+      removeAt(last);
+      last = -1;
+      expectedModCount = modCount;
+    }
+  }
+
+  private final class PositionEntry implements Entry<T, Integer> {
+    private final int position;
+
+    private PositionEntry(final int position) {
+      this.position = position;
+    }
+
+    @Override
+    public T getKey() {
+      return keyAt(position);
+    }
+
+    @Override
+    public Integer getValue() {
+      return values[position];
+    }
+
+    @Override
+    public Integer setValue(final Integer value) {
+      final int old = values[position];
+      values[position] = value;
+      return old;
+    }
+
+    @Override
+    public boolean equals(final Object o) {
+      if (!(o instanceof Entry)) {
+        return false;
+      }
+      final Entry<?, ?> entry = (Entry<?, ?>) o;
+      return Objects.equals(getKey(), entry.getKey()) && getValue().equals(entry.getValue());
+    }
+
+    @Override
+    public int hashCode() {
+      return Objects.hashCode(getKey()) ^ values[position];
+    }
+
+    @Override
+    public String toString() {
+      return getKey() + "=" + values[position];
+    }
+  }
+}
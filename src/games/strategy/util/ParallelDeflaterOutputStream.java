@@ -0,0 +1,223 @@
+package games.strategy.util;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.ArrayDeque;
+import java.util.Arrays;
+import java.util.Deque;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.zip.Adler32;
+import java.util.zip.CRC32;
+import java.util.zip.Checksum;
+import java.util.zip.Deflater;
+
+/**
+ * An output stream that deflates on all cores. What is written is cut into blocks, which a pool of threads compresses
+ * at once while the blocks are written to the sink in order.
+ * <p>
+ * As pigz does, each block is primed with the end of the block before it and flushed to a byte boundary, so the blocks
+ * together are one standard gzip or zlib stream, read by GZIPInputStream or InflaterInputStream. The output is a few
+ * bytes a block larger than a single deflater writes.
+ */
+public class ParallelDeflaterOutputStream extends OutputStream {
+  private static final int BLOCK_SIZE = 128 * 1024;
+  // the most a deflate stream looks back
+  private static final int DICTIONARY_SIZE = 32 * 1024;
+  private static final byte[] GZIP_HEADER = {0x1f, (byte) 0x8b, Deflater.DEFLATED, 0, 0, 0, 0, 0, 0, 0};
+  private static final ForkJoinPool COMPRESSORS = new ForkJoinPool(Runtime.getRuntime().availableProcessors());
+  private final OutputStream m_out;
+  private final int m_level;
+  private final boolean m_gzip;
+  private final Checksum m_checksum;
+  // blocks being compressed, in the order they are written
+  private final Deque<ForkJoinTask<byte[]>> m_pending = new ArrayDeque<>();
+  private byte[] m_block = new byte[BLOCK_SIZE];
+  private int m_blockLength = 0;
+  // the end of the block before, null for the first block
+  private byte[] m_dictionary = null;
+  private long m_length = 0;
+  private boolean m_closed = false;
+
+  /**
+   * @param level a Deflater compression level.
+   * @param gzip true to write a gzip stream, false to write a zlib stream as DeflaterOutputStream does.
+   */
+  public ParallelDeflaterOutputStream(final OutputStream out, final int level, final boolean gzip) throws IOException {
+    m_out = out;
+    m_level = level;
+    m_gzip = gzip;
+    m_checksum = gzip ? new CRC32() : new Adler32();
+    if (gzip) {
+      out.write(GZIP_HEADER);
+    } else {
+      out.write(0x78);
+      out.write(getZlibFlags(level));
+    }
+  }
+
+  private static int getZlibFlags(final int level) {
+    final int compressionLevel;
+    if (level == 0 || level == 1) {
+      compressionLevel = 0;
+    } else if (level >= 2 && level <= 5) {
+      compressionLevel = 1;
+    } else if (level == 6 || level == Deflater.DEFAULT_COMPRESSION) {
+      compressionLevel = 2;
+    } else {
+      compressionLevel = 3;
+    }
+    final int flags = compressionLevel << 6;
+    // the header taken as a number is a multiple of 31
+    return flags + 31 - ((0x78 << 8) + flags) % 31;
+  }
+
+  /**
+   * Deflates bytes on the threads of this class as a gzip or zlib stream, the blocks of big inputs at once.
+   */
+  public static ForkJoinTask<byte[]> deflateInBackground(final byte[] bytes, final int level, final boolean gzip) {
+    final ForkJoinTask<byte[]> task = ForkJoinTask.adapt(() -> {
+      final ByteArrayOutputStream compressed = new ByteArrayOutputStream(bytes.length / 4 + 64);
+      try (ParallelDeflaterOutputStream out = new ParallelDeflaterOutputStream(compressed, level, gzip)) {
+        out.write(bytes);
+      }
+      return compressed.toByteArray();
+    });
+    start(task);
+    return task;
+  }
+
+  private static void start(final ForkJoinTask<byte[]> task) {
+    // a task of the pool forks, so that it can run the blocks it waits for itself
+    if (ForkJoinTask.getPool() == COMPRESSORS) {
+      task.fork();
+    } else {
+      COMPRESSORS.execute(task);
+    }
+  }
+
+  @Override
+  public void write(final int b) throws IOException {
+    assertOpen();
+    m_block[m_blockLength++] = (byte) b;
+    if (m_blockLength == BLOCK_SIZE) {
+      startBlock(false);
+    }
+  }
+
+  @Override
+  public void write(final byte[] bytes, final int offset, final int length) throws IOException {
+    assertOpen();
+    int written = 0;
+    while (written < length) {
+      final int count = Math.min(length - written, BLOCK_SIZE - m_blockLength);
+      System.arraycopy(bytes, offset + written, m_block, m_blockLength, count);
+      m_blockLength += count;
+      written += count;
+      if (m_blockLength == BLOCK_SIZE) {
+        startBlock(false);
+      }
+    }
+  }
+
+  private void assertOpen() throws IOException {
+    if (m_closed) {
+      throw new IOException("Stream closed");
+    }
+  }
+
+  private void startBlock(final boolean last) throws IOException {
+    final byte[] block = m_block;
+    final int length = m_blockLength;
+    final byte[] dictionary = m_dictionary;
+    m_checksum.update(block, 0, length);
+    m_length += length;
+    // only the last block is short, so the end of a block is a full dictionary for the next
+    m_dictionary = Arrays.copyOfRange(block, Math.max(0, length - DICTIONARY_SIZE), length);
+    final ForkJoinTask<byte[]> task = ForkJoinTask.adapt(() -> deflate(block, length, dictionary, last));
+    start(task);
+    m_pending.add(task);
+    m_block = new byte[BLOCK_SIZE];
+    m_blockLength = 0;
+    // keep the blocks waiting to be written to a few per thread
+    while (m_pending.size() > 2 * COMPRESSORS.getParallelism()) {
+      m_out.write(m_pending.remove().join());
+    }
+  }
+
+  private byte[] deflate(final byte[] block, final int length, final byte[] dictionary, final boolean last) {
+    final Deflater deflater = new Deflater(m_level, true);
+    try {
+      if (dictionary != null) {
+        deflater.setDictionary(dictionary);
+      }
+      deflater.setInput(block, 0, length);
+      final ByteArrayOutputStream compressed = new ByteArrayOutputStream(length / 4 + 64);
+      final byte[] buffer = new byte[16 * 1024];
+      if (last) {
+        deflater.finish();
+        while (!deflater.finished()) {
+          compressed.write(buffer, 0, deflater.deflate(buffer));
+        }
+      } else {
+        // end on a byte boundary without marking the end of the stream, so the next block follows on
+        int count;
+        do {
+          count = deflater.deflate(buffer, 0, buffer.length, Deflater.SYNC_FLUSH);
+          compressed.write(buffer, 0, count);
+        } while (count == buffer.length);
+      }
+      return compressed.toByteArray();
+    } finally {
+      deflater.end();
+    }
+  }
+
+  /**
+   * Writes the blocks already compressed, without waiting for the others.
+   */
+  @Override
+  public void flush() throws IOException {
+    while (!m_pending.isEmpty() && m_pending.peek().isDone()) {
+      m_out.write(m_pending.remove().join());
+    }
+    m_out.flush();
+  }
+
+  /**
+   * Compresses the rest, waits for all the blocks, writes the trailer, and closes the sink.
+   */
+  @Override
+  public void close() throws IOException {
+    if (m_closed) {
+      return;
+    }
+    try {
+      startBlock(true);
+      while (!m_pending.isEmpty()) {
+        m_out.write(m_pending.remove().join());
+      }
+      final long checksum = m_checksum.getValue();
+      if (m_gzip) {
+        writeIntLittleEndian((int) checksum);
+        writeIntLittleEndian((int) m_length);
+      } else {
+        m_out.write((int) (checksum >>> 24));
+        m_out.write((int) (checksum >>> 16));
+        m_out.write((int) (checksum >>> 8));
+        m_out.write((int) checksum);
+      }
+    } finally {
+      m_closed = true;
+      m_out.close();
+    }
+  }
+
+  private void writeIntLittleEndian(final int value) throws IOException {
+    m_out.write(value);
+    m_out.write(value >>> 8);
+    m_out.write(value >>> 16);
+    m_out.write(value >>> 24);
+  }
+}
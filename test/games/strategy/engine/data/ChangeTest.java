@@ -13,12 +13,15 @@ import java.net.URL;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Function;
 
 import org.junit.Before;
 import org.junit.Test;
 
 import games.strategy.triplea.Constants;
+import games.strategy.util.IntegerMap;
 
 public class ChangeTest {
   private GameData m_data;
@@ -47,6 +50,20 @@ public class ChangeTest {
     return newChange;
   }
 
+  private Change serializeCompact(final Change aChange) throws Exception {
+    final ByteArrayOutputStream sink = new ByteArrayOutputStream();
+    final ObjectOutputStream output = new GameObjectOutputStream(sink);
+    CompactChangeEncoding.write(aChange, output);
+    output.flush();
+    final InputStream source = new ByteArrayInputStream(sink.toByteArray());
+    final ObjectInputStream input =
+        new GameObjectInputStream(new games.strategy.engine.framework.GameObjectStreamFactory(m_data), source);
+    final Change newChange = CompactChangeEncoding.read(input);
+    input.close();
+    output.close();
+    return newChange;
+  }
+
   @Test
   public void testUnitsAddTerritory() {
     // make sure we know where we are starting
@@ -188,6 +205,19 @@ public class ChangeTest {
     assertEquals(can.getResources().getQuantity(gold), 100);
   }
 
+  @Test
+  public void testResourceChangeOnly() {
+    final PlayerID can = m_data.getPlayerList().getPlayerID("chretian");
+    final Resource gold = m_data.getResourceList().getResource("gold");
+    final Change change = ChangeFactory.changeResourcesChange(can, gold, 50);
+    assertTrue(change.isResourceChangeOnly());
+    assertTrue(change.invert().isResourceChangeOnly());
+    assertTrue(new CompositeChange(change, change.invert()).isResourceChangeOnly());
+    assertFalse(new CompositeChange().isResourceChangeOnly());
+    final Territory canada = m_data.getMap().getTerritory("canada");
+    assertFalse(new CompositeChange(change, ChangeFactory.changeOwner(canada, can)).isResourceChangeOnly());
+  }
+
   @Test
   public void testSerializeResourceChange() throws Exception {
     final PlayerID can = m_data.getPlayerList().getPlayerID("chretian");
@@ -212,6 +242,42 @@ public class ChangeTest {
     assertEquals(greenland.getOwner(), can);
   }
 
+  @Test
+  public void testChangeOwnerUpdatesOwnershipIndex() {
+    final PlayerID can = m_data.getPlayerList().getPlayerID("chretian");
+    final PlayerID us = m_data.getPlayerList().getPlayerID("bush");
+    final Territory greenland = m_data.getMap().getTerritory("greenland");
+    final int canadianTerritories = m_data.getMap().getTerritoryCountOwnedBy(can);
+    final int usTerritories = m_data.getMap().getTerritoriesOwnedBy(us).size();
+    assertTrue(m_data.getMap().getTerritoriesOwnedBy(can).contains(greenland));
+    final Change change = ChangeFactory.changeOwner(greenland, us);
+    m_data.performChange(change);
+    assertFalse(m_data.getMap().getTerritoriesOwnedBy(can).contains(greenland));
+    assertTrue(m_data.getMap().getTerritoriesOwnedBy(us).contains(greenland));
+    assertEquals(canadianTerritories - 1, m_data.getMap().getTerritoryCountOwnedBy(can));
+    assertEquals(usTerritories + 1, m_data.getMap().getTerritoriesOwnedBy(us).size());
+    m_data.performChange(change.invert());
+    assertEquals(canadianTerritories, m_data.getMap().getTerritoriesOwnedBy(can).size());
+    assertEquals(usTerritories, m_data.getMap().getTerritoryCountOwnedBy(us));
+  }
+
+  @Test
+  public void testPlayerAggregateIsRecomputedAfterChange() {
+    final PlayerID us = m_data.getPlayerList().getPlayerID("bush");
+    final Territory greenland = m_data.getMap().getTerritory("greenland");
+    final AtomicInteger computations = new AtomicInteger();
+    final Function<PlayerID, Integer> countOwned = player -> {
+      computations.incrementAndGet();
+      return m_data.getMap().getTerritoriesOwnedBy(player).size();
+    };
+    final int owned = m_data.getMap().getPlayerAggregate(us, "owned", countOwned);
+    assertEquals(owned, (int) m_data.getMap().getPlayerAggregate(us, "owned", countOwned));
+    assertEquals(1, computations.get());
+    m_data.performChange(ChangeFactory.changeOwner(greenland, us));
+    assertEquals(owned + 1, (int) m_data.getMap().getPlayerAggregate(us, "owned", countOwned));
+    assertEquals(2, computations.get());
+  }
+
   @Test
   public void testChangeOwnerSerialize() throws Exception {
     final PlayerID can = m_data.getPlayerList().getPlayerID("chretian");
@@ -306,4 +372,44 @@ public class ChangeTest {
     compositeChange.add(ChangeFactory.removeUnits(can, units));
     assertFalse(compositeChange.isEmpty());
   }
+
+  @Test
+  public void testSerializeCompactChanges() throws Exception {
+    final Territory canada = m_data.getMap().getTerritory("canada");
+    final Territory greenland = m_data.getMap().getTerritory("greenland");
+    final PlayerID can = m_data.getPlayerList().getPlayerID("chretian");
+    final PlayerID us = m_data.getPlayerList().getPlayerID("bush");
+    final Resource gold = m_data.getResourceList().getResource("gold");
+    final UnitType infantry = m_data.getUnitTypeList().getUnitType(Constants.UNIT_TYPE_INF);
+    final Collection<Unit> removed = canada.getUnits().getUnits(infantry, 2);
+    final Unit hit = canada.getUnits().getUnits(infantry, 3).stream().filter(u -> !removed.contains(u)).findFirst()
+        .get();
+    final IntegerMap<Unit> hits = new IntegerMap<>();
+    hits.put(hit, 1);
+    final CompositeChange change = new CompositeChange();
+    change.add(ChangeFactory.removeUnits(canada, removed));
+    change.add(ChangeFactory.addUnits(greenland, infantry.create(4, null)));
+    change.add(ChangeFactory.changeOwner(greenland, us));
+    change.add(ChangeFactory.changeResourcesChange(can, gold, 50));
+    change.add(ChangeFactory.unitsHit(hits));
+    change.add(ChangeFactory.changeProductionFrontier(can,
+        m_data.getProductionFrontierList().getProductionFrontier("usProd")));
+    final Change copy = serializeCompact(change);
+    assertTrue(copy instanceof CompositeChange);
+    assertEquals(6, ((CompositeChange) copy).getChanges().size());
+    m_data.performChange(copy);
+    assertEquals(3, canada.getUnits().getUnitCount());
+    assertEquals(4, greenland.getUnits().getUnitCount());
+    assertEquals(us, greenland.getOwner());
+    assertEquals(150, can.getResources().getQuantity(gold));
+    assertEquals(1, hit.getHits());
+    assertEquals(m_data.getProductionFrontierList().getProductionFrontier("usProd"), can.getProductionFrontier());
+    // the inverse of a change read back must undo it as well
+    m_data.performChange(serializeCompact(copy.invert()));
+    assertEquals(5, canada.getUnits().getUnitCount());
+    assertEquals(0, greenland.getUnits().getUnitCount());
+    assertEquals(can, greenland.getOwner());
+    assertEquals(100, can.getResources().getQuantity(gold));
+    assertEquals(0, hit.getHits());
+  }
 }
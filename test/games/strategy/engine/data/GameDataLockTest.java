@@ -0,0 +1,100 @@
+package games.strategy.engine.data;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.Test;
+
+public class GameDataLockTest {
+
+  @Test
+  public void testReadOptimisticallyWithoutWriter() {
+    final GameData data = new GameData();
+    final AtomicInteger reads = new AtomicInteger();
+    assertEquals("read", data.readOptimistically(() -> {
+      reads.incrementAndGet();
+      return "read";
+    }));
+    assertEquals(1, reads.get());
+  }
+
+  @Test
+  public void testReadOptimisticallyRereadsAfterChange() {
+    final GameData data = new GameData();
+    final AtomicInteger reads = new AtomicInteger();
+    final String result = data.readOptimistically(() -> {
+      if (reads.incrementAndGet() == 1) {
+        // a change made while reading
+        data.acquireWriteLock();
+        data.releaseWriteLock();
+      }
+      return "read " + reads.get();
+    });
+    assertEquals("read 2", result);
+  }
+
+  @Test
+  public void testReadOptimisticallyDropsExceptionOfChangedRead() {
+    final GameData data = new GameData();
+    final AtomicInteger reads = new AtomicInteger();
+    final String result = data.readOptimistically(() -> {
+      if (reads.incrementAndGet() == 1) {
+        data.acquireWriteLock();
+        data.releaseWriteLock();
+        throw new IllegalStateException("saw a change half made");
+      }
+      return "read";
+    });
+    assertEquals("read", result);
+    assertEquals(2, reads.get());
+  }
+
+  @Test
+  public void testReadOptimisticallyPassesOnExceptionOfUnchangedRead() {
+    final GameData data = new GameData();
+    try {
+      data.readOptimistically(() -> {
+        throw new IllegalStateException("bad read");
+      });
+      fail("expected the exception");
+    } catch (final IllegalStateException e) {
+      assertEquals("bad read", e.getMessage());
+    }
+  }
+
+  @Test
+  public void testReadOptimisticallyWaitsForWriter() throws Exception {
+    final GameData data = new GameData();
+    final CountDownLatch writing = new CountDownLatch(1);
+    final CountDownLatch release = new CountDownLatch(1);
+    final Thread writer = new Thread(() -> {
+      data.acquireWriteLock();
+      // the write lock is reentrant, the reads below must wait for the outermost release
+      data.acquireWriteLock();
+      data.releaseWriteLock();
+      writing.countDown();
+      try {
+        release.await();
+      } catch (final InterruptedException e) {
+        // release the lock
+      }
+      data.releaseWriteLock();
+    });
+    writer.start();
+    writing.await();
+    final AtomicInteger done = new AtomicInteger();
+    final Thread reader = new Thread(() -> done.set(data.readOptimistically(() -> 1)));
+    reader.start();
+    reader.join(200);
+    assertEquals(0, done.get());
+    release.countDown();
+    reader.join();
+    writer.join();
+    assertEquals(1, done.get());
+    assertTrue(data.readOptimistically(() -> true));
+  }
+}
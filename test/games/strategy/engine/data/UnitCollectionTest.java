@@ -6,6 +6,7 @@ import static org.junit.Assert.assertThat;
 
 import java.util.ArrayList;
 import java.util.Collection;
+import java.util.Collections;
 import java.util.Iterator;
 
 import org.junit.Before;
@@ -461,4 +462,85 @@ public class UnitCollectionTest {
     unitCollectionIterator.forEachRemaining(u -> assertThat(u, is(collectionIterator.next())));
   }
 
+  @Test
+  public void countsFollowOwnerChanges() {
+    addAllPlayerUnitsToUnitCollection(unitCollection);
+    assertThat(unitCollection.getUnitCount(unitTypeOne, otherPlayerID), is(equalTo(unitCountOtherPlayerUnitTypeOne)));
+    unitOtherPlayer1.setOwner(defaultPlayerID);
+    assertThat(unitCollection.getUnitCount(unitTypeOne, otherPlayerID),
+        is(equalTo(unitCountOtherPlayerUnitTypeOne - 1)));
+    assertThat(unitCollection.getUnitCount(unitTypeOne, defaultPlayerID),
+        is(equalTo(unitCountDefaultPlayerUnitTypeOne + 1)));
+    assertThat(unitCollection.getUnitCount(defaultPlayerID), is(equalTo(unitCountDefaultPlayer + 1)));
+  }
+
+  @Test
+  public void countsFollowHitChanges() {
+    addAllPlayerUnitsToUnitCollection(unitCollection);
+    assertThat(unitCollection.getDamagedUnitCount(unitTypeTwo, otherPlayerID), is(equalTo(0)));
+    unitOtherPlayer4.setHits(1);
+    assertThat(unitCollection.getDamagedUnitCount(unitTypeTwo, otherPlayerID), is(equalTo(1)));
+    assertThat(unitCollection.getUndamagedUnitCount(unitTypeTwo, otherPlayerID),
+        is(equalTo(unitCountOtherPlayerUnitTypeTwo - 1)));
+    unitCollection.removeAllUnits(Collections.singleton(unitOtherPlayer4));
+    assertThat(unitCollection.getDamagedUnitCount(unitTypeTwo, otherPlayerID), is(equalTo(0)));
+    assertThat(unitCollection.getUnitCount(unitTypeTwo, otherPlayerID),
+        is(equalTo(unitCountOtherPlayerUnitTypeTwo - 1)));
+  }
+
+  @Test
+  public void countsFollowAddsAndRemoves() {
+    final boolean wasChecking = UnitCollection.isCountConsistencyChecking();
+    UnitCollection.setCountConsistencyChecking(true);
+    try {
+      addAllDefaultPlayerUnitsToUnitCollection(unitCollection);
+      assertThat(unitCollection.getPlayersWithUnits().size(), is(equalTo(1)));
+      addAllOtherPlayerUnitsToUnitCollection(unitCollection);
+      assertThat(unitCollection.hasUnitsFromMultiplePlayers(), is(equalTo(true)));
+      unitCollection.removeAllUnits(getDefaultPlayerUnitsOfUnitTypeOne());
+      unitCollection.removeAllUnits(getDefaultPlayerUnitsOfUnitTypeTwo());
+      assertThat(unitCollection.hasUnitsFromMultiplePlayers(), is(equalTo(false)));
+      assertThat(unitCollection.getUnitCount(defaultPlayerID), is(equalTo(0)));
+      assertThat(unitCollection.getUnitsByType().getInt(unitTypeOne), is(equalTo(unitCountOtherPlayerUnitTypeOne)));
+    } finally {
+      UnitCollection.setCountConsistencyChecking(wasChecking);
+    }
+  }
+
+  @Test
+  public void countsOfOtherCollectionsFollowChanges() {
+    final boolean wasChecking = UnitCollection.isCountConsistencyChecking();
+    UnitCollection.setCountConsistencyChecking(true);
+    try {
+      final UnitCollection otherCollection = new UnitCollection(otherPlayerID, mockGameData);
+      addAllDefaultPlayerUnitsToUnitCollection(unitCollection);
+      otherCollection.addAllUnits(getOtherPlayerUnitsOfUnitTypeTwo());
+      assertThat(unitCollection.getUnitCount(unitTypeTwo), is(equalTo(unitCountDefaultPlayerUnitTypeTwo)));
+      assertThat(otherCollection.getUnitCount(unitTypeTwo), is(equalTo(unitCountOtherPlayerUnitTypeTwo)));
+      // a unit held by both while it moves, then only by the collection it moved to
+      unitCollection.addUnit(unitOtherPlayer4);
+      unitOtherPlayer4.setHits(1);
+      assertThat(unitCollection.getDamagedUnitCount(unitTypeTwo, otherPlayerID), is(equalTo(1)));
+      assertThat(otherCollection.getDamagedUnitCount(unitTypeTwo, otherPlayerID), is(equalTo(1)));
+      otherCollection.removeAllUnits(Collections.singleton(unitOtherPlayer4));
+      unitOtherPlayer4.setOwner(defaultPlayerID);
+      assertThat(unitCollection.getUnitCount(defaultPlayerID), is(equalTo(unitCountDefaultPlayer + 1)));
+      assertThat(otherCollection.getUnitCount(otherPlayerID), is(equalTo(unitCountOtherPlayerUnitTypeTwo - 1)));
+      unitDefaultPlayer2.setHits(2);
+      assertThat(unitCollection.getDamagedUnitCount(unitTypeTwo, defaultPlayerID), is(equalTo(2)));
+      assertThat(otherCollection.getDamagedUnitCount(unitTypeTwo, defaultPlayerID), is(equalTo(0)));
+    } finally {
+      UnitCollection.setCountConsistencyChecking(wasChecking);
+    }
+  }
+
+  @Test
+  public void collectionWithoutGameData() {
+    final UnitCollection withoutData = new UnitCollection(defaultPlayerID, null);
+    assertThat(withoutData.getUnitsByType().isEmpty(), is(equalTo(true)));
+    assertThat(withoutData.getPlayersWithUnits().isEmpty(), is(equalTo(true)));
+    withoutData.addAllUnits(getDefaultPlayerUnitsOfUnitTypeTwo());
+    assertThat(withoutData.getUnitCount(unitTypeTwo), is(equalTo(unitCountDefaultPlayerUnitTypeTwo)));
+    assertThat(PlayerID.NULL_PLAYERID.getUnits().getUnitsByType().isEmpty(), is(equalTo(true)));
+  }
 }
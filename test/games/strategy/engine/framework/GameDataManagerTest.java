@@ -1,20 +1,42 @@
 package games.strategy.engine.framework;
 
+import static games.strategy.triplea.delegate.GameDataTestUtil.germans;
+import static games.strategy.triplea.delegate.GameDataTestUtil.russians;
+import static games.strategy.triplea.delegate.GameDataTestUtil.territory;
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
 
 import java.io.ByteArrayInputStream;
 import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.FileOutputStream;
 import java.io.IOException;
 import java.io.InputStream;
 import java.net.URL;
+import java.util.Arrays;
+import java.util.Map;
 import java.util.concurrent.atomic.AtomicReference;
 
 import org.junit.Before;
 import org.junit.Test;
 
+import games.strategy.engine.data.Change;
+import games.strategy.engine.data.ChangeFactory;
 import games.strategy.engine.data.GameData;
 import games.strategy.engine.data.GameParser;
+import games.strategy.engine.data.PlayerID;
+import games.strategy.engine.data.Resource;
 import games.strategy.engine.data.SerializationTest;
+import games.strategy.engine.data.Territory;
+import games.strategy.engine.data.Unit;
+import games.strategy.engine.history.HistoryNode;
+import games.strategy.engine.history.HistoryWriter;
+import games.strategy.triplea.Constants;
+import games.strategy.triplea.delegate.GameDataTestUtil;
+import games.strategy.triplea.xml.LoadGameUtil;
 
 public class GameDataManagerTest {
 
@@ -36,4 +58,97 @@ public class GameDataManagerTest {
     final GameData loaded = m.loadGame(new ByteArrayInputStream(sink.toByteArray()), null);
     assertEquals(loaded.getProperties().get(GameData.GAME_UUID), data.getProperties().get(GameData.GAME_UUID));
   }
+
+  /**
+   * A game with a round of history, in which the germans gain PUs and take Karelia.
+   */
+  private static GameData createGameWithHistory() {
+    final GameData data = LoadGameUtil.loadTestGame("revised_test.xml");
+    final PlayerID germans = germans(data);
+    final Resource pus = data.getResourceList().getResource(Constants.PUS);
+    final Territory karelia = territory("Karelia S.S.R.", data);
+    final HistoryWriter writer = data.getHistory().getHistoryWriter();
+    writer.startNextRound(1);
+    writer.startNextStep("germansPurchase", "purchase", germans, "Purchase");
+    writer.startEvent("germans collect");
+    addChange(data, writer, ChangeFactory.changeResourcesChange(germans, pus, 10));
+    writer.startNextStep("germansCombatMove", "move", germans, "Combat Move");
+    writer.startEvent("germans take Karelia");
+    addChange(data, writer, ChangeFactory.addUnits(karelia, GameDataTestUtil.armour(data).create(2, germans)));
+    addChange(data, writer, ChangeFactory.changeOwner(karelia, germans));
+    return data;
+  }
+
+  private static void addChange(final GameData data, final HistoryWriter writer,
+      final Change change) {
+    data.performChange(change);
+    writer.addChange(change);
+  }
+
+  private static void assertSameGame(final GameData expected, final GameData loaded) {
+    final Resource pus = loaded.getResourceList().getResource(Constants.PUS);
+    assertEquals(germans(expected).getResources().getQuantity(Constants.PUS),
+        germans(loaded).getResources().getQuantity(pus));
+    final Territory karelia = territory("Karelia S.S.R.", loaded);
+    assertSame(germans(loaded), karelia.getOwner());
+    assertEquals(territory("Karelia S.S.R.", expected).getUnits().size(), karelia.getUnits().size());
+    assertEquals(((HistoryNode) expected.getHistory().getRoot()).getLeafCount(),
+        ((HistoryNode) loaded.getHistory().getRoot()).getLeafCount());
+    // going back through the history undoes the changes on the loaded game objects
+    loaded.getHistory().gotoNode((HistoryNode) loaded.getHistory().getRoot());
+    assertSame(russians(loaded), karelia.getOwner());
+    assertEquals(germans(expected).getResources().getQuantity(Constants.PUS) - 10,
+        germans(loaded).getResources().getQuantity(pus));
+    for (final Unit unit : karelia.getUnits()) {
+      assertSame(russians(loaded), unit.getOwner());
+    }
+    loaded.getHistory().gotoNode(loaded.getHistory().getLastNode());
+    assertSame(germans(loaded), karelia.getOwner());
+  }
+
+  @Test
+  public void testSectionedSaveKeepsHistory() throws IOException {
+    final GameData data = createGameWithHistory();
+    final ByteArrayOutputStream sink = new ByteArrayOutputStream();
+    new GameDataManager().saveGame(sink, data);
+    assertTrue(SaveGameSections.isSectioned(new ByteArrayInputStream(sink.toByteArray())));
+    assertSameGame(data, new GameDataManager().loadGame(new ByteArrayInputStream(sink.toByteArray()), null));
+  }
+
+  @Test
+  public void testLegacySaveLoads() throws IOException {
+    final GameData data = createGameWithHistory();
+    final ByteArrayOutputStream sink = new ByteArrayOutputStream();
+    new GameDataManager().saveGame(sink, data, true);
+    final byte[] bytes = sink.toByteArray();
+    assertEquals(0x1f, bytes[0]);
+    assertSameGame(data, new GameDataManager().loadGame(new ByteArrayInputStream(bytes), null));
+  }
+
+  @Test
+  public void testMetadataAndPropertiesWithoutLoading() throws IOException {
+    final GameData data = createGameWithHistory();
+    final File file = File.createTempFile("triplea", ".tsvg");
+    file.deleteOnExit();
+    try (FileOutputStream out = new FileOutputStream(file)) {
+      new GameDataManager().saveGame(out, data);
+    }
+    final SaveGameMetadata metadata = new GameDataManager().loadMetadata(file);
+    assertNotNull(metadata);
+    assertEquals(data.getGameName(), metadata.getGameName());
+    assertEquals(data.getProperties().get(GameData.GAME_UUID), metadata.getGameUUID());
+    assertEquals(data.getSequence().getRound(), metadata.getRound());
+    assertTrue(metadata.getPlayers().containsAll(Arrays.asList("Germans", "Russians")));
+    final Map<String, Object> properties = new GameDataManager().loadProperties(file);
+    assertEquals(data.getProperties().getEditableProperties().size(), properties.size());
+    assertEquals(data.getProperties().get(Constants.LOW_LUCK, false), properties.get(Constants.LOW_LUCK));
+
+    final File legacy = File.createTempFile("triplea", ".tsvg");
+    legacy.deleteOnExit();
+    try (FileOutputStream out = new FileOutputStream(legacy)) {
+      new GameDataManager().saveGame(out, data, true);
+    }
+    assertNull(new GameDataManager().loadMetadata(legacy));
+    assertNull(new GameDataManager().loadProperties(legacy));
+  }
 }
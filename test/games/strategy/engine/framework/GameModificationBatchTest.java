@@ -0,0 +1,249 @@
+package games.strategy.engine.framework;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.InputStream;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import games.strategy.engine.data.Change;
+import games.strategy.engine.data.ChangeFactory;
+import games.strategy.engine.data.GameData;
+import games.strategy.engine.data.GameObjectInputStream;
+import games.strategy.engine.data.GameObjectOutputStream;
+import games.strategy.engine.data.GameParser;
+import games.strategy.engine.data.PlayerID;
+import games.strategy.engine.data.Resource;
+import games.strategy.engine.delegate.DelegateExecutionManager;
+
+public class GameModificationBatchTest {
+  private GameData m_data;
+  private PlayerID m_player;
+  private Resource m_gold;
+
+  @Before
+  public void setUp() throws Exception {
+    try (final InputStream input = GameData.class.getResource("Test.xml").openStream()) {
+      m_data = new GameParser().parse(input, new AtomicReference<>(), false);
+    }
+    m_player = m_data.getPlayerList().getPlayerID("chretian");
+    m_gold = m_data.getResourceList().getResource("gold");
+  }
+
+  private GameModificationBatch serialize(final GameModificationBatch batch) throws Exception {
+    final ByteArrayOutputStream sink = new ByteArrayOutputStream();
+    try (final ObjectOutputStream output = new GameObjectOutputStream(sink)) {
+      output.writeObject(batch);
+    }
+    try (final ObjectInputStream input = new GameObjectInputStream(new GameObjectStreamFactory(m_data),
+        new ByteArrayInputStream(sink.toByteArray()))) {
+      return (GameModificationBatch) input.readObject();
+    }
+  }
+
+  private void assertReplaysInOrder(final boolean compact) throws Exception {
+    final GameModificationBatch batch = new GameModificationBatch(compact);
+    batch.addStartHistoryEvent("event", "data");
+    batch.addChange(ChangeFactory.changeResourcesChange(m_player, m_gold, 50));
+    batch.addChildToEvent("child", null);
+    batch.addChange(ChangeFactory.changeResourcesChange(m_player, m_gold, -20));
+    final GameModificationBatch copy = serialize(batch);
+    assertEquals(4, copy.size());
+    final RecordingChannel channel = new RecordingChannel();
+    copy.replay(channel);
+    assertEquals(Arrays.asList("start:event:data", "change", "child:child:null", "change"), channel.calls);
+    for (final Change change : channel.changes) {
+      m_data.performChange(change);
+    }
+    assertEquals(130, m_player.getResources().getQuantity(m_gold));
+  }
+
+  @Test
+  public void testCompactBatchReplaysInOrder() throws Exception {
+    assertReplaysInOrder(true);
+  }
+
+  @Test
+  public void testSerializedBatchReplaysInOrder() throws Exception {
+    assertReplaysInOrder(false);
+  }
+
+  @Test
+  public void testDelegateModificationsAreSentWhenLeavingDelegateExecution() {
+    final RecordingChannel broadcaster = new RecordingChannel();
+    final RecordingChannel local = new RecordingChannel();
+    final DelegateExecutionManager delegateExecutionManager = new DelegateExecutionManager();
+    final GameModificationBatcher batcher =
+        new GameModificationBatcher(broadcaster, local, delegateExecutionManager, true);
+    delegateExecutionManager.enterDelegateExecution();
+    batcher.startHistoryEvent("event");
+    batcher.gameDataChanged(ChangeFactory.changeResourcesChange(m_player, m_gold, 50));
+    // applied on the server right away, but not yet sent
+    assertEquals(Arrays.asList("start:event:null", "change"), local.calls);
+    assertTrue(broadcaster.calls.isEmpty());
+    delegateExecutionManager.leaveDelegateExecution();
+    assertEquals(Arrays.asList("batch:2"), broadcaster.calls);
+    // outside of a delegate, modifications are sent as they are made
+    batcher.gameDataChanged(ChangeFactory.changeResourcesChange(m_player, m_gold, 50));
+    batcher.stepChanged("step", "delegate", m_player, 1, "display", false);
+    assertEquals(Arrays.asList("batch:2", "change", "step:step"), broadcaster.calls);
+    assertEquals(2, local.calls.size());
+  }
+
+  @Test(timeout = 20000)
+  public void testCallerHoldingTheReadLockDoesNotDeadlock() throws Exception {
+    final ReentrantReadWriteLock dataLock = new ReentrantReadWriteLock();
+    final RecordingChannel broadcaster = new RecordingChannel();
+    final RecordingChannel local = new RecordingChannel() {
+      @Override
+      public void gameDataChanged(final Change aChange) {
+        // as GameData.performChange does
+        dataLock.writeLock().lock();
+        try {
+          super.gameDataChanged(aChange);
+        } finally {
+          dataLock.writeLock().unlock();
+        }
+      }
+    };
+    final DelegateExecutionManager delegateExecutionManager = new DelegateExecutionManager();
+    final GameModificationBatcher batcher =
+        new GameModificationBatcher(broadcaster, local, delegateExecutionManager, true);
+    final Thread delegate = new Thread(() -> {
+      delegateExecutionManager.enterDelegateExecution();
+      try {
+        batcher.gameDataChanged(ChangeFactory.changeResourcesChange(m_player, m_gold, 50));
+      } finally {
+        delegateExecutionManager.leaveDelegateExecution();
+      }
+    });
+    dataLock.readLock().lock();
+    try {
+      delegate.start();
+      while (!dataLock.hasQueuedThread(delegate)) {
+        Thread.sleep(1);
+      }
+      // the delegate is applying its change and waits for the write lock we hold
+      batcher.stepChanged("step", "delegate", m_player, 1, "display", false);
+      batcher.flush();
+    } finally {
+      dataLock.readLock().unlock();
+    }
+    delegate.join();
+    assertEquals(Arrays.asList("change"), local.calls);
+    assertEquals(Arrays.asList("batch:1", "step:step"), broadcaster.calls);
+  }
+
+  @Test(timeout = 20000)
+  public void testFailuresReachTheSubmittingThread() throws Exception {
+    final CountDownLatch applying = new CountDownLatch(1);
+    final CountDownLatch stepQueued = new CountDownLatch(1);
+    final RecordingChannel broadcaster = new RecordingChannel() {
+      @Override
+      public void stepChanged(final String stepName, final String delegateName, final PlayerID player,
+          final int round, final String displayName, final boolean loadedFromSavedGame) {
+        throw new IllegalStateException("messenger shut down");
+      }
+    };
+    final RecordingChannel local = new RecordingChannel() {
+      @Override
+      public void gameDataChanged(final Change aChange) {
+        super.gameDataChanged(aChange);
+        applying.countDown();
+        try {
+          stepQueued.await();
+        } catch (final InterruptedException e) {
+          throw new IllegalStateException(e);
+        }
+      }
+    };
+    final DelegateExecutionManager delegateExecutionManager = new DelegateExecutionManager();
+    final GameModificationBatcher batcher =
+        new GameModificationBatcher(broadcaster, local, delegateExecutionManager, true);
+    final AtomicReference<Throwable> delegateFailure = new AtomicReference<>();
+    final Thread delegate = new Thread(() -> {
+      delegateExecutionManager.enterDelegateExecution();
+      try {
+        batcher.gameDataChanged(ChangeFactory.changeResourcesChange(m_player, m_gold, 50));
+        batcher.gameDataChanged(ChangeFactory.changeResourcesChange(m_player, m_gold, 50));
+      } catch (final Throwable e) {
+        delegateFailure.set(e);
+      } finally {
+        delegateExecutionManager.leaveDelegateExecution();
+      }
+    });
+    delegate.start();
+    applying.await();
+    // queued behind the delegate, which runs it and must not fail for it
+    batcher.stepChanged("step", "delegate", m_player, 1, "display", false);
+    stepQueued.countDown();
+    delegate.join();
+    assertEquals(null, delegateFailure.get());
+    assertEquals(Arrays.asList("change", "change"), local.calls);
+    assertEquals(Arrays.asList("batch:1", "batch:1"), broadcaster.calls);
+    // run on the thread that submitted it, the failure is thrown there, and the batcher goes on
+    try {
+      batcher.stepChanged("step", "delegate", m_player, 1, "display", false);
+      fail("expected the failure of the broadcast");
+    } catch (final IllegalStateException e) {
+      assertEquals("messenger shut down", e.getMessage());
+    }
+    batcher.gameDataChanged(ChangeFactory.changeResourcesChange(m_player, m_gold, 50));
+    assertEquals(Arrays.asList("batch:1", "batch:1", "change"), broadcaster.calls);
+  }
+
+  private static class RecordingChannel implements IGameModifiedChannel {
+    private final List<String> calls = new ArrayList<>();
+    private final List<Change> changes = new ArrayList<>();
+
+    @Override
+    public void gameDataChanged(final Change aChange) {
+      calls.add("change");
+      changes.add(aChange);
+    }
+
+    @Override
+    public void startHistoryEvent(final String event, final Object renderingData) {
+      calls.add("start:" + event + ":" + renderingData);
+    }
+
+    @Override
+    public void startHistoryEvent(final String event) {
+      startHistoryEvent(event, null);
+    }
+
+    @Override
+    public void addChildToEvent(final String text, final Object renderingData) {
+      calls.add("child:" + text + ":" + renderingData);
+    }
+
+    @Override
+    public void gameModificationBatch(final GameModificationBatch batch) {
+      calls.add("batch:" + batch.size());
+    }
+
+    @Override
+    public void stepChanged(final String stepName, final String delegateName, final PlayerID player, final int round,
+        final String displayName, final boolean loadedFromSavedGame) {
+      calls.add("step:" + stepName);
+    }
+
+    @Override
+    public void shutDown() {
+      calls.add("shutDown");
+    }
+  }
+}
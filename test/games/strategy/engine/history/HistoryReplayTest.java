@@ -0,0 +1,96 @@
+package games.strategy.engine.history;
+
+import static games.strategy.triplea.delegate.GameDataTestUtil.germans;
+import static games.strategy.triplea.delegate.GameDataTestUtil.russians;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.Enumeration;
+import java.util.List;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import games.strategy.engine.data.Change;
+import games.strategy.engine.data.ChangeFactory;
+import games.strategy.engine.data.GameData;
+import games.strategy.engine.data.PlayerID;
+import games.strategy.engine.data.Resource;
+import games.strategy.triplea.Constants;
+import games.strategy.triplea.xml.LoadGameUtil;
+
+public class HistoryReplayTest {
+  private GameData m_data;
+  private Resource m_pus;
+
+  @Before
+  public void setUp() throws Exception {
+    m_data = LoadGameUtil.loadTestGame("revised_test.xml");
+    m_pus = m_data.getResourceList().getResource(Constants.PUS);
+    final HistoryWriter writer = m_data.getHistory().getHistoryWriter();
+    for (int round = 1; round <= 3; round++) {
+      writer.startNextRound(round);
+      for (final PlayerID player : new PlayerID[] {germans(m_data), russians(m_data)}) {
+        writer.startNextStep(player.getName() + "Purchase", "purchase", player, "Purchase");
+        for (int event = 0; event < 2; event++) {
+          writer.startEvent(player.getName() + " collects");
+          addChange(writer, ChangeFactory.changeResourcesChange(player, m_pus, round + event));
+        }
+        writer.startNextStep(player.getName() + "EndTurn", "endTurn", player, "End Turn");
+        addChange(writer, ChangeFactory.changeResourcesChange(player, m_pus, -1));
+      }
+    }
+  }
+
+  private void addChange(final HistoryWriter writer, final Change change) {
+    m_data.performChange(change);
+    writer.addChange(change);
+  }
+
+  private List<Integer> getPUs() {
+    final List<Integer> pus = new ArrayList<>();
+    pus.add(germans(m_data).getResources().getQuantity(m_pus));
+    pus.add(russians(m_data).getResources().getQuantity(m_pus));
+    return pus;
+  }
+
+  @Test
+  public void testReplayMatchesGotoNode() {
+    final History history = m_data.getHistory();
+    final List<List<Integer>> expected = new ArrayList<>();
+    final Enumeration<?> nodes = ((HistoryNode) history.getRoot()).preorderEnumeration();
+    nodes.nextElement();
+    while (nodes.hasMoreElements()) {
+      history.gotoNode((HistoryNode) nodes.nextElement());
+      expected.add(getPUs());
+    }
+    history.gotoNode(history.getLastNode());
+    final List<Integer> end = getPUs();
+    final HistoryReplay replay = new HistoryReplay(m_data);
+    int index = 0;
+    while (replay.hasNext()) {
+      final HistoryNode node = replay.next();
+      assertEquals(node.toString(), expected.get(index++), getPUs());
+    }
+    assertEquals(expected.size(), index);
+    assertTrue(index > 3 * 2 * 2);
+    assertEquals(end, getPUs());
+  }
+
+  @Test
+  public void testGotoNodeAfterReplay() {
+    final List<Integer> end = getPUs();
+    final History history = m_data.getHistory();
+    final HistoryReplay replay = new HistoryReplay(m_data);
+    replay.next();
+    final List<Integer> start = getPUs();
+    while (replay.hasNext()) {
+      replay.next();
+    }
+    history.gotoNode((HistoryNode) history.getRoot());
+    assertEquals(start, getPUs());
+    history.gotoNode(history.getLastNode());
+    assertEquals(end, getPUs());
+  }
+}
@@ -0,0 +1,166 @@
+package games.strategy.engine.history;
+
+import static games.strategy.triplea.delegate.GameDataTestUtil.germans;
+import static games.strategy.triplea.delegate.GameDataTestUtil.russians;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Enumeration;
+import java.util.List;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import games.strategy.engine.data.Change;
+import games.strategy.engine.data.ChangeFactory;
+import games.strategy.engine.data.GameData;
+import games.strategy.engine.data.PlayerID;
+import games.strategy.engine.data.Resource;
+import games.strategy.engine.framework.GameDataManager;
+import games.strategy.engine.framework.GameDataUtils;
+import games.strategy.triplea.Constants;
+import games.strategy.triplea.xml.LoadGameUtil;
+
+public class LazyRoundTest {
+  private GameData m_data;
+  // read from a legacy save, whose history is read at once
+  private GameData m_eager;
+  private GameData m_loaded;
+
+  @Before
+  public void setUp() throws Exception {
+    m_data = LoadGameUtil.loadTestGame("revised_test.xml");
+    final Resource pus = m_data.getResourceList().getResource(Constants.PUS);
+    final HistoryWriter writer = m_data.getHistory().getHistoryWriter();
+    for (int round = 1; round <= 3; round++) {
+      writer.startNextRound(round);
+      for (final PlayerID player : new PlayerID[] {germans(m_data), russians(m_data)}) {
+        writer.startNextStep(player.getName() + "Purchase", "purchase", player, "Purchase");
+        for (int event = 0; event < 2; event++) {
+          writer.startEvent(player.getName() + " collects");
+          addChange(writer, ChangeFactory.changeResourcesChange(player, pus, round + event));
+        }
+        writer.startNextStep(player.getName() + "EndTurn", "endTurn", player, "End Turn");
+        addChange(writer, ChangeFactory.changeResourcesChange(player, pus, -1));
+      }
+    }
+    final ByteArrayOutputStream sink = new ByteArrayOutputStream();
+    new GameDataManager().saveGame(sink, m_data, true);
+    m_eager = new GameDataManager().loadGame(new ByteArrayInputStream(sink.toByteArray()), null);
+    m_loaded = saveAndLoad(m_data);
+  }
+
+  private void addChange(final HistoryWriter writer, final Change change) {
+    m_data.performChange(change);
+    writer.addChange(change);
+  }
+
+  private static GameData saveAndLoad(final GameData data) throws IOException {
+    final ByteArrayOutputStream sink = new ByteArrayOutputStream();
+    new GameDataManager().saveGame(sink, data);
+    return new GameDataManager().loadGame(new ByteArrayInputStream(sink.toByteArray()), null);
+  }
+
+  private static HistoryNode getRound(final GameData data, final int index) {
+    return (HistoryNode) ((HistoryNode) data.getHistory().getRoot()).getChildAt(index);
+  }
+
+  private static boolean isRead(final HistoryNode round) {
+    return !(round instanceof LazyRound) || ((LazyRound) round).getChunk() == null;
+  }
+
+  private static List<Integer> getPUs(final GameData data) {
+    final List<Integer> pus = new ArrayList<>();
+    pus.add(germans(data).getResources().getQuantity(Constants.PUS));
+    pus.add(russians(data).getResources().getQuantity(Constants.PUS));
+    return pus;
+  }
+
+  @Test
+  public void testOnlyLastRoundIsRead() {
+    assertEquals(3, ((HistoryNode) m_loaded.getHistory().getRoot()).getChildCount());
+    assertFalse(isRead(getRound(m_loaded, 0)));
+    assertFalse(isRead(getRound(m_loaded, 1)));
+    assertTrue(isRead(getRound(m_loaded, 2)));
+    assertFalse(getRound(m_loaded, 0).isLeaf());
+    assertEquals(getPUs(m_eager), getPUs(m_loaded));
+    // expanding a round reads it alone
+    assertEquals(getRound(m_eager, 0).getChildCount(), getRound(m_loaded, 0).getChildCount());
+    assertTrue(isRead(getRound(m_loaded, 0)));
+    assertFalse(isRead(getRound(m_loaded, 1)));
+  }
+
+  @Test
+  public void testLazyHistoryMatches() {
+    final Enumeration<?> nodes = ((HistoryNode) m_eager.getHistory().getRoot()).preorderEnumeration();
+    final Enumeration<?> loadedNodes = ((HistoryNode) m_loaded.getHistory().getRoot()).preorderEnumeration();
+    while (nodes.hasMoreElements()) {
+      final HistoryNode node = (HistoryNode) nodes.nextElement();
+      final HistoryNode loadedNode = (HistoryNode) loadedNodes.nextElement();
+      assertEquals(node.toString(), loadedNode.toString());
+      m_eager.getHistory().gotoNode(node);
+      m_loaded.getHistory().gotoNode(loadedNode);
+      assertEquals(node.toString(), getPUs(m_eager), getPUs(m_loaded));
+    }
+    assertFalse(loadedNodes.hasMoreElements());
+  }
+
+  @Test
+  public void testGotoNodeReadsTheRoundsInBetween() {
+    m_loaded.getHistory().gotoNode((HistoryNode) m_loaded.getHistory().getRoot());
+    assertTrue(isRead(getRound(m_loaded, 0)));
+    assertTrue(isRead(getRound(m_loaded, 1)));
+    m_eager.getHistory().gotoNode((HistoryNode) m_eager.getHistory().getRoot());
+    assertEquals(getPUs(m_eager), getPUs(m_loaded));
+  }
+
+  @Test
+  public void testSaveWithoutReading() throws IOException {
+    final LazyRound round = (LazyRound) getRound(m_loaded, 0);
+    final HistoryChunk chunk = round.getChunk();
+    assertNotNull(chunk);
+    final List<HistoryChunk> chunks = m_loaded.getHistory().writeChunks();
+    assertEquals(3, chunks.size());
+    // the round not read is written as it was read
+    assertTrue(chunks.get(0) == chunk);
+    assertFalse(chunks.get(2).isCompressed());
+    final GameData reloaded = saveAndLoad(m_loaded);
+    assertNotNull(((LazyRound) getRound(m_loaded, 0)).getChunk());
+    reloaded.getHistory().gotoNode((HistoryNode) reloaded.getHistory().getRoot());
+    m_eager.getHistory().gotoNode((HistoryNode) m_eager.getHistory().getRoot());
+    assertEquals(getPUs(m_eager), getPUs(reloaded));
+  }
+
+  @Test
+  public void testCopyKeepsRoundsUnread() {
+    final GameData copy = GameDataUtils.cloneGameData(m_loaded);
+    assertFalse(isRead(getRound(copy, 0)));
+    assertFalse(isRead(getRound(m_loaded, 0)));
+    copy.getHistory().gotoNode((HistoryNode) copy.getHistory().getRoot());
+    m_eager.getHistory().gotoNode((HistoryNode) m_eager.getHistory().getRoot());
+    assertEquals(getPUs(m_eager), getPUs(copy));
+  }
+
+  @Test
+  public void testRemoveHistoryAfterLazyRound() {
+    final History history = m_loaded.getHistory();
+    // the first event of the second round
+    final HistoryNode event = (HistoryNode) getRound(m_loaded, 1).getChildAt(0).getChildAt(0);
+    history.removeAllHistoryAfterNode(event);
+    assertEquals(2, ((HistoryNode) history.getRoot()).getChildCount());
+    assertNull(((LazyRound) getRound(m_loaded, 1)).getChunk());
+    final History eager = m_eager.getHistory();
+    eager.removeAllHistoryAfterNode((HistoryNode) getRound(m_eager, 1).getChildAt(0).getChildAt(0));
+    assertEquals(getPUs(m_eager), getPUs(m_loaded));
+    history.gotoNode((HistoryNode) history.getRoot());
+    eager.gotoNode((HistoryNode) eager.getRoot());
+    assertEquals(getPUs(m_eager), getPUs(m_loaded));
+  }
+}
@@ -0,0 +1,136 @@
+package games.strategy.engine.lobby.server;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.net.InetAddress;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.Mockito;
+
+import games.strategy.engine.lobby.server.GameDescription.GameStatus;
+import games.strategy.engine.message.MessageContext;
+import games.strategy.net.GUID;
+import games.strategy.net.INode;
+import games.strategy.net.IServerMessenger;
+import games.strategy.net.Node;
+
+public class LobbyGameControllerTest {
+  private INode m_host;
+  private RecordingBroadcaster m_broadcaster;
+  private GUID m_gameId;
+  private GameDescription m_description;
+
+  @Before
+  public void setUp() throws Exception {
+    m_host = new Node("host", InetAddress.getByAddress(new byte[] {1, 2, 3, 4}), 3300);
+    MessageContext.setSenderNodeForThread(m_host);
+    m_broadcaster = new RecordingBroadcaster();
+    m_gameId = new GUID();
+    m_description = new GameDescription(m_host, 3300, new Date(), "game", 2, GameStatus.WAITING_FOR_PLAYERS, "0",
+        "host", "comment", false, "1.9", "1.0");
+  }
+
+  private LobbyGameController newController() {
+    return new LobbyGameController(m_broadcaster, Mockito.mock(IServerMessenger.class), 60 * 1000);
+  }
+
+  /**
+   * Hosts send a copy of their description, keep the sent ones unchanged.
+   */
+  private GameDescription nextVersion() {
+    m_description = (GameDescription) m_description.clone();
+    return m_description;
+  }
+
+  @Test
+  public void testUpdatesAreSentTogetherAsDeltas() {
+    final LobbyGameController controller = newController();
+    controller.postGame(m_gameId, m_description);
+    final GameDescription sent = m_description;
+    nextVersion().setRound("1");
+    controller.updateGame(m_gameId, m_description);
+    nextVersion().setRound("2");
+    nextVersion().setPlayerCount(3);
+    controller.updateGame(m_gameId, m_description);
+    // nothing sent until the window ends
+    assertEquals(1, m_broadcaster.fullUpdates);
+    assertTrue(m_broadcaster.deltas.isEmpty());
+    controller.sendUpdates();
+    assertEquals(1, m_broadcaster.deltas.size());
+    final GameDescriptionDelta delta = m_broadcaster.deltas.get(0);
+    assertEquals(sent.getVersion(), delta.getFromVersion());
+    assertEquals(m_description.getVersion(), delta.getToVersion());
+    final GameDescription applied = delta.applyTo(sent);
+    assertEquals("2", applied.getRound());
+    assertEquals(3, applied.getPlayerCount());
+    assertEquals(m_description.getVersion(), applied.getVersion());
+    // the next delta starts from what was sent
+    controller.sendUpdates();
+    assertEquals(1, m_broadcaster.deltas.size());
+    nextVersion().setStatus(GameStatus.IN_PROGRESS);
+    controller.updateGame(m_gameId, m_description);
+    controller.sendUpdates();
+    assertEquals(2, m_broadcaster.deltas.size());
+    assertTrue(m_broadcaster.deltas.get(1).canApplyTo(applied));
+    assertEquals(GameStatus.IN_PROGRESS, m_broadcaster.deltas.get(1).applyTo(applied).getStatus());
+  }
+
+  @Test
+  public void testDeltaSerializesOnlyChangedFields() throws Exception {
+    final GameDescription from = (GameDescription) m_description.clone();
+    m_description.setComment("new comment");
+    m_description.setRound("5");
+    final GameDescriptionDelta delta = GameDescriptionDelta.between(m_gameId, from, m_description);
+    assertFalse(delta.isEmpty());
+    final ByteArrayOutputStream sink = new ByteArrayOutputStream();
+    try (ObjectOutputStream out = new ObjectOutputStream(sink)) {
+      out.writeObject(delta);
+    }
+    // what gameUpdated sends for the same change
+    final ByteArrayOutputStream fullSink = new ByteArrayOutputStream();
+    try (ObjectOutputStream out = new ObjectOutputStream(fullSink)) {
+      out.writeObject(m_gameId);
+      out.writeObject(m_description);
+    }
+    assertTrue(sink.size() < fullSink.size());
+    final GameDescriptionDelta read;
+    try (ObjectInputStream in = new ObjectInputStream(new ByteArrayInputStream(sink.toByteArray()))) {
+      read = (GameDescriptionDelta) in.readObject();
+    }
+    assertEquals(m_gameId, read.getGameId());
+    final GameDescription applied = read.applyTo(from);
+    assertEquals("new comment", applied.getComment());
+    assertEquals("5", applied.getRound());
+    assertEquals("game", applied.getGameName());
+    assertEquals(m_description.getVersion(), applied.getVersion());
+    assertFalse(read.canApplyTo(applied));
+  }
+
+  private static final class RecordingBroadcaster implements ILobbyGameBroadcaster {
+    private int fullUpdates;
+    private final List<GameDescriptionDelta> deltas = new ArrayList<>();
+
+    @Override
+    public void gameUpdated(final GUID gameId, final GameDescription description) {
+      fullUpdates++;
+    }
+
+    @Override
+    public void gamesChanged(final List<GameDescriptionDelta> changes) {
+      deltas.addAll(changes);
+    }
+
+    @Override
+    public void gameRemoved(final GUID gameId) {}
+  }
+}
@@ -1,9 +1,17 @@
 package games.strategy.engine.message;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
 
+import java.util.ArrayList;
+import java.util.Collections;
 import java.util.Comparator;
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
 
 import org.junit.Test;
 
@@ -19,4 +27,67 @@ public class EndPointTest {
     assertEquals(results.size(), 1);
     assertEquals(2, (results.iterator().next()).getRVal());
   }
+
+  private static RemoteMethodCall compare(final Object o1, final Object o2) {
+    return new RemoteMethodCall("", "compare", new Object[] {o1, o2}, new Class[] {Object.class, Object.class},
+        Comparator.class);
+  }
+
+  @Test
+  public void testSingleThreadedDispatchRunsInOrder() throws Exception {
+    final List<Object> order = Collections.synchronizedList(new ArrayList<>());
+    final EndPoint endPoint = new EndPoint("", Comparator.class, true);
+    endPoint.addImplementor((Comparator<Object>) (o1, o2) -> {
+      order.add(o1);
+      return 0;
+    });
+    final ExecutorService executor = Executors.newFixedThreadPool(4);
+    try {
+      final List<CompletableFuture<List<RemoteMethodCallResults>>> results = new ArrayList<>();
+      for (int i = 0; i < 200; i++) {
+        results.add(endPoint.dispatch(compare(i, i), null, executor));
+      }
+      for (final CompletableFuture<List<RemoteMethodCallResults>> result : results) {
+        assertEquals(0, result.get(5, TimeUnit.SECONDS).get(0).getRVal());
+      }
+    } finally {
+      executor.shutdown();
+    }
+    for (int i = 0; i < 200; i++) {
+      assertEquals(i, order.get(i));
+    }
+  }
+
+  @Test
+  public void testBlockedSingleThreadedEndPointHoldsOneThread() throws Exception {
+    final CountDownLatch release = new CountDownLatch(1);
+    final EndPoint blocked = new EndPoint("blocked", Comparator.class, true);
+    blocked.addImplementor((Comparator<Object>) (o1, o2) -> {
+      try {
+        release.await();
+      } catch (final InterruptedException e) {
+        Thread.currentThread().interrupt();
+      }
+      return 1;
+    });
+    final EndPoint other = new EndPoint("other", Comparator.class, false);
+    other.addImplementor((Comparator<Object>) (o1, o2) -> 2);
+    final ExecutorService executor = Executors.newFixedThreadPool(2);
+    try {
+      final List<CompletableFuture<List<RemoteMethodCallResults>>> waiting = new ArrayList<>();
+      for (int i = 0; i < 20; i++) {
+        waiting.add(blocked.dispatch(compare(i, i), null, executor));
+      }
+      // the queued calls wait without a thread each, so the second thread is still free
+      assertEquals(2, other.dispatch(compare("", ""), null, executor).get(5, TimeUnit.SECONDS).get(0).getRVal());
+      assertTrue(waiting.stream().noneMatch(CompletableFuture::isDone));
+      release.countDown();
+      for (final CompletableFuture<List<RemoteMethodCallResults>> result : waiting) {
+        assertEquals(1, result.get(5, TimeUnit.SECONDS).get(0).getRVal());
+      }
+    } finally {
+      release.countDown();
+      executor.shutdown();
+    }
+  }
 }
@@ -1,6 +1,9 @@
 package games.strategy.net;
 
+import static org.junit.Assert.assertArrayEquals;
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
 import static org.junit.Assert.fail;
 
 import java.io.IOException;
@@ -8,6 +11,7 @@ import java.io.Serializable;
 import java.net.UnknownHostException;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Random;
 import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.concurrent.atomic.AtomicInteger;
 
@@ -131,6 +135,18 @@ public class MessengerTest {
     assertEquals(m_serverListener.getMessageCount(), 0);
   }
 
+  @Test
+  public void testLargeMessageIsFollowedInOrder() {
+    // random bytes do not compress, so this is sent in many chunks
+    final byte[] message = new byte[1000 * 1000];
+    new Random(7).nextBytes(message);
+    m_server.send(message, m_client1.getLocalNode());
+    m_server.send("after", m_client1.getLocalNode());
+    assertArrayEquals(message, (byte[]) m_client1Listener.getLastMessage());
+    m_client1Listener.clearLastMessage();
+    assertEquals("after", m_client1Listener.getLastMessage());
+  }
+
   @Test
   public void testServerBroadcast() {
     final String message = "Hello";
@@ -251,7 +267,23 @@ public class MessengerTest {
   }
 
   @Test
-  public void testClose() throws InterruptedException {
+  public void testConnectionStatsAreDroppedOnDisconnect() {
+    final ServerMessenger server = (ServerMessenger) m_server;
+    final INode client1 = m_client1.getLocalNode();
+    assertNotNull(server.getConnectionStats(client1));
+    m_client1.shutDown();
+    for (int i = 0; i < 100; i++) {
+      if (m_server.getNodes().size() == 2) {
+        break;
+      }
+      ThreadUtil.sleep(10);
+    }
+    assertNull(server.getConnectionStats(client1));
+    assertNotNull(server.getConnectionStats(m_client2.getLocalNode()));
+  }
+
+  @Test
+  public void testClose()throws InterruptedException {
     final AtomicBoolean closed = new AtomicBoolean(false);
     m_client1.addErrorListener(new IMessengerErrorListener() {
       @Override
@@ -0,0 +1,85 @@
+package games.strategy.net.nio;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+
+import org.junit.Test;
+
+public class MessageFramingTest {
+  private static ByteBuffer content(final SocketWriteData packet) {
+    final ByteBuffer buffer = packet.getBuffer().duplicate();
+    // skip the size
+    buffer.position(4);
+    return buffer;
+  }
+
+  private static byte[] toArray(final ByteBuffer buffer) {
+    final byte[] rVal = new byte[buffer.remaining()];
+    buffer.get(rVal);
+    return rVal;
+  }
+
+  private static byte[] roundTrip(final byte[] message, final int expectedPackets) throws Exception {
+    final List<SocketWriteData> packets = MessageFraming.frame(message, message.length);
+    assertEquals(expectedPackets, packets.size());
+    final MessageFraming.Assembler assembler = new MessageFraming.Assembler();
+    for (int i = 0; i < packets.size() - 1; i++) {
+      assertNull(assembler.add(content(packets.get(i))));
+    }
+    return toArray(assembler.add(content(packets.get(packets.size() - 1))));
+  }
+
+  @Test
+  public void testRepetitiveMessageIsCompressed() throws Exception {
+    final byte[] message = new byte[200 * 1000];
+    for (int i = 0; i < message.length; i++) {
+      message[i] = (byte) "games.strategy.engine.data.Territory".charAt(i % 36);
+    }
+    final List<SocketWriteData> packets = MessageFraming.frame(message, message.length);
+    assertEquals(1, packets.size());
+    assertTrue(packets.get(0).size() < message.length / 10);
+    assertEquals(MessageFraming.COMPRESSED, content(packets.get(0)).get());
+    assertArrayEquals(message, roundTrip(message, 1));
+  }
+
+  @Test
+  public void testRandomMessageIsChunkedUncompressed() throws Exception {
+    final byte[] message = new byte[MessageFraming.CHUNK_SIZE * 3 + 17];
+    new Random(42).nextBytes(message);
+    assertArrayEquals(message, roundTrip(message, 4));
+    assertEquals(0, content(MessageFraming.frame(message, message.length).get(3)).get());
+  }
+
+  @Test
+  public void testSmallMessage() throws Exception {
+    final byte[] message = Arrays.copyOf("hello".getBytes("US-ASCII"), 5);
+    assertArrayEquals(message, roundTrip(message, 1));
+  }
+
+  @Test
+  public void testReleasedBufferIsReused() {
+    final BufferPool pool = new BufferPool();
+    final PooledBuffer buffer = pool.acquire(3000);
+    assertEquals(4096, buffer.getBuffer().capacity());
+    assertEquals(3000, buffer.getBuffer().limit());
+    assertTrue(buffer.retain());
+    buffer.release();
+    assertEquals(0, pool.getFreeCount(3000));
+    buffer.release();
+    assertEquals(1, pool.getFreeCount(3000));
+    assertFalse(buffer.retain());
+    assertSame(buffer.getBuffer(), pool.acquire(4000).getBuffer());
+    assertEquals(0, pool.getFreeCount(3000));
+    // too big to pool
+    assertFalse(pool.acquire(1024 * 1024).getBuffer().isDirect());
+  }
+}
@@ -0,0 +1,40 @@
+package games.strategy.performance;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.util.SortedMap;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.Test;
+
+public class MetricsTest {
+  @Test
+  public void testCountersAndTimersShowInSnapshot() {
+    final Metrics.Counter counter = Metrics.counter("test.counter");
+    counter.add(5);
+    counter.decrement();
+    assertEquals(4, Metrics.counter("test.counter").get());
+    final Metrics.Timer timer = Metrics.timer("test.timer");
+    timer.record(TimeUnit.MILLISECONDS.toNanos(2));
+    timer.record(TimeUnit.MILLISECONDS.toNanos(4));
+    final SortedMap<String, Long> snapshot = Metrics.snapshot();
+    assertEquals(Long.valueOf(4), snapshot.get("test.counter"));
+    assertEquals(Long.valueOf(2), snapshot.get("test.timer.count"));
+    assertEquals(Long.valueOf(3000), snapshot.get("test.timer.meanMicros"));
+    assertEquals(Long.valueOf(4000), snapshot.get("test.timer.maxMicros"));
+    assertTrue(Metrics.toText().contains("test.timer.totalMicros=6000\n"));
+  }
+
+  @Test
+  public void testGaugesAreReadWhenSnapshotIsTaken() {
+    final long[] value = {1};
+    Metrics.gauge("test.gauge", () -> value[0]);
+    assertEquals(Long.valueOf(1), Metrics.snapshot().get("test.gauge"));
+    value[0] = 7;
+    assertEquals(Long.valueOf(7), Metrics.snapshot().get("test.gauge"));
+    Metrics.removeGauge("test.gauge");
+    assertFalse(Metrics.snapshot().containsKey("test.gauge"));
+  }
+}
@@ -0,0 +1,65 @@
+package games.strategy.performance;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import java.io.StringWriter;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.After;
+import org.junit.Test;
+import org.yaml.snakeyaml.Yaml;
+
+public class PerfTest {
+  @After
+  public void tearDown() {
+    Perf.setTracing(false);
+  }
+
+  @Test
+  public void testTimersAreNotKeptWhenDisabled() {
+    Perf.setTracing(false);
+    final PerfTimer timer = Perf.startTimer("test", "PerfTest disabled");
+    assertSame(PerfTimer.DISABLED_TIMER, timer);
+    timer.close();
+    assertFalse(Perf.getHistograms().containsKey("PerfTest disabled"));
+  }
+
+  @Test
+  @SuppressWarnings("unchecked")
+  public void testNestedTimersAreWrittenAsTrace() throws Exception {
+    Perf.setTracing(true);
+    try (PerfTimer outer = Perf.startTimer("test", "PerfTest \"outer\"")) {
+      for (int i = 0; i < 3; i++) {
+        try (PerfTimer inner = Perf.startTimer("test", "PerfTest inner")) {
+          Thread.sleep(1);
+        }
+      }
+    }
+    assertEquals(3, Perf.getHistograms().get("PerfTest inner").getCount());
+    assertTrue(Perf.getHistograms().get("PerfTest inner").getPercentileMicros(50) >= 1000);
+    final StringWriter out = new StringWriter();
+    Perf.writeTrace(out);
+    // json is yaml, the trace must parse
+    final Map<String, Object> trace = (Map<String, Object>) new Yaml().load(out.toString());
+    final List<Map<String, Object>> events = (List<Map<String, Object>>) trace.get("traceEvents");
+    int inner = 0;
+    Map<String, Object> outer = null;
+    for (final Map<String, Object> event : events) {
+      if ("PerfTest inner".equals(event.get("name"))) {
+        inner++;
+        assertEquals(1, ((Map<String, Object>) event.get("args")).get("depth"));
+      } else if ("PerfTest \"outer\"".equals(event.get("name"))) {
+        outer = event;
+      }
+    }
+    assertEquals(3, inner);
+    assertEquals("X", outer.get("ph"));
+    assertEquals(0, ((Map<String, Object>) outer.get("args")).get("depth"));
+    assertTrue(((Number) outer.get("dur")).doubleValue() >= 3000);
+    assertTrue(((Map<String, Object>) trace.get("otherData")).containsKey("PerfTest inner"));
+  }
+}
@@ -0,0 +1,50 @@
+package games.strategy.sound;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertTrue;
+
+import java.io.FileInputStream;
+
+import javax.sound.sampled.AudioFormat;
+
+import org.junit.Test;
+
+public class DecodedClipCacheTest {
+  private static DecodedClip clipOfSize(final int bytes) {
+    return new DecodedClip(new AudioFormat(44100, 16, 2, true, false), new byte[bytes]);
+  }
+
+  @Test
+  public void testLeastRecentlyUsedClipIsEvicted() {
+    final DecodedClipCache<String> cache = new DecodedClipCache<>(1000);
+    cache.put("a", clipOfSize(250));
+    cache.put("b", clipOfSize(250));
+    cache.put("c", clipOfSize(250));
+    cache.put("d", clipOfSize(250));
+    assertEquals(1000, cache.getBytes());
+    // a is now more recently used than b
+    assertNotNull(cache.get("a"));
+    cache.put("e", clipOfSize(100));
+    assertFalse(cache.contains("b"));
+    assertTrue(cache.contains("a"));
+    assertEquals(4, cache.size());
+    assertEquals(850, cache.getBytes());
+  }
+
+  @Test
+  public void testLargeClipsAreNotCached() {
+    final DecodedClipCache<String> cache = new DecodedClipCache<>(1000);
+    assertFalse(cache.put("anthem", clipOfSize(251)));
+    assertFalse(cache.contains("anthem"));
+    assertEquals(0, cache.getBytes());
+  }
+
+  @Test
+  public void testDecodeBundledClip() throws Exception {
+    final DecodedClip clip =
+        DecodedClip.decode(new FileInputStream("assets/sounds/classical/battle_air/battle_air_01_hawk_scream.mp3"));
+    assertTrue(clip.size() > 0);
+  }
+}
@@ -14,7 +14,7 @@ import org.junit.Test;
 import games.strategy.thread.LockUtil.ErrorReporter;
 
 public class LockUtilTest {
-  private static final LockUtil S_LOCKUTIL = new LockUtil();
+  private static final LockUtil S_LOCKUTIL = new LockUtil(true);
   private final TestErrorReporter m_reporter = new TestErrorReporter();
 
   @Before
@@ -76,6 +76,26 @@ public class LockUtilTest {
     assertTrue(l1.getHoldCount() == 0);
     assertFalse(S_LOCKUTIL.isLockHeld(l1));
   }
+
+  @Test
+  public void testWithoutOrderCheck() {
+    final LockUtil lockUtil = new LockUtil(false);
+    final ReentrantLock l1 = new ReentrantLock();
+    final ReentrantLock l2 = new ReentrantLock();
+    lockUtil.acquireLock(l1);
+    lockUtil.acquireLock(l2);
+    assertTrue(lockUtil.isLockHeld(l1));
+    lockUtil.releaseLock(l2);
+    lockUtil.releaseLock(l1);
+    // the wrong order is not reported
+    lockUtil.acquireLock(l2);
+    lockUtil.acquireLock(l1);
+    lockUtil.releaseLock(l1);
+    lockUtil.releaseLock(l2);
+    assertFalse(m_reporter.errorOccured());
+    assertFalse(lockUtil.isLockHeld(l1));
+    assertTrue(l1.getHoldCount() == 0);
+  }
 }
 
 
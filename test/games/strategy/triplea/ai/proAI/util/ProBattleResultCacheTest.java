@@ -0,0 +1,110 @@
+package games.strategy.triplea.ai.proAI.util;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import games.strategy.engine.data.GameData;
+import games.strategy.engine.data.PlayerID;
+import games.strategy.engine.data.Territory;
+import games.strategy.engine.data.TerritoryEffect;
+import games.strategy.engine.data.Unit;
+import games.strategy.triplea.ai.proAI.data.ProBattleResult;
+import games.strategy.triplea.delegate.GameDataTestUtil;
+import games.strategy.triplea.xml.LoadGameUtil;
+
+public class ProBattleResultCacheTest {
+  private Territory westRussia;
+  private PlayerID germans;
+  private PlayerID russians;
+  private GameData data;
+
+  @Before
+  public void setUp() {
+    data = LoadGameUtil.loadTestGame("revised_test.xml");
+    westRussia = data.getMap().getTerritory("West Russia");
+    germans = GameDataTestUtil.germans(data);
+    russians = GameDataTestUtil.russians(data);
+  }
+
+  private List<Unit> army(final PlayerID player) {
+    final List<Unit> units = new ArrayList<>();
+    units.addAll(GameDataTestUtil.infantry(data).create(3, player));
+    units.addAll(GameDataTestUtil.armour(data).create(2, player));
+    return units;
+  }
+
+  private String getKey(final List<Unit> attackers, final List<Unit> defenders) {
+    return ProBattleResultCache.getKey(westRussia, germans, russians, attackers, defenders,
+        Collections.<Unit>emptySet(), Collections.<TerritoryEffect>emptyList(), false);
+  }
+
+  @Test
+  public void testBattlesWithEqualUnitsShareResult() {
+    final ProBattleResultCache cache = new ProBattleResultCache();
+    final List<Unit> attackers = army(germans);
+    final List<Unit> defenders = army(russians);
+    final String key = getKey(attackers, defenders);
+    assertNull(cache.get(key, attackers, defenders));
+    cache.put(key, new ProBattleResult(75, 6, true, attackers.subList(0, 2), new ArrayList<>(), 2));
+    // other units of the same types, in another order
+    final List<Unit> otherAttackers = army(germans);
+    Collections.reverse(otherAttackers);
+    final List<Unit> otherDefenders = army(russians);
+    assertEquals(key, getKey(otherAttackers, otherDefenders));
+    final ProBattleResult result = cache.get(key, otherAttackers, otherDefenders);
+    assertEquals(75, result.getWinPercentage(), 0);
+    assertEquals(6, result.getTUVSwing(), 0);
+    // the remaining units are the units of this battle
+    assertEquals(2, result.getAverageAttackersRemaining().size());
+    assertTrue(otherAttackers.containsAll(result.getAverageAttackersRemaining()));
+    assertNotEquals(result.getAverageAttackersRemaining().get(0), result.getAverageAttackersRemaining().get(1));
+    assertEquals(1, cache.getHitCount());
+    assertEquals(1, cache.getMissCount());
+    assertEquals(0.5, cache.getHitRate(), 0);
+  }
+
+  @Test
+  public void testDifferentBattlesHaveDifferentKeys() {
+    final List<Unit> attackers = army(germans);
+    final List<Unit> defenders = army(russians);
+    final String key = getKey(attackers, defenders);
+    final List<Unit> moreAttackers = army(germans);
+    moreAttackers.addAll(GameDataTestUtil.infantry(data).create(1, germans));
+    assertNotEquals(key, getKey(moreAttackers, defenders));
+    final List<Unit> damaged = army(russians);
+    damaged.get(0).setHits(1);
+    assertNotEquals(key, getKey(attackers, damaged));
+    assertNotEquals(key, ProBattleResultCache.getKey(westRussia, germans, russians, attackers, defenders,
+        Collections.<Unit>emptySet(), Collections.<TerritoryEffect>emptyList(), true));
+  }
+
+  @Test
+  public void testLeastRecentlyUsedResultIsDropped() {
+    final ProBattleResultCache cache = new ProBattleResultCache(2);
+    final List<Unit> defenders = army(russians);
+    final List<String> keys = new ArrayList<>();
+    for (int i = 1; i <= 3; i++) {
+      final List<Unit> attackers = GameDataTestUtil.infantry(data).create(i, germans);
+      keys.add(getKey(attackers, defenders));
+    }
+    cache.put(keys.get(0), new ProBattleResult());
+    cache.put(keys.get(1), new ProBattleResult());
+    // using the first makes the second the least recently used
+    cache.get(keys.get(0), new ArrayList<>(), defenders);
+    cache.put(keys.get(2), new ProBattleResult());
+    assertEquals(2, cache.size());
+    assertEquals(1, cache.getEvictionCount());
+    assertNull(cache.get(keys.get(1), new ArrayList<>(), defenders));
+    assertNotNull(cache.get(keys.get(0), new ArrayList<>(), defenders));
+  }
+}
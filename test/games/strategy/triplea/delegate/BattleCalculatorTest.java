@@ -5,10 +5,12 @@ import static games.strategy.triplea.delegate.GameDataTestUtil.british;
 import static games.strategy.triplea.delegate.GameDataTestUtil.fighter;
 import static games.strategy.triplea.delegate.GameDataTestUtil.germans;
 import static games.strategy.triplea.delegate.GameDataTestUtil.getDelegateBridge;
+import static games.strategy.triplea.delegate.GameDataTestUtil.infantry;
 import static games.strategy.triplea.delegate.GameDataTestUtil.makeGameLowLuck;
 import static games.strategy.triplea.delegate.GameDataTestUtil.setSelectAACasualties;
 import static games.strategy.triplea.delegate.GameDataTestUtil.territory;
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotSame;
 
 import java.util.ArrayList;
 import java.util.Collection;
@@ -18,11 +20,13 @@ import java.util.Map;
 import org.junit.Before;
 import org.junit.Test;
 
+import games.strategy.engine.data.ChangeFactory;
 import games.strategy.engine.data.GameData;
 import games.strategy.engine.data.ITestDelegateBridge;
 import games.strategy.engine.data.PlayerID;
 import games.strategy.engine.data.Territory;
 import games.strategy.engine.data.Unit;
+import games.strategy.engine.data.UnitType;
 import games.strategy.engine.random.ScriptedRandomSource;
 import games.strategy.net.GUID;
 import games.strategy.triplea.TripleAUnit;
@@ -31,6 +35,7 @@ import games.strategy.triplea.delegate.dataObjects.CasualtyDetails;
 import games.strategy.triplea.delegate.dataObjects.CasualtyList;
 import games.strategy.triplea.util.DummyTripleAPlayer;
 import games.strategy.triplea.xml.LoadGameUtil;
+import games.strategy.util.IntegerMap;
 import games.strategy.util.Match;
 
 public class BattleCalculatorTest {
@@ -301,4 +306,23 @@ public class BattleCalculatorTest {
     assertEquals(Match.countMatches(casualties, Matches.UnitIsStrategicBomber.invert()), 2);
   }
   // Radar AA tests removed, because "revised" does not have radar tech.
+
+  @Test
+  public void testCostsForTuvAreCachedUntilTheFrontierChanges() {
+    final GameData data = m_bridge.getData();
+    final PlayerID british = british(data);
+    final IntegerMap<UnitType> costs = BattleCalculator.getCostsForTUV(british, data);
+    assertEquals(3, costs.getInt(infantry(data)));
+    final long hits = TuvCostsCache.getHitCount();
+    final IntegerMap<UnitType> cachedCosts = BattleCalculator.getCostsForTUV(british, data);
+    assertEquals(hits + 1, TuvCostsCache.getHitCount());
+    assertEquals(costs, cachedCosts);
+    assertNotSame(costs, cachedCosts);
+    // callers get their own copy
+    cachedCosts.put(infantry(data), 100);
+    assertEquals(3, BattleCalculator.getCostsForTUV(british, data).getInt(infantry(data)));
+    data.performChange(ChangeFactory.changeProductionFrontier(british,
+        data.getProductionFrontierList().getProductionFrontier("productionIndustrialTechnology")));
+    assertEquals(2, BattleCalculator.getCostsForTUV(british, data).getInt(infantry(data)));
+  }
 }
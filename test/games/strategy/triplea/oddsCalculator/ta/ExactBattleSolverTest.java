@@ -0,0 +1,88 @@
+package games.strategy.triplea.oddsCalculator.ta;
+
+import static games.strategy.triplea.delegate.GameDataTestUtil.armour;
+import static games.strategy.triplea.delegate.GameDataTestUtil.fighter;
+import static games.strategy.triplea.delegate.GameDataTestUtil.germans;
+import static games.strategy.triplea.delegate.GameDataTestUtil.infantry;
+import static games.strategy.triplea.delegate.GameDataTestUtil.russians;
+import static games.strategy.triplea.delegate.GameDataTestUtil.territory;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import games.strategy.engine.data.GameData;
+import games.strategy.engine.data.Territory;
+import games.strategy.engine.data.Unit;
+import games.strategy.triplea.xml.LoadGameUtil;
+
+public class ExactBattleSolverTest {
+  private GameData m_data;
+  private Territory m_karelia;
+
+  @Before
+  public void setUp() throws Exception {
+    m_data = LoadGameUtil.loadTestGame("revised_test.xml");
+    m_karelia = territory("Karelia S.S.R.", m_data);
+  }
+
+  private AggregateResults calculate(final List<Unit> attacking, final List<Unit> defending,
+      final boolean simulate) {
+    final OddsCalculator calculator = new OddsCalculator(m_data);
+    if (simulate) {
+      // any retreat option makes the battle one to fight, this one never retreats
+      calculator.setRetreatAfterRound(1000);
+    }
+    final AggregateResults results = calculator.setCalculateDataAndCalculate(germans(m_data), russians(m_data),
+        m_karelia, attacking, defending, Collections.emptyList(), Collections.emptyList(), 5000);
+    calculator.shutdown();
+    return results;
+  }
+
+  @Test
+  public void testOneOnOne() {
+    // attack hits 1 in 6 and defense 2 in 6 a round, the battle ends on the first round with a hit
+    final AggregateResults results =
+        calculate(infantry(m_data).create(1, germans(m_data)), infantry(m_data).create(1, russians(m_data)), false);
+    assertTrue(results.isExact());
+    assertEquals(0.25, results.getAttackerWinPercent(), 0.0000001);
+    assertEquals(0.125, results.getDrawPercent(), 0.0000001);
+    assertEquals(0.625, results.getDefenderWinPercent(), 0.0000001);
+    assertEquals(1 / (1 - 5.0 / 6 * 4.0 / 6), results.getAverageBattleRoundsFought(), 0.0000001);
+  }
+
+  @Test
+  public void testMatchesSimulation() {
+    final List<Unit> attacking = infantry(m_data).create(3, germans(m_data));
+    attacking.addAll(armour(m_data).create(3, germans(m_data)));
+    final List<Unit> defending = infantry(m_data).create(4, russians(m_data));
+    defending.addAll(fighter(m_data).create(1, russians(m_data)));
+    final AggregateResults exact = calculate(attacking, defending, false);
+    final AggregateResults simulated = calculate(attacking, defending, true);
+    assertTrue(exact.isExact());
+    assertFalse(simulated.isExact());
+    assertEquals(1, exact.getAttackerWinPercent() + exact.getDefenderWinPercent() + exact.getDrawPercent(),
+        0.0000001);
+    assertEquals(simulated.getAttackerWinPercent(), exact.getAttackerWinPercent(), 0.03);
+    assertEquals(simulated.getDefenderWinPercent(), exact.getDefenderWinPercent(), 0.03);
+    assertEquals(simulated.getAverageAttackingUnitsLeft(), exact.getAverageAttackingUnitsLeft(), 0.15);
+    assertEquals(simulated.getAverageBattleRoundsFought(), exact.getAverageBattleRoundsFought(), 0.15);
+    assertEquals(
+        simulated.getAverageTUVswing(germans(m_data), attacking, russians(m_data), defending, m_data),
+        exact.getAverageTUVswing(germans(m_data), attacking, russians(m_data), defending, m_data), 1.5);
+  }
+
+  @Test
+  public void testAntiAircraftIsSimulated() {
+    final Territory germany = territory("Germany", m_data);
+    final List<Unit> defending = new ArrayList<>(germany.getUnits().getUnits());
+    assertFalse(ExactBattleSolver.canSolve(m_data, germany, infantry(m_data).create(3, russians(m_data)),
+        defending));
+  }
+}
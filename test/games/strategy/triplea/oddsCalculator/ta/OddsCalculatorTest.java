@@ -48,6 +48,87 @@ public class OddsCalculatorTest {
     assertTrue(results.getDrawPercent() < 0.1);
   }
 
+  @Test
+  public void testPrecisionStopsUnbalancedFightEarly() {
+    final Territory germany = m_data.getMap().getTerritory("Germany");
+    final List<Unit> defendingUnits = new ArrayList<>(germany.getUnits().getUnits());
+    final PlayerID russians = GameDataTestUtil.russians(m_data);
+    final PlayerID germans = GameDataTestUtil.germans(m_data);
+    final List<Unit> attackingUnits = GameDataTestUtil.infantry(m_data).create(100, russians);
+    final List<Unit> bombardingUnits = Collections.emptyList();
+    final IOddsCalculator calculator = new OddsCalculator(m_data);
+    calculator.setPrecision(new OddsPrecision(0.05, 1000, 0));
+    final AggregateResults results = calculator.setCalculateDataAndCalculate(russians, germans, germany, attackingUnits,
+        defendingUnits, bombardingUnits, TerritoryEffectHelper.getEffects(germany), 1000);
+    calculator.shutdown();
+    assertTrue(results.getAttackerWinPercent() > 0.99);
+    assertTrue(results.getRollCount() >= OddsPrecision.MIN_RUNS);
+    assertTrue(results.getRollCount() < 100);
+  }
+
+  @Test
+  public void testPrecisionRunsCloseFightLonger() {
+    final PlayerID germans = GameDataTestUtil.germans(m_data);
+    final PlayerID british = GameDataTestUtil.british(m_data);
+    final Territory eastCanada = m_data.getMap().getTerritory("Eastern Canada");
+    final List<Unit> defendingUnits = GameDataTestUtil.fighter(m_data).create(1, british, false);
+    final List<Unit> attackingUnits = GameDataTestUtil.infantry(m_data).create(1, germans, false);
+    attackingUnits.addAll(GameDataTestUtil.bomber(m_data).create(1, germans, false));
+    final List<Unit> bombardingUnits = Collections.emptyList();
+    final OddsCalculator calculator = new OddsCalculator(m_data);
+    calculator.setKeepOneAttackingLandUnit(true);
+    calculator.setPrecision(new OddsPrecision(0.05, 1000, 0));
+    final AggregateResults results = calculator.setCalculateDataAndCalculate(germans, british, eastCanada,
+        attackingUnits, defendingUnits, bombardingUnits, TerritoryEffectHelper.getEffects(eastCanada), 1000);
+    calculator.shutdown();
+    // about 250 runs for a win percent near 80% to be known within 5%
+    assertTrue(results.getRollCount() > 100);
+    assertTrue(results.getRollCount() < 1000);
+    assertEquals(0.8, results.getAttackerWinPercent(), 0.10);
+  }
+
+  @Test
+  public void testBatchKeepsOrder() {
+    final List<BattleSpecification> battles = getBatch();
+    final IOddsCalculator calculator = new OddsCalculator(m_data);
+    final List<AggregateResults> results = calculator.calculate(battles);
+    calculator.shutdown();
+    assertBatchResults(results);
+  }
+
+  @Test
+  public void testConcurrentBatchKeepsOrder() {
+    final List<BattleSpecification> battles = getBatch();
+    final IOddsCalculator calculator = new ConcurrentOddsCalculator("test");
+    calculator.setGameData(m_data);
+    final List<AggregateResults> results = calculator.calculate(battles);
+    calculator.shutdown();
+    assertBatchResults(results);
+  }
+
+  private List<BattleSpecification> getBatch() {
+    final Territory germany = m_data.getMap().getTerritory("Germany");
+    final PlayerID russians = GameDataTestUtil.russians(m_data);
+    final PlayerID germans = GameDataTestUtil.germans(m_data);
+    final List<BattleSpecification> battles = new ArrayList<>();
+    for (int i = 0; i < 6; i++) {
+      // every other battle the attacker cannot lose
+      final int attackers = i % 2 == 0 ? 100 : 1;
+      battles.add(new BattleSpecification(russians, germans, germany,
+          GameDataTestUtil.infantry(m_data).create(attackers, russians), germany.getUnits().getUnits(),
+          Collections.emptyList(), TerritoryEffectHelper.getEffects(germany), 20));
+    }
+    return battles;
+  }
+
+  private static void assertBatchResults(final List<AggregateResults> results) {
+    assertEquals(6, results.size());
+    for (int i = 0; i < results.size(); i++) {
+      assertEquals(20, results.get(i).getRollCount());
+      assertEquals(i % 2 == 0 ? 1.0 : 0.0, results.get(i).getAttackerWinPercent(), 0.01);
+    }
+  }
+
   @Test
   public void testKeepOneAttackingLand() {
     // 1 bomber and 1 infantry attacking
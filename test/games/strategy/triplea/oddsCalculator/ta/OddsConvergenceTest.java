@@ -0,0 +1,45 @@
+package games.strategy.triplea.oddsCalculator.ta;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import org.junit.Test;
+
+public class OddsConvergenceTest {
+  @Test
+  public void testAllWinsDoNotConvergeAtMinRuns() {
+    final OddsConvergence convergence = new OddsConvergence(new OddsPrecision(0.05, 1000, 0));
+    for (int i = 0; i < OddsPrecision.MIN_RUNS; i++) {
+      convergence.addResult(true, 10);
+    }
+    assertTrue(convergence.getWinPercentMargin() > 0.05);
+    assertFalse(convergence.isDone());
+    while (!convergence.isDone()) {
+      convergence.addResult(true, 10);
+    }
+    // 1.96^2 / (2 * (n + 1.96^2)) first drops to 5% at 35 runs
+    assertEquals(35, convergence.getRuns());
+  }
+
+  @Test
+  public void testAllLossesMarginMatchesAllWins() {
+    final OddsConvergence wins = new OddsConvergence(new OddsPrecision(0.05, 1000, 0));
+    final OddsConvergence losses = new OddsConvergence(new OddsPrecision(0.05, 1000, 0));
+    for (int i = 0; i < 20; i++) {
+      wins.addResult(true, 10);
+      losses.addResult(false, -10);
+    }
+    assertTrue(losses.getWinPercentMargin() > 0);
+    assertEquals(wins.getWinPercentMargin(), losses.getWinPercentMargin(), 1e-12);
+  }
+
+  @Test
+  public void testEvenFightMarginIsNearTheNormalInterval() {
+    final OddsConvergence convergence = new OddsConvergence(new OddsPrecision(0.05, 1000, 0));
+    for (int i = 0; i < 500; i++) {
+      convergence.addResult(i % 2 == 0, 0);
+    }
+    assertEquals(OddsPrecision.Z * Math.sqrt(0.25 / 500), convergence.getWinPercentMargin(), 0.001);
+  }
+}
@@ -0,0 +1,119 @@
+package games.strategy.triplea.ui;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+
+import java.awt.Polygon;
+import java.awt.Rectangle;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import games.strategy.ui.Util;
+
+public class TerritoryPolygonIndexTest {
+  private Map<String, List<Polygon>> m_polygons;
+  private TerritoryPolygonIndex m_index;
+
+  private static Polygon square(final int x, final int y, final int size) {
+    return new Polygon(new int[] {x, x + size, x + size, x}, new int[] {y, y, y + size, y + size}, 4);
+  }
+
+  @Before
+  public void setUp() {
+    m_polygons = new LinkedHashMap<>();
+    // an island inside a sea zone, listed before the sea zone
+    m_polygons.put("Island", Collections.singletonList(square(120, 120, 40)));
+    m_polygons.put("1 Sea Zone", Collections.singletonList(square(100, 100, 100)));
+    // a territory in two parts, far apart
+    m_polygons.put("Mainland", Arrays.asList(square(0, 0, 100), square(900, 900, 100)));
+    m_polygons.put("Coast", Collections.singletonList(square(200, 100, 100)));
+    m_index = new TerritoryPolygonIndex(m_polygons);
+  }
+
+  @Test
+  public void testTerritoryAt() {
+    assertEquals("Island", m_index.getTerritoryAt(130, 130));
+    assertEquals("1 Sea Zone", m_index.getTerritoryAt(110, 110));
+    assertEquals("Mainland", m_index.getTerritoryAt(50, 50));
+    assertEquals("Mainland", m_index.getTerritoryAt(950, 950));
+    assertEquals("Coast", m_index.getTerritoryAt(250, 150));
+    assertNull(m_index.getTerritoryAt(500, 500));
+    assertNull(m_index.getTerritoryAt(-10, 50));
+    assertNull(m_index.getTerritoryAt(50, 2000));
+  }
+
+  @Test
+  public void testTerritoriesThatOverlapAreInMapOrder() {
+    assertEquals(Arrays.asList("Island", "1 Sea Zone", "Coast"),
+        m_index.territoriesThatOverlap(new Rectangle(150, 150, 100, 10)));
+    assertEquals(Arrays.asList("Mainland"), m_index.territoriesThatOverlap(new Rectangle(-50, -50, 60, 60)));
+    assertEquals(Arrays.asList("Island", "1 Sea Zone", "Mainland", "Coast"),
+        m_index.territoriesThatOverlap(new Rectangle(-100, -100, 2000, 2000)));
+    assertEquals(Collections.emptyList(), m_index.territoriesThatOverlap(new Rectangle(400, 400, 100, 100)));
+  }
+
+  @Test
+  public void testSameAnswersAsTestingEveryPolygon() {
+    final Random random = new Random(1);
+    final Map<String, List<Polygon>> polygons = new LinkedHashMap<>();
+    for (int i = 0; i < 300; i++) {
+      final String name = (i % 3 == 0 ? "Sea Zone " : "Territory ") + i;
+      final List<Polygon> parts = new ArrayList<>();
+      for (int part = 0; part <= i % 2; part++) {
+        final Polygon polygon = new Polygon();
+        final int x = random.nextInt(3000);
+        final int y = random.nextInt(2000);
+        for (int point = 0; point < 5; point++) {
+          polygon.addPoint(x + random.nextInt(200), y + random.nextInt(200));
+        }
+        parts.add(polygon);
+      }
+      polygons.put(name, parts);
+    }
+    final TerritoryPolygonIndex index = new TerritoryPolygonIndex(polygons);
+    for (int i = 0; i < 2000; i++) {
+      final double x = random.nextDouble() * 3400 - 200;
+      final double y = random.nextDouble() * 2400 - 200;
+      assertEquals(territoryAt(polygons, x, y), index.getTerritoryAt(x, y));
+      final Rectangle bounds = new Rectangle((int) x, (int) y, random.nextInt(400), random.nextInt(400));
+      assertEquals(territoriesThatOverlap(polygons, bounds), index.territoriesThatOverlap(bounds));
+    }
+  }
+
+  private static String territoryAt(final Map<String, List<Polygon>> polygons, final double x, final double y) {
+    String seaName = null;
+    for (final Map.Entry<String, List<Polygon>> territory : polygons.entrySet()) {
+      for (final Polygon polygon : territory.getValue()) {
+        if (polygon.contains(x, y)) {
+          if (!Util.isTerritoryNameIndicatingWater(territory.getKey())) {
+            return territory.getKey();
+          }
+          seaName = territory.getKey();
+        }
+      }
+    }
+    return seaName;
+  }
+
+  private static List<String> territoriesThatOverlap(final Map<String, List<Polygon>> polygons,
+      final Rectangle bounds) {
+    final List<String> overlapping = new ArrayList<>();
+    for (final Map.Entry<String, List<Polygon>> territory : polygons.entrySet()) {
+      for (final Polygon polygon : territory.getValue()) {
+        if (polygon.intersects(bounds) || polygon.contains(bounds) || bounds.contains(polygon.getBounds2D())) {
+          overlapping.add(territory.getKey());
+          break;
+        }
+      }
+    }
+    return overlapping;
+  }
+}
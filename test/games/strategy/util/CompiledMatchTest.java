@@ -0,0 +1,80 @@
+package games.strategy.util;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import org.junit.Test;
+
+public class CompiledMatchTest {
+  private final List<Integer> m_ints = Arrays.asList(-3, -2, -1, 0, 1, 2, 3, 4, 5, 6);
+  private final Match<Integer> m_pos = new Match<Integer>() {
+    @Override
+    public boolean match(final Integer o) {
+      return o > 0;
+    }
+  };
+  private final Match<Integer> m_even = new Match<Integer>() {
+    @Override
+    public boolean match(final Integer o) {
+      return o % 2 == 0;
+    }
+  };
+  private final Match<Integer> m_small = new Match<Integer>() {
+    @Override
+    public boolean match(final Integer o) {
+      return Math.abs(o) < 3;
+    }
+  };
+
+  @Test
+  public void testFlattensNestedAnds() {
+    final Match<Integer> nested = new CompositeMatchAnd<Integer>(m_pos, new CompositeMatchAnd<Integer>(m_even, m_small));
+    final Match<Integer> compiled = CompiledMatch.compile(nested);
+    assertTrue(compiled instanceof CompiledMatch);
+    assertEquals(Arrays.asList(m_pos, m_even, m_small), ((CompiledMatch<Integer>) compiled).getClauses());
+    assertEquals(Match.getMatches(m_ints, nested), Match.getMatches(m_ints, compiled));
+  }
+
+  @Test
+  public void testKeepsMixedNesting() {
+    final Match<Integer> nested = new CompositeMatchOr<Integer>(m_small, new CompositeMatchAnd<Integer>(m_pos, m_even),
+        new CompositeMatchOr<Integer>(m_even.invert().invert()));
+    final Match<Integer> compiled = CompiledMatch.compile(nested);
+    assertEquals(3, ((CompiledMatch<Integer>) compiled).getClauses().size());
+    assertSame(m_even, ((CompiledMatch<Integer>) compiled).getClauses().get(2));
+    assertEquals(Match.getMatches(m_ints, nested), Match.getMatches(m_ints, compiled));
+  }
+
+  @Test
+  public void testFoldsConstants() {
+    assertSame(m_pos, CompiledMatch.compile(new CompositeMatchAnd<Integer>(Match.getAlwaysMatch(), m_pos)));
+    assertEquals(0, Match.countMatches(m_ints,
+        CompiledMatch.compile(new CompositeMatchAnd<Integer>(m_pos, Match.getNeverMatch()))));
+    assertEquals(m_ints.size(), Match.countMatches(m_ints,
+        CompiledMatch.compile(new CompositeMatchOr<Integer>(m_pos, Match.getAlwaysMatch()))));
+    assertEquals(m_ints.size(), Match.countMatches(m_ints, CompiledMatch.compile(new CompositeMatchAnd<Integer>())));
+  }
+
+  @Test
+  public void testAdaptiveReordersBySelectivity() {
+    final Match<Integer> rarelyFalse = new Match<Integer>() {
+      @Override
+      public boolean match(final Integer o) {
+        return o != 0;
+      }
+    };
+    final Match<Integer> adaptive = CompiledMatch.adaptive(new CompositeMatchAnd<Integer>(rarelyFalse, m_pos));
+    final List<Integer> values = new ArrayList<>();
+    for (int i = -5000; i < 5000; i++) {
+      values.add(i);
+    }
+    assertEquals(4999, Match.countMatches(values, adaptive));
+    assertSame(m_pos, ((CompiledMatch<Integer>) adaptive).getClauses().get(0));
+    assertEquals(4999, Match.countMatches(values, adaptive));
+  }
+}
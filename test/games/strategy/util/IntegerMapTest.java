@@ -1,8 +1,22 @@
 package games.strategy.util;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertTrue;
 
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.io.ObjectStreamClass;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
 import org.junit.Test;
 
 public class IntegerMapTest {
@@ -66,4 +80,127 @@ public class IntegerMapTest {
     map1.add(v3, 3);
     assertTrue(map1.greaterThanOrEqualTo(map2));
   }
+
+  @Test
+  public void testMatchesHashMapUnderRandomUpdates() {
+    final IntegerMap<Integer> map = new IntegerMap<>();
+    final Map<Integer, Integer> expected = new HashMap<>();
+    final Random random = new Random(42);
+    for (int i = 0; i < 20000; i++) {
+      final Integer key = random.nextInt(500);
+      final int value = random.nextInt(100) - 50;
+      switch (random.nextInt(3)) {
+        case 0:
+          map.add(key, value);
+          expected.merge(key, value, Integer::sum);
+          break;
+        case 1:
+          map.put(key, value);
+          expected.put(key, value);
+          break;
+        default:
+          map.removeKey(key);
+          expected.remove(key);
+          break;
+      }
+    }
+    assertEquals(expected.size(), map.size());
+    for (int key = 0; key < 500; key++) {
+      assertEquals(expected.containsKey(key), map.containsKey(key));
+      assertEquals(expected.getOrDefault(key, 0).intValue(), map.getInt(key));
+    }
+    assertEquals(expected.hashCode(), map.hashCode());
+    assertEquals(expected.keySet(), map.keySet());
+    assertEquals(expected.entrySet(), map.entrySet());
+  }
+
+  @Test
+  public void testIteratorRemove() {
+    final IntegerMap<Integer> map = new IntegerMap<>();
+    for (int i = 0; i < 100; i++) {
+      map.put(Integer.valueOf(i), i);
+    }
+    final Iterator<Integer> keys = map.keySet().iterator();
+    while (keys.hasNext()) {
+      if (keys.next() % 2 == 0) {
+        keys.remove();
+      }
+    }
+    assertEquals(50, map.size());
+    assertEquals(2500, map.totalValues());
+    assertFalse(map.containsKey(10));
+    map.add(Integer.valueOf(10), 1);
+    assertEquals(1, map.getInt(10));
+  }
+
+  @Test
+  public void testNullKey() {
+    final IntegerMap<Object> map = new IntegerMap<>();
+    map.add(null, 3);
+    map.add(null, 4);
+    assertTrue(map.containsKey(null));
+    assertEquals(7, map.getInt(null));
+    map.removeKey(null);
+    assertTrue(map.isEmpty());
+  }
+
+  @Test
+  public void testEqualsIgnoresOrderAndCopyIsIndependent() {
+    final IntegerMap<Object> map1 = new IntegerMap<>();
+    map1.add(v1, 1);
+    map1.add(v2, 2);
+    final IntegerMap<Object> map2 = new IntegerMap<>();
+    map2.add(v2, 2);
+    map2.add(v1, 1);
+    assertEquals(map1, map2);
+    assertEquals(map1.hashCode(), map2.hashCode());
+    final IntegerMap<Object> copy = map1.copy();
+    copy.add(v1, 1);
+    assertEquals(1, map1.getInt(v1));
+    assertEquals(2, copy.getInt(v1));
+    assertFalse(map1.equals(copy));
+  }
+
+  @Test
+  public void testLinkedMapKeepsInsertOrder() {
+    final LinkedIntegerMap<Integer> map = new LinkedIntegerMap<>();
+    final List<Integer> expected = new ArrayList<>();
+    for (int i = 100; i > 0; i--) {
+      map.put(Integer.valueOf(i * 7), i);
+      expected.add(i * 7);
+    }
+    map.removeKey(700);
+    expected.remove(Integer.valueOf(700));
+    map.add(Integer.valueOf(700), 1);
+    expected.add(700);
+    assertEquals(expected, new ArrayList<>(map.keySet()));
+  }
+
+  @Test
+  public void testSerializedFormIsUnchanged() throws Exception {
+    assertEquals(HashMap.class, ObjectStreamClass.lookup(IntegerMap.class).getField("mapValues").getType());
+    assertEquals(LinkedHashMap.class,
+        ObjectStreamClass.lookup(LinkedIntegerMap.class).getField("m_values").getType());
+    final IntegerMap<String> map = new IntegerMap<>();
+    map.add("a", 1);
+    map.add("b", -2);
+    assertEquals(map, serializeAndDeserialize(map));
+    final LinkedIntegerMap<String> linkedMap = new LinkedIntegerMap<>();
+    linkedMap.add("b", 1);
+    linkedMap.add("a", 2);
+    final LinkedIntegerMap<String> linkedCopy = serializeAndDeserialize(linkedMap);
+    assertEquals(linkedMap, linkedCopy);
+    assertEquals("b", linkedCopy.keySet().iterator().next());
+  }
+
+  @SuppressWarnings("unchecked")
+  private static <T> T serializeAndDeserialize(final T object) throws Exception {
+    final ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+    try (final ObjectOutputStream out = new ObjectOutputStream(bytes)) {
+      out.writeObject(object);
+    }
+    try (final ObjectInputStream in = new ObjectInputStream(new ByteArrayInputStream(bytes.toByteArray()))) {
+      return (T) in.readObject();
+    }
+  }
 }
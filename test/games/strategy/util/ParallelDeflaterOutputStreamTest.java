@@ -0,0 +1,98 @@
+package games.strategy.util;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Random;
+import java.util.zip.Deflater;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.InflaterInputStream;
+
+import org.junit.Test;
+
+public class ParallelDeflaterOutputStreamTest {
+
+  /**
+   * Text like data over several blocks, with repeats further back than one block.
+   */
+  private static byte[] createData(final int length) {
+    final Random random = new Random(42);
+    final String[] words = {"Germans", "Russians", "infantry", "armour", "Karelia S.S.R.", "PUs", "moves", "to"};
+    final byte[] data = new byte[length];
+    for (int i = 0; i < length; i++) {
+      data[i] = (byte) (random.nextInt(20) == 0 ? random.nextInt(256) : words[(i / 16) % words.length].charAt(0) + i);
+    }
+    for (int i = 0; i + 20 < length; i += 997) {
+      final byte[] word = words[random.nextInt(words.length)].getBytes();
+      System.arraycopy(word, 0, data, i, word.length);
+    }
+    return data;
+  }
+
+  private static byte[] compress(final byte[] data, final int level, final boolean gzip) throws IOException {
+    final ByteArrayOutputStream sink = new ByteArrayOutputStream();
+    try (ParallelDeflaterOutputStream out = new ParallelDeflaterOutputStream(sink, level, gzip)) {
+      // odd sized writes and single bytes across the block boundaries
+      int written = 0;
+      while (written < data.length) {
+        final int count = Math.min(data.length - written, 50000);
+        out.write(data, written, count);
+        written += count;
+        if (written < data.length) {
+          out.write(data[written++]);
+        }
+      }
+    }
+    return sink.toByteArray();
+  }
+
+  private static byte[] readAll(final InputStream in) throws IOException {
+    final ByteArrayOutputStream out = new ByteArrayOutputStream();
+    final byte[] buffer = new byte[8192];
+    int count;
+    while ((count = in.read(buffer)) != -1) {
+      out.write(buffer, 0, count);
+    }
+    in.close();
+    return out.toByteArray();
+  }
+
+  @Test
+  public void testGzipReadsBack() throws IOException {
+    final byte[] data = createData(1000000);
+    final byte[] compressed = compress(data, Deflater.DEFAULT_COMPRESSION, true);
+    assertArrayEquals(data, readAll(new GZIPInputStream(new ByteArrayInputStream(compressed))));
+    assertTrue(compressed.length < data.length);
+  }
+
+  @Test
+  public void testZlibReadsBack() throws IOException {
+    final byte[] data = createData(700000);
+    for (final int level : new int[] {0, 1, 5, 6, 9, Deflater.DEFAULT_COMPRESSION}) {
+      final byte[] compressed = compress(data, level, false);
+      assertArrayEquals(data, readAll(new InflaterInputStream(new ByteArrayInputStream(compressed))));
+    }
+  }
+
+  @Test
+  public void testEmptyAndExactBlocks() throws IOException {
+    for (final int length : new int[] {0, 1, 128 * 1024, 2 * 128 * 1024}) {
+      final byte[] data = createData(length);
+      assertArrayEquals(data,
+          readAll(new GZIPInputStream(new ByteArrayInputStream(compress(data, Deflater.BEST_SPEED, true)))));
+      assertArrayEquals(data,
+          readAll(new InflaterInputStream(new ByteArrayInputStream(compress(data, Deflater.BEST_SPEED, false)))));
+    }
+  }
+
+  @Test
+  public void testDeflateInBackground() throws IOException {
+    final byte[] data = createData(300000);
+    final byte[] compressed = ParallelDeflaterOutputStream.deflateInBackground(data, Deflater.BEST_SPEED, false).join();
+    assertArrayEquals(data, readAll(new InflaterInputStream(new ByteArrayInputStream(compressed))));
+  }
+}